@@ -28,5 +28,5 @@ public interface Piece<D extends PieceDescriptor>
 	 */
 	D getDescriptor();
 	
-	boolean canMove(Coordinate from, Coordinate to, Board b);
+	boolean canMove(Coordinate from, Coordinate to, Board<?> b);
 }
@@ -31,7 +31,7 @@ package gpv;
  * @param <P> the type of piece
  * @param <D> a descriptor of the piece subtype
  */
-public interface PieceFactory<P extends Piece, D extends PieceDescriptor>
+public interface PieceFactory<P extends Piece<D>, D extends PieceDescriptor>
 {
 	P makePiece(D descriptor);
 }
@@ -22,27 +22,34 @@ import static gpv.util.Coordinate.makeCoordinate;
 
 import gpv.Piece;
 import gpv.util.*;
+import gpv.util.metrics.LatencyHistogram;
+import gpv.util.metrics.Metrics;
 
 /**
  * The chess piece is a piece with some special properties that are used for
  * determining whether a piece can move. It implements the Piece interface
  * and adds properties and methods that are necessary for the chess-specific
  * behavior.
+ * <br/>
+ * Chess pieces are immutable and shared: the ChessPieceFactory hands out one
+ * instance per descriptor. Per-game state such as whether a piece has moved
+ * is kept by the Board (see Board.hasMoved()).
  * @version Feb 21, 2020
  */
 public class ChessPiece implements Piece<ChessPieceDescriptor>
 {
+	private static final LatencyHistogram canMoveLatency = Metrics.histogram("piece.canMove.latency");
+	
 	private final ChessPieceDescriptor descriptor;
-	private boolean hasMoved;	// true if this piece has moved
 	
 	/**
 	 * The only constructor for a ChessPiece instance. Requires a descriptor.
+	 * Use the ChessPieceFactory to get the shared instance.
 	 * @param descriptor
 	 */
-	public ChessPiece(ChessPieceDescriptor descriptor)
+	ChessPiece(ChessPieceDescriptor descriptor)
 	{
 		this.descriptor = descriptor;
-		hasMoved = false;
 	}
 
 	/*
@@ -75,37 +82,34 @@ public class ChessPiece implements Piece<ChessPieceDescriptor>
 	 * @see gpv.Piece#canMove(gpv.util.Coordinate, gpv.util.Coordinate, gpv.util.Board)
 	 */
 	@Override
-	public boolean canMove(Coordinate from, Coordinate to, Board b)
+	@SuppressWarnings("unchecked")
+	public boolean canMove(Coordinate from, Coordinate to, Board<?> board)
 	{
-		ChessPiece movingPiece = (ChessPiece) b.getPieceAt(from);
+		Board<ChessPiece> b = (Board<ChessPiece>) board;	// a chess piece only ever sits on a chess board
+		MoveCache cache = MoveCache.SHARED;
+		if (!Metrics.ENABLED) return cache == null ? checkMove(from, to, b) : cache.canMove(from, to, b);
+		long start = System.nanoTime();
+		boolean result = cache == null ? checkMove(from, to, b) : cache.canMove(from, to, b);
+		canMoveLatency.record(System.nanoTime() - start);
+		return result;
+	}
+	
+	/**
+	 * The uncached rule check behind canMove().
+	 */
+	boolean checkMove(Coordinate from, Coordinate to, Board<ChessPiece> b)
+	{
+		ChessPiece movingPiece = b.getPieceAt(from);
 		
-		//First check if coordinate "to" is outside the board's range
-		if(!(0 < to.x && to.x <= b.nColumns) || !(0 < to.y && to.y <= b.nRows)) { return false; }
+		//First check if coordinate "to" is outside the board's range (a single mask test on a MailboxBoard)
+		if(!b.isOnBoard(to)) { return false; }
 		
 		//Next check if coordinate "to" already has a piece of the same color on it
-		ChessPiece dest = (ChessPiece) b.getPieceAt(to);
+		ChessPiece dest = b.getPieceAt(to);
 		if(dest != null && dest.getColor() == movingPiece.getColor()) { return false; }
 		
 		//Now check if the piece can actually make the move
 		return ChessRules.checkValidRule(movingPiece, from, to, b);
 		
 	}
-	
-
-	/**
-	 * @return the hasMoved
-	 */
-	public boolean hasMoved()
-	{
-		return hasMoved;
-	}
-
-	/**
-	 * Once it moves, you can't change it.
-	 * @param hasMoved the hasMoved to set
-	 */
-	public void setHasMoved()
-	{
-		hasMoved = true;
-	}
 }
@@ -37,6 +37,8 @@ public enum ChessPieceDescriptor implements PieceDescriptor
 	BLACKQUEEN(BLACK, QUEEN), 
 	BLACKKING(BLACK, KING);
 	
+	private static final ChessPieceDescriptor[] VALUES = values();
+	
 	private PlayerColor color;
 	private PieceName name;
 	
@@ -66,4 +68,15 @@ public enum ChessPieceDescriptor implements PieceDescriptor
 	{
 		return name;
 	}
+	
+	/**
+	 * Look up the descriptor for a color and piece name.
+	 * @param color
+	 * @param name
+	 * @return the matching descriptor
+	 */
+	public static ChessPieceDescriptor of(PlayerColor color, PieceName name)
+	{
+		return VALUES[(color == WHITE ? 0 : 6) + name.ordinal()];
+	}
 }
@@ -15,11 +15,20 @@ package gpv.chess;
 import gpv.PieceFactory;
 
 /**
- * A factory that makes chess pieces.
+ * A factory that makes chess pieces. Pieces are immutable, so the factory
+ * hands out the same flyweight instance for every request for a descriptor;
+ * there are only ever twelve ChessPiece objects.
  * @version Feb 21, 2020
  */
 public class ChessPieceFactory implements PieceFactory<ChessPiece, ChessPieceDescriptor>
 {
+	private static final ChessPiece[] pieces = new ChessPiece[ChessPieceDescriptor.values().length];
+	
+	static {
+		for (ChessPieceDescriptor d : ChessPieceDescriptor.values()) {
+			pieces[d.ordinal()] = new ChessPiece(d);
+		}
+	}
 
 	/*
 	 * @see gpv.PieceFactory#makePiece(gpv.PieceDescriptor)
@@ -27,7 +36,7 @@ public class ChessPieceFactory implements PieceFactory<ChessPiece, ChessPieceDes
 	@Override
 	public ChessPiece makePiece(ChessPieceDescriptor descriptor)
 	{
-		return new ChessPiece(descriptor);
+		return pieces[descriptor.ordinal()];
 	}
 
 }
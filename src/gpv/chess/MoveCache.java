@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import gpv.util.Board;
+import gpv.util.Coordinate;
+
+/**
+ * A bounded, lock-free memo of ChessPiece.canMove() results keyed by the
+ * board hash plus the from and to squares. It helps callers that ask the same
+ * question about the same position many times, such as a UI highlighting the
+ * squares a piece can reach on every redraw.
+ * <br/>
+ * Every entry is one long holding a tag of the key, the cached result and a
+ * CLOCK reference bit, so readers and writers never lock and never see a
+ * torn entry. A key probes a window of PROBE slots; when they are all full
+ * the CLOCK hand clears reference bits until it finds an entry that has not
+ * been used since the last pass and replaces it. Because the board hash is
+ * part of the key, any change to the board makes every older entry miss; the
+ * stale entries are reclaimed by the CLOCK.
+ * <br/>
+ * The cache is off by default. Start the JVM with -Dgpv.moveCache.size=N to
+ * put a shared cache of N entries in front of every canMove() call, or create
+ * one and call canMove() on it directly.
+ * @version Oct 19, 2026
+ */
+public final class MoveCache
+{
+	/** The cache used by ChessPiece.canMove(), or null if caching is off. */
+	public static final MoveCache SHARED = makeShared();
+
+	static final int PROBE = 4;
+	private static final long RESULT = 1L;
+	private static final long REFERENCED = 2L;
+	private static final long OCCUPIED = 4L;
+	private static final long TAG_MASK = ~7L;
+
+	private final AtomicLongArray slots;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param entries the capacity, rounded up to a power of two
+	 */
+	public MoveCache(int entries)
+	{
+		int size = Integer.highestOneBit(Math.max(PROBE, entries - 1) << 1);
+		slots = new AtomicLongArray(size);
+		mask = size - 1;
+	}
+
+	private static MoveCache makeShared()
+	{
+		int size = Integer.getInteger("gpv.moveCache.size", 0);
+		return size > 0 ? new MoveCache(size) : null;
+	}
+
+	/**
+	 * Answer canMove() from the cache, computing and storing it on a miss.
+	 * @return true if the piece on from can move to to on board b
+	 */
+	public boolean canMove(Coordinate from, Coordinate to, Board<ChessPiece> b)
+	{
+		long key = key(b, from, to);
+		long tag = key & TAG_MASK | OCCUPIED;
+		int start = (int) (key >>> 40) & mask;
+		for (int i = 0; i < PROBE; i++) {
+			int slot = (start + i) & mask;
+			long entry = slots.get(slot);
+			if ((entry & ~(RESULT | REFERENCED)) == tag) {
+				if ((entry & REFERENCED) == 0) slots.compareAndSet(slot, entry, entry | REFERENCED);
+				hits.increment();
+				return (entry & RESULT) != 0;
+			}
+		}
+		misses.increment();
+		boolean result = b.getPieceAt(from).checkMove(from, to, b);
+		insert(start, tag | (result ? RESULT : 0));
+		return result;
+	}
+
+	/**
+	 * Put an entry in the first free slot of the window, or evict with CLOCK.
+	 * Losing a race to another writer just means this result isn't cached.
+	 */
+	private void insert(int start, long entry)
+	{
+		for (int i = 0; i < PROBE; i++) {
+			int slot = (start + i) & mask;
+			if (slots.get(slot) == 0 && slots.compareAndSet(slot, 0, entry)) return;
+		}
+		// two sweeps always find a victim: the first clears every reference bit
+		for (int i = 0; i < 2 * PROBE; i++) {
+			int slot = (start + i % PROBE) & mask;
+			long old = slots.get(slot);
+			if ((old & REFERENCED) != 0) {
+				slots.compareAndSet(slot, old, old & ~REFERENCED);
+			}
+			else if (slots.compareAndSet(slot, old, entry)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Drop every entry and reset the statistics.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i <= mask; i++) slots.set(i, 0L);
+		hits.reset();
+		misses.reset();
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * @return the number of lookups answered from the cache
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that had to call the rules
+	 */
+	public long getMisses()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * @return hits / lookups, or 0 before the first lookup
+	 */
+	public double hitRatio()
+	{
+		long h = hits.sum();
+		long total = h + misses.sum();
+		return total == 0 ? 0.0 : (double) h / total;
+	}
+
+	/**
+	 * The board size is part of the key because it changes what canMove()
+	 * returns for squares near the edge.
+	 */
+	private static long key(Board<?> b, Coordinate from, Coordinate to)
+	{
+		long squares = (from.x & 0xFFFFL) | (from.y & 0xFFFFL) << 16 | (to.x & 0xFFFFL) << 32 | (to.y & 0xFFFFL) << 48;
+		long h = b.getHash() ^ squares * 0x9E3779B97F4A7C15L ^ ((long) b.nRows << 8 | b.nColumns) * 0xC2B2AE3D27D4EB4FL;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A declarative description of how a piece moves: the shapes it can make
+ * (leaps, slides and single steps such as a pawn push) and, for each shape,
+ * the kind of occupancy check that decides whether the move is allowed.
+ * Offsets are written from white's side of the board, so +y is forward;
+ * ChessRules flips the y offset for black.
+ * <br/>
+ * compile() turns a description into a lookup table indexed by the (x, y)
+ * offset of a move. A move whose shape the piece can never make reads a 0
+ * from the table and is rejected before any square is looked at. A new piece
+ * only needs a new description, for example a fairy "camel" would be
+ * <pre>
+ * 	new PieceMovement().leaps(1, 3)
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class PieceMovement
+{
+	/** The largest offset in either direction, enough for a 16x16 board. */
+	public static final int MAX_DELTA = 15;
+	private static final int SIDE = 32;	// power of two above 2 * MAX_DELTA + 1
+	static final int TABLE_SIZE = SIDE * SIDE;
+
+	/**
+	 * What has to be true of the board for a move of a given shape.
+	 */
+	public enum Kind
+	{
+		LEAP,				// nothing; the destination rule is checked by ChessPiece
+		SLIDE,				// every square between from and to is empty
+		PAWN_PUSH,			// the destination is empty
+		PAWN_DOUBLE_PUSH,	// the pawn hasn't moved
+		PAWN_CAPTURE,		// the destination holds a piece
+		CASTLE				// the king and rook haven't moved and the squares between are empty
+	}
+
+	private final List<int[]> shapes = new ArrayList<int[]>();	// {dx, dy, kind}
+
+	/**
+	 * A leap to (dx, dy) in all eight reflections, jumping over anything.
+	 * @return this description
+	 */
+	public PieceMovement leaps(int dx, int dy)
+	{
+		for (int[] r : reflections(dx, dy)) add(r[0], r[1], Kind.LEAP);
+		return this;
+	}
+
+	/**
+	 * A slide along (dx, dy) in all eight reflections, any number of times,
+	 * as long as nothing is in the way.
+	 * @return this description
+	 */
+	public PieceMovement slides(int dx, int dy)
+	{
+		for (int[] r : reflections(dx, dy)) {
+			for (int x = r[0], y = r[1]; Math.abs(x) <= MAX_DELTA && Math.abs(y) <= MAX_DELTA; x += r[0], y += r[1]) {
+				add(x, y, Kind.SLIDE);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * A single move to (dx, dy) and its mirror image (-dx, dy), allowed when
+	 * the condition for kind holds. Forward stays forward.
+	 * @return this description
+	 */
+	public PieceMovement step(int dx, int dy, Kind kind)
+	{
+		add(dx, dy, kind);
+		if (dx != 0) add(-dx, dy, kind);
+		return this;
+	}
+
+	/**
+	 * @return the lookup table, one byte per offset holding kind.ordinal() + 1,
+	 * 	or 0 if the piece can't move that way
+	 * @throws IllegalArgumentException if two shapes claim the same offset
+	 * 	with different kinds
+	 */
+	byte[] compile()
+	{
+		byte[] table = new byte[TABLE_SIZE];
+		for (int[] s : shapes) {
+			int i = index(s[0], s[1]);
+			byte code = (byte) (s[2] + 1);
+			if (table[i] != 0 && table[i] != code) {
+				throw new IllegalArgumentException("Offset (" + s[0] + ", " + s[1] + ") is both "
+						+ Kind.values()[table[i] - 1] + " and " + Kind.values()[s[2]]);
+			}
+			table[i] = code;
+		}
+		return table;
+	}
+
+	/**
+	 * @return the table index of the offset, or -1 if it doesn't fit in the
+	 * 	table. The test is a single mask since both coordinates are shifted
+	 * 	to be non-negative.
+	 */
+	static int index(int dx, int dy)
+	{
+		int x = dx + MAX_DELTA;
+		int y = dy + MAX_DELTA;
+		return ((x | y) & -SIDE) == 0 ? y * SIDE + x : -1;
+	}
+
+	private void add(int dx, int dy, Kind kind)
+	{
+		if (index(dx, dy) < 0) throw new IllegalArgumentException("Offset (" + dx + ", " + dy + ") is too large");
+		if (dx == 0 && dy == 0) throw new IllegalArgumentException("A move has to go somewhere");
+		shapes.add(new int[] { dx, dy, kind.ordinal() });
+	}
+
+	private static int[][] reflections(int dx, int dy)
+	{
+		return new int[][] {
+			{ dx, dy }, { -dx, dy }, { dx, -dy }, { -dx, -dy },
+			{ dy, dx }, { -dy, dx }, { dy, -dx }, { -dy, -dx }
+		};
+	}
+}
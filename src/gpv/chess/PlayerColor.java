@@ -20,4 +20,12 @@ package gpv.chess;
 public enum PlayerColor
 {
 	WHITE, BLACK;
+	
+	/**
+	 * @return the other color
+	 */
+	public PlayerColor opponent()
+	{
+		return this == WHITE ? BLACK : WHITE;
+	}
 }
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.service.AnalysisRequest;
+import gpv.chess.service.AnalysisRequest.Priority;
+import gpv.chess.service.AnalysisResult;
+import gpv.chess.service.AnalysisService;
+import gpv.util.metrics.LatencyHistogram;
+import gpv.util.metrics.Metrics;
+
+/**
+ * A local load test of the AnalysisService. Requests arrive at a fixed rate
+ * whether or not earlier ones have been answered, the way independent
+ * clients behave, so an overloaded service shows up as shed and late
+ * requests rather than as a slower arrival rate. Latency is measured from
+ * when each request was due to be sent.
+ * <br/>
+ * The mix is 10% interactive (depth 3, 250 ms), 60% normal (depth 4, 1 s)
+ * and 30% background (depth 5, 3 s), over a pool of positions skewed
+ * towards a few popular ones so that identical requests meet in the queues.
+ * <pre>
+ * 	java gpv.chess.bench.AnalysisServiceBenchmark [seconds [perSecond [threads [capacity]]]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class AnalysisServiceBenchmark
+{
+	private static final int[] DEPTH = { 3, 4, 5 };
+	private static final long[] TIMEOUT = { 250, 1000, 3000 };
+	private static final int POOL = 500;
+
+	private AnalysisServiceBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int rate = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+		Position[] pool = positions(POOL);
+
+		int n = Priority.values().length;
+		LatencyHistogram[] latency = new LatencyHistogram[n];
+		LongAdder[] complete = new LongAdder[n];
+		LongAdder[] partial = new LongAdder[n];
+		LongAdder[] timedOut = new LongAdder[n];
+		LongAdder[] shed = new LongAdder[n];
+		for (int p = 0; p < n; p++) {
+			latency[p] = Metrics.histogram("bench.service." + Priority.values()[p].name().toLowerCase());
+			complete[p] = new LongAdder();
+			partial[p] = new LongAdder();
+			timedOut[p] = new LongAdder();
+			shed[p] = new LongAdder();
+		}
+
+		SplittableRandom rnd = new SplittableRandom(11);
+		long interval = 1_000_000_000L / rate;
+		long total = (long) seconds * rate;
+		CompletableFuture<?>[] all = new CompletableFuture<?>[(int) total];
+		System.out.printf("%d s at %d/s, %d threads, queues of %d%n", seconds, rate, threads, capacity);
+		try (AnalysisService service = new AnalysisService(threads, capacity, 64)) {
+			long start = System.nanoTime();
+			for (int i = 0; i < total; i++) {
+				long due = start + i * interval;
+				long wait;
+				while ((wait = due - System.nanoTime()) > 0) Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+				double r = rnd.nextDouble();
+				int p = r < 0.1 ? 0 : r < 0.7 ? 1 : 2;
+				double skew = rnd.nextDouble();
+				Position pos = pool[(int) (POOL * skew * skew * skew)];
+				all[i] = service.submit(new AnalysisRequest(pos, DEPTH[p], Priority.values()[p], TIMEOUT[p]))
+					.handle((AnalysisResult result, Throwable e) -> {
+						Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+						if (cause instanceof RejectedExecutionException) {
+							shed[p].increment();
+							return null;
+						}
+						latency[p].record(System.nanoTime() - due);
+						if (cause instanceof TimeoutException) timedOut[p].increment();
+						else if (result.complete) complete[p].increment();
+						else partial[p].increment();
+						return null;
+					});
+			}
+			CompletableFuture.allOf(all).join();
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			System.out.printf("%-12s %8s %8s %8s %8s %9s %9s %9s%n",
+					"", "complete", "partial", "timeout", "shed", "p50 ms", "p99 ms", "max ms");
+			for (int p = 0; p < n; p++) {
+				LatencyHistogram.Summary s = latency[p].summary();
+				System.out.printf("%-12s %8d %8d %8d %8d %9.1f %9.1f %9.1f%n", Priority.values()[p].name().toLowerCase(),
+						complete[p].sum(), partial[p].sum(), timedOut[p].sum(), shed[p].sum(),
+						s.p50 / 1e6, s.p99 / 1e6, s.max / 1e6);
+			}
+			System.out.printf("%d requests in %.1f s, %d merged into queued jobs, %d searches%n",
+					service.getSubmitted(), elapsed, service.getMerged(), service.getSearched());
+		}
+	}
+
+	/**
+	 * @return n positions from random games
+	 */
+	private static Position[] positions(int n)
+	{
+		SplittableRandom rnd = new SplittableRandom(5);
+		Position pos = Fen.parse(Fen.STARTPOS);
+		Position[] positions = new Position[n];
+		for (int i = 0; i < n; i++) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty() || pos.getPly() > 80) pos = Fen.parse(Fen.STARTPOS);
+			else pos.makeMove(moves.get(rnd.nextInt(moves.size())));
+			positions[i] = Fen.parse(Fen.format(pos));
+		}
+		return positions;
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.batch.BatchEvaluator;
+import gpv.chess.engine.batch.BatchStats;
+
+/**
+ * Compares scoring a file of FEN lines one position at a time with
+ * Fen.parse() and MaterialEvaluator against streaming it through the
+ * BatchEvaluator, and checks that every batch score matches.
+ * <pre>
+ * 	java gpv.chess.bench.BatchEvaluatorBenchmark [positions [threads]]
+ * </pre>
+ * The positions come from random games from the start position.
+ * @version Oct 19, 2026
+ */
+public final class BatchEvaluatorBenchmark
+{
+	private static final int ROUNDS = 10;
+
+	private BatchEvaluatorBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		String[] fens = positions(n);
+		String text = String.join("\n", fens);
+
+		MaterialEvaluator scalar = new MaterialEvaluator();
+		int[] expected = new int[n];
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < n; i++) expected[i] = scalar.evaluate(Fen.parse(fens[i]));
+		}
+		System.out.println("scalar      " + new BatchStats((long) ROUNDS * n, System.nanoTime() - start));
+
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			AtomicLong mismatches = new AtomicLong();
+			long positions = 0;
+			long nanos = 0;
+			try (BatchEvaluator batch = new BatchEvaluator(threads)) {
+				for (int round = -2; round < ROUNDS; round++) {	// two rounds to warm up
+					BatchStats stats = batch.score(new BufferedReader(new StringReader(text)), (first, scores, count) -> {
+						for (int i = 0; i < count; i++) {
+							if (scores[i] != expected[(int) first + i]) mismatches.incrementAndGet();
+						}
+					});
+					if (round >= 0) {
+						positions += stats.positions;
+						nanos += stats.nanos;
+					}
+				}
+			}
+			System.out.printf("batch x%-3d  %s, %d mismatches%n", threads, new BatchStats(positions, nanos), mismatches.get());
+		}
+	}
+
+	/**
+	 * @return FEN lines for n positions from random games
+	 */
+	private static String[] positions(int n)
+	{
+		SplittableRandom rnd = new SplittableRandom(5);
+		Position pos = Fen.parse(Fen.STARTPOS);
+		String[] fens = new String[n];
+		for (int i = 0; i < n; i++) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty() || pos.getPly() > 120) pos = Fen.parse(Fen.STARTPOS);
+			else pos.makeMove(moves.get(rnd.nextInt(moves.size())));
+			fens[i] = Fen.format(pos);
+		}
+		return fens;
+	}
+}
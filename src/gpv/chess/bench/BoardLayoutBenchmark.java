@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.wire.BoardLayout;
+import gpv.chess.wire.BoardView;
+
+/**
+ * Measures handing boards over in the flat BoardLayout against FEN text.
+ * Positions from random games are written into a direct buffer, then read
+ * back three ways: every square through a BoardView, only the hash and a
+ * few squares, and as a whole new Position. Time and heap allocation per
+ * board are reported for each.
+ * <pre>
+ * 	java gpv.chess.bench.BoardLayoutBenchmark [positions [rounds]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class BoardLayoutBenchmark
+{
+	private static long sink;
+
+	private BoardLayoutBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args)
+	{
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		List<Position> positions = randomPositions(count);
+		int size = BoardLayout.size(8, 8);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(count * size);
+		BoardView view = new BoardView();
+
+		for (int warm = 0; warm < 2; warm++) {
+			boolean report = warm == 1;
+			measure(report, "FEN format and parse", count, rounds, () -> {
+				for (Position p : positions) sink += Fen.parse(Fen.format(p)).getHash();
+			});
+			measure(report, "layout write", count, rounds, () -> {
+				int at = 0;
+				for (Position p : positions) at += BoardLayout.write(p, buffer, at);
+			});
+			measure(report, "view, every square", count, rounds, () -> {
+				for (int at = 0; at < count * size; at += size) {
+					view.wrap(buffer, at);
+					for (int y = 1; y <= 8; y++) {
+						for (int x = 1; x <= 8; x++) {
+							if (!view.isEmpty(x, y)) sink += view.descriptorAt(x, y).ordinal();
+						}
+					}
+				}
+			});
+			measure(report, "view, hash and 4 squares", count, rounds, () -> {
+				for (int at = 0; at < count * size; at += size) {
+					view.wrap(buffer, at);
+					sink += view.hash();
+					if (!view.isEmpty(4, 4) || !view.isEmpty(5, 4) || !view.isEmpty(4, 5) || !view.isEmpty(5, 5)) sink++;
+				}
+			});
+			measure(report, "view to Position", count, rounds, () -> {
+				for (int at = 0; at < count * size; at += size) sink += view.wrap(buffer, at).toPosition().getHash();
+			});
+		}
+		System.out.printf("layout: %d bytes per board; FEN: %.0f characters%n", size,
+				positions.stream().mapToInt(p -> Fen.format(p).length()).average().orElse(0));
+		if (sink == 42) System.out.println();
+	}
+
+	private static void measure(boolean report, String name, int count, int rounds, Runnable pass)
+	{
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		for (int r = 0; r < rounds; r++) pass.run();
+		long nanos = System.nanoTime() - start;
+		bytes = allocatedBytes() - bytes;
+		long boards = (long) count * rounds;
+		if (report) System.out.printf("%-26s %6d ns per board, %6.1f bytes allocated%n", name, nanos / boards,
+				(double) bytes / boards);
+	}
+
+	private static List<Position> randomPositions(int count)
+	{
+		SplittableRandom rnd = new SplittableRandom(23);
+		List<Position> positions = new ArrayList<Position>();
+		while (positions.size() < count) {
+			Position pos = Fen.parse(Fen.STARTPOS);
+			int plies = 10 + rnd.nextInt(60);
+			for (int i = 0; i < plies; i++) {
+				List<Move> moves = MoveGenerator.legalMoves(pos);
+				if (moves.isEmpty()) break;
+				pos.makeMove(moves.get(rnd.nextInt(moves.size())));
+			}
+			positions.add(pos.copy());
+		}
+		return positions;
+	}
+
+	private static long allocatedBytes()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.stream.DeltaHandler;
+import gpv.chess.stream.DeltaStream;
+import gpv.chess.stream.GameFeed;
+import gpv.chess.stream.Keyframe;
+import gpv.chess.stream.Subscriber;
+
+/**
+ * Measures broadcasting board changes as deltas. First the size and cost of
+ * a delta is compared with writing the whole board as FEN after every move.
+ * Then one producer plays random games while reader threads each poll many
+ * subscribers, the way a server fans one stream out to its spectators'
+ * connections, and the events delivered per second and the bytes the
+ * readers allocated are reported.
+ * <pre>
+ * 	java gpv.chess.bench.DeltaStreamBenchmark [subscribers [readers [moves]]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class DeltaStreamBenchmark
+{
+	private static final int GAMES = 64;
+
+	private DeltaStreamBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int readers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int moves = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+		List<Move> game = randomGame();
+
+		// one change, serialized both ways
+		Position pos = Fen.parse(Fen.STARTPOS);
+		DeltaStream stream = new DeltaStream(1 << 16);
+		GameFeed feed = new GameFeed(stream, 0, Fen.parse(Fen.STARTPOS), Integer.MAX_VALUE);
+		long fenBytes = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < 20; round++) {
+			for (Move m : game) {
+				pos.makeMove(m);
+				fenBytes += Fen.format(pos).length();
+			}
+			for (int i = 0; i < game.size(); i++) pos.unmakeMove();
+		}
+		long fenNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int round = 0; round < 20; round++) {
+			for (Move m : game) feed.makeMove(m);
+			for (int i = 0; i < game.size(); i++) feed.unmakeMove();
+		}
+		long deltaNanos = System.nanoTime() - start;
+		int changes = 20 * game.size();
+		System.out.printf("whole board as FEN: %.0f bytes, %d ns per move (make and format)%n",
+				(double) fenBytes / changes, fenNanos / changes);
+		System.out.printf("delta:              16 bytes, %d ns per move (make and publish, with take backs)%n",
+				deltaNanos / (2 * changes));
+
+		// fan out
+		stream = new DeltaStream(1 << 20);
+		List<List<Subscriber>> groups = new ArrayList<List<Subscriber>>();
+		for (int r = 0; r < readers; r++) groups.add(new ArrayList<Subscriber>());
+		for (int s = 0; s < subscribers; s++) groups.get(s % readers).add(stream.subscribe());
+		Counting[] counts = new Counting[readers];
+		long[] allocated = new long[readers];
+		Thread[] threads = new Thread[readers];
+		AtomicBoolean done = new AtomicBoolean();
+		for (int r = 0; r < readers; r++) {
+			int id = r;
+			counts[r] = new Counting();
+			threads[r] = new Thread(() -> {
+				long before = allocatedBytes();
+				boolean more = true;
+				while (more) {
+					boolean finished = done.get();
+					int n = 0;
+					for (Subscriber sub : groups.get(id)) n += sub.poll(counts[id], 256);
+					more = !finished || n > 0;
+					if (n == 0) Thread.yield();
+				}
+				allocated[id] = allocatedBytes() - before;
+			}, "reader-" + r);
+			threads[r].start();
+		}
+		GameFeed[] feeds = new GameFeed[GAMES];
+		for (int g = 0; g < GAMES; g++) feeds[g] = new GameFeed(stream, g, Fen.parse(Fen.STARTPOS));
+		start = System.nanoTime();
+		for (int i = 0; i < moves; i++) {
+			GameFeed f = feeds[i % GAMES];
+			int ply = f.getPosition().getPly();
+			if (ply == game.size()) {
+				while (f.getPosition().getPly() > 0) f.unmakeMove();
+			}
+			else {
+				f.makeMove(game.get(ply));
+			}
+		}
+		long produced = System.nanoTime() - start;
+		done.set(true);
+		for (Thread t : threads) t.join();
+		long delivered = 0;
+		long overruns = 0;
+		long bytes = 0;
+		for (int r = 0; r < readers; r++) {
+			delivered += counts[r].events;
+			overruns += counts[r].overruns;
+			bytes += allocated[r];
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%d subscribers on %d readers: %,d events published in %.2f s, %,d delivered (%,.0f/s), %d overruns%n",
+				subscribers, readers, stream.position() / 2, produced / 1e9, delivered, delivered / seconds, overruns);
+		System.out.printf("reader allocation: %.3f bytes per delivered event%n", (double) bytes / Math.max(1, delivered));
+	}
+
+	private static List<Move> randomGame()
+	{
+		SplittableRandom rnd = new SplittableRandom(17);
+		Position pos = Fen.parse(Fen.STARTPOS);
+		List<Move> game = new ArrayList<Move>();
+		while (game.size() < 80) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty()) break;
+			Move m = moves.get(rnd.nextInt(moves.size()));
+			pos.makeMove(m);
+			game.add(m);
+		}
+		return game;
+	}
+
+	private static long allocatedBytes()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	/**
+	 * Counts what a spectator connection would forward.
+	 */
+	private static final class Counting implements DeltaHandler
+	{
+		long events;
+		long overruns;
+
+		@Override
+		public void onMove(int game, int seq, int from, int to, int captured, int flags)
+		{
+			events++;
+		}
+
+		@Override
+		public void onUndo(int game, int seq)
+		{
+			events++;
+		}
+
+		@Override
+		public void onKeyframe(int game, int seq, Keyframe frame)
+		{
+			events++;
+		}
+
+		@Override
+		public void onOverrun(long lost)
+		{
+			overruns++;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import gpv.chess.engine.Evaluator;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.nnue.NnueEvaluator;
+import gpv.chess.engine.nnue.NnueNetwork;
+
+/**
+ * Measures the cost of evaluating a node the way the search does: make a
+ * move, evaluate, take it back. The moves come from a fixed random walk so
+ * every evaluator sees the same positions. Move generation is done up front
+ * and not timed; the make/unmake line shows what is left without evaluating.
+ * <pre>
+ * 	java gpv.chess.bench.EvaluatorBenchmark [weights file]
+ * </pre>
+ * Without a weights file an untrained network with 256 accumulators per side
+ * is used, which costs the same to run as a trained one.
+ * @version Oct 19, 2026
+ */
+public final class EvaluatorBenchmark
+{
+	private static final int POSITIONS = 200;
+	private static final int ROUNDS = 200;
+
+	private EvaluatorBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		NnueNetwork net = args.length > 0 ? NnueNetwork.load(Paths.get(args[0])) : NnueNetwork.random(256, 1);
+		Position pos = Fen.parse(Fen.STARTPOS);
+		SplittableRandom rnd = new SplittableRandom(3);
+		Move[][] replies = new Move[POSITIONS][];
+		Move[] walk = new Move[POSITIONS];
+		boolean[] restart = new boolean[POSITIONS];	// go back to the start before this position
+		int n = 0;
+		while (n < POSITIONS) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty() || pos.getPly() > 80) {
+				while (pos.getPly() > 0) pos.unmakeMove();
+				restart[n] = true;
+				continue;
+			}
+			replies[n] = moves.toArray(new Move[0]);
+			walk[n] = moves.get(rnd.nextInt(moves.size()));
+			pos.makeMove(walk[n++]);
+		}
+		while (pos.getPly() > 0) pos.unmakeMove();
+
+		run("make/unmake", p -> 0, pos, walk, restart, replies);
+		run("material", new MaterialEvaluator(), pos, walk, restart, replies);
+		run("nnue " + net.getHidden(), new NnueEvaluator(net), pos, walk, restart, replies);
+	}
+
+	private static void run(String name, Evaluator eval, Position pos, Move[] walk, boolean[] restart, Move[][] replies)
+	{
+		long evaluations = 0;
+		long checksum = 0;
+		long start = 0;
+		for (int round = -ROUNDS / 4; round < ROUNDS; round++) {	// the first quarter warms up
+			if (round == 0) {
+				start = System.nanoTime();
+				evaluations = 0;
+			}
+			eval.attach(pos);
+			int made = 0;
+			for (int i = 0; i < walk.length; i++) {
+				if (restart[i]) {
+					for (; made > 0; made--) pos.unmakeMove();
+				}
+				for (Move m : replies[i]) {
+					pos.makeMove(m);
+					checksum += eval.evaluate(pos);
+					pos.unmakeMove();
+				}
+				evaluations += replies[i].length;
+				pos.makeMove(walk[i]);
+				made++;
+			}
+			while (made-- > 0) pos.unmakeMove();
+			eval.detach(pos);
+		}
+		double ns = (System.nanoTime() - start) / (double) evaluations;
+		System.out.printf("%-12s %8.0f ns per make+evaluate+unmake  (checksum %d)%n", name, ns, checksum);
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import gpv.util.OffHeapLongSet;
+
+/**
+ * Deduplicates random 64-bit hashes, a fifth of them repeats, with a
+ * HashSet of Longs and with the OffHeapLongSet in memory and spilled to a
+ * file, and reports the insert rate and the memory per unique hash. The
+ * off-heap sets are sized for every hash being unique, so they are a
+ * fifth larger than they need to be.
+ * <pre>
+ * 	java gpv.chess.bench.HashSetBenchmark [hashes [threads]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class HashSetBenchmark
+{
+	private HashSetBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long[] hashes = hashes(n);
+
+		Runtime rt = Runtime.getRuntime();
+		System.gc();
+		long before = rt.totalMemory() - rt.freeMemory();
+		long start = System.nanoTime();
+		Set<Long> heap = new HashSet<Long>();
+		for (long h : hashes) heap.add(h);
+		long nanos = System.nanoTime() - start;
+		System.gc();
+		long bytes = rt.totalMemory() - rt.freeMemory() - before;
+		report("HashSet<Long>", n, heap.size(), nanos, (double) bytes / heap.size());
+		heap = null;
+
+		OffHeapLongSet memory = OffHeapLongSet.inMemory(n);
+		nanos = fill(memory, hashes, threads);
+		report("off-heap x" + threads, n, memory.size(), nanos, memory.bytesPerElement());
+
+		Path file = Files.createTempFile("hashes", ".set");
+		try (OffHeapLongSet spilled = OffHeapLongSet.spilled(file, n)) {
+			nanos = fill(spilled, hashes, threads);
+			report("spilled x" + threads, n, spilled.size(), nanos, spilled.bytesPerElement());
+		}
+	}
+
+	private static long[] hashes(int n)
+	{
+		SplittableRandom rnd = new SplittableRandom(11);
+		long[] hashes = new long[n];
+		for (int i = 0; i < n; i++) hashes[i] = i > 0 && rnd.nextInt(5) == 0 ? hashes[rnd.nextInt(i)] : rnd.nextLong();
+		return hashes;
+	}
+
+	private static long fill(OffHeapLongSet set, long[] hashes, int threads) throws InterruptedException
+	{
+		Thread[] workers = new Thread[threads];
+		long start = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			int first = t;
+			workers[t] = new Thread(() -> {
+				for (int i = first; i < hashes.length; i += threads) set.add(hashes[i]);
+			});
+			workers[t].start();
+		}
+		for (Thread w : workers) w.join();
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String name, long inserts, long unique, long nanos, double bytesPerHash)
+	{
+		System.out.printf("%-16s %,12d unique  %6.1f M inserts/s  %5.1f bytes per unique hash%n",
+				name, unique, 1e3 * inserts / nanos, bytesPerHash);
+	}
+}
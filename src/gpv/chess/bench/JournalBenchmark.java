@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.journal.GameJournal;
+import gpv.chess.journal.JournaledGame;
+
+/**
+ * Measures the game journal: the cost of journaling a move, how many moves
+ * share an fsync when many threads wait for theirs, and how long open()
+ * takes to rebuild every game after the process stops without warning.
+ * <pre>
+ * 	java gpv.chess.bench.JournalBenchmark directory [games [plies [threads]]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class JournalBenchmark
+{
+	private JournalBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		Path dir = Paths.get(args.length > 0 ? args[0] : "journal-bench");
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+		int plies = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+		clear(dir);
+		play(dir, games, randomGame(plies), threads);
+
+		System.gc();
+		long start = System.nanoTime();
+		try (GameJournal rebuilt = GameJournal.open(dir)) {
+			long nanos = System.nanoTime() - start;
+			System.out.printf("rebuilt %,d games in %.2f s (replay and a fresh checkpoint)%n",
+					rebuilt.games().size(), nanos / 1e9);
+		}
+		clear(dir);
+		Files.delete(dir);
+	}
+
+	private static void play(Path dir, int games, List<Move> line, int threads) throws IOException, InterruptedException
+	{
+		GameJournal journal = GameJournal.open(dir);
+		List<JournaledGame> all = new ArrayList<JournaledGame>();
+		for (int id = 0; id < games; id++) all.add(journal.start(id, Fen.parse(Fen.STARTPOS)));
+		long start = System.nanoTime();
+		for (Move m : line) {
+			for (JournaledGame g : all) g.makeMove(m);
+		}
+		long nanos = System.nanoTime() - start;
+		long moves = (long) games * line.size();
+		System.out.printf("journaled %,d moves of %,d games: %d ns per move, %d checkpoints%n",
+				moves, games, nanos / moves, journal.getCheckpoints());
+
+		// every move waits for its fsync
+		long syncs = journal.getSyncs();
+		int each = 2000;
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			JournaledGame g = all.get(t);
+			workers[t] = new Thread(() -> {
+				for (int i = 0; i < each; i++) {
+					journal.sync(i % 2 == 0 ? g.unmakeMove() : g.makeMove(line.get(line.size() - 1)));
+				}
+			});
+		}
+		start = System.nanoTime();
+		for (Thread w : workers) w.start();
+		for (Thread w : workers) w.join();
+		nanos = System.nanoTime() - start;
+		syncs = journal.getSyncs() - syncs;
+		System.out.printf("%d threads syncing every move: %,.0f moves/s, %.1f moves per fsync%n",
+				threads, threads * each / (nanos / 1e9), (double) threads * each / Math.max(1, syncs));
+		journal.close();	// no checkpoint is written, as if the process had died
+	}
+
+	private static List<Move> randomGame(int plies)
+	{
+		SplittableRandom rnd = new SplittableRandom(11);
+		Position pos = Fen.parse(Fen.STARTPOS);
+		List<Move> game = new ArrayList<Move>();
+		while (game.size() < plies) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty()) break;
+			Move m = moves.get(rnd.nextInt(moves.size()));
+			pos.makeMove(m);
+			game.add(m);
+		}
+		return game;
+	}
+
+	private static void clear(Path dir) throws IOException
+	{
+		if (!Files.isDirectory(dir)) return;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.journal")) {
+			for (Path f : files) Files.delete(f);
+		}
+	}
+}
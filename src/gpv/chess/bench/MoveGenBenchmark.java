@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.util.Board;
+
+/**
+ * Measures legal move generation on the board each size gets from Fen
+ * (the MailboxBoard for 8x8, the BitBoard for variants) against the same
+ * positions on the map board. Each start position is walked with perft to a
+ * fixed depth, and the leaf counts of the two boards must agree.
+ * <pre>
+ * 	java gpv.chess.bench.MoveGenBenchmark [depth [rounds]]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class MoveGenBenchmark
+{
+	static final String[][] POSITIONS = {
+		{ "8x8", Fen.STARTPOS },
+		{ "10x8", "rnbqkbnrbn/pppppppppp/10/10/10/10/PPPPPPPPPP/RNBQKBNRBN w - - 0 1" },
+		{ "12x12", "rnbqkbnrbnrq/pppppppppppp/12/12/12/12/12/12/12/12/PPPPPPPPPPPP/RNBQKBNRBNRQ w - - 0 1" },
+	};
+
+	private MoveGenBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args)
+	{
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		System.out.printf("perft %d, best of %d rounds%n", depth, rounds);
+		System.out.printf("%-6s %-13s %12s %10s %12s%n", "", "board", "leaves", "ms", "leaves/s");
+		for (String[] p : POSITIONS) {
+			Position fast = Fen.parse(p[1]);
+			Position map = onMapBoard(fast);
+			long leaves = -1;
+			for (Position pos : new Position[] { fast, map }) {
+				long best = Long.MAX_VALUE;
+				long n = 0;
+				for (int r = 0; r < rounds; r++) {
+					long start = System.nanoTime();
+					n = perft(pos, depth);
+					best = Math.min(best, System.nanoTime() - start);
+				}
+				if (leaves >= 0 && n != leaves) throw new IllegalStateException(p[0] + " boards disagree: " + leaves + " " + n);
+				leaves = n;
+				System.out.printf("%-6s %-13s %,12d %10d %,12.0f%n", p[0], pos.getBoard().getClass().getSimpleName(),
+						n, best / 1_000_000, n * 1e9 / best);
+			}
+		}
+	}
+
+	private static long perft(Position pos, int depth)
+	{
+		List<Move> moves = MoveGenerator.legalMoves(pos);
+		if (depth == 1) return moves.size();
+		long n = 0;
+		for (Move m : moves) {
+			pos.makeMove(m);
+			n += perft(pos, depth - 1);
+			pos.unmakeMove();
+		}
+		return n;
+	}
+
+	/**
+	 * @return the position on a HashMap backed Board
+	 */
+	private static Position onMapBoard(Position p)
+	{
+		Board<ChessPiece> b = p.getBoard();
+		Board<ChessPiece> map = new Board<ChessPiece>(b.nRows, b.nColumns);
+		b.forEachPiece((c, piece) -> {
+			map.putPieceAt(piece, c);
+			if (b.hasMoved(c)) map.setHasMoved(c);
+		});
+		return new Position(map, p.getSideToMove());
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Search;
+import gpv.chess.engine.SearchInfo;
+import gpv.chess.engine.SearchLimits;
+import gpv.chess.engine.SearchListener;
+import gpv.chess.engine.SearchOptions;
+import gpv.chess.engine.TranspositionTable;
+
+/**
+ * Measures what each selective search technique buys. The techniques are
+ * turned on one at a time, each on top of the ones before it, since null-move
+ * pruning and futility only apply at the zero-window nodes that PVS creates.
+ * Every configuration searches the same positions twice: to a fixed depth, reporting the nodes
+ * and time it took, and with a fixed node budget, reporting the depth it
+ * reached. The table is cleared before every search so runs don't help each
+ * other.
+ * <pre>
+ * 	java gpv.chess.bench.SearchBenchmark [depth] [nodeBudget]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class SearchBenchmark
+{
+	static final String[] POSITIONS = {
+		Fen.STARTPOS,
+		"r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4",
+		"r2q1rk1/pp2bppp/2n1pn2/3p4/3P4/2NBPN2/PP3PPP/R2Q1RK1 w - - 0 10",
+		"8/5pk1/6p1/8/3R4/6P1/5PK1/3r4 w - - 0 40",
+		"6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1",
+	};
+
+	private SearchBenchmark()
+	{
+		// run from main
+	}
+
+	public static void main(String[] args)
+	{
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		long budget = args.length > 1 ? Long.parseLong(args[1]) : 50_000;
+
+		Map<String, SearchOptions> configs = new LinkedHashMap<String, SearchOptions>();
+		SearchOptions o = SearchOptions.none();
+		configs.put("plain alpha-beta", o);
+		configs.put("+ pvs", o = with(o, x -> x.principalVariation = true));
+		configs.put("+ aspiration", o = with(o, x -> x.aspirationWindows = true));
+		configs.put("+ null move", o = with(o, x -> x.nullMove = true));
+		configs.put("+ lmr", o = with(o, x -> x.lateMoveReductions = true));
+		configs.put("+ futility", o = with(o, x -> x.futility = true));
+
+		System.out.printf("depth %d, node budget %,d, %d positions%n", depth, budget, POSITIONS.length);
+		System.out.printf("%-18s %12s %9s %12s%n", "", "nodes", "ms", "depth@budget");
+		TranspositionTable tt = new TranspositionTable(16);
+		long baseNodes = 0;
+		for (Map.Entry<String, SearchOptions> e : configs.entrySet()) {
+			Search search = new Search(tt, new MaterialEvaluator());
+			search.setOptions(e.getValue());
+			long nodes = 0;
+			long start = System.currentTimeMillis();
+			for (String fen : POSITIONS) {
+				SearchLimits limits = new SearchLimits();
+				limits.depth = depth;
+				tt.clear();
+				search.think(Fen.parse(fen), limits, QUIET);
+				nodes += search.getNodes();
+			}
+			long ms = System.currentTimeMillis() - start;
+			double reached = 0;
+			for (String fen : POSITIONS) {
+				SearchLimits limits = new SearchLimits();
+				limits.nodes = budget;
+				int[] completed = new int[1];
+				tt.clear();
+				search.think(Fen.parse(fen), limits, new SearchListener() {
+					public void onInfo(SearchInfo info) { completed[0] = info.depth; }
+					public void onBestMove(Move best, Move ponder) { }
+				});
+				reached += completed[0];
+			}
+			if (baseNodes == 0) baseNodes = nodes;
+			System.out.printf("%-18s %,12d %9d %12.1f   (%.0f%% of plain nodes)%n", e.getKey(), nodes, ms,
+					reached / POSITIONS.length, 100.0 * nodes / baseNodes);
+		}
+	}
+
+	/**
+	 * @return a copy of base with one more switch changed
+	 */
+	private static SearchOptions with(SearchOptions base, Consumer<SearchOptions> change)
+	{
+		SearchOptions o = new SearchOptions();
+		o.nullMove = base.nullMove;
+		o.lateMoveReductions = base.lateMoveReductions;
+		o.principalVariation = base.principalVariation;
+		o.aspirationWindows = base.aspirationWindows;
+		o.futility = base.futility;
+		change.accept(o);
+		return o;
+	}
+
+	private static final SearchListener QUIET = new SearchListener() {
+		public void onInfo(SearchInfo info) { }
+		public void onBestMove(Move best, Move ponder) { }
+	};
+}
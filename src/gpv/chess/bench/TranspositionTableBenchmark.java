@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import gpv.chess.engine.TranspositionTable;
+
+/**
+ * Measures probe/store throughput of the shared TranspositionTable under
+ * many threads, against a ConcurrentHashMap doing the same work. Threads
+ * draw keys from a shared pool that is larger than the table, so slots are
+ * overwritten and contended the way they are in a parallel search. The map
+ * is never trimmed, so it ends up holding the whole pool.
+ * <br/>
+ * Every stored move is derived from its key, so a probe that returned
+ * another position's data would be noticed and reported as corrupt.
+ * <pre>
+ * 	java gpv.chess.bench.TranspositionTableBenchmark [threads] [seconds] [megabytes]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public final class TranspositionTableBenchmark
+{
+	private static final int STORE_PERCENT = 30;
+
+	private TranspositionTableBenchmark()
+	{
+		// run from main
+	}
+
+	/**
+	 * One probe/store implementation being measured.
+	 */
+	private interface Table
+	{
+		/**
+		 * @return the move stored for the key, or 0
+		 */
+		int probe(long key);
+
+		void store(long key, int move);
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+		TranspositionTable tt = new TranspositionTable(megabytes);
+		long[] keys = keyPool(tt.capacity() * 2);
+		ConcurrentHashMap<Long, Integer> map = new ConcurrentHashMap<Long, Integer>(keys.length, 0.75f, threads);
+
+		System.out.printf("%d threads, %d s, %d entries, %d keys, %d%% stores%n",
+				threads, seconds, tt.capacity(), keys.length, STORE_PERCENT);
+		Table lockFree = new Table() {
+			public int probe(long key) { return TranspositionTable.move(tt.probe(key)); }
+			public void store(long key, int move) { tt.store(key, move, 0, 1, TranspositionTable.BOUND_EXACT); }
+		};
+		Table baseline = new Table() {
+			public int probe(long key)
+			{
+				Integer move = map.get(key);
+				return move == null ? 0 : move;
+			}
+			public void store(long key, int move) { map.put(key, move); }
+		};
+		run("warmup", lockFree, keys, threads, 1);
+		tt.clear();
+		double lockFreeRate = run("TranspositionTable", lockFree, keys, threads, seconds);
+		double baselineRate = run("ConcurrentHashMap", baseline, keys, threads, seconds);
+		System.out.printf("speedup %.2fx%n", lockFreeRate / baselineRate);
+	}
+
+	private static long[] keyPool(int n)
+	{
+		SplittableRandom rnd = new SplittableRandom(1);
+		long[] keys = new long[n];
+		for (int i = 0; i < n; i++) keys[i] = rnd.nextLong();
+		return keys;
+	}
+
+	private static int moveFor(long key)
+	{
+		return (int) (key & 0x7FFFFF) | 1;
+	}
+
+	/**
+	 * @return operations per second
+	 */
+	private static double run(String name, Table table, long[] keys, int threads, int seconds)
+			throws InterruptedException
+	{
+		LongAdder ops = new LongAdder();
+		LongAdder hits = new LongAdder();
+		LongAdder corrupt = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		long[] deadline = new long[1];
+		for (int t = 0; t < threads; t++) {
+			long seed = t;
+			Thread worker = new Thread(() -> {
+				SplittableRandom rnd = new SplittableRandom(seed);
+				long n = 0, h = 0, bad = 0;
+				try {
+					start.await();
+					while (true) {
+						for (int i = 0; i < 1024; i++) {
+							long key = keys[rnd.nextInt(keys.length)];
+							if (rnd.nextInt(100) < STORE_PERCENT) {
+								table.store(key, moveFor(key));
+							}
+							else {
+								int move = table.probe(key);
+								if (move != 0) {
+									h++;
+									if (move != moveFor(key)) bad++;
+								}
+							}
+						}
+						n += 1024;
+						if (System.nanoTime() >= deadline[0]) break;
+					}
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				ops.add(n);
+				hits.add(h);
+				corrupt.add(bad);
+				done.countDown();
+			}, name + "-" + t);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		long begin = System.nanoTime();
+		deadline[0] = begin + seconds * 1_000_000_000L;
+		start.countDown();
+		done.await();
+		double elapsed = (System.nanoTime() - begin) / 1e9;
+		double rate = ops.sum() / elapsed;
+		System.out.printf("%-20s %,14.0f ops/s  hit rate %5.1f%%  corrupt %d%n",
+				name, rate, 100.0 * hits.sum() / Math.max(1, ops.sum()), corrupt.sum());
+		return rate;
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+/**
+ * The statistics of (position, move) pairs while a tree is being built: an
+ * open-addressing table over parallel primitive arrays, so an edge costs 24
+ * bytes and no objects. Each building thread fills its own table and the
+ * tables are merged at the end.
+ * @version Oct 19, 2026
+ */
+class MoveTable
+{
+	private long[] keys;		// position hash
+	private int[] moves;		// Move.toInt(), 0 for an empty slot
+	private int[] games;
+	private int[] whiteWins;
+	private int[] draws;
+	private int mask;
+	private int size;
+
+	MoveTable()
+	{
+		allocate(1 << 12);
+	}
+
+	private void allocate(int capacity)
+	{
+		keys = new long[capacity];
+		moves = new int[capacity];
+		games = new int[capacity];
+		whiteWins = new int[capacity];
+		draws = new int[capacity];
+		mask = capacity - 1;
+		size = 0;
+	}
+
+	/**
+	 * @return the number of distinct (position, move) pairs
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Count a move played in a position.
+	 * @param key the position hash
+	 * @param move the packed move
+	 * @param result the game's result as a PgnGame constant
+	 */
+	void add(long key, int move, int result)
+	{
+		add(key, move, 1, result == PgnGame.WHITE_WINS ? 1 : 0, result == PgnGame.DRAW ? 1 : 0);
+	}
+
+	private void add(long key, int move, int n, int wins, int drawn)
+	{
+		if (2 * (size + 1) > keys.length) grow();
+		int i = slot(key, move);
+		if (moves[i] == 0) {
+			keys[i] = key;
+			moves[i] = move;
+			size++;
+		}
+		games[i] += n;
+		whiteWins[i] += wins;
+		draws[i] += drawn;
+	}
+
+	/**
+	 * Add all of another table's counts to this one.
+	 */
+	void addAll(MoveTable other)
+	{
+		for (int i = 0; i < other.moves.length; i++) {
+			if (other.moves[i] != 0) add(other.keys[i], other.moves[i], other.games[i], other.whiteWins[i], other.draws[i]);
+		}
+	}
+
+	/**
+	 * @return the slot holding the pair, or the empty slot where it goes
+	 */
+	private int slot(long key, int move)
+	{
+		long h = (key ^ move * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+		int i = (int) (h >>> 32) & mask;
+		while (moves[i] != 0 && (keys[i] != key || moves[i] != move)) i = i + 1 & mask;
+		return i;
+	}
+
+	private void grow()
+	{
+		long[] k = keys;
+		int[] m = moves, g = games, w = whiteWins, d = draws;
+		allocate(2 * k.length);
+		for (int i = 0; i < k.length; i++) {
+			if (m[i] != 0) add(k[i], m[i], g[i], w[i], d[i]);
+		}
+	}
+
+	/**
+	 * Visit every edge.
+	 */
+	void forEach(EdgeVisitor visitor)
+	{
+		for (int i = 0; i < moves.length; i++) {
+			if (moves[i] != 0) visitor.visit(keys[i], moves[i], games[i], whiteWins[i], draws[i]);
+		}
+	}
+
+	@FunctionalInterface
+	interface EdgeVisitor
+	{
+		void visit(long key, int move, int games, int whiteWins, int draws);
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+
+/**
+ * A read-only opening tree in a memory-mapped file, as written by the
+ * OpeningTreeBuilder. Positions are found by hash, so every move order that
+ * reaches a position shares its statistics. A lookup is a probe of the
+ * index plus a read of the position's edges, straight from the mapping.
+ * <br/>
+ * The file is little-endian:
+ * <pre>
+ * 	int magic "GPVT", int version, int slots, int positions, int edges, 12 bytes unused
+ * 	slots * (long hash, int first edge, int edge count): open addressing,
+ * 		linear probing, a count of 0 marks an empty slot
+ * 	edges * (int move, int games, int white wins, int draws): grouped by
+ * 		position, most played first
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public class OpeningTree implements AutoCloseable
+{
+	public static final int MAGIC = 0x54565047;	// "GPVT" read little-endian
+	public static final int VERSION = 1;
+	static final int HEADER_BYTES = 32;
+	static final int SLOT_BYTES = 16;
+	static final int EDGE_BYTES = 16;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final int mask;
+	private final int positions;
+	private final int edges;
+	private final int edgeBase;
+
+	private OpeningTree(FileChannel channel, MappedByteBuffer mapped, Path file) throws IOException
+	{
+		this.channel = channel;
+		this.buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+		int slots = buffer.getInt(8);
+		positions = buffer.getInt(12);
+		edges = buffer.getInt(16);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || Integer.bitCount(slots) != 1
+				|| buffer.capacity() != HEADER_BYTES + (long) slots * SLOT_BYTES + (long) edges * EDGE_BYTES) {
+			throw new IOException(file + " is not an opening tree");
+		}
+		mask = slots - 1;
+		edgeBase = HEADER_BYTES + slots * SLOT_BYTES;
+	}
+
+	/**
+	 * Map a tree file.
+	 * @param file
+	 * @return the tree
+	 * @throws IOException if the file can't be read or isn't a tree
+	 */
+	public static OpeningTree open(Path file) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException(file + " is not an opening tree");
+			}
+			return new OpeningTree(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the index slot a hash starts probing from
+	 */
+	static int home(long hash, int mask)
+	{
+		return (int) (hash * 0x9E3779B97F4A7C15L >>> 32) & mask;
+	}
+
+	/**
+	 * @return the number of positions in the tree
+	 */
+	public int positions()
+	{
+		return positions;
+	}
+
+	/**
+	 * @return the number of (position, move) pairs in the tree
+	 */
+	public int edges()
+	{
+		return edges;
+	}
+
+	/**
+	 * @param pos a position
+	 * @return the moves played from it, most played first
+	 */
+	public List<TreeMove> moves(Position pos)
+	{
+		return moves(pos.getHash());
+	}
+
+	/**
+	 * @param hash a position hash
+	 * @return the moves played from the position, most played first; empty if
+	 * 	it isn't in the tree
+	 */
+	public List<TreeMove> moves(long hash)
+	{
+		for (int i = home(hash, mask);; i = i + 1 & mask) {
+			int at = HEADER_BYTES + i * SLOT_BYTES;
+			int count = buffer.getInt(at + 12);
+			if (count == 0) return Collections.emptyList();
+			if (buffer.getLong(at) != hash) continue;
+			int first = buffer.getInt(at + 8);
+			List<TreeMove> result = new ArrayList<TreeMove>(count);
+			for (int e = edgeBase + first * EDGE_BYTES, end = e + count * EDGE_BYTES; e < end; e += EDGE_BYTES) {
+				result.add(new TreeMove(Move.fromInt(buffer.getInt(e)), buffer.getInt(e + 4),
+						buffer.getInt(e + 8), buffer.getInt(e + 12)));
+			}
+			return result;
+		}
+	}
+
+	/*
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+	/**
+	 * Print the moves played in a position.
+	 * <pre>
+	 * 	java gpv.chess.book.OpeningTree tree-file [FEN]
+	 * </pre>
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1) {
+			System.err.println("usage: OpeningTree tree-file [FEN]");
+			System.exit(2);
+		}
+		Position pos = Fen.parse(args.length > 1 ? String.join(" ", Arrays.asList(args).subList(1, args.length)) : Fen.STARTPOS);
+		try (OpeningTree tree = open(Paths.get(args[0]))) {
+			long start = System.nanoTime();
+			List<TreeMove> moves = tree.moves(pos);
+			long micros = (System.nanoTime() - start) / 1000;
+			System.out.println(tree.positions() + " positions, " + tree.edges() + " moves; lookup took " + micros + " us");
+			for (TreeMove m : moves) {
+				System.out.printf("%-7s %8d games  %5.1f%%%n", m.move, m.games, 100 * m.score(pos.getSideToMove()));
+			}
+		}
+	}
+}
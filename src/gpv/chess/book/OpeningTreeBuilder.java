@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.San;
+
+/**
+ * Builds an opening tree from PGN game files. Every game is replayed
+ * through Position and the MoveGenerator, so the ChessRules decide what its
+ * moves mean, and each (position, move) pair up to a ply limit is counted
+ * with the game's result.
+ * <br/>
+ * The calling thread splits the input into games and passes them in
+ * chunks through a bounded queue to the worker threads. Each worker replays
+ * into its own MoveTable; the tables are merged when the input ends and the
+ * result is written with write().
+ * <pre>
+ * 	java gpv.chess.book.OpeningTreeBuilder tree-file [-plies n] [-threads n] games.pgn...
+ * </pre>
+ * Games without a result are skipped, since they can't be scored. A game
+ * with a move that can't be played is counted up to that move.
+ * @version Oct 19, 2026
+ */
+public class OpeningTreeBuilder
+{
+	public static final int DEFAULT_PLIES = 30;
+	private static final int CHUNK = 256;
+	private static final List<PgnGame> END = new ArrayList<PgnGame>();
+
+	private final int threads;
+	private final int maxPlies;
+	private final MoveTable tree = new MoveTable();
+	private final AtomicLong games = new AtomicLong();
+	private final AtomicLong skipped = new AtomicLong();
+	private final AtomicLong badMoves = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * @param threads the number of replaying threads
+	 * @param maxPlies how deep into each game to count moves
+	 */
+	public OpeningTreeBuilder(int threads, int maxPlies)
+	{
+		if (threads < 1) throw new IllegalArgumentException("Need at least one thread");
+		this.threads = threads;
+		this.maxPlies = maxPlies;
+	}
+
+	/**
+	 * @return the number of games counted
+	 */
+	public long getGames()
+	{
+		return games.get();
+	}
+
+	/**
+	 * @return the number of games skipped for having no result
+	 */
+	public long getSkipped()
+	{
+		return skipped.get();
+	}
+
+	/**
+	 * @return the number of games cut short by a move that couldn't be played
+	 */
+	public long getBadMoves()
+	{
+		return badMoves.get();
+	}
+
+	/**
+	 * @return the number of (position, move) pairs so far
+	 */
+	public int size()
+	{
+		return tree.size();
+	}
+
+	/**
+	 * Count the games in a stream of PGN text. Can be called once per file.
+	 * If replaying a game fails other than on a bad move, the rest of the
+	 * input is skipped, nothing from this call is added to the tree, and the
+	 * exception is thrown here.
+	 * @param in the PGN text
+	 * @throws IOException if the input can't be read
+	 */
+	public void add(BufferedReader in) throws IOException
+	{
+		BlockingQueue<List<PgnGame>> queue = new ArrayBlockingQueue<List<PgnGame>>(2 * threads);
+		AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+		MoveTable[] partial = new MoveTable[threads];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			MoveTable table = partial[t] = new MoveTable();
+			workers[t] = new Thread(() -> work(queue, table, failure), "tree-builder-" + t);
+			workers[t].start();
+		}
+		try {
+			PgnReader reader = new PgnReader(in);
+			List<PgnGame> chunk = new ArrayList<PgnGame>(CHUNK);
+			PgnGame game;
+			while ((game = reader.next()) != null && failure.get() == null) {
+				chunk.add(game);
+				if (chunk.size() == CHUNK) {
+					put(queue, chunk);
+					chunk = new ArrayList<PgnGame>(CHUNK);
+				}
+			}
+			if (!chunk.isEmpty()) put(queue, chunk);
+		}
+		finally {
+			for (int t = 0; t < threads; t++) put(queue, END);
+			for (Thread w : workers) join(w);
+		}
+		if (failure.get() != null) throw failure.get();
+		for (MoveTable table : partial) tree.addAll(table);
+	}
+
+	private void work(BlockingQueue<List<PgnGame>> queue, MoveTable table, AtomicReference<RuntimeException> failure)
+	{
+		while (true) {
+			List<PgnGame> chunk;
+			try {
+				chunk = queue.take();
+			}
+			catch (InterruptedException e) {
+				return;
+			}
+			if (chunk == END) return;
+			if (failure.get() != null) continue;	// drain the queue so the reader never blocks
+			try {
+				for (PgnGame g : chunk) replay(g, table);
+			}
+			catch (RuntimeException e) {
+				failure.compareAndSet(null, e);
+			}
+		}
+	}
+
+	private void replay(PgnGame game, MoveTable table)
+	{
+		if (game.result == PgnGame.UNKNOWN) {
+			skipped.incrementAndGet();
+			return;
+		}
+		games.incrementAndGet();
+		try {
+			Position pos = Fen.parse(game.fen == null ? Fen.STARTPOS : game.fen);
+			for (int ply = 0; ply < maxPlies && ply < game.moves.size(); ply++) {
+				Move m = San.parse(pos, game.moves.get(ply));
+				table.add(pos.getHash(), m.toInt(), game.result);
+				pos.makeMove(m);
+			}
+		}
+		catch (IllegalArgumentException e) {
+			badMoves.incrementAndGet();
+		}
+	}
+
+	private static void put(BlockingQueue<List<PgnGame>> queue, List<PgnGame> chunk) throws InterruptedIOException
+	{
+		try {
+			queue.put(chunk);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while building");
+		}
+	}
+
+	private static void join(Thread t) throws InterruptedIOException
+	{
+		try {
+			t.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while building");
+		}
+	}
+
+	/**
+	 * Write the tree in the format OpeningTree reads.
+	 * @param file
+	 * @throws IOException if the file can't be written or would be over 2GB
+	 */
+	public void write(Path file) throws IOException
+	{
+		int edges = tree.size();
+		// find the distinct positions, then lay them out at half load
+		long[] hashes = new long[Integer.highestOneBit(Math.max(2, 2 * edges)) << 1];
+		int[] counts = new int[hashes.length];
+		int[] positions = new int[1];
+		tree.forEach((key, move, n, wins, draws) -> {
+			int i = find(hashes, counts, key);
+			if (counts[i]++ == 0) {
+				hashes[i] = key;
+				positions[0]++;
+			}
+		});
+		int slots = Integer.highestOneBit(Math.max(2, 2 * positions[0])) << 1;
+		long[] slotHash = new long[slots];
+		int[] slotCount = new int[slots];
+		for (int i = 0; i < hashes.length; i++) {
+			if (counts[i] == 0) continue;
+			int s = find(slotHash, slotCount, hashes[i]);
+			slotHash[s] = hashes[i];
+			slotCount[s] = counts[i];
+		}
+		int[] first = new int[slots];
+		for (int s = 0, next = 0; s < slots; s++) {
+			first[s] = next;
+			next += slotCount[s];
+		}
+
+		long bytes = OpeningTree.HEADER_BYTES + (long) slots * OpeningTree.SLOT_BYTES + (long) edges * OpeningTree.EDGE_BYTES;
+		if (bytes > Integer.MAX_VALUE) throw new IOException("The tree is too big for one file: " + bytes + " bytes");
+		int edgeBase = OpeningTree.HEADER_BYTES + slots * OpeningTree.SLOT_BYTES;
+		// written beside the target and moved over it, so readers never see half a tree
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+			ByteBuffer out = mapped.order(ByteOrder.LITTLE_ENDIAN);
+			int[] filled = new int[slots];
+			tree.forEach((key, move, n, wins, draws) -> {
+				int s = find(slotHash, slotCount, key);
+				int e = edgeBase + (first[s] + filled[s]++) * OpeningTree.EDGE_BYTES;
+				out.putInt(e, move).putInt(e + 4, n).putInt(e + 8, wins).putInt(e + 12, draws);
+			});
+			for (int s = 0; s < slots; s++) {
+				int at = OpeningTree.HEADER_BYTES + s * OpeningTree.SLOT_BYTES;
+				out.putLong(at, slotHash[s]).putInt(at + 8, first[s]).putInt(at + 12, slotCount[s]);
+				sortByGames(out, edgeBase + first[s] * OpeningTree.EDGE_BYTES, slotCount[s]);
+			}
+			out.putInt(0, OpeningTree.MAGIC).putInt(4, OpeningTree.VERSION)
+				.putInt(8, slots).putInt(12, positions[0]).putInt(16, edges);
+			mapped.force();
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * @return the slot holding the hash, or the empty slot where it goes
+	 */
+	private static int find(long[] hashes, int[] counts, long key)
+	{
+		int mask = hashes.length - 1;
+		int i = OpeningTree.home(key, mask);
+		while (counts[i] != 0 && hashes[i] != key) i = i + 1 & mask;
+		return i;
+	}
+
+	/**
+	 * Insertion sort of one position's edges, most played first. A position
+	 * rarely has more than a few dozen.
+	 */
+	private static void sortByGames(ByteBuffer b, int start, int count)
+	{
+		int[] edge = new int[4];
+		for (int i = 1; i < count; i++) {
+			int at = start + i * OpeningTree.EDGE_BYTES;
+			for (int k = 0; k < 4; k++) edge[k] = b.getInt(at + 4 * k);
+			int j = i;
+			for (; j > 0 && b.getInt(start + (j - 1) * OpeningTree.EDGE_BYTES + 4) < edge[1]; j--) {
+				int to = start + j * OpeningTree.EDGE_BYTES;
+				for (int k = 0; k < 4; k++) b.putInt(to + 4 * k, b.getInt(to - OpeningTree.EDGE_BYTES + 4 * k));
+			}
+			int to = start + j * OpeningTree.EDGE_BYTES;
+			for (int k = 0; k < 4; k++) b.putInt(to + 4 * k, edge[k]);
+		}
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		int plies = DEFAULT_PLIES;
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<Path> inputs = new ArrayList<Path>();
+		Path output = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-plies")) plies = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-threads")) threads = Integer.parseInt(args[++i]);
+			else if (output == null) output = Paths.get(args[i]);
+			else inputs.add(Paths.get(args[i]));
+		}
+		if (output == null || inputs.isEmpty()) {
+			System.err.println("usage: OpeningTreeBuilder tree-file [-plies n] [-threads n] games.pgn...");
+			System.exit(2);
+		}
+		OpeningTreeBuilder builder = new OpeningTreeBuilder(threads, plies);
+		long start = System.nanoTime();
+		for (Path input : inputs) {
+			try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1)) {
+				builder.add(in);
+			}
+		}
+		builder.write(output);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		System.out.println(builder.getGames() + " games (" + builder.getSkipped() + " without a result, "
+				+ builder.getBadMoves() + " with a bad move), " + builder.size() + " moves in " + millis + " ms");
+	}
+}
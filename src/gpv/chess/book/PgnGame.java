@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import java.util.List;
+
+/**
+ * The parts of a PGN game the opening tree uses: where it starts, its moves
+ * as written and how it ended.
+ * @version Oct 19, 2026
+ */
+public class PgnGame
+{
+	public static final int UNKNOWN = -1;
+	public static final int BLACK_WINS = 0;
+	public static final int DRAW = 1;
+	public static final int WHITE_WINS = 2;
+
+	public final String fen;		// null for the standard start position
+	public final List<String> moves;
+	public final int result;		// white's points in halves, or UNKNOWN
+
+	/**
+	 * Constructor.
+	 * @param fen
+	 * @param moves
+	 * @param result
+	 */
+	public PgnGame(String fen, List<String> moves, int result)
+	{
+		this.fen = fen;
+		this.moves = moves;
+		this.result = result;
+	}
+
+	/**
+	 * @param token a PGN game termination marker
+	 * @return the result it stands for, or UNKNOWN if it isn't one
+	 */
+	public static int result(String token)
+	{
+		switch (token) {
+			case "1-0": return WHITE_WINS;
+			case "0-1": return BLACK_WINS;
+			case "1/2-1/2": return DRAW;
+			default: return UNKNOWN;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a stream of PGN text into games. Only the FEN and Result tags are
+ * kept. Move numbers, comments, variations and annotation glyphs are
+ * dropped from the movetext, leaving the moves as written; they are checked
+ * when the game is replayed.
+ * @version Oct 19, 2026
+ */
+public class PgnReader
+{
+	private final BufferedReader in;
+	private String pending;		// a line read past the end of the last game
+
+	/**
+	 * Constructor.
+	 * @param in the PGN text
+	 */
+	public PgnReader(BufferedReader in)
+	{
+		this.in = in;
+	}
+
+	/**
+	 * @return the next game or null at the end of the input
+	 * @throws IOException
+	 */
+	public PgnGame next() throws IOException
+	{
+		String fen = null;
+		String resultTag = null;
+		List<String> moves = new ArrayList<String>(80);
+		int result = PgnGame.UNKNOWN;
+		boolean inMoves = false;
+		boolean seen = false;
+		boolean comment = false;	// inside {...}, which can span lines
+		int variation = 0;			// nesting depth of (...)
+		String line;
+		while ((line = pending != null ? pending : in.readLine()) != null) {
+			pending = null;
+			String trimmed = line.trim();
+			if (!comment && variation == 0 && trimmed.startsWith("[")) {
+				if (inMoves) {
+					pending = line;		// the next game's tags
+					break;
+				}
+				seen = true;
+				String value = tagValue(trimmed);
+				if (trimmed.startsWith("[FEN ")) fen = value;
+				else if (trimmed.startsWith("[Result ")) resultTag = value;
+				continue;
+			}
+			if (trimmed.startsWith("%")) continue;	// escaped line
+			boolean ended = false;
+			int i = 0;
+			while (i < trimmed.length() && !ended) {
+				char ch = trimmed.charAt(i);
+				if (comment) {
+					if (ch == '}') comment = false;
+					i++;
+					continue;
+				}
+				if (ch == '{') {
+					comment = true;
+					i++;
+					continue;
+				}
+				if (ch == ';') break;	// comment to the end of the line
+				if (ch == '(') variation++;
+				if (ch == ')') variation--;
+				if (ch == '(' || ch == ')' || Character.isWhitespace(ch)) {
+					i++;
+					continue;
+				}
+				int start = i;
+				while (i < trimmed.length() && " \t{}();".indexOf(trimmed.charAt(i)) < 0) i++;
+				if (variation > 0) continue;
+				String token = trimmed.substring(start, i);
+				inMoves = seen = true;
+				if (token.equals("*") || PgnGame.result(token) != PgnGame.UNKNOWN) {
+					result = PgnGame.result(token);
+					ended = true;
+					continue;
+				}
+				if (token.startsWith("$")) continue;
+				int dot = token.lastIndexOf('.');
+				if (dot >= 0) token = token.substring(dot + 1);	// "12." or "12...Nf6"
+				if (!token.isEmpty()) moves.add(token);
+			}
+			if (ended) break;
+		}
+		if (!seen) return null;
+		if (result == PgnGame.UNKNOWN && resultTag != null) result = PgnGame.result(resultTag);
+		return new PgnGame(fen, moves, result);
+	}
+
+	private static String tagValue(String tag)
+	{
+		int open = tag.indexOf('"');
+		int close = tag.lastIndexOf('"');
+		return open >= 0 && close > open ? tag.substring(open + 1, close) : "";
+	}
+}
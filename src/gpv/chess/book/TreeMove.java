@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Move;
+
+/**
+ * A move played in a position of the opening tree and how the games that
+ * played it ended.
+ * @version Oct 19, 2026
+ */
+public class TreeMove
+{
+	public final Move move;
+	public final int games;
+	public final int whiteWins;
+	public final int draws;
+
+	/**
+	 * Constructor.
+	 * @param move
+	 * @param games
+	 * @param whiteWins
+	 * @param draws
+	 */
+	public TreeMove(Move move, int games, int whiteWins, int draws)
+	{
+		this.move = move;
+		this.games = games;
+		this.whiteWins = whiteWins;
+		this.draws = draws;
+	}
+
+	/**
+	 * @return the number of games black won
+	 */
+	public int blackWins()
+	{
+		return games - whiteWins - draws;
+	}
+
+	/**
+	 * @param side the side that played the move
+	 * @return the points that side scored per game, from 0 to 1
+	 */
+	public double score(PlayerColor side)
+	{
+		int wins = side == PlayerColor.WHITE ? whiteWins : blackWins();
+		return games == 0 ? 0 : (wins + draws / 2.0) / games;
+	}
+
+	@Override
+	public String toString()
+	{
+		return move + " " + games + " (+" + whiteWins + " =" + draws + " -" + blackWins() + ")";
+	}
+}
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.cluster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Search;
+
+/**
+ * Splits perft counts and searches at the root and farms the pieces out to
+ * Worker processes over local TCP connections. Each worker gets one job at a
+ * time from a shared queue, so faster workers take more of them. If a
+ * worker's connection fails, its job goes back on the queue for the others
+ * and the worker is dropped; the run only fails if every worker is gone.
+ * <br/>
+ * Perft is split at a given depth: every sequence of that many moves from
+ * the root becomes a job and the counts are added up. A search is split by
+ * root move: each worker searches the position after its move one ply
+ * shallower and the best negated score wins. That loses the alpha-beta
+ * bounds between root moves, so it does more work in total than one search,
+ * but the root moves are searched side by side.
+ * @version Oct 19, 2026
+ */
+public class Coordinator
+{
+	private final List<InetSocketAddress> workers;
+	private final AtomicInteger reassigned = new AtomicInteger();
+
+	/**
+	 * Constructor.
+	 * @param workers where the workers listen
+	 */
+	public Coordinator(List<InetSocketAddress> workers)
+	{
+		if (workers.isEmpty()) throw new IllegalArgumentException("No workers");
+		this.workers = workers;
+	}
+
+	/**
+	 * @return how many jobs had to be given to another worker
+	 */
+	public int getReassigned()
+	{
+		return reassigned.get();
+	}
+
+	/**
+	 * Count the leaves of the move tree below a position.
+	 * @param fen the root
+	 * @param depth plies to count
+	 * @param splitDepth how many plies from the root the jobs start; clamped
+	 * 	to between 1 and depth
+	 * @return the perft count
+	 * @throws IOException if the work couldn't be done
+	 */
+	public long perft(String fen, int depth, int splitDepth) throws IOException
+	{
+		if (depth == 0) return 1;
+		int split = Math.max(1, Math.min(splitDepth, depth));
+		List<Job> jobs = new ArrayList<Job>();
+		collect(Fen.parse(fen), fen, new ArrayList<Move>(), split, depth - split, jobs);
+		long total = 0;
+		for (String answer : run(jobs)) total += Long.parseLong(answer.split(" ")[2]);
+		return total;
+	}
+
+	private static void collect(Position pos, String fen, List<Move> path, int plies, int remaining, List<Job> jobs)
+	{
+		if (plies == 0) {
+			jobs.add(new Job(Job.Kind.PERFT, jobs.size(), remaining, fen, new ArrayList<Move>(path)));
+			return;
+		}
+		for (Move m : MoveGenerator.legalMoves(pos)) {
+			pos.makeMove(m);
+			path.add(m);
+			collect(pos, fen, path, plies - 1, remaining, jobs);
+			path.remove(path.size() - 1);
+			pos.unmakeMove();
+		}
+	}
+
+	/**
+	 * Search every root move on the workers.
+	 * @param fen the root
+	 * @param depth the depth to search to, at least 1
+	 * @return the best move and its score, or null if there are no moves
+	 * @throws IOException if the work couldn't be done
+	 */
+	public RootResult search(String fen, int depth) throws IOException
+	{
+		List<Move> rootMoves = MoveGenerator.legalMoves(Fen.parse(fen));
+		List<Job> jobs = new ArrayList<Job>();
+		for (Move m : rootMoves) {
+			jobs.add(new Job(Job.Kind.SEARCH, jobs.size(), Math.max(0, depth - 1), fen, Collections.singletonList(m)));
+		}
+		List<String> answers = run(jobs);
+		RootResult best = null;
+		long nodes = 0;
+		for (int i = 0; i < answers.size(); i++) {
+			String[] fields = answers.get(i).split(" ");
+			int score = fromChild(Integer.parseInt(fields[2]));
+			nodes += Long.parseLong(fields[4]);
+			if (best == null || score > best.score) best = new RootResult(rootMoves.get(i), score, 0);
+		}
+		return best == null ? null : new RootResult(best.move, best.score, nodes);
+	}
+
+	/**
+	 * @return a child's score from the root's side, with mates one ply longer
+	 */
+	private static int fromChild(int score)
+	{
+		int s = -score;
+		if (s > Search.MATE - Search.MAX_PLY * 2) s--;
+		else if (s < -Search.MATE + Search.MAX_PLY * 2) s++;
+		return s;
+	}
+
+	/**
+	 * Run the jobs on the workers.
+	 * @return the answer lines, in job order
+	 */
+	private List<String> run(List<Job> jobs) throws IOException
+	{
+		String[] answers = new String[jobs.size()];
+		BlockingDeque<Job> queue = new LinkedBlockingDeque<Job>(jobs);
+		AtomicInteger left = new AtomicInteger(jobs.size());
+		AtomicInteger alive = new AtomicInteger(workers.size());
+		AtomicReference<String> failure = new AtomicReference<String>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (InetSocketAddress address : workers) {
+			Thread t = new Thread(() -> {
+				try {
+					feed(address, queue, answers, left, failure);
+				}
+				finally {
+					alive.decrementAndGet();
+				}
+			}, "coordinator-" + address.getPort());
+			t.setDaemon(true);
+			t.start();
+			threads.add(t);
+		}
+		for (Thread t : threads) {
+			try {
+				t.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, "interrupted");
+			}
+		}
+		if (failure.get() != null) throw new IOException(failure.get());
+		if (left.get() > 0) throw new IOException("Every worker failed with " + left.get() + " jobs left");
+		List<String> result = new ArrayList<String>(answers.length);
+		Collections.addAll(result, answers);
+		return result;
+	}
+
+	/**
+	 * Feed jobs to one worker until there are none left, anywhere. A job that
+	 * is lost with the connection goes back on the front of the queue.
+	 */
+	private void feed(InetSocketAddress address, BlockingDeque<Job> queue, String[] answers, AtomicInteger left,
+			AtomicReference<String> failure)
+	{
+		try (Socket socket = new Socket(address.getAddress(), address.getPort());
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+			socket.setTcpNoDelay(true);
+			while (left.get() > 0 && failure.get() == null) {
+				Job job = queue.poll(50, TimeUnit.MILLISECONDS);	// a failed worker may hand one back
+				if (job == null) continue;
+				String answer;
+				try {
+					out.println(job.toLine());
+					if (out.checkError()) throw new IOException("Lost " + address);
+					answer = in.readLine();
+					if (answer == null) throw new IOException("Lost " + address);
+				}
+				catch (IOException e) {
+					queue.addFirst(job);
+					reassigned.incrementAndGet();
+					throw e;
+				}
+				if (answer.startsWith("error")) {
+					failure.compareAndSet(null, "Job " + job.toLine() + " failed: " + answer);
+					return;
+				}
+				answers[job.id] = answer;
+				left.decrementAndGet();
+			}
+		}
+		catch (IOException e) {
+			// the worker is gone; the others carry on
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Run a perft count or a search on local worker JVMs, or on workers
+	 * already running elsewhere on this host.
+	 * <pre>
+	 * 	java gpv.chess.cluster.Coordinator [-workers n | -connect port,port...] [-split k] [-kill]
+	 * 		perft|search depth [FEN]
+	 * </pre>
+	 * -kill kills the first local worker a second into the run, to show its
+	 * work being picked up by the others.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		int n = Runtime.getRuntime().availableProcessors();
+		int split = 2;
+		boolean kill = false;
+		List<InetSocketAddress> connect = new ArrayList<InetSocketAddress>();
+		int i = 0;
+		for (; i < args.length && args[i].startsWith("-"); i++) {
+			switch (args[i]) {
+				case "-workers": n = Integer.parseInt(args[++i]); break;
+				case "-split": split = Integer.parseInt(args[++i]); break;
+				case "-kill": kill = true; break;
+				case "-connect":
+					for (String port : args[++i].split(",")) {
+						connect.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port)));
+					}
+					break;
+				default: throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		if (args.length < i + 2) {
+			System.err.println("usage: Coordinator [-workers n | -connect port,...] [-split k] [-kill] perft|search depth [FEN]");
+			System.exit(2);
+		}
+		String command = args[i];
+		int depth = Integer.parseInt(args[i + 1]);
+		String fen = args.length > i + 2 ? String.join(" ", Arrays.asList(args).subList(i + 2, args.length)) : Fen.STARTPOS;
+		try (LocalCluster cluster = connect.isEmpty() ? new LocalCluster(n) : null) {
+			Coordinator coordinator = new Coordinator(cluster == null ? connect : cluster.getAddresses());
+			if (kill && cluster != null) {
+				Thread killer = new Thread(() -> {
+					try {
+						Thread.sleep(1000);
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					cluster.kill(0);
+				});
+				killer.setDaemon(true);
+				killer.start();
+			}
+			long start = System.nanoTime();
+			Object result = command.equals("perft") ? coordinator.perft(fen, depth, split) : coordinator.search(fen, depth);
+			long millis = (System.nanoTime() - start) / 1_000_000;
+			System.out.println(command + " " + depth + ": " + result + " in " + millis + " ms, "
+					+ coordinator.getReassigned() + " jobs reassigned");
+		}
+	}
+
+	/**
+	 * The result of a distributed search.
+	 */
+	public static class RootResult
+	{
+		public final Move move;
+		public final int score;
+		public final long nodes;
+
+		RootResult(Move move, int score, long nodes)
+		{
+			this.move = move;
+			this.score = score;
+			this.nodes = nodes;
+		}
+
+		@Override
+		public String toString()
+		{
+			return move + " score " + score + " nodes " + nodes;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+
+/**
+ * One unit of distributed work: count or search the tree below a position.
+ * The position travels as a FEN plus the moves played from it, the way a UCI
+ * "position" command gives it, so the worker replays the moves and ends
+ * up with exactly the coordinator's position. On the wire a job is one line:
+ * <pre>
+ * 	perft|search id depth fen FEN [moves m1 m2 ...]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+final class Job
+{
+	enum Kind { PERFT, SEARCH }
+
+	final Kind kind;
+	final int id;
+	final int depth;
+	final String fen;
+	final List<Move> moves;
+
+	Job(Kind kind, int id, int depth, String fen, List<Move> moves)
+	{
+		this.kind = kind;
+		this.id = id;
+		this.depth = depth;
+		this.fen = fen;
+		this.moves = moves;
+	}
+
+	/**
+	 * @return the position the job is about
+	 */
+	Position position()
+	{
+		Position pos = Fen.parse(fen);
+		for (Move m : moves) pos.makeMove(m);
+		return pos;
+	}
+
+	String toLine()
+	{
+		StringBuilder sb = new StringBuilder(kind.name().toLowerCase())
+			.append(' ').append(id).append(' ').append(depth).append(" fen ").append(fen);
+		if (!moves.isEmpty()) sb.append(" moves");
+		for (Move m : moves) sb.append(' ').append(m);
+		return sb.toString();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the line isn't a job
+	 */
+	static Job parse(String line)
+	{
+		List<String> tokens = Arrays.asList(line.trim().split("\\s+"));
+		int fen = tokens.indexOf("fen");
+		if (tokens.size() < 5 || fen != 3) throw new IllegalArgumentException("Bad job: " + line);
+		Kind kind = Kind.valueOf(tokens.get(0).toUpperCase());
+		int movesAt = tokens.indexOf("moves");
+		int end = movesAt < 0 ? tokens.size() : movesAt;
+		List<Move> moves = new ArrayList<Move>();
+		if (movesAt >= 0) {
+			for (String m : tokens.subList(movesAt + 1, tokens.size())) moves.add(Move.parse(m));
+		}
+		return new Job(kind, Integer.parseInt(tokens.get(1)), Integer.parseInt(tokens.get(2)),
+				String.join(" ", tokens.subList(fen + 1, end)), moves);
+	}
+}
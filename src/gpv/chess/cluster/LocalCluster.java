@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.cluster;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Worker JVMs started on this host, for running a Coordinator without
+ * setting up machines. Each worker runs with this JVM's class path and
+ * reports the port it picked on its first line of output.
+ * @version Oct 19, 2026
+ */
+public class LocalCluster implements AutoCloseable
+{
+	private final List<Process> processes = new ArrayList<Process>();
+	private final List<InetSocketAddress> addresses = new ArrayList<InetSocketAddress>();
+
+	/**
+	 * Start the workers and wait until they all listen.
+	 * @param n the number of workers
+	 * @throws IOException if a worker can't be started
+	 */
+	public LocalCluster(int n) throws IOException
+	{
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		try {
+			for (int i = 0; i < n; i++) {
+				ProcessBuilder pb = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Worker.class.getName());
+				pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+				pb.redirectInput(new File(File.separatorChar == '/' ? "/dev/null" : "NUL"));
+				Process p = pb.start();
+				processes.add(p);
+				BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.US_ASCII));
+				String line = out.readLine();
+				if (line == null || !line.startsWith("worker listening on ")) throw new IOException("Worker didn't start: " + line);
+				int port = Integer.parseInt(line.substring("worker listening on ".length()).trim());
+				addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return where the workers listen
+	 */
+	public List<InetSocketAddress> getAddresses()
+	{
+		return addresses;
+	}
+
+	/**
+	 * Kill one worker, as if it had crashed.
+	 * @param i which one
+	 */
+	public void kill(int i)
+	{
+		processes.get(i).destroyForcibly();
+	}
+
+	/*
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close()
+	{
+		for (Process p : processes) p.destroyForcibly();
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.cluster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Perft;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Search;
+import gpv.chess.engine.SearchInfo;
+import gpv.chess.engine.SearchLimits;
+import gpv.chess.engine.SearchListener;
+import gpv.chess.engine.TranspositionTable;
+
+/**
+ * Runs jobs sent by a Coordinator over a local TCP connection, one at a time
+ * per connection, and answers each with one line:
+ * <pre>
+ * 	nodes id count
+ * 	score id centipawns bestmove nodes
+ * 	error id message
+ * </pre>
+ * Started on its own, a worker prints the port it listens on and serves
+ * until it is killed:
+ * <pre>
+ * 	java gpv.chess.cluster.Worker [port]
+ * </pre>
+ * @version Oct 19, 2026
+ */
+public class Worker implements AutoCloseable
+{
+	private static final int HASH_MB = 64;
+
+	private final ServerSocket server;
+	private final TranspositionTable tt = new TranspositionTable(HASH_MB);
+
+	/**
+	 * Constructor. Only connections from this host are accepted.
+	 * @param port the port to listen on, 0 for any free one
+	 * @throws IOException if the port can't be opened
+	 */
+	public Worker(int port) throws IOException
+	{
+		server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	}
+
+	/**
+	 * @return the port the worker listens on
+	 */
+	public int getPort()
+	{
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Accept connections until the worker is closed. Each connection is
+	 * served on its own thread.
+	 */
+	public void serve()
+	{
+		while (!server.isClosed()) {
+			try {
+				Socket socket = server.accept();
+				Thread t = new Thread(() -> handle(socket), "worker-" + socket.getPort());
+				t.setDaemon(true);
+				t.start();
+			}
+			catch (IOException e) {
+				// closed
+			}
+		}
+	}
+
+	private void handle(Socket socket)
+	{
+		try (Socket s = socket;
+				BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+				PrintWriter out = new PrintWriter(s.getOutputStream(), true)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (!line.trim().isEmpty()) out.println(run(line));
+			}
+		}
+		catch (IOException e) {
+			// the coordinator went away
+		}
+	}
+
+	/**
+	 * @return the answer to one job line
+	 */
+	String run(String line)
+	{
+		int id = -1;
+		try {
+			Job job = Job.parse(line);
+			id = job.id;
+			Position pos = job.position();
+			if (job.kind == Job.Kind.PERFT) return "nodes " + id + " " + Perft.perft(pos, job.depth);
+			return search(job, pos);
+		}
+		catch (RuntimeException e) {
+			return "error " + id + " " + e;
+		}
+	}
+
+	private String search(Job job, Position pos)
+	{
+		if (MoveGenerator.legalMoves(pos).isEmpty()) {
+			int score = pos.isInCheck(pos.getSideToMove()) ? -Search.MATE : 0;
+			return "score " + job.id + " " + score + " 0000 1";
+		}
+		if (job.depth == 0) return "score " + job.id + " " + new MaterialEvaluator().evaluate(pos) + " 0000 1";
+		SearchLimits limits = new SearchLimits();
+		limits.depth = job.depth;
+		int[] score = new int[1];
+		Search search = new Search(tt, new MaterialEvaluator());
+		Move best = search.think(pos, limits, new SearchListener() {
+			@Override
+			public void onInfo(SearchInfo info)
+			{
+				score[0] = info.score;
+			}
+
+			@Override
+			public void onBestMove(Move m, Move ponder)
+			{
+				// returned by think()
+			}
+		});
+		return "score " + job.id + " " + score[0] + " " + best + " " + search.getNodes();
+	}
+
+	/*
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		server.close();
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		try (Worker worker = new Worker(args.length > 0 ? Integer.parseInt(args[0]) : 0)) {
+			System.out.println("worker listening on " + worker.getPort());
+			System.out.flush();
+			worker.serve();
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A persistent store of finished analyses: position hash to best move, score
+ * and depth. It lives in a memory-mapped file so it is kept across restarts
+ * and lookups are a few memory reads. Zobrist keys come from a fixed seed, so
+ * a file written by one engine can be copied to another.
+ * <br/>
+ * The file is a header followed by a power of two number of 16 byte entries,
+ * laid out like the TranspositionTable's: the key XORed with the data word,
+ * then the data word. Keys are placed by open addressing with linear probing
+ * over a window of PROBES entries. When the window is full the least
+ * recently used entry is evicted, so the file never grows. Every hit and
+ * store stamps the entry with a 16 bit clock kept in the header.
+ * <br/>
+ * Entries are written without locks. A torn entry, from two threads writing
+ * the same slot or from the process dying half way through a write, no
+ * longer XORs back to its key and reads as empty, so the file is always
+ * usable after a crash. flush() forces the pages to disk.
+ * @version Oct 19, 2026
+ */
+public class AnalysisCache implements AutoCloseable
+{
+	public static final long MAGIC = 0x4750564143414348L;	// "GPVACACH"
+	public static final int VERSION = 1;
+	public static final int PROBES = 8;
+	private static final int HEADER_LONGS = 8;			// magic, version, capacity, clock, unused
+	private static final int MAX_ENTRIES = 1 << 26;		// one mapping can't pass 2GB
+
+	private final FileChannel channel;
+	private final MappedByteBuffer mapped;
+	private final LongBuffer entries;	// key ^ data at 2i, data at 2i + 1
+	private final int mask;
+	private final AtomicInteger clock;
+
+	private AnalysisCache(FileChannel channel, MappedByteBuffer mapped, int capacity)
+	{
+		this.channel = channel;
+		this.mapped = mapped;
+		LongBuffer all = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+		this.clock = new AtomicInteger((int) all.get(3));
+		all.position(HEADER_LONGS);
+		this.entries = all.slice();
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Open the cache in a file, creating it if there is none.
+	 * @param file the cache file
+	 * @param megabytes the size of a new file; an existing file keeps its size
+	 * @return the cache
+	 * @throws IOException if the file can't be mapped or isn't a cache file
+	 */
+	public static AnalysisCache open(Path file, int megabytes) throws IOException
+	{
+		boolean exists = Files.exists(file) && Files.size(file) > 0;
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			int capacity;
+			if (exists) {
+				LongBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8 * HEADER_LONGS)
+						.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+				long entries = header.get(2);
+				if (header.get(0) != MAGIC || header.get(1) != VERSION || Long.bitCount(entries) != 1
+						|| entries > MAX_ENTRIES || channel.size() != bytes((int) entries)) {
+					throw new IOException(file + " is not an analysis cache");
+				}
+				capacity = (int) entries;
+			}
+			else {
+				long wanted = Long.highestOneBit(Math.max(1L, (long) megabytes << 20) / 16);
+				capacity = (int) Math.max(1024, Math.min(wanted, MAX_ENTRIES));
+			}
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes(capacity));
+			if (!exists) {
+				LongBuffer header = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+				header.put(1, VERSION).put(2, capacity);
+				mapped.force();
+				header.put(0, MAGIC);	// only a fully created file gets the magic
+				mapped.force();
+			}
+			return new AnalysisCache(channel, mapped, capacity);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static long bytes(int capacity)
+	{
+		return 8L * HEADER_LONGS + 16L * capacity;
+	}
+
+	/**
+	 * @return the number of entries
+	 */
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * Look a position up and mark its entry as recently used.
+	 * @param key the position hash
+	 * @return the data word or 0 if the position isn't stored
+	 */
+	public long probe(long key)
+	{
+		int home = (int) key & mask;
+		for (int n = 0; n < PROBES; n++) {
+			int i = (home + n & mask) << 1;
+			long data = entries.get(i + 1);
+			if (data == 0) return 0L;
+			if ((entries.get(i) ^ data) == key) {
+				write(i, key, data & ~(0xFFFFL << 47) | stamp());
+				return data;
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * Store a finished analysis. A stored result for the same position is
+	 * only replaced by one of at least the same depth.
+	 * @param key the position hash
+	 * @param move the best move, as Move.toInt()
+	 * @param score in centipawns for the side to move
+	 * @param depth the depth searched
+	 */
+	public void store(long key, int move, int score, int depth)
+	{
+		int home = (int) key & mask;
+		int victim = -1;
+		int oldest = -1;
+		int now = clock.get() & 0xFFFF;
+		for (int n = 0; n < PROBES; n++) {
+			int i = (home + n & mask) << 1;
+			long data = entries.get(i + 1);
+			if (data == 0) {
+				victim = i;
+				break;
+			}
+			if ((entries.get(i) ^ data) == key) {
+				if (depth(data) > depth) return;
+				victim = i;
+				break;
+			}
+			int age = now - stamp(data) & 0xFFFF;
+			if (age > oldest) {
+				oldest = age;
+				victim = i;
+			}
+		}
+		write(victim, key, pack(move, score, depth) | stamp());
+	}
+
+	private void write(int i, long key, long data)
+	{
+		entries.put(i, key ^ data);
+		entries.put(i + 1, data);
+	}
+
+	/**
+	 * @return the next clock value, placed where pack() leaves room for it
+	 */
+	private long stamp()
+	{
+		return (clock.incrementAndGet() & 0xFFFFL) << 47;
+	}
+
+	static long pack(int move, int score, int depth)
+	{
+		return (move & 0x7FFFFFL)
+				| (score & 0xFFFFL) << 23
+				| (depth & 0xFFL) << 39
+				| 1L << 63;		// so that a stored entry is never 0
+	}
+
+	public static int move(long data)
+	{
+		return (int) (data & 0x7FFFFF);
+	}
+
+	public static int score(long data)
+	{
+		return (short) (data >>> 23);
+	}
+
+	public static int depth(long data)
+	{
+		return (int) (data >>> 39 & 0xFF);
+	}
+
+	private static int stamp(long data)
+	{
+		return (int) (data >>> 47 & 0xFFFF);
+	}
+
+	/**
+	 * Write everything to disk.
+	 */
+	public void flush()
+	{
+		mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(3, clock.get());
+		mapped.force();
+	}
+
+	/*
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		flush();
+		channel.close();
+	}
+}
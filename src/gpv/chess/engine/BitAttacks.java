@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.util.BitBoard;
+import gpv.util.Coordinate;
+
+/**
+ * Move and attack generation on a BitBoard, for variant boards. The sets
+ * only narrow down the squares worth asking about: every move and attack
+ * found is still confirmed with ChessPiece.canMove(), so the ChessRules
+ * stay the single authority, and the results are the same as walking the
+ * squares one by one. What the sets save is asking about the rest.
+ * @version Oct 19, 2026
+ */
+final class BitAttacks
+{
+	private static final long[][] KNIGHT = BitBoard.leaps(1, 2);
+	private static final long[][] STEP = union(BitBoard.leaps(1, 0), BitBoard.leaps(1, 1));
+	private static final long[][] JUMP = BitBoard.leaps(2, 0);		// pawn double pushes and castling
+
+	private BitAttacks()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * Look for an attacker among the pieces that could reach the square at
+	 * all: the first piece along each ray from it and the pieces a leap or
+	 * pawn move away.
+	 * @see Position#isAttacked(Coordinate, PlayerColor)
+	 */
+	static boolean isAttacked(BitBoard<ChessPiece> b, Coordinate square, PlayerColor by)
+	{
+		int sq = BitBoard.square(square.x, square.y);
+		if (sq < 0) return false;
+		long[] from = new long[BitBoard.WORDS];
+		for (int d = 0; d < BitBoard.DIRECTIONS; d++) b.ray(sq, d, from);
+		for (int w = 0; w < BitBoard.WORDS; w++) from[w] |= KNIGHT[sq][w] | STEP[sq][w] | JUMP[sq][w];
+		b.retainOccupied(from);
+		for (int w = 0; w < BitBoard.WORDS; w++) {
+			for (long bits = from[w]; bits != 0; bits &= bits - 1) {
+				int s = w << 6 | Long.numberOfTrailingZeros(bits);
+				ChessPiece p = b.pieceAt(s);
+				if (p.getColor() == by && p.canMove(BitBoard.coordinate(s), square, b)) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the moves of a piece other than a pawn, which only has a few
+	 * squares to try anyway.
+	 * @param own the squares of the mover's pieces
+	 */
+	static void addMoves(Position pos, BitBoard<ChessPiece> b, ChessPiece p, Coordinate from, long[] own,
+			List<Move> moves)
+	{
+		int sq = BitBoard.square(from.x, from.y);
+		long[] to = new long[BitBoard.WORDS];
+		switch (p.getName()) {
+			case KNIGHT:
+				System.arraycopy(KNIGHT[sq], 0, to, 0, BitBoard.WORDS);
+				break;
+			case KING:
+				for (int w = 0; w < BitBoard.WORDS; w++) to[w] = STEP[sq][w] | JUMP[sq][w];
+				break;
+			case BISHOP:
+				for (int d = 1; d < BitBoard.DIRECTIONS; d += 2) b.ray(sq, d, to);
+				break;
+			case ROOK:
+				for (int d = 0; d < BitBoard.DIRECTIONS; d += 2) b.ray(sq, d, to);
+				break;
+			case QUEEN:
+				for (int d = 0; d < BitBoard.DIRECTIONS; d++) b.ray(sq, d, to);
+				break;
+			default:
+				return;
+		}
+		b.retainInside(to);
+		for (int w = 0; w < BitBoard.WORDS; w++) {
+			for (long bits = to[w] & ~own[w]; bits != 0; bits &= bits - 1) {
+				MoveGenerator.accept(p, from, BitBoard.coordinate(w << 6 | Long.numberOfTrailingZeros(bits)), pos, moves);
+			}
+		}
+	}
+
+	/**
+	 * @return the squares holding pieces of the color
+	 */
+	static long[] squaresOf(BitBoard<ChessPiece> b, PlayerColor color)
+	{
+		long[] own = new long[BitBoard.WORDS];
+		b.forEachPiece((c, p) -> {
+			if (p.getColor() == color) {
+				int sq = BitBoard.square(c.x, c.y);
+				own[sq >>> 6] |= 1L << sq;
+			}
+		});
+		return own;
+	}
+
+	private static long[][] union(long[][] a, long[][] b)
+	{
+		for (int sq = 0; sq < a.length; sq++) {
+			for (int w = 0; w < BitBoard.WORDS; w++) a[sq][w] |= b[sq][w];
+		}
+		return a;
+	}
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+/**
+ * Scores a position for the search. Scores are in centipawns from the point
+ * of view of the side to move, so a positive score is good for the player
+ * whose turn it is.
+ * @version Oct 19, 2026
+ */
+@FunctionalInterface
+public interface Evaluator
+{
+	int evaluate(Position pos);
+
+	/**
+	 * Called by the search before it starts on a position, so an evaluator
+	 * that keeps incremental state can set it up and listen for moves.
+	 * @param pos the position that will be searched
+	 */
+	default void attach(Position pos)
+	{
+		// stateless by default
+	}
+
+	/**
+	 * Called by the search when it is done with the position.
+	 * @param pos the position passed to attach()
+	 */
+	default void detach(Position pos)
+	{
+		// stateless by default
+	}
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.ChessPieceFactory;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.BitBoard;
+import gpv.util.Board;
+import gpv.util.Coordinate;
+import gpv.util.MailboxBoard;
+
+/**
+ * Reads positions in Forsyth-Edwards Notation. The castling field is mapped
+ * onto Board.hasMoved(): a king or rook without a castling right is
+ * marked as moved, as is every pawn that is off its starting rank.
+ * @version Oct 19, 2026
+ */
+public final class Fen
+{
+	public static final String STARTPOS = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+
+	private Fen()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * Parse a FEN string onto a new board. The board size is taken from the
+	 * placement field, so wider or taller variant boards can be read too.
+	 * Standard 8x8 positions go on a MailboxBoard and other boards up to
+	 * 16x16 on a BitBoard.
+	 * @param fen the FEN text; fields after the side to move are optional
+	 * @return the position
+	 * @throws IllegalArgumentException if the text can't be parsed
+	 */
+	public static Position parse(String fen)
+	{
+		String[] fields = fen.trim().split("\\s+");
+		String[] ranks = fields[0].split("/");
+		int nRows = ranks.length;
+		int nColumns = 0;
+		for (int i = 0; i < ranks[0].length(); i++) {
+			char ch = ranks[0].charAt(i);
+			if (Character.isDigit(ch)) {
+				int start = i;
+				while (i + 1 < ranks[0].length() && Character.isDigit(ranks[0].charAt(i + 1))) i++;
+				nColumns += Integer.parseInt(ranks[0].substring(start, i + 1));
+			}
+			else {
+				nColumns++;
+			}
+		}
+		String castling = fields.length > 2 ? fields[2] : "-";
+
+		Board<ChessPiece> board = newBoard(nRows, nColumns);
+		for (int r = 0; r < nRows; r++) {
+			int y = nRows - r;
+			int x = 1;
+			String rank = ranks[r];
+			for (int i = 0; i < rank.length(); i++) {
+				char ch = rank.charAt(i);
+				if (Character.isDigit(ch)) {
+					int start = i;
+					while (i + 1 < rank.length() && Character.isDigit(rank.charAt(i + 1))) i++;
+					x += Integer.parseInt(rank.substring(start, i + 1));
+					continue;
+				}
+				ChessPiece p = factory.makePiece(descriptor(ch));
+				Coordinate c = makeCoordinate(x, y);
+				board.putPieceAt(p, c);
+				if (hasMoved(p, x, y, nColumns, nRows, castling)) board.setHasMoved(c);
+				x++;
+			}
+			if (x != nColumns + 1) throw new IllegalArgumentException("Bad rank " + rank + " in FEN " + fen);
+		}
+		PlayerColor side = fields.length > 1 && fields[1].equals("b") ? PlayerColor.BLACK : PlayerColor.WHITE;
+		int halfmoveClock = fields.length > 4 ? Integer.parseInt(fields[4]) : 0;
+		return new Position(board, side, halfmoveClock);
+	}
+
+	/**
+	 * @return an empty board of the kind parse() uses for that size
+	 */
+	public static Board<ChessPiece> newBoard(int nRows, int nColumns)
+	{
+		if (nRows == MailboxBoard.SIZE && nColumns == MailboxBoard.SIZE) return new MailboxBoard<ChessPiece>();
+		if (nRows <= BitBoard.MAX_SIDE && nColumns <= BitBoard.MAX_SIDE) return new BitBoard<ChessPiece>(nRows, nColumns);
+		return new Board<ChessPiece>(nRows, nColumns);
+	}
+
+	/**
+	 * Write a position as FEN. Castling rights are read back from
+	 * Board.hasMoved(), there is no en passant square and the move number
+	 * is always 1. A rook that hasn't moved while its king has is written
+	 * without a right, so it reads back as moved.
+	 * @param pos the position
+	 * @return the FEN text
+	 */
+	public static String format(Position pos)
+	{
+		Board<ChessPiece> board = pos.getBoard();
+		StringBuilder sb = new StringBuilder();
+		for (int y = board.nRows; y >= 1; y--) {
+			int empty = 0;
+			for (int x = 1; x <= board.nColumns; x++) {
+				ChessPiece p = board.getPieceAt(makeCoordinate(x, y));
+				if (p == null) {
+					empty++;
+					continue;
+				}
+				if (empty > 0) sb.append(empty);
+				empty = 0;
+				sb.append(letter(p.getDescriptor()));
+			}
+			if (empty > 0) sb.append(empty);
+			if (y > 1) sb.append('/');
+		}
+		sb.append(pos.getSideToMove() == PlayerColor.WHITE ? " w " : " b ");
+		int length = sb.length();
+		appendCastling(sb, board, PlayerColor.WHITE, 1);
+		appendCastling(sb, board, PlayerColor.BLACK, board.nRows);
+		if (sb.length() == length) sb.append('-');
+		return sb.append(" - ").append(pos.getHalfmoveClock()).append(" 1").toString();
+	}
+
+	private static void appendCastling(StringBuilder sb, Board<ChessPiece> board, PlayerColor color, int rank)
+	{
+		for (int x = 1; x <= board.nColumns; x++) {
+			Coordinate c = makeCoordinate(x, rank);
+			ChessPiece p = board.getPieceAt(c);
+			if (p == null || p.getColor() != color || p.getName() != PieceName.KING || board.hasMoved(c)) continue;
+			for (int rookX : new int[] { board.nColumns, 1 }) {
+				Coordinate r = makeCoordinate(rookX, rank);
+				ChessPiece rook = board.getPieceAt(r);
+				if (rook != null && rook.getColor() == color && rook.getName() == PieceName.ROOK && !board.hasMoved(r)) {
+					char right = rookX == 1 ? 'Q' : 'K';
+					sb.append(color == PlayerColor.WHITE ? right : Character.toLowerCase(right));
+				}
+			}
+		}
+	}
+
+	private static char letter(ChessPieceDescriptor d)
+	{
+		char ch;
+		switch (d.getName()) {
+			case PAWN: ch = 'p'; break;
+			case KNIGHT: ch = 'n'; break;
+			case BISHOP: ch = 'b'; break;
+			case ROOK: ch = 'r'; break;
+			case QUEEN: ch = 'q'; break;
+			default: ch = 'k';
+		}
+		return d.getColor() == PlayerColor.WHITE ? Character.toUpperCase(ch) : ch;
+	}
+
+	private static boolean hasMoved(ChessPiece p, int x, int y, int nColumns, int nRows, String castling)
+	{
+		boolean white = p.getColor() == PlayerColor.WHITE;
+		int homeRank = white ? 1 : nRows;
+		switch (p.getName()) {
+			case PAWN:
+				return y != (white ? 2 : nRows - 1);
+			case KING:
+				String rights = white ? "KQ" : "kq";
+				return y != homeRank || castling.indexOf(rights.charAt(0)) < 0 && castling.indexOf(rights.charAt(1)) < 0;
+			case ROOK:
+				char right = x == nColumns ? 'K' : x == 1 ? 'Q' : 0;
+				if (!white) right = Character.toLowerCase(right);
+				return y != homeRank || right == 0 || castling.indexOf(right) < 0;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * @param ch a FEN piece letter, upper case for white
+	 * @return the piece it stands for
+	 * @throws IllegalArgumentException if it isn't a piece letter
+	 */
+	public static ChessPieceDescriptor descriptor(char ch)
+	{
+		PlayerColor color = Character.isUpperCase(ch) ? PlayerColor.WHITE : PlayerColor.BLACK;
+		switch (Character.toLowerCase(ch)) {
+			case 'p': return ChessPieceDescriptor.of(color, PieceName.PAWN);
+			case 'n': return ChessPieceDescriptor.of(color, PieceName.KNIGHT);
+			case 'b': return ChessPieceDescriptor.of(color, PieceName.BISHOP);
+			case 'r': return ChessPieceDescriptor.of(color, PieceName.ROOK);
+			case 'q': return ChessPieceDescriptor.of(color, PieceName.QUEEN);
+			case 'k': return ChessPieceDescriptor.of(color, PieceName.KING);
+			default: throw new IllegalArgumentException("Unknown piece " + ch + " in FEN");
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+/**
+ * The hashes of the positions leading up to the current one together with
+ * the halfmove clock (plies since the last capture or pawn move) at each of
+ * them, kept in a fixed ring so making and taking back moves never
+ * allocates. Position pushes an entry for every move and pops it on unmake.
+ * <br/>
+ * A position can only repeat one that came after the last capture or pawn
+ * move, and only with the same side to move, so a repetition check looks at
+ * every second entry back to the last irreversible ply and no further. When
+ * the ring has wrapped, entries older than its capacity are forgotten; that
+ * can only hide a repetition more than CAPACITY plies ago.
+ * @version Oct 19, 2026
+ */
+public final class HashHistory
+{
+	public static final int CAPACITY = 1024;
+	private static final int MASK = CAPACITY - 1;
+
+	private final long[] hashes = new long[CAPACITY];
+	private final int[] clocks = new int[CAPACITY];
+	private int size;	// entries pushed and not popped, may exceed CAPACITY
+
+	/**
+	 * Constructor for an empty history.
+	 */
+	public HashHistory()
+	{
+		// nothing pushed yet
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param other
+	 */
+	public HashHistory(HashHistory other)
+	{
+		System.arraycopy(other.hashes, 0, hashes, 0, CAPACITY);
+		System.arraycopy(other.clocks, 0, clocks, 0, CAPACITY);
+		size = other.size;
+	}
+
+	/**
+	 * Record the position reached by a move.
+	 * @param hash its hash
+	 * @param clock the halfmove clock in that position
+	 */
+	public void push(long hash, int clock)
+	{
+		hashes[size & MASK] = hash;
+		clocks[size & MASK] = clock;
+		size++;
+	}
+
+	/**
+	 * Forget the most recent position.
+	 */
+	public void pop()
+	{
+		size--;
+	}
+
+	/**
+	 * @return the halfmove clock of the current position
+	 */
+	public int clock()
+	{
+		return size == 0 ? 0 : clocks[(size - 1) & MASK];
+	}
+
+	/**
+	 * Count the earlier occurrences of the current position, stopping once
+	 * enough are found.
+	 * @param enough stop counting at this many
+	 * @return the number of earlier occurrences, at most enough
+	 */
+	public int repetitions(int enough)
+	{
+		if (size == 0) return 0;
+		int current = (size - 1) & MASK;
+		long hash = hashes[current];
+		int reach = Math.min(clocks[current], Math.min(size - 1, CAPACITY - 1));
+		int found = 0;
+		for (int back = 4; back <= reach; back += 2) {	// both sides need two moves to get back
+			if (hashes[(size - 1 - back) & MASK] == hash && ++found >= enough) break;
+		}
+		return found;
+	}
+}
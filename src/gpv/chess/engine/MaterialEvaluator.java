@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.Board;
+
+/**
+ * A simple handcrafted evaluation: material plus a small bonus for pieces near
+ * the center of the board and for pawns that have advanced. Works for any
+ * board size.
+ * @version Oct 19, 2026
+ */
+public class MaterialEvaluator implements Evaluator
+{
+	/**
+	 * @return the material value of a piece type in centipawns
+	 */
+	public static int value(PieceName name)
+	{
+		switch (name) {
+			case PAWN: return 100;
+			case KNIGHT: return 320;
+			case BISHOP: return 330;
+			case ROOK: return 500;
+			case QUEEN: return 900;
+			default: return 0;
+		}
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#evaluate(gpv.chess.engine.Position)
+	 */
+	@Override
+	public int evaluate(Position pos)
+	{
+		Board<ChessPiece> b = pos.getBoard();
+		int[] score = new int[1];
+		b.forEachPiece((c, cp) -> {
+			int s = value(cp.getName()) + positional(cp.getName(), cp.getColor(), c.x, c.y, b.nColumns, b.nRows);
+			score[0] += cp.getColor() == PlayerColor.WHITE ? s : -s;
+		});
+		return pos.getSideToMove() == PlayerColor.WHITE ? score[0] : -score[0];
+	}
+
+	/**
+	 * The whole evaluation as a lookup table, for scoring positions in bulk.
+	 * Entry descriptor.ordinal() * Zobrist.SQUARES + Zobrist.square(x, y) is
+	 * what that piece on (x, y) adds to the score from white's point of view,
+	 * so a position's score is the sum of its pieces' entries.
+	 * @param nColumns
+	 * @param nRows
+	 * @return the table for boards of that size
+	 */
+	public static int[] pieceSquareTable(int nColumns, int nRows)
+	{
+		int[] table = new int[ChessPieceDescriptor.values().length * Zobrist.SQUARES];
+		for (ChessPieceDescriptor d : ChessPieceDescriptor.values()) {
+			for (int y = 1; y <= nRows; y++) {
+				for (int x = 1; x <= nColumns; x++) {
+					int s = value(d.getName()) + positional(d.getName(), d.getColor(), x, y, nColumns, nRows);
+					table[d.ordinal() * Zobrist.SQUARES + Zobrist.square(x, y)] = d.getColor() == PlayerColor.WHITE ? s : -s;
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * @return the positional bonus for a piece on (x, y)
+	 */
+	static int positional(PieceName name, PlayerColor color, int x, int y, int nColumns, int nRows)
+	{
+		// distance from the center in half squares, 0 for the central squares
+		int dx = Math.abs(2 * x - nColumns - 1) / 2;
+		int dy = Math.abs(2 * y - nRows - 1) / 2;
+		switch (name) {
+			case PAWN:
+				int advanced = color == PlayerColor.WHITE ? y - 2 : nRows - 1 - y;
+				return 5 * advanced + (dx == 0 ? 10 : 0);
+			case KNIGHT:
+			case BISHOP:
+				return 12 - 4 * Math.max(dx, dy);
+			case QUEEN:
+				return 4 - Math.max(dx, dy);
+			default:
+				return 0;
+		}
+	}
+}
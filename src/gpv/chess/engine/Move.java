@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import gpv.chess.PieceName;
+import gpv.util.Coordinate;
+
+/**
+ * An immutable move from one square to another with an optional promotion.
+ * Moves can be packed into an int for storage in the transposition table and
+ * converted to and from the long algebraic notation used by UCI (e.g. e2e4,
+ * e7e8q). Coordinates follow the rest of the model: x is the file starting at
+ * 1 and y is the rank starting at 1.
+ * @version Oct 19, 2026
+ */
+public final class Move
+{
+	private static final PieceName[] PROMOTIONS =
+		{ null, PieceName.QUEEN, PieceName.ROOK, PieceName.BISHOP, PieceName.KNIGHT };
+
+	public final Coordinate from;
+	public final Coordinate to;
+	public final PieceName promotion;	// null unless a pawn promotes
+
+	/**
+	 * Constructor for a move without a promotion.
+	 * @param from
+	 * @param to
+	 */
+	public Move(Coordinate from, Coordinate to)
+	{
+		this(from, to, null);
+	}
+
+	/**
+	 * Constructor for a move that may promote.
+	 * @param from
+	 * @param to
+	 * @param promotion the piece a pawn becomes or null
+	 */
+	public Move(Coordinate from, Coordinate to, PieceName promotion)
+	{
+		this.from = from;
+		this.to = to;
+		this.promotion = promotion;
+	}
+
+	/**
+	 * Pack the move into the low 23 bits of an int. Each coordinate takes five
+	 * bits, so boards up to 16x16 fit. Zero is never a valid packed move.
+	 * @return the packed move
+	 */
+	public int toInt()
+	{
+		int promo = 0;
+		for (int i = 1; i < PROMOTIONS.length; i++) {
+			if (PROMOTIONS[i] == promotion) promo = i;
+		}
+		return from.x | from.y << 5 | to.x << 10 | to.y << 15 | promo << 20;
+	}
+
+	/**
+	 * @param packed a value produced by toInt()
+	 * @return the move or null if packed is zero
+	 */
+	public static Move fromInt(int packed)
+	{
+		if (packed == 0) return null;
+		return new Move(makeCoordinate(packed & 31, packed >>> 5 & 31),
+				makeCoordinate(packed >>> 10 & 31, packed >>> 15 & 31),
+				PROMOTIONS[packed >>> 20 & 7]);
+	}
+
+	/**
+	 * Parse a move in long algebraic notation.
+	 * @param s the text, e.g. "e2e4" or "a7a8n"
+	 * @return the move
+	 * @throws IllegalArgumentException if the text is not a move
+	 */
+	public static Move parse(String s)
+	{
+		int i = 0;
+		int fromX = s.charAt(i++) - 'a' + 1;
+		int start = i;
+		while (i < s.length() && Character.isDigit(s.charAt(i))) i++;
+		int fromY = Integer.parseInt(s.substring(start, i));
+		int toX = s.charAt(i++) - 'a' + 1;
+		start = i;
+		while (i < s.length() && Character.isDigit(s.charAt(i))) i++;
+		int toY = Integer.parseInt(s.substring(start, i));
+		PieceName promo = null;
+		if (i < s.length()) {
+			switch (s.charAt(i)) {
+				case 'q': promo = PieceName.QUEEN; break;
+				case 'r': promo = PieceName.ROOK; break;
+				case 'b': promo = PieceName.BISHOP; break;
+				case 'n': promo = PieceName.KNIGHT; break;
+				default: throw new IllegalArgumentException("Bad promotion in move " + s);
+			}
+		}
+		if (fromX < 1 || toX < 1) throw new IllegalArgumentException("Bad move " + s);
+		return new Move(makeCoordinate(fromX, fromY), makeCoordinate(toX, toY), promo);
+	}
+
+	/*
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj) return true;
+		if (!(obj instanceof Move)) return false;
+		Move other = (Move) obj;
+		return from.equals(other.from) && to.equals(other.to) && promotion == other.promotion;
+	}
+
+	/*
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return toInt();
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder(6);
+		sb.append((char) ('a' + from.x - 1)).append(from.y);
+		sb.append((char) ('a' + to.x - 1)).append(to.y);
+		if (promotion != null) {
+			sb.append(promotion == PieceName.KNIGHT ? 'n' : Character.toLowerCase(promotion.name().charAt(0)));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.BitBoard;
+import gpv.util.Coordinate;
+import gpv.util.metrics.Counter;
+import gpv.util.metrics.Metrics;
+
+/**
+ * Generates moves for the side to move. Candidate destinations come from the
+ * geometry of each piece (knight jumps, rays up to the first blocker, etc.)
+ * and every candidate is then checked with ChessPiece.canMove() so the
+ * ChessRules stay the single authority on what a piece may do. On a
+ * BitBoard the candidates for everything but pawns come from BitAttacks'
+ * sets instead of walking the squares.
+ * @version Oct 19, 2026
+ */
+public final class MoveGenerator
+{
+	private static final int[][] KNIGHT = { {1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2} };
+	private static final int[][] KING = { {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}, {2, 0}, {-2, 0} };
+	private static final int[][] DIAGONALS = { {1, 1}, {-1, 1}, {-1, -1}, {1, -1} };
+	private static final int[][] LINES = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+	private static final PieceName[] PROMOTIONS = { PieceName.QUEEN, PieceName.KNIGHT, PieceName.ROOK, PieceName.BISHOP };
+
+	private static final Counter generated = Metrics.counter("movegen.generated");
+	private static final Counter rejected = Metrics.counter("movegen.rejected");
+	private static final Counter illegal = Metrics.counter("movegen.illegal");
+
+	private MoveGenerator()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * @return the moves allowed by the rules, which may leave the mover's king
+	 * 	attacked
+	 */
+	public static List<Move> pseudoLegalMoves(Position pos)
+	{
+		List<Move> moves = new ArrayList<Move>(48);
+		BitBoard<ChessPiece> bits = pos.getBoard() instanceof BitBoard ? (BitBoard<ChessPiece>) pos.getBoard() : null;
+		long[] own = bits != null ? BitAttacks.squaresOf(bits, pos.getSideToMove()) : null;
+		for (Coordinate from : pos.squaresOf(pos.getSideToMove())) {
+			ChessPiece p = pos.pieceAt(from);
+			if (bits != null && p.getName() != PieceName.PAWN) {
+				BitAttacks.addMoves(pos, bits, p, from, own, moves);
+				continue;
+			}
+			switch (p.getName()) {
+				case PAWN:
+					int dir = p.getColor() == PlayerColor.WHITE ? 1 : -1;
+					addPawn(pos, p, from, 0, dir, moves);
+					addPawn(pos, p, from, 0, 2 * dir, moves);
+					addPawn(pos, p, from, 1, dir, moves);
+					addPawn(pos, p, from, -1, dir, moves);
+					break;
+				case KNIGHT:
+					addSteps(pos, p, from, KNIGHT, moves);
+					break;
+				case KING:
+					addSteps(pos, p, from, KING, moves);
+					break;
+				case BISHOP:
+					addRays(pos, p, from, DIAGONALS, moves);
+					break;
+				case ROOK:
+					addRays(pos, p, from, LINES, moves);
+					break;
+				case QUEEN:
+					addRays(pos, p, from, DIAGONALS, moves);
+					addRays(pos, p, from, LINES, moves);
+					break;
+			}
+		}
+		if (Metrics.ENABLED) generated.add(moves.size());
+		return moves;
+	}
+
+	/**
+	 * @return the moves that do not leave the mover's king attacked
+	 */
+	public static List<Move> legalMoves(Position pos)
+	{
+		List<Move> legal = new ArrayList<Move>();
+		for (Move m : pseudoLegalMoves(pos)) {
+			if (isLegal(pos, m)) legal.add(m);
+		}
+		return legal;
+	}
+
+	/**
+	 * @return true if making the pseudo-legal move m keeps the mover's king safe
+	 */
+	public static boolean isLegal(Position pos, Move m)
+	{
+		PlayerColor mover = pos.getSideToMove();
+		if (pos.pieceAt(m.from).getName() == PieceName.KING && Math.abs(m.to.x - m.from.x) == 2) {
+			// no castling out of or through check
+			Coordinate crossed = makeCoordinate((m.from.x + m.to.x) / 2, m.from.y);
+			if (pos.isInCheck(mover) || pos.isAttacked(crossed, mover.opponent())) {
+				if (Metrics.ENABLED) illegal.increment();
+				return false;
+			}
+		}
+		pos.makeMove(m);
+		boolean legal = !pos.isInCheck(mover);
+		pos.unmakeMove();
+		if (Metrics.ENABLED && !legal) illegal.increment();
+		return legal;
+	}
+
+	private static void addSteps(Position pos, ChessPiece p, Coordinate from, int[][] steps, List<Move> moves)
+	{
+		for (int[] s : steps) {
+			add(pos, p, from, from.x + s[0], from.y + s[1], moves);
+		}
+	}
+
+	private static void addRays(Position pos, ChessPiece p, Coordinate from, int[][] dirs, List<Move> moves)
+	{
+		for (int[] d : dirs) {
+			int x = from.x + d[0], y = from.y + d[1];
+			while (pos.onBoard(x, y)) {
+				Coordinate to = makeCoordinate(x, y);
+				accept(p, from, to, pos, moves);
+				if (pos.pieceAt(to) != null) break;
+				x += d[0];
+				y += d[1];
+			}
+		}
+	}
+
+	private static void addPawn(Position pos, ChessPiece p, Coordinate from, int dx, int dy, List<Move> moves)
+	{
+		int x = from.x + dx, y = from.y + dy;
+		if (!pos.onBoard(x, y)) return;
+		Coordinate to = makeCoordinate(x, y);
+		if (dy == 2 || dy == -2) {
+			// the rules don't check the square jumped over
+			if (pos.pieceAt(makeCoordinate(x, from.y + dy / 2)) != null || pos.pieceAt(to) != null) return;
+		}
+		if (!p.canMove(from, to, pos.getBoard())) {
+			if (Metrics.ENABLED) rejected.increment();
+			return;
+		}
+		if (y == 1 || y == pos.getBoard().nRows) {
+			for (PieceName promo : PROMOTIONS) moves.add(new Move(from, to, promo));
+		}
+		else {
+			moves.add(new Move(from, to));
+		}
+	}
+
+	private static void add(Position pos, ChessPiece p, Coordinate from, int x, int y, List<Move> moves)
+	{
+		if (!pos.onBoard(x, y)) return;
+		accept(p, from, makeCoordinate(x, y), pos, moves);
+	}
+
+	static void accept(ChessPiece p, Coordinate from, Coordinate to, Position pos, List<Move> moves)
+	{
+		if (p.canMove(from, to, pos.getBoard())) moves.add(new Move(from, to));
+		else if (Metrics.ENABLED) rejected.increment();
+	}
+}
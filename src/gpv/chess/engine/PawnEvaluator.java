@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.Arrays;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.Board;
+import gpv.util.metrics.Counter;
+import gpv.util.metrics.Metrics;
+
+/**
+ * Adds pawn structure to another evaluation: a penalty for doubled and
+ * isolated pawns and a bonus for passed pawns that grows as they advance.
+ * These terms need every pawn compared with the pawns on its neighbouring
+ * files, but they only depend on where the pawns are, which changes far
+ * less often than the position does. So the results are kept in a small
+ * direct-mapped cache keyed by the position's pawn hash, and the structure
+ * is only worked out again when the pawns have moved.
+ * <br/>
+ * The cache belongs to the evaluator, so an evaluator must only be used by
+ * one search at a time.
+ * @version Oct 19, 2026
+ */
+public class PawnEvaluator implements Evaluator
+{
+	public static final int DEFAULT_ENTRIES = 1 << 14;
+
+	static final int DOUBLED = -15;			// for each pawn behind another on its file
+	static final int ISOLATED = -12;		// no friendly pawn on either neighbouring file
+	static final int PASSED = 10;			// plus PASSED_RANK for each rank advanced
+	static final int PASSED_RANK = 8;
+
+	private static final Counter hitCounter = Metrics.counter("eval.pawns.hits");
+	private static final Counter missCounter = Metrics.counter("eval.pawns.misses");
+
+	private final Evaluator base;
+	private final long[] keys;
+	private final int[] scores;
+	private final int mask;
+	private long probes;
+	private long hits;
+
+	/**
+	 * Constructor for a cache of DEFAULT_ENTRIES.
+	 * @param base the evaluation the pawn structure is added to
+	 */
+	public PawnEvaluator(Evaluator base)
+	{
+		this(base, DEFAULT_ENTRIES);
+	}
+
+	/**
+	 * Constructor.
+	 * @param base the evaluation the pawn structure is added to
+	 * @param entries the size of the cache, rounded up to a power of two
+	 */
+	public PawnEvaluator(Evaluator base, int entries)
+	{
+		if (entries < 1) throw new IllegalArgumentException("The cache needs at least one entry");
+		int size = Integer.highestOneBit(entries);
+		if (size < entries) size <<= 1;
+		this.base = base;
+		keys = new long[size];
+		scores = new int[size];
+		mask = size - 1;
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#evaluate(gpv.chess.engine.Position)
+	 */
+	@Override
+	public int evaluate(Position pos)
+	{
+		int pawns = pawns(pos);
+		return base.evaluate(pos) + (pos.getSideToMove() == PlayerColor.WHITE ? pawns : -pawns);
+	}
+
+	/**
+	 * @return the pawn structure score from white's point of view, from the
+	 * 	cache if the pawns have been seen before
+	 */
+	int pawns(Position pos)
+	{
+		long key = pos.getPawnHash();
+		if (key == 0) return 0;		// no pawns
+		probes++;
+		int i = (int) (key ^ key >>> 32) & mask;
+		if (keys[i] == key) {
+			hits++;
+			if (Metrics.ENABLED) hitCounter.increment();
+			return scores[i];
+		}
+		if (Metrics.ENABLED) missCounter.increment();
+		int score = structure(pos.getBoard());
+		keys[i] = key;
+		scores[i] = score;
+		return score;
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#attach(gpv.chess.engine.Position)
+	 */
+	@Override
+	public void attach(Position pos)
+	{
+		base.attach(pos);
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#detach(gpv.chess.engine.Position)
+	 */
+	@Override
+	public void detach(Position pos)
+	{
+		base.detach(pos);
+	}
+
+	/**
+	 * @return the fraction of lookups answered by the cache since it was
+	 * 	made or the statistics were reset
+	 */
+	public double hitRate()
+	{
+		return probes == 0 ? 0 : (double) hits / probes;
+	}
+
+	/**
+	 * Start counting hits afresh. The cache keeps its entries.
+	 */
+	public void resetStatistics()
+	{
+		probes = 0;
+		hits = 0;
+	}
+
+	/**
+	 * Work out the pawn structure terms from scratch. For each file the
+	 * number of pawns of each color is counted, along with the rank of each
+	 * color's least advanced pawn: the lowest rank for white and the highest
+	 * for black. A pawn is passed if no enemy pawn on its file or the
+	 * neighbouring files stands in front of it, so only the enemy pawn
+	 * furthest back on each file matters.
+	 * @return the score from white's point of view
+	 */
+	static int structure(Board<ChessPiece> b)
+	{
+		int files = b.nColumns + 2;		// a spare file on each side
+		int[] white = new int[files];
+		int[] black = new int[files];
+		int[] lowestWhite = new int[files];
+		int[] highestBlack = new int[files];
+		Arrays.fill(lowestWhite, Integer.MAX_VALUE);
+		b.forEachPiece((c, p) -> {
+			if (p.getName() != PieceName.PAWN) return;
+			if (p.getColor() == PlayerColor.WHITE) {
+				white[c.x]++;
+				lowestWhite[c.x] = Math.min(lowestWhite[c.x], c.y);
+			}
+			else {
+				black[c.x]++;
+				highestBlack[c.x] = Math.max(highestBlack[c.x], c.y);
+			}
+		});
+		int[] score = new int[1];
+		b.forEachPiece((c, p) -> {
+			if (p.getName() != PieceName.PAWN) return;
+			int x = c.x;
+			int s = 0;
+			if (p.getColor() == PlayerColor.WHITE) {
+				if (white[x - 1] == 0 && white[x + 1] == 0) s += ISOLATED;
+				if (highestBlack[x - 1] <= c.y && highestBlack[x] <= c.y && highestBlack[x + 1] <= c.y) {
+					s += PASSED + PASSED_RANK * (c.y - 2);
+				}
+				score[0] += s;
+			}
+			else {
+				if (black[x - 1] == 0 && black[x + 1] == 0) s += ISOLATED;
+				if (lowestWhite[x - 1] >= c.y && lowestWhite[x] >= c.y && lowestWhite[x + 1] >= c.y) {
+					s += PASSED + PASSED_RANK * (b.nRows - 1 - c.y);
+				}
+				score[0] -= s;
+			}
+		});
+		for (int x = 1; x <= b.nColumns; x++) {
+			if (white[x] > 1) score[0] += DOUBLED * (white[x] - 1);
+			if (black[x] > 1) score[0] -= DOUBLED * (black[x] - 1);
+		}
+		return score[0];
+	}
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth, the usual
+ * check that move generation and make/unmake agree with the rules.
+ * @version Oct 19, 2026
+ */
+public final class Perft
+{
+	private Perft()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * @param pos the position, which is restored before returning
+	 * @param depth plies to count
+	 * @return the number of move sequences of exactly that length
+	 */
+	public static long perft(Position pos, int depth)
+	{
+		if (depth == 0) return 1;
+		long nodes = 0;
+		for (Move m : MoveGenerator.legalMoves(pos)) {
+			if (depth == 1) {
+				nodes++;
+				continue;
+			}
+			pos.makeMove(m);
+			nodes += perft(pos, depth - 1);
+			pos.unmakeMove();
+		}
+		return nodes;
+	}
+
+	/**
+	 * @return the perft count below each root move, in move generation order
+	 */
+	public static Map<Move, Long> divide(Position pos, int depth)
+	{
+		Map<Move, Long> counts = new LinkedHashMap<Move, Long>();
+		for (Move m : MoveGenerator.legalMoves(pos)) {
+			pos.makeMove(m);
+			counts.put(m, perft(pos, depth - 1));
+			pos.unmakeMove();
+		}
+		return counts;
+	}
+}
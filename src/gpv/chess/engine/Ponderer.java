@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+
+/**
+ * Uses the opponent's thinking time. After our move, the search is started
+ * on the position after the reply we expect, with no clock running, so the
+ * transposition table is warm whatever happens. When the opponent moves,
+ * the expected reply turns the ponder search into the real one, and any
+ * other move cancels it and starts a fresh search on the actual position.
+ * <br/>
+ * Only one ponder session is active at a time, and the listener of a
+ * cancelled session hears nothing more from it.
+ * @version Oct 19, 2026
+ */
+public class Ponderer
+{
+	private final Search search;
+	private Position position;
+	private Move expected;
+	private SearchLimits limits;
+	private Relay relay;
+
+	/**
+	 * Constructor.
+	 * @param search the search to ponder with, normally the one that found
+	 * 	our last move so it shares its transposition table
+	 */
+	public Ponderer(Search search)
+	{
+		this.search = search;
+	}
+
+	/**
+	 * Start pondering. Any previous session is cancelled.
+	 * @param position the position after our move, with the opponent to move.
+	 * 	It is copied.
+	 * @param expected the reply we expect, usually the ponder move of our
+	 * 	last search
+	 * @param limits the limits for our next move, which apply from the
+	 * 	moment the opponent plays
+	 * @param listener receives the result of our next move
+	 * @throws IllegalArgumentException if the expected reply isn't legal
+	 */
+	public synchronized void start(Position position, Move expected, SearchLimits limits, SearchListener listener)
+	{
+		cancel();
+		Position p = position.copy();
+		check(p, expected);
+		p.makeMove(expected);
+		this.position = position.copy();
+		this.expected = expected;
+		this.limits = limits;
+		relay = new Relay(listener);
+		SearchLimits ponder = copy(limits);
+		ponder.ponder = true;
+		search.start(p, ponder, relay);
+	}
+
+	/**
+	 * The opponent played. The move is checked against the rules first, so an
+	 * illegal move leaves the ponder search running.
+	 * @param actual the opponent's move
+	 * @return true if it was the expected reply and the ponder search became
+	 * 	the real search; false if a new search was started
+	 * @throws IllegalStateException if there is no ponder session
+	 * @throws IllegalArgumentException if the move isn't legal
+	 */
+	public synchronized boolean opponentMoved(Move actual)
+	{
+		if (relay == null) throw new IllegalStateException("Not pondering");
+		check(position, actual);
+		if (actual.equals(expected) && search.isPondering()) {
+			search.ponderhit();
+			relay = null;
+			return true;
+		}
+		SearchListener listener = relay.listener;
+		cancel();
+		position.makeMove(actual);
+		search.start(position, limits, listener);
+		return false;
+	}
+
+	/**
+	 * Stop pondering without a result, e.g. when the game is over.
+	 */
+	public synchronized void cancel()
+	{
+		if (relay == null) return;
+		relay.cancelled = true;
+		relay = null;
+		search.stop();
+		search.waitForFinish();
+	}
+
+	/**
+	 * @return true if a ponder session is waiting for the opponent's move
+	 */
+	public synchronized boolean isPondering()
+	{
+		return relay != null;
+	}
+
+	/**
+	 * Make sure the move is legal for the side to move, asking the piece
+	 * first since most bad moves fail there.
+	 */
+	private static void check(Position pos, Move m)
+	{
+		ChessPiece p = m == null ? null : pos.pieceAt(m.from);
+		if (p == null || p.getColor() != pos.getSideToMove()
+				|| !p.canMove(m.from, m.to, pos.getBoard())) {
+			throw new IllegalArgumentException("Illegal move " + m);
+		}
+		List<Move> moves = MoveGenerator.pseudoLegalMoves(pos);
+		if (!moves.contains(m) || !MoveGenerator.isLegal(pos, m)) {
+			throw new IllegalArgumentException("Illegal move " + m);
+		}
+	}
+
+	private static SearchLimits copy(SearchLimits limits)
+	{
+		SearchLimits c = new SearchLimits();
+		c.depth = limits.depth;
+		c.nodes = limits.nodes;
+		c.movetime = limits.movetime;
+		c.wtime = limits.wtime;
+		c.btime = limits.btime;
+		c.winc = limits.winc;
+		c.binc = limits.binc;
+		c.movestogo = limits.movestogo;
+		c.infinite = limits.infinite;
+		c.ponder = limits.ponder;
+		return c;
+	}
+
+	/**
+	 * Passes the search's reports on until its session is cancelled.
+	 */
+	private static class Relay implements SearchListener
+	{
+		final SearchListener listener;
+		volatile boolean cancelled;
+
+		Relay(SearchListener listener)
+		{
+			this.listener = listener;
+		}
+
+		@Override
+		public void onInfo(SearchInfo info)
+		{
+			if (!cancelled) listener.onInfo(info);
+		}
+
+		@Override
+		public void onBestMove(Move best, Move ponder)
+		{
+			if (!cancelled) listener.onBestMove(best, ponder);
+		}
+	}
+}
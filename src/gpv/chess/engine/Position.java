@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.ChessPieceFactory;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.BitBoard;
+import gpv.util.Board;
+import gpv.util.Coordinate;
+
+/**
+ * A Board together with the player to move and incrementally updated
+ * Zobrist hashes of the whole position and of the pawns alone. Moves are
+ * applied with makeMove() and taken back with unmakeMove() in LIFO order.
+ * Moves are not validated here; use the MoveGenerator or
+ * ChessPiece.canMove() for that.
+ * <br/>
+ * The position also keeps a HashHistory of the positions that led to it, so
+ * repetitions and the fifty-move rule can be detected.
+ * @version Oct 19, 2026
+ */
+public class Position
+{
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+
+	private final Board<ChessPiece> board;
+	private PlayerColor sideToMove;
+	private long hash;
+	private long pawnHash;
+	private final ArrayDeque<Undo> undos = new ArrayDeque<Undo>();
+	private final HashHistory history;
+	private PositionListener listener;
+
+	/**
+	 * Everything needed to take a move back.
+	 */
+	private static final class Undo
+	{
+		Move move;
+		ChessPiece moved;		// the piece as it stood on move.from
+		boolean hadMoved;		// its moved flag before this move
+		ChessPiece captured;
+		Coordinate capturedAt;
+		boolean capturedHadMoved;
+		ChessPiece rook;		// the castling rook
+		Coordinate rookFrom;
+		Coordinate rookTo;
+		boolean rookHadMoved;
+		long hash;
+		long pawnHash;
+	}
+
+	/**
+	 * Wrap a board. The board now belongs to the position and must only be
+	 * changed through it.
+	 * @param board
+	 * @param sideToMove
+	 */
+	public Position(Board<ChessPiece> board, PlayerColor sideToMove)
+	{
+		this(board, sideToMove, 0);
+	}
+
+	/**
+	 * Wrap a board part way through a game.
+	 * @param board
+	 * @param sideToMove
+	 * @param halfmoveClock plies since the last capture or pawn move
+	 */
+	public Position(Board<ChessPiece> board, PlayerColor sideToMove, int halfmoveClock)
+	{
+		this.board = board;
+		this.sideToMove = sideToMove;
+		this.hash = Zobrist.hash(board, sideToMove);
+		this.pawnHash = Zobrist.pawnHash(board);
+		this.history = new HashHistory();
+		history.push(hash, halfmoveClock);
+	}
+
+	private Position(Position other)
+	{
+		this.board = other.board.copy();
+		this.sideToMove = other.sideToMove;
+		this.hash = other.hash;
+		this.pawnHash = other.pawnHash;
+		this.history = new HashHistory(other.history);
+	}
+
+	/**
+	 * @return a copy of the current board, side to move and hash history,
+	 * 	without the undo history. Pieces are shared flyweights, so only the
+	 * 	squares are copied.
+	 */
+	public Position copy()
+	{
+		return new Position(this);
+	}
+
+	/**
+	 * @return the board
+	 */
+	public Board<ChessPiece> getBoard()
+	{
+		return board;
+	}
+
+	/**
+	 * Have piece changes reported to the listener from now on.
+	 * @param listener the listener or null for none
+	 */
+	public void setListener(PositionListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * @return the sideToMove
+	 */
+	public PlayerColor getSideToMove()
+	{
+		return sideToMove;
+	}
+
+	/**
+	 * @return the Zobrist hash of the current position
+	 */
+	public long getHash()
+	{
+		return hash;
+	}
+
+	/**
+	 * @return the Zobrist hash of the pawns alone, which only changes when a
+	 * 	pawn moves, is captured or promotes
+	 */
+	public long getPawnHash()
+	{
+		return pawnHash;
+	}
+
+	/**
+	 * @return the number of moves that can currently be taken back
+	 */
+	public int getPly()
+	{
+		return undos.size();
+	}
+
+	/**
+	 * @return the chess piece at c or null
+	 */
+	public ChessPiece pieceAt(Coordinate c)
+	{
+		return board.getPieceAt(c);
+	}
+
+	/**
+	 * @return plies since the last capture or pawn move
+	 */
+	public int getHalfmoveClock()
+	{
+		return history.clock();
+	}
+
+	/**
+	 * @return true if the current position has occurred before, which the
+	 * 	search scores as a draw since the side that wants to can repeat it
+	 */
+	public boolean isRepetition()
+	{
+		return history.repetitions(1) > 0;
+	}
+
+	/**
+	 * @return true if the game is drawn by threefold repetition or the
+	 * 	fifty-move rule
+	 */
+	public boolean isDrawByRule()
+	{
+		return history.clock() >= 100 || history.repetitions(2) >= 2;
+	}
+
+	/**
+	 * @return true if c is on the board
+	 */
+	public boolean onBoard(int x, int y)
+	{
+		return 0 < x && x <= board.nColumns && 0 < y && y <= board.nRows;
+	}
+
+	/**
+	 * @return true if the move captures something, including en passant
+	 */
+	public boolean isCapture(Move m)
+	{
+		if (pieceAt(m.to) != null) return true;
+		ChessPiece p = pieceAt(m.from);
+		return p != null && p.getName() == PieceName.PAWN && m.from.x != m.to.x;
+	}
+
+	/**
+	 * Apply a move. The move is trusted to be legal.
+	 * @param m the move
+	 */
+	public void makeMove(Move m)
+	{
+		ChessPiece piece = pieceAt(m.from);
+		Undo u = new Undo();
+		u.move = m;
+		u.moved = piece;
+		u.hadMoved = board.hasMoved(m.from);
+		u.hash = hash;
+		u.pawnHash = pawnHash;
+		if (listener != null) listener.moveStarted();
+
+		int clock = piece.getName() == PieceName.PAWN ? 0 : history.clock() + 1;
+		Coordinate capturedAt = m.to;
+		ChessPiece captured = pieceAt(m.to);
+		if (captured == null && piece.getName() == PieceName.PAWN && m.from.x != m.to.x) {
+			capturedAt = makeCoordinate(m.to.x, m.from.y);	// en passant
+			captured = pieceAt(capturedAt);
+		}
+		if (captured != null) {
+			u.captured = captured;
+			u.capturedAt = capturedAt;
+			u.capturedHadMoved = board.hasMoved(capturedAt);
+			hash ^= Zobrist.key(captured, capturedAt, u.capturedHadMoved);
+			pawnHash ^= Zobrist.pawnKey(captured, capturedAt);
+			remove(captured, capturedAt);
+			clock = 0;
+		}
+
+		hash ^= Zobrist.key(piece, m.from, u.hadMoved);
+		remove(piece, m.from);
+		ChessPiece placed = m.promotion == null ? piece
+				: factory.makePiece(ChessPieceDescriptor.of(piece.getColor(), m.promotion));
+		add(placed, m.to);
+		board.setHasMoved(m.to);
+		hash ^= Zobrist.key(placed, m.to, true);
+		if (piece.getName() == PieceName.PAWN) {
+			pawnHash ^= Zobrist.pawnKey(piece, m.from) ^ Zobrist.pawnKey(placed, m.to);
+		}
+
+		int dx = m.to.x - m.from.x;
+		if (piece.getName() == PieceName.KING && Math.abs(dx) == 2) {
+			Coordinate rookFrom = makeCoordinate(dx > 0 ? board.nColumns : 1, m.from.y);
+			ChessPiece rook = pieceAt(rookFrom);
+			if (rook != null) {
+				Coordinate rookTo = makeCoordinate(m.to.x - Integer.signum(dx), m.from.y);
+				u.rook = rook;
+				u.rookFrom = rookFrom;
+				u.rookTo = rookTo;
+				u.rookHadMoved = board.hasMoved(rookFrom);
+				hash ^= Zobrist.key(rook, rookFrom, u.rookHadMoved);
+				remove(rook, rookFrom);
+				add(rook, rookTo);
+				board.setHasMoved(rookTo);
+				hash ^= Zobrist.key(rook, rookTo, true);
+			}
+		}
+
+		hash ^= Zobrist.BLACK_TO_MOVE;
+		sideToMove = sideToMove.opponent();
+		undos.push(u);
+		history.push(hash, clock);
+	}
+
+	/**
+	 * Pass the turn without moving, as used by null-move pruning. Taken back
+	 * with unmakeMove() like any other move. Repetition checks don't look
+	 * back past a null move.
+	 */
+	public void makeNullMove()
+	{
+		Undo u = new Undo();
+		u.hash = hash;
+		if (listener != null) listener.moveStarted();
+		hash ^= Zobrist.BLACK_TO_MOVE;
+		sideToMove = sideToMove.opponent();
+		undos.push(u);
+		history.push(hash, 0);
+	}
+
+	/**
+	 * Take back the last move made.
+	 */
+	public void unmakeMove()
+	{
+		Undo u = undos.pop();
+		history.pop();
+		if (u.move == null) {	// a null move
+			sideToMove = sideToMove.opponent();
+			hash = u.hash;
+			if (listener != null) listener.moveTakenBack();
+			return;
+		}
+		if (u.rook != null) {
+			board.removePieceAt(u.rookTo);
+			put(u.rook, u.rookFrom, u.rookHadMoved);
+		}
+		board.removePieceAt(u.move.to);
+		put(u.moved, u.move.from, u.hadMoved);
+		if (u.captured != null) {
+			put(u.captured, u.capturedAt, u.capturedHadMoved);
+		}
+		sideToMove = sideToMove.opponent();
+		hash = u.hash;
+		pawnHash = u.pawnHash;
+		if (listener != null) listener.moveTakenBack();
+	}
+
+	/**
+	 * Put a piece back while taking a move back; the listener isn't told.
+	 */
+	private void put(ChessPiece p, Coordinate c, boolean moved)
+	{
+		board.putPieceAt(p, c);
+		if (moved) board.setHasMoved(c);
+	}
+
+	private void add(ChessPiece p, Coordinate c)
+	{
+		board.putPieceAt(p, c);
+		if (listener != null) listener.pieceAdded(p, c);
+	}
+
+	private void remove(ChessPiece p, Coordinate c)
+	{
+		board.removePieceAt(c);
+		if (listener != null) listener.pieceRemoved(p, c);
+	}
+
+	/**
+	 * @return the coordinate of the king of the given color or null
+	 */
+	public Coordinate findKing(PlayerColor color)
+	{
+		Coordinate[] king = new Coordinate[1];
+		ChessPieceDescriptor d = ChessPieceDescriptor.of(color, PieceName.KING);
+		board.forEachPiece((c, p) -> { if (p.getDescriptor() == d) king[0] = c; });
+		return king[0];
+	}
+
+	/**
+	 * @return the coordinates of every piece of the given color
+	 */
+	public List<Coordinate> squaresOf(PlayerColor color)
+	{
+		List<Coordinate> squares = new ArrayList<Coordinate>(16);
+		board.forEachPiece((c, p) -> { if (p.getColor() == color) squares.add(c); });
+		return squares;
+	}
+
+	/**
+	 * @return true if any piece of the given color can move to the square
+	 */
+	public boolean isAttacked(Coordinate square, PlayerColor by)
+	{
+		if (board instanceof BitBoard) return BitAttacks.isAttacked((BitBoard<ChessPiece>) board, square, by);
+		for (Coordinate c : squaresOf(by)) {
+			if (pieceAt(c).canMove(c, square, board)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the given color has a piece other than pawns and its
+	 * 	king, the usual guard against zugzwang for null-move pruning
+	 */
+	public boolean hasPiecesOtherThanPawns(PlayerColor color)
+	{
+		boolean[] found = new boolean[1];
+		board.forEachPiece((c, p) -> {
+			if (p.getColor() == color && p.getName() != PieceName.PAWN && p.getName() != PieceName.KING) found[0] = true;
+		});
+		return found[0];
+	}
+
+	/**
+	 * @return true if the king of the given color is attacked
+	 */
+	public boolean isInCheck(PlayerColor color)
+	{
+		Coordinate king = findKing(color);
+		return king != null && isAttacked(king, color.opponent());
+	}
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import gpv.chess.ChessPiece;
+import gpv.util.Coordinate;
+
+/**
+ * Told about every piece a Position adds or removes while making a move, so
+ * that incrementally updated state such as an evaluator's accumulators can
+ * follow the board. Taking a move back is reported as a whole: the listener
+ * is expected to restore what it had before the matching moveStarted().
+ * @version Oct 19, 2026
+ */
+public interface PositionListener
+{
+	/**
+	 * A move or null move is about to be made.
+	 */
+	void moveStarted();
+
+	void pieceRemoved(ChessPiece p, Coordinate c);
+
+	void pieceAdded(ChessPiece p, Coordinate c);
+
+	/**
+	 * The last move has been taken back.
+	 */
+	void moveTakenBack();
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the latest report of each line of a multi-PV search, for callers
+ * that want the lines as a result rather than as a stream. Reports can be
+ * passed on to another listener as they arrive.
+ * @version Oct 19, 2026
+ */
+public class PvLines implements SearchListener
+{
+	private final SearchListener next;
+	private final List<SearchInfo> lines = new ArrayList<SearchInfo>();
+	private volatile Move best;
+
+	/**
+	 * Constructor for collecting only.
+	 */
+	public PvLines()
+	{
+		this(null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param next receives every report too, or null
+	 */
+	public PvLines(SearchListener next)
+	{
+		this.next = next;
+	}
+
+	/*
+	 * @see gpv.chess.engine.SearchListener#onInfo(gpv.chess.engine.SearchInfo)
+	 */
+	@Override
+	public void onInfo(SearchInfo info)
+	{
+		synchronized (lines) {
+			while (lines.size() < info.multipv) lines.add(null);
+			lines.set(info.multipv - 1, info);
+		}
+		if (next != null) next.onInfo(info);
+	}
+
+	/*
+	 * @see gpv.chess.engine.SearchListener#onBestMove(gpv.chess.engine.Move, gpv.chess.engine.Move)
+	 */
+	@Override
+	public void onBestMove(Move best, Move ponder)
+	{
+		this.best = best;
+		if (next != null) next.onBestMove(best, ponder);
+	}
+
+	/**
+	 * @return the latest report of each line, best first. After a search that
+	 * 	was stopped, later lines may be one iteration shallower than the first.
+	 */
+	public List<SearchInfo> get()
+	{
+		synchronized (lines) {
+			return new ArrayList<SearchInfo>(lines);
+		}
+	}
+
+	/**
+	 * @return the best move, once the search has finished
+	 */
+	public Move getBest()
+	{
+		return best;
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PieceName;
+
+/**
+ * Reads moves in Standard Algebraic Notation as found in PGN game scores,
+ * e.g. "Nf3", "exd5", "O-O", "e8=Q+" or "R1a3". A move is resolved against
+ * the position it is played in, so the rules decide which piece it means.
+ * Long algebraic moves such as "e2e4" are accepted too.
+ * @version Oct 19, 2026
+ */
+public final class San
+{
+	private San()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * @param pos the position the move is played in
+	 * @param text the move
+	 * @return the legal move the text stands for
+	 * @throws IllegalArgumentException if the text is not exactly one legal move
+	 */
+	public static Move parse(Position pos, String text)
+	{
+		String s = text;
+		while (!s.isEmpty() && "+#!?".indexOf(s.charAt(s.length() - 1)) >= 0) s = s.substring(0, s.length() - 1);
+		if (s.isEmpty()) throw new IllegalArgumentException("Empty move");
+
+		if (s.equals("O-O") || s.equals("0-0") || s.equals("O-O-O") || s.equals("0-0-0")) {
+			Move castle = null;
+			boolean kingSide = s.length() == 3;
+			for (Move m : MoveGenerator.pseudoLegalMoves(pos)) {
+				if (pos.pieceAt(m.from).getName() == PieceName.KING && m.to.x - m.from.x == (kingSide ? 2 : -2)) castle = m;
+			}
+			if (castle == null || !MoveGenerator.isLegal(pos, castle)) throw new IllegalArgumentException("Can't castle: " + text);
+			return castle;
+		}
+		if (isLongAlgebraic(s)) {
+			Move m = Move.parse(s);
+			if (pos.pieceAt(m.from) == null || !MoveGenerator.pseudoLegalMoves(pos).contains(m) || !MoveGenerator.isLegal(pos, m)) {
+				throw new IllegalArgumentException("Illegal move " + text);
+			}
+			return m;
+		}
+		PieceName name = PieceName.PAWN;
+		PieceName promotion = null;
+		int i = 0;
+		int end = s.length();
+		if ("NBRQK".indexOf(s.charAt(0)) >= 0) name = pieceName(s.charAt(i++));
+		int eq = s.indexOf('=');
+		if (eq >= 0 || name == PieceName.PAWN && "NBRQ".indexOf(s.charAt(end - 1)) >= 0) {
+			promotion = pieceName(s.charAt(end - 1));
+			end = eq >= 0 ? eq : end - 1;
+		}
+		int rankStart = end;
+		while (rankStart > i && Character.isDigit(s.charAt(rankStart - 1))) rankStart--;
+		if (rankStart == end || rankStart - 1 < i) throw new IllegalArgumentException("Bad move " + text);
+		int toX = file(s.charAt(rankStart - 1));
+		int toY = Integer.parseInt(s.substring(rankStart, end));
+		int fileHint = 0;
+		int rankHint = 0;
+		for (int j = i; j < rankStart - 1; j++) {
+			char ch = s.charAt(j);
+			if (ch == 'x' || ch == ':' || ch == '-') continue;
+			if (Character.isDigit(ch)) rankHint = 10 * rankHint + ch - '0';
+			else fileHint = file(ch);
+		}
+
+		Move found = null;
+		for (Move m : MoveGenerator.pseudoLegalMoves(pos)) {
+			ChessPiece p = pos.pieceAt(m.from);
+			if (m.to.x != toX || m.to.y != toY || p.getName() != name || m.promotion != promotion) continue;
+			if (fileHint != 0 && m.from.x != fileHint || rankHint != 0 && m.from.y != rankHint) continue;
+			if (!MoveGenerator.isLegal(pos, m)) continue;
+			if (found != null) throw new IllegalArgumentException("Ambiguous move " + text);
+			found = m;
+		}
+		if (found == null) throw new IllegalArgumentException("Illegal move " + text);
+		return found;
+	}
+
+	private static boolean isLongAlgebraic(String s)
+	{
+		return s.matches("[a-p]\\d{1,2}[a-p]\\d{1,2}[qrbn]?");
+	}
+
+	private static int file(char ch)
+	{
+		if (ch < 'a' || ch > 'p') throw new IllegalArgumentException("Bad file " + ch);
+		return ch - 'a' + 1;
+	}
+
+	private static PieceName pieceName(char ch)
+	{
+		switch (ch) {
+			case 'N': return PieceName.KNIGHT;
+			case 'B': return PieceName.BISHOP;
+			case 'R': return PieceName.ROOK;
+			case 'Q': return PieceName.QUEEN;
+			case 'K': return PieceName.KING;
+			default: throw new IllegalArgumentException("Bad piece " + ch);
+		}
+	}
+}
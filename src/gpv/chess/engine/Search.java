@@ -0,0 +1,592 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.chess.jfr.ChessEvents;
+import gpv.chess.jfr.JfrSupport;
+
+/**
+ * An iterative deepening alpha-beta search over the moves produced by the
+ * MoveGenerator. A search is started with start() and runs on its own thread
+ * so that the caller stays responsive; stop() only raises a flag and returns
+ * at once. Results are reported through a SearchListener.
+ * <br/>
+ * On top of plain alpha-beta the search uses principal variation search
+ * with aspiration windows, null-move pruning, late move reductions and
+ * futility pruning. Each can be switched off with SearchOptions.
+ * <br/>
+ * A search started with SearchLimits.ponder runs on the position after the
+ * expected reply with no clock until ponderhit() is called; from then on it
+ * is an ordinary search timed from the ponderhit.
+ * <br/>
+ * With setMultiPv(n) each iteration searches the root n times, each time
+ * leaving out the first moves of the lines already found, and reports every
+ * line as soon as it is complete. The later lines are cheap because the
+ * transposition table is already full of the earlier lines' work.
+ * @version Oct 19, 2026
+ */
+public class Search
+{
+	public static final int MAX_PLY = 64;
+	public static final int MATE = 30000;
+	static final int INFINITY = 32000;
+
+	private static final int ASPIRATION_WINDOW = 50;
+	private static final int NULL_MOVE_MIN_DEPTH = 3;
+	private static final int LMR_MIN_DEPTH = 3;
+	private static final int LMR_FULL_MOVES = 3;		// moves searched at full depth before reducing
+	private static final int[] FUTILITY_MARGIN = { 0, 200, 500 };	// by remaining depth
+
+	private final TranspositionTable tt;
+	private volatile Evaluator evaluator;
+	private volatile AnalysisCache cache;
+	private final Object stopLock = new Object();
+	private volatile boolean stopRequested;
+	private volatile boolean pondering;
+	private volatile long clockStart;
+	private volatile SearchOptions options = new SearchOptions();
+	private volatile int multiPv = 1;
+	private Thread thread;
+
+	// state owned by the search thread
+	private Position pos;
+	private SearchOptions opts;
+	private Evaluator eval;
+	private long nodes;
+	private long startTime;
+	private long hardLimit;
+	private long nodeLimit;
+	private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+	private final int[] pvLength = new int[MAX_PLY + 1];
+	private int[] excluded = new int[0];	// root moves of the lines already found this iteration
+	private int excludedCount;
+
+	/**
+	 * Constructor.
+	 * @param tt the transposition table, which may be shared with other searches
+	 * @param evaluator the evaluation function
+	 */
+	public Search(TranspositionTable tt, Evaluator evaluator)
+	{
+		this.tt = tt;
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Change the evaluation function. Takes effect at the next search.
+	 * @param evaluator
+	 */
+	public void setEvaluator(Evaluator evaluator)
+	{
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Use a persistent analysis cache. Before searching, a result stored for
+	 * the root at the requested depth or deeper is reported without searching,
+	 * and a shallower one seeds the transposition table. Finished searches
+	 * are stored. Takes effect at the next search.
+	 * @param cache the cache or null for none
+	 */
+	public void setAnalysisCache(AnalysisCache cache)
+	{
+		this.cache = cache;
+	}
+
+	/**
+	 * @return the selective search switches
+	 */
+	public SearchOptions getOptions()
+	{
+		return options;
+	}
+
+	/**
+	 * Change the selective search switches. Takes effect at the next search.
+	 * @param options
+	 */
+	public void setOptions(SearchOptions options)
+	{
+		this.options = options;
+	}
+
+	/**
+	 * @return the number of lines reported
+	 */
+	public int getMultiPv()
+	{
+		return multiPv;
+	}
+
+	/**
+	 * Report the best n lines instead of only the best one. Takes effect at
+	 * the next search.
+	 * @param n at least 1
+	 */
+	public void setMultiPv(int n)
+	{
+		if (n < 1) throw new IllegalArgumentException("MultiPV must be at least 1");
+		multiPv = n;
+	}
+
+	/**
+	 * Start searching a copy of the position on a new thread. Any search that
+	 * is still running is stopped first.
+	 * @param position the position to search
+	 * @param limits when to stop
+	 * @param listener receives info and the best move
+	 */
+	public synchronized void start(Position position, SearchLimits limits, SearchListener listener)
+	{
+		stop();
+		waitForFinish();
+		Position p = position.copy();
+		stopRequested = false;
+		pondering = limits.ponder;
+		thread = new Thread(() -> run(p, limits, listener), "search");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Ask the running search to stop. Returns immediately; the search reports
+	 * its best move from its own thread.
+	 */
+	public void stop()
+	{
+		stopRequested = true;
+		synchronized (stopLock) {
+			stopLock.notifyAll();
+		}
+	}
+
+	/**
+	 * The opponent played the move being pondered. The search carries on as
+	 * the real search, with its time limits counted from now. Does nothing
+	 * if the search isn't pondering.
+	 */
+	public void ponderhit()
+	{
+		if (!pondering) return;
+		clockStart = System.currentTimeMillis();
+		pondering = false;
+		synchronized (stopLock) {
+			stopLock.notifyAll();
+		}
+	}
+
+	/**
+	 * @return true if the search is pondering and hasn't had a ponderhit
+	 */
+	public boolean isPondering()
+	{
+		return pondering;
+	}
+
+	/**
+	 * Block until the current search, if any, has reported its best move.
+	 */
+	public void waitForFinish()
+	{
+		Thread t = thread;
+		if (t == null) return;
+		boolean interrupted = false;
+		while (t.isAlive()) {
+			try {
+				t.join();
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	/**
+	 * @return true if a search thread is running
+	 */
+	public boolean isSearching()
+	{
+		Thread t = thread;
+		return t != null && t.isAlive();
+	}
+
+	/**
+	 * Search on the calling thread.
+	 * @param position the position, which is changed during the search and
+	 * 	restored before returning
+	 * @param limits when to stop
+	 * @param listener receives info and the best move
+	 * @return the best move or null if there are no legal moves
+	 */
+	public Move think(Position position, SearchLimits limits, SearchListener listener)
+	{
+		stopRequested = false;
+		pondering = limits.ponder;
+		return run(position, limits, listener);
+	}
+
+	private Move run(Position position, SearchLimits limits, SearchListener listener)
+	{
+		pos = position;
+		opts = options;
+		eval = evaluator;
+		eval.attach(pos);
+		nodes = 0;
+		startTime = System.currentTimeMillis();
+		clockStart = startTime;
+		TimeManager time = new TimeManager(limits, pos.getSideToMove());
+		hardLimit = time.getHardLimit();
+		nodeLimit = limits.nodes;
+		tt.newSearch();
+
+		List<Move> rootMoves = MoveGenerator.legalMoves(pos);
+		Move best = rootMoves.isEmpty() ? null : rootMoves.get(0);
+		Move ponder = null;
+		int maxDepth = limits.depth > 0 ? Math.min(limits.depth, MAX_PLY) : MAX_PLY;
+		int lines = Math.min(multiPv, rootMoves.size());
+		int[] scores = new int[lines];
+		excluded = new int[lines];
+		excludedCount = 0;
+		AnalysisCache store = cache;
+		long cached = store == null || best == null || lines > 1 ? 0L : store.probe(pos.getHash());
+		Move cachedMove = Move.fromInt(AnalysisCache.move(cached));
+		if (cached != 0 && rootMoves.contains(cachedMove)) {
+			int cachedDepth = AnalysisCache.depth(cached);
+			if (limits.depth > 0 && cachedDepth >= limits.depth && !limits.infinite) {
+				best = cachedMove;
+				int score = AnalysisCache.score(cached);
+				listener.onInfo(new SearchInfo(cachedDepth, score, 0, System.currentTimeMillis() - startTime,
+						tt.hashfull(), Collections.singletonList(best)));
+				maxDepth = 0;
+			}
+			else {
+				tt.store(pos.getHash(), cachedMove.toInt(), AnalysisCache.score(cached), cachedDepth,
+						TranspositionTable.BOUND_EXACT);
+			}
+		}
+		for (int depth = 1; best != null && depth <= maxDepth; depth++) {
+			excludedCount = 0;
+			for (int k = 0; k < lines; k++) {
+				int score = searchRoot(depth, scores[k]);
+				if (stopRequested) break;
+				List<Move> line = principalVariation(depth);
+				scores[k] = score;
+				excluded[excludedCount++] = line.get(0).toInt();
+				long elapsed = System.currentTimeMillis() - startTime;
+				if (k == 0) {
+					best = line.get(0);
+					ponder = line.size() > 1 ? line.get(1) : null;
+					if (JfrSupport.ENABLED) ChessEvents.searchIteration(depth, score, nodes, elapsed);
+					if (store != null && lines == 1) store.store(pos.getHash(), best.toInt(), score, depth);
+				}
+				listener.onInfo(new SearchInfo(depth, score, nodes, elapsed, tt.hashfull(), line, k + 1));
+			}
+			if (stopRequested) break;
+			if (lines == 1 && Math.abs(scores[0]) >= MATE - depth) break;
+			if (!pondering && System.currentTimeMillis() - clockStart >= time.getSoftLimit()) break;
+		}
+		eval.detach(pos);
+		waitForStop(limits.infinite);
+		listener.onBestMove(best, ponder);
+		return best;
+	}
+
+	/**
+	 * @return the number of nodes searched so far in the current search
+	 */
+	public long getNodes()
+	{
+		return nodes;
+	}
+
+	/**
+	 * A search mustn't report its best move while pondering, or before "stop"
+	 * if it is infinite, even when it has nothing left to search.
+	 */
+	private void waitForStop(boolean infinite)
+	{
+		synchronized (stopLock) {
+			while (!stopRequested && (infinite || pondering)) {
+				try {
+					stopLock.wait();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the principal variation of the last iteration. Hash cutoffs cut
+	 * 	the collected line short, so it is extended with hash moves.
+	 */
+	private List<Move> principalVariation(int depth)
+	{
+		List<Move> line = new ArrayList<Move>(depth);
+		for (int i = 0; i < pvLength[0]; i++) line.add(Move.fromInt(pv[0][i]));
+		for (Move m : line) pos.makeMove(m);
+		while (line.size() < depth) {
+			Move m = Move.fromInt(TranspositionTable.move(tt.probe(pos.getHash())));
+			if (m == null || !MoveGenerator.legalMoves(pos).contains(m)) break;
+			line.add(m);
+			pos.makeMove(m);
+		}
+		for (int i = 0; i < line.size(); i++) pos.unmakeMove();
+		return line;
+	}
+
+	/**
+	 * Search the root, first with a narrow window around the last score and
+	 * widening it on the side that failed.
+	 */
+	private int searchRoot(int depth, int lastScore)
+	{
+		if (!opts.aspirationWindows || depth < 4 || Math.abs(lastScore) >= MATE - MAX_PLY) {
+			return alphaBeta(depth, -INFINITY, INFINITY, 0, false);
+		}
+		int window = ASPIRATION_WINDOW;
+		int alpha = lastScore - window;
+		int beta = lastScore + window;
+		while (true) {
+			int score = alphaBeta(depth, alpha, beta, 0, false);
+			if (stopRequested || score > alpha && score < beta) return score;
+			window *= 2;
+			if (score <= alpha) alpha = Math.max(-INFINITY, score - window);
+			else beta = Math.min(INFINITY, score + window);
+		}
+	}
+
+	/**
+	 * @param afterNull true if the last move was a null move, so another
+	 * 	one isn't tried
+	 */
+	private int alphaBeta(int depth, int alpha, int beta, int ply, boolean afterNull)
+	{
+		pvLength[ply] = ply;
+		if (depth <= 0 || ply >= MAX_PLY) return quiesce(alpha, beta, ply);
+		if (checkLimits()) return 0;
+		if (ply > 0 && (pos.getHalfmoveClock() >= 100 || pos.isRepetition())) return 0;
+		boolean pvNode = beta - alpha > 1;
+
+		long key = pos.getHash();
+		long entry = tt.probe(key);
+		int ttMove = TranspositionTable.move(entry);
+		if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+			int score = fromTT(TranspositionTable.score(entry), ply);
+			int bound = TranspositionTable.bound(entry);
+			if (bound == TranspositionTable.BOUND_EXACT
+					|| bound == TranspositionTable.BOUND_LOWER && score >= beta
+					|| bound == TranspositionTable.BOUND_UPPER && score <= alpha) {
+				return score;
+			}
+		}
+
+		PlayerColor side = pos.getSideToMove();
+		boolean inCheck = pos.isInCheck(side);
+		boolean selective = !pvNode && !inCheck && (opts.nullMove || opts.futility);
+		int staticEval = selective ? eval.evaluate(pos) : 0;
+
+		// If passing still fails high, a real move would too (barring zugzwang)
+		if (selective && opts.nullMove && !afterNull && ply > 0 && depth >= NULL_MOVE_MIN_DEPTH
+				&& staticEval >= beta && pos.hasPiecesOtherThanPawns(side)) {
+			int r = depth > 6 ? 3 : 2;
+			pos.makeNullMove();
+			int score = -alphaBeta(depth - 1 - r, -beta, -beta + 1, ply + 1, true);
+			pos.unmakeMove();
+			if (stopRequested) return 0;
+			if (score >= beta) return score >= MATE - MAX_PLY ? beta : score;
+		}
+
+		// Near the horizon, quiet moves can't make up a big deficit
+		boolean futile = selective && opts.futility && depth < FUTILITY_MARGIN.length
+				&& Math.abs(alpha) < MATE - MAX_PLY && staticEval + FUTILITY_MARGIN[depth] <= alpha;
+
+		List<Move> moves = MoveGenerator.pseudoLegalMoves(pos);
+		int[] order = orderScores(moves, ttMove);
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = 0;
+		int legal = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			Move m = pickNext(moves, order, i);
+			if (ply == 0 && isExcluded(m)) continue;
+			if (!MoveGenerator.isLegal(pos, m)) continue;
+			legal++;
+			boolean quiet = m.promotion == null && !pos.isCapture(m);
+			boolean reducible = opts.lateMoveReductions && quiet && !inCheck
+					&& depth >= LMR_MIN_DEPTH && legal > LMR_FULL_MOVES;
+			pos.makeMove(m);
+			boolean givesCheck = quiet && (futile || reducible) && pos.isInCheck(pos.getSideToMove());
+			if (futile && quiet && legal > 1 && !givesCheck) {
+				pos.unmakeMove();
+				bestScore = Math.max(bestScore, staticEval + FUTILITY_MARGIN[depth]);
+				continue;
+			}
+			int score;
+			if (legal == 1) {
+				score = -alphaBeta(depth - 1, -beta, -alpha, ply + 1, false);
+			}
+			else {
+				int reduction = reducible && !givesCheck ? (legal > 2 * LMR_FULL_MOVES + 4 ? 2 : 1) : 0;
+				int window = opts.principalVariation ? alpha + 1 : beta;	// zero window unless PVS is off
+				score = -alphaBeta(depth - 1 - reduction, -window, -alpha, ply + 1, false);
+				if (reduction > 0 && score > alpha) {
+					score = -alphaBeta(depth - 1, -window, -alpha, ply + 1, false);
+				}
+				if (window != beta && score > alpha && score < beta) {
+					score = -alphaBeta(depth - 1, -beta, -alpha, ply + 1, false);
+				}
+			}
+			pos.unmakeMove();
+			if (stopRequested) return 0;
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = m.toInt();
+				if (score > alpha) {
+					alpha = score;
+					updatePv(ply, bestMove);
+					if (alpha >= beta) break;
+				}
+			}
+		}
+		if (legal == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+
+		int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+				: bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+		if (ply > 0 || excludedCount == 0) tt.store(key, bestMove, toTT(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	/**
+	 * @return true if the root move already starts a line of this iteration
+	 */
+	private boolean isExcluded(Move m)
+	{
+		int move = m.toInt();
+		for (int i = 0; i < excludedCount; i++) {
+			if (excluded[i] == move) return true;
+		}
+		return false;
+	}
+
+	private int quiesce(int alpha, int beta, int ply)
+	{
+		if (checkLimits()) return 0;
+		int standPat = eval.evaluate(pos);
+		if (standPat >= beta || ply >= MAX_PLY) return standPat;
+		if (standPat > alpha) alpha = standPat;
+
+		List<Move> moves = MoveGenerator.pseudoLegalMoves(pos);
+		moves.removeIf(m -> m.promotion == null && !pos.isCapture(m));
+		int[] order = orderScores(moves, 0);
+		for (int i = 0; i < moves.size(); i++) {
+			Move m = pickNext(moves, order, i);
+			if (!MoveGenerator.isLegal(pos, m)) continue;
+			pos.makeMove(m);
+			int score = -quiesce(-beta, -alpha, ply + 1);
+			pos.unmakeMove();
+			if (stopRequested) return 0;
+			if (score > alpha) {
+				alpha = score;
+				if (alpha >= beta) break;
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * Count a node and check the hard time limit and node limit every 1024
+	 * nodes. Neither applies while pondering.
+	 * @return true if the search must stop
+	 */
+	private boolean checkLimits()
+	{
+		if ((++nodes & 1023) == 0 && !pondering) {
+			if (System.currentTimeMillis() - clockStart >= hardLimit
+					|| nodeLimit > 0 && nodes >= nodeLimit) {
+				stopRequested = true;
+			}
+		}
+		return stopRequested;
+	}
+
+	private void updatePv(int ply, int move)
+	{
+		pv[ply][ply] = move;
+		for (int i = ply + 1; i < pvLength[ply + 1]; i++) pv[ply][i] = pv[ply + 1][i];
+		pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+	}
+
+	/**
+	 * Score moves for ordering: the hash move first, then captures by most
+	 * valuable victim / least valuable attacker, then promotions.
+	 */
+	private int[] orderScores(List<Move> moves, int ttMove)
+	{
+		int[] scores = new int[moves.size()];
+		for (int i = 0; i < scores.length; i++) {
+			Move m = moves.get(i);
+			if (ttMove != 0 && m.toInt() == ttMove) {
+				scores[i] = 1000000;
+				continue;
+			}
+			ChessPiece victim = pos.pieceAt(m.to);
+			if (victim != null) {
+				scores[i] = 10000 + 10 * MaterialEvaluator.value(victim.getName())
+						- MaterialEvaluator.value(pos.pieceAt(m.from).getName()) / 10;
+			}
+			if (m.promotion != null) scores[i] += 5000 + MaterialEvaluator.value(m.promotion);
+		}
+		return scores;
+	}
+
+	/**
+	 * Selection sort step: swap the best remaining move into position i.
+	 */
+	private static Move pickNext(List<Move> moves, int[] scores, int i)
+	{
+		int best = i;
+		for (int j = i + 1; j < scores.length; j++) {
+			if (scores[j] > scores[best]) best = j;
+		}
+		if (best != i) {
+			int s = scores[i]; scores[i] = scores[best]; scores[best] = s;
+			Move m = moves.get(i); moves.set(i, moves.get(best)); moves.set(best, m);
+		}
+		return moves.get(i);
+	}
+
+	private static int toTT(int score, int ply)
+	{
+		if (score >= MATE - MAX_PLY) return score + ply;
+		if (score <= -MATE + MAX_PLY) return score - ply;
+		return score;
+	}
+
+	private static int fromTT(int score, int ply)
+	{
+		if (score >= MATE - MAX_PLY) return score - ply;
+		if (score <= -MATE + MAX_PLY) return score + ply;
+		return score;
+	}
+}
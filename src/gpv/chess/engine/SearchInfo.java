@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.List;
+
+/**
+ * The result of one completed iteration of the search, as reported in a UCI
+ * "info" line. This is strictly a data object.
+ * @version Oct 19, 2026
+ */
+public class SearchInfo
+{
+	public final int depth;
+	public final int score;		// centipawns from the side to move
+	public final long nodes;
+	public final long timeMillis;
+	public final int hashfull;	// permille
+	public final List<Move> pv;
+	public final int multipv;	// which line this is, 1 for the best
+
+	/**
+	 * Constructor for the best line.
+	 */
+	public SearchInfo(int depth, int score, long nodes, long timeMillis, int hashfull, List<Move> pv)
+	{
+		this(depth, score, nodes, timeMillis, hashfull, pv, 1);
+	}
+
+	/**
+	 * Constructor for one line of a multi-PV search.
+	 */
+	public SearchInfo(int depth, int score, long nodes, long timeMillis, int hashfull, List<Move> pv, int multipv)
+	{
+		this.multipv = multipv;
+		this.depth = depth;
+		this.score = score;
+		this.nodes = nodes;
+		this.timeMillis = timeMillis;
+		this.hashfull = hashfull;
+		this.pv = pv;
+	}
+
+	/**
+	 * @return nodes per second
+	 */
+	public long nps()
+	{
+		return timeMillis == 0 ? nodes * 1000 : nodes * 1000 / timeMillis;
+	}
+
+	/**
+	 * @return true if the score is a forced mate for either side
+	 */
+	public boolean isMate()
+	{
+		return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+	}
+
+	/**
+	 * @return the number of moves to mate, negative if the side to move is
+	 * 	getting mated
+	 */
+	public int mateIn()
+	{
+		return score > 0 ? (Search.MATE - score + 1) / 2 : -(Search.MATE + score) / 2;
+	}
+}
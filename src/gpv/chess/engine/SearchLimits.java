@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+/**
+ * The limits for one search, as given by a UCI "go" command. A value of zero
+ * means the limit was not given. This is strictly a data object.
+ * @version Oct 19, 2026
+ */
+public class SearchLimits
+{
+	public int depth;
+	public long nodes;
+	public long movetime;		// milliseconds
+	public long wtime;
+	public long btime;
+	public long winc;
+	public long binc;
+	public int movestogo;
+	public boolean infinite;	// search until stopped
+	public boolean ponder;		// no limits apply until ponderhit
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+/**
+ * Receives progress and the final result of a search. Methods are called on
+ * the search thread.
+ * @version Oct 19, 2026
+ */
+public interface SearchListener
+{
+	/**
+	 * Called after each completed iteration.
+	 */
+	void onInfo(SearchInfo info);
+
+	/**
+	 * Called once when the search finishes.
+	 * @param best the best move or null if there are no legal moves
+	 * @param ponder the expected reply or null
+	 */
+	void onBestMove(Move best, Move ponder);
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+/**
+ * Switches for the selective parts of the search, so the effect of each one
+ * can be measured on its own. Everything is on by default; with everything
+ * off the search is plain alpha-beta with a transposition table and
+ * quiescence search. This is strictly a data object.
+ * @version Oct 19, 2026
+ */
+public class SearchOptions
+{
+	public boolean nullMove = true;			// try passing; if that still fails high, prune
+	public boolean lateMoveReductions = true;	// search late quiet moves less deeply first
+	public boolean principalVariation = true;	// zero-window search for all but the first move
+	public boolean aspirationWindows = true;	// start each iteration with a window around the last score
+	public boolean futility = true;			// skip quiet moves near the horizon that can't reach alpha
+
+	/**
+	 * @return options with every selective technique turned off
+	 */
+	public static SearchOptions none()
+	{
+		SearchOptions o = new SearchOptions();
+		o.nullMove = false;
+		o.lateMoveReductions = false;
+		o.principalVariation = false;
+		o.aspirationWindows = false;
+		o.futility = false;
+		return o;
+	}
+
+	/**
+	 * @return options with the same switches, to change without affecting
+	 * 	a search that is using these
+	 */
+	public SearchOptions copy()
+	{
+		SearchOptions o = new SearchOptions();
+		o.nullMove = nullMove;
+		o.lateMoveReductions = lateMoveReductions;
+		o.principalVariation = principalVariation;
+		o.aspirationWindows = aspirationWindows;
+		o.futility = futility;
+		return o;
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return "nullMove=" + nullMove + " lmr=" + lateMoveReductions + " pvs=" + principalVariation
+				+ " aspiration=" + aspirationWindows + " futility=" + futility;
+	}
+}
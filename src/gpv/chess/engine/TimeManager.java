@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import gpv.chess.PlayerColor;
+
+/**
+ * Turns the clock information from SearchLimits into two limits for the side
+ * to move. The soft limit is the time after which no new iteration is
+ * started; the hard limit aborts the search in the middle of an iteration.
+ * @version Oct 19, 2026
+ */
+public class TimeManager
+{
+	/** Time kept back for communication with the GUI, in milliseconds. */
+	static final long OVERHEAD = 30;
+	/** Moves assumed to be left when the GUI doesn't send movestogo. */
+	static final int DEFAULT_MOVES_TO_GO = 40;
+
+	private final long softLimit;
+	private final long hardLimit;
+
+	/**
+	 * Compute the limits.
+	 * @param limits the search limits
+	 * @param side the player to move
+	 */
+	public TimeManager(SearchLimits limits, PlayerColor side)
+	{
+		long time = side == PlayerColor.WHITE ? limits.wtime : limits.btime;
+		long inc = side == PlayerColor.WHITE ? limits.winc : limits.binc;
+		if (limits.infinite) {
+			softLimit = hardLimit = Long.MAX_VALUE;
+		}
+		else if (limits.movetime > 0) {
+			softLimit = hardLimit = Math.max(1, limits.movetime - OVERHEAD);
+		}
+		else if (time > 0) {
+			int movesToGo = limits.movestogo > 0 ? Math.min(limits.movestogo, DEFAULT_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+			long available = Math.max(1, time - OVERHEAD);
+			long soft = time / movesToGo + inc * 3 / 4;
+			long hard = limits.movestogo == 1 ? available : Math.min(soft * 4, available / 3);
+			hardLimit = Math.max(1, Math.min(hard, available));
+			softLimit = Math.max(1, Math.min(soft, hardLimit));
+		}
+		else {
+			softLimit = hardLimit = Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * @return the softLimit in milliseconds
+	 */
+	public long getSoftLimit()
+	{
+		return softLimit;
+	}
+
+	/**
+	 * @return the hardLimit in milliseconds
+	 */
+	public long getHardLimit()
+	{
+		return hardLimit;
+	}
+}
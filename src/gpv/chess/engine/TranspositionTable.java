@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.Arrays;
+
+import gpv.chess.jfr.ChessEvents;
+import gpv.chess.jfr.JfrSupport;
+
+/**
+ * A hash table of search results keyed by position hash. Each entry is two
+ * longs: the full key and a packed data word holding the best move, score,
+ * depth, bound type and the search generation that wrote it. The table size
+ * is a power of two so the slot is just the low bits of the key.
+ * <br/>
+ * Any number of search threads may probe and store at the same time without
+ * locks. Both words of an entry sit next to each other in one long[], and the
+ * key word is stored XORed with the data word. Two threads writing the same
+ * slot can leave the key of one next to the data of the other; such a torn
+ * entry no longer XORs back to its key, so probe() treats it as a miss
+ * instead of returning another position's result. Only resize() and clear()
+ * must not run during a search.
+ * @version Oct 19, 2026
+ */
+public class TranspositionTable
+{
+	public static final int BOUND_NONE = 0;
+	public static final int BOUND_UPPER = 1;	// score <= alpha, fail low
+	public static final int BOUND_LOWER = 2;	// score >= beta, fail high
+	public static final int BOUND_EXACT = 3;
+
+	private static final int ENTRY_BYTES = 16;
+
+	private long[] table;	// key ^ data at 2i, data at 2i + 1
+	private int mask;
+	private volatile int generation;
+
+	/**
+	 * Constructor for a table that uses about the given number of megabytes.
+	 * @param megabytes
+	 */
+	public TranspositionTable(int megabytes)
+	{
+		resize(megabytes);
+	}
+
+	/**
+	 * Reallocate the table, dropping all entries.
+	 * @param megabytes the new size
+	 */
+	public synchronized void resize(int megabytes)
+	{
+		long entries = Long.highestOneBit(Math.max(1L, (long) megabytes << 20) / ENTRY_BYTES);
+		entries = Math.max(1024, Math.min(entries, 1 << 29));	// two longs each must fit in one array
+		if (JfrSupport.ENABLED) ChessEvents.transpositionTableResized(table == null ? 0 : capacity(), entries, entries * ENTRY_BYTES);
+		table = new long[(int) entries * 2];
+		mask = (int) entries - 1;
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public synchronized void clear()
+	{
+		Arrays.fill(table, 0L);
+		generation = 0;
+	}
+
+	/**
+	 * Start a new search so that entries from older searches age out.
+	 */
+	public synchronized void newSearch()
+	{
+		generation = (generation + 1) & 0xFF;
+	}
+
+	/**
+	 * @return the number of entries
+	 */
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * @param key the position hash
+	 * @return the data word stored for the key or 0 if none
+	 */
+	public long probe(long key)
+	{
+		int i = ((int) key & mask) << 1;
+		long data = table[i + 1];
+		return (table[i] ^ data) == key ? data : 0L;
+	}
+
+	/**
+	 * Store a search result. An entry from the current search is only
+	 * replaced by a result of at least the same depth or for the same key.
+	 * A race with another thread can still lose either result, which costs a
+	 * little search time but is never wrong.
+	 */
+	public void store(long key, int move, int score, int depth, int bound)
+	{
+		int i = ((int) key & mask) << 1;
+		long old = table[i + 1];
+		boolean same = (table[i] ^ old) == key;
+		int gen = generation;
+		if (!same && old != 0 && generation(old) == gen && depth(old) > depth) return;
+		if (same && move == 0) move = move(old);
+		long data = pack(move, score, depth, bound, gen);
+		table[i] = key ^ data;
+		table[i + 1] = data;
+	}
+
+	/**
+	 * @return how full the table is in permille, counting only entries written
+	 * 	by the current search, as reported by UCI hashfull
+	 */
+	public int hashfull()
+	{
+		int sample = Math.min(1000, capacity());
+		int gen = generation;
+		int used = 0;
+		for (int i = 0; i < sample; i++) {
+			long data = table[2 * i + 1];
+			if (data != 0 && generation(data) == gen) used++;
+		}
+		return used * 1000 / sample;
+	}
+
+	static long pack(int move, int score, int depth, int bound, int generation)
+	{
+		return (move & 0x7FFFFFL)
+				| (score & 0xFFFFL) << 23
+				| (depth & 0xFFL) << 39
+				| (long) (bound & 3) << 47
+				| (generation & 0xFFL) << 49
+				| 1L << 57;		// so that a stored entry is never 0
+	}
+
+	public static int move(long data)
+	{
+		return (int) (data & 0x7FFFFF);
+	}
+
+	public static int score(long data)
+	{
+		return (short) (data >>> 23);
+	}
+
+	public static int depth(long data)
+	{
+		return (int) (data >>> 39 & 0xFF);
+	}
+
+	public static int bound(long data)
+	{
+		return (int) (data >>> 47 & 3);
+	}
+
+	static int generation(long data)
+	{
+		return (int) (data >>> 49 & 0xFF);
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import java.util.SplittableRandom;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.PieceName;
+import gpv.chess.PlayerColor;
+import gpv.util.Board;
+import gpv.util.Coordinate;
+
+/**
+ * Zobrist keys used to hash positions. A position hash is the XOR of one key
+ * per (piece descriptor, square), one key per unmoved king or rook (so castling
+ * rights are part of the hash) and a key when black is to move. The keys come
+ * from a fixed seed so hashes are stable across runs and processes.
+ * <br/>
+ * The pawn hash is the XOR of the piece keys of the pawns alone, for caching
+ * evaluation terms that only depend on the pawns.
+ * @version Oct 19, 2026
+ */
+public final class Zobrist
+{
+	/** Largest board side supported by the key tables. */
+	public static final int MAX_SIDE = 16;
+	/** Number of squares in the key tables, MAX_SIDE squares to a rank. */
+	public static final int SQUARES = MAX_SIDE * MAX_SIDE;
+
+	private static final long[][] PIECE = new long[ChessPieceDescriptor.values().length][SQUARES];
+	private static final long[] UNMOVED = new long[SQUARES];
+	public static final long BLACK_TO_MOVE;
+
+	static {
+		SplittableRandom rnd = new SplittableRandom(0x9E3779B97F4A7C15L);
+		for (long[] keys : PIECE) {
+			for (int i = 0; i < keys.length; i++) keys[i] = rnd.nextLong();
+		}
+		for (int i = 0; i < UNMOVED.length; i++) UNMOVED[i] = rnd.nextLong();
+		BLACK_TO_MOVE = rnd.nextLong();
+	}
+
+	private Zobrist()
+	{
+		// static keys only
+	}
+
+	/**
+	 * @return the square index used for key lookups
+	 */
+	static int index(Coordinate c)
+	{
+		return square(c.x, c.y);
+	}
+
+	/**
+	 * @return the square index of (x, y), for tables laid out like the keys
+	 */
+	public static int square(int x, int y)
+	{
+		return (y - 1) * MAX_SIDE + (x - 1);
+	}
+
+	/**
+	 * @param p the piece
+	 * @param c the square it stands on
+	 * @param moved whether the board records it as having moved
+	 * @return the key for the piece standing on the square, including its
+	 * 	castling right if it is an unmoved king or rook
+	 */
+	public static long key(ChessPiece p, Coordinate c, boolean moved)
+	{
+		int sq = index(c);
+		long k = PIECE[p.getDescriptor().ordinal()][sq];
+		if (!moved && (p.getName() == PieceName.KING || p.getName() == PieceName.ROOK)) {
+			k ^= UNMOVED[sq];
+		}
+		return k;
+	}
+
+	/**
+	 * @return the key of the piece on the square in the pawn hash, which is 0
+	 * 	for anything but a pawn
+	 */
+	public static long pawnKey(ChessPiece p, Coordinate c)
+	{
+		return p.getName() == PieceName.PAWN ? PIECE[p.getDescriptor().ordinal()][index(c)] : 0L;
+	}
+
+	/**
+	 * Compute a pawn hash from scratch.
+	 * @param b the board
+	 * @return the hash of the pawns on the board
+	 */
+	public static long pawnHash(Board<ChessPiece> b)
+	{
+		long[] h = { 0L };
+		b.forEachPiece((c, p) -> h[0] ^= pawnKey(p, c));
+		return h[0];
+	}
+
+	/**
+	 * Compute a hash from scratch.
+	 * @param b the board
+	 * @param sideToMove the player to move
+	 * @return the hash
+	 */
+	public static long hash(Board<ChessPiece> b, PlayerColor sideToMove)
+	{
+		long[] h = { sideToMove == PlayerColor.BLACK ? BLACK_TO_MOVE : 0L };
+		b.forEachPiece((c, p) -> h[0] ^= key(p, c, b.hasMoved(c)));
+		return h[0];
+	}
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import gpv.chess.engine.MaterialEvaluator;
+
+/**
+ * Scores large numbers of positions with the MaterialEvaluator's evaluation,
+ * for offline jobs such as labelling a data set. Positions are decoded into
+ * PositionBatches and scored by summing piece-square table entries, which
+ * gives exactly the scores MaterialEvaluator.evaluate() does.
+ * <br/>
+ * Work is spread over a fixed pool of threads. score() streams FEN lines
+ * through the pool: the calling thread reads lines in chunks, a bounded
+ * queue of chunks keeps memory fixed however long the input is, and each
+ * worker decodes and scores its chunk into its own batch.
+ * @version Oct 19, 2026
+ */
+public class BatchEvaluator implements AutoCloseable
+{
+	public static final int CHUNK = 4096;
+
+	private final int threads;
+	private final ExecutorService pool;
+	private final ConcurrentHashMap<Integer, int[]> tables = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for a pool with one thread per processor.
+	 */
+	public BatchEvaluator()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor.
+	 * @param threads the number of scoring threads
+	 */
+	public BatchEvaluator(int threads)
+	{
+		if (threads < 1) throw new IllegalArgumentException("Need at least one thread");
+		this.threads = threads;
+		pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "batch-evaluator");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Score every position in a batch, splitting it between the threads.
+	 * @param batch the positions
+	 * @param scores receives the scores, at least batch.size() long
+	 * @throws InterruptedException if interrupted before every slice was
+	 * 	scored; the scores are then incomplete
+	 */
+	public void evaluate(PositionBatch batch, int[] scores) throws InterruptedException
+	{
+		int n = batch.size();
+		int slice = (n + threads - 1) / threads;
+		List<Callable<Void>> parts = new ArrayList<>();
+		for (int from = 0; from < n; from += slice) {
+			int start = from;
+			int end = Math.min(n, from + slice);
+			parts.add(() -> {
+				score(batch, start, end, scores);
+				return null;
+			});
+		}
+		try {
+			for (Future<Void> f : pool.invokeAll(parts)) f.get();
+		}
+		catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Score a stream of positions, one FEN per line. Blank lines are skipped.
+	 * Returns once every position has been passed to the sink. If a line
+	 * can't be decoded or the sink throws, the rest of the input isn't
+	 * scored and the first such exception is thrown here.
+	 * @param in the FEN lines
+	 * @param sink receives the scores; called from the scoring threads
+	 * @return how many positions were scored and how long it took
+	 * @throws IOException if the input can't be read
+	 * @throws IllegalArgumentException if a line isn't a position
+	 */
+	public BatchStats score(BufferedReader in, ScoreSink sink) throws IOException
+	{
+		long startTime = System.nanoTime();
+		BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(2 * threads);
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(pool.submit(() -> work(queue, sink, failure)));
+		}
+		long positions = 0;
+		try {
+			Chunk chunk = new Chunk(positions);
+			String line;
+			while ((line = in.readLine()) != null && failure.get() == null) {
+				if (line.trim().isEmpty()) continue;
+				chunk.lines[chunk.count++] = line;
+				if (chunk.count == CHUNK) {
+					positions += chunk.count;
+					put(queue, chunk);
+					chunk = new Chunk(positions);
+				}
+			}
+			positions += chunk.count;
+			if (chunk.count > 0) put(queue, chunk);
+		}
+		finally {
+			for (int t = 0; t < threads; t++) put(queue, Chunk.END);
+			for (Future<?> w : workers) {
+				try {
+					w.get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException e) {
+					failure.compareAndSet(null, new IllegalStateException(e.getCause()));
+				}
+			}
+		}
+		if (failure.get() != null) throw failure.get();
+		return new BatchStats(positions, System.nanoTime() - startTime);
+	}
+
+	private void work(BlockingQueue<Chunk> queue, ScoreSink sink, AtomicReference<RuntimeException> failure)
+	{
+		PositionBatch batch = new PositionBatch(CHUNK);
+		int[] scores = new int[CHUNK];
+		while (true) {
+			Chunk chunk;
+			try {
+				chunk = queue.take();
+			}
+			catch (InterruptedException e) {
+				return;
+			}
+			if (chunk == Chunk.END) return;
+			if (failure.get() != null) continue;	// drain the queue
+			batch.clear();
+			try {
+				for (int i = 0; i < chunk.count; i++) batch.add(chunk.lines[i]);
+			}
+			catch (IllegalArgumentException e) {
+				long position = chunk.first + batch.size();
+				failure.compareAndSet(null, new IllegalArgumentException("Position " + position + ": " + e.getMessage(), e));
+				continue;
+			}
+			try {
+				score(batch, 0, batch.size(), scores);
+				sink.accept(chunk.first, scores, batch.size());
+			}
+			catch (RuntimeException e) {
+				failure.compareAndSet(null, e);	// keep taking chunks so the reader never blocks on a full queue
+			}
+		}
+	}
+
+	private static void put(BlockingQueue<Chunk> queue, Chunk chunk) throws InterruptedIOException
+	{
+		try {
+			queue.put(chunk);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while scoring");
+		}
+	}
+
+	/**
+	 * The kernel: each score is the sum of the table entries of the
+	 * position's features, negated when black is to move.
+	 */
+	void score(PositionBatch batch, int from, int to, int[] scores)
+	{
+		short[] features = batch.features;
+		int[] start = batch.start;
+		int shape = -1;
+		int[] table = null;
+		for (int i = from; i < to; i++) {
+			if (batch.shape[i] != shape) {
+				shape = batch.shape[i];
+				table = table(shape);
+			}
+			int s = 0;
+			for (int j = start[i], end = start[i + 1]; j < end; j++) s += table[features[j]];
+			scores[i] = batch.sign[i] * s;
+		}
+	}
+
+	private int[] table(int shape)
+	{
+		return tables.computeIfAbsent(shape, k -> MaterialEvaluator.pieceSquareTable(k >>> 8, k & 0xFF));
+	}
+
+	/*
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close()
+	{
+		pool.shutdownNow();
+	}
+
+	/**
+	 * A run of lines read from the input and where they start in it.
+	 */
+	private static final class Chunk
+	{
+		static final Chunk END = new Chunk(-1);
+
+		final long first;
+		final String[] lines;
+		int count;
+
+		Chunk(long first)
+		{
+			this.first = first;
+			lines = first < 0 ? null : new String[CHUNK];
+		}
+	}
+}
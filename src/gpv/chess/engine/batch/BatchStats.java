@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.batch;
+
+/**
+ * How much work a scoring run did and how long it took.
+ * @version Oct 19, 2026
+ */
+public class BatchStats
+{
+	public final long positions;
+	public final long nanos;
+
+	/**
+	 * Constructor.
+	 * @param positions
+	 * @param nanos
+	 */
+	public BatchStats(long positions, long nanos)
+	{
+		this.positions = positions;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return positions scored per second
+	 */
+	public long positionsPerSecond()
+	{
+		return nanos == 0 ? 0 : positions * 1_000_000_000L / nanos;
+	}
+
+	@Override
+	public String toString()
+	{
+		return positions + " positions in " + nanos / 1_000_000 + " ms, " + positionsPerSecond() + " positions/s";
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.batch;
+
+import java.util.Arrays;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Zobrist;
+import gpv.util.Board;
+
+/**
+ * A fixed number of positions decoded into primitive arrays, one array per
+ * field rather than one object per position, so the evaluation kernel runs
+ * down flat arrays without touching boards, pieces or coordinates.
+ * <br/>
+ * Every piece becomes one feature, descriptor.ordinal() * Zobrist.SQUARES +
+ * Zobrist.square(x, y), and the features of position i are
+ * features[start[i]] up to features[start[i + 1]]. A batch is filled,
+ * scored and cleared again, so the arrays are allocated once.
+ * @version Oct 19, 2026
+ */
+public final class PositionBatch
+{
+	private final int capacity;
+	short[] features;
+	final int[] start;
+	final byte[] sign;		// 1 if white is to move, -1 if black is
+	final int[] shape;		// nColumns << 8 | nRows
+	private int size;
+
+	/**
+	 * Constructor.
+	 * @param capacity the most positions the batch holds
+	 */
+	public PositionBatch(int capacity)
+	{
+		this.capacity = capacity;
+		features = new short[capacity * 32];
+		start = new int[capacity + 1];
+		sign = new byte[capacity];
+		shape = new int[capacity];
+	}
+
+	/**
+	 * @return the number of positions in the batch
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return true if no more positions can be added
+	 */
+	public boolean isFull()
+	{
+		return size == capacity;
+	}
+
+	/**
+	 * Empty the batch, keeping its arrays.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Decode a position from its board.
+	 * @param pos the position
+	 * @throws IllegalStateException if the batch is full
+	 */
+	public void add(Position pos)
+	{
+		Board<ChessPiece> board = pos.getBoard();
+		begin(board.nColumns, board.nRows, pos.getSideToMove() == PlayerColor.WHITE);
+		board.forEachPiece((c, p) -> feature(p.getDescriptor().ordinal(), c.x, c.y));
+		size++;
+	}
+
+	/**
+	 * Decode a position straight from FEN text without building a board.
+	 * Only the placement and side to move fields are read, since they are
+	 * all the evaluation looks at.
+	 * @param fen the FEN text
+	 * @throws IllegalArgumentException if the placement can't be parsed
+	 * @throws IllegalStateException if the batch is full
+	 */
+	public void add(CharSequence fen)
+	{
+		int end = 0;
+		int nRows = 1;
+		while (end < fen.length() && fen.charAt(end) == ' ') end++;
+		int begin = end;
+		while (end < fen.length() && fen.charAt(end) != ' ') {
+			if (fen.charAt(end++) == '/') nRows++;
+		}
+		int nColumns = 0;
+		for (int i = begin; i < end && fen.charAt(i) != '/'; i++) {
+			nColumns += Character.isDigit(fen.charAt(i)) ? run(fen, i) : 1;
+			while (Character.isDigit(fen.charAt(i)) && i + 1 < end && Character.isDigit(fen.charAt(i + 1))) i++;
+		}
+		if (nRows > Zobrist.MAX_SIDE || nColumns < 1 || nColumns > Zobrist.MAX_SIDE) {
+			throw new IllegalArgumentException("Bad board size in FEN " + fen);
+		}
+		int side = end;
+		while (side < fen.length() && fen.charAt(side) == ' ') side++;
+		begin(nColumns, nRows, side >= fen.length() || fen.charAt(side) != 'b');
+		int x = 1;
+		int y = nRows;
+		for (int i = begin; i < end; i++) {
+			char ch = fen.charAt(i);
+			if (ch == '/') {
+				if (x != nColumns + 1) throw new IllegalArgumentException("Bad rank " + (nRows - y + 1) + " in FEN " + fen);
+				x = 1;
+				y--;
+			}
+			else if (Character.isDigit(ch)) {
+				x += run(fen, i);
+				while (i + 1 < end && Character.isDigit(fen.charAt(i + 1))) i++;
+			}
+			else {
+				if (x > nColumns) throw new IllegalArgumentException("Bad rank " + (nRows - y + 1) + " in FEN " + fen);
+				feature(Fen.descriptor(ch).ordinal(), x++, y);
+			}
+		}
+		if (x != nColumns + 1) throw new IllegalArgumentException("Bad rank " + nRows + " in FEN " + fen);
+		size++;
+	}
+
+	/**
+	 * @return the number written in the digits starting at i
+	 */
+	private static int run(CharSequence s, int i)
+	{
+		int n = 0;
+		for (; i < s.length() && Character.isDigit(s.charAt(i)); i++) n = 10 * n + s.charAt(i) - '0';
+		return n;
+	}
+
+	private void begin(int nColumns, int nRows, boolean whiteToMove)
+	{
+		if (size == capacity) throw new IllegalStateException("The batch is full");
+		start[size + 1] = start[size];
+		sign[size] = (byte) (whiteToMove ? 1 : -1);
+		shape[size] = nColumns << 8 | nRows;
+	}
+
+	private void feature(int descriptor, int x, int y)
+	{
+		int n = start[size + 1]++;
+		if (n == features.length) features = Arrays.copyOf(features, 2 * n);
+		features[n] = (short) (descriptor * Zobrist.SQUARES + Zobrist.square(x, y));
+	}
+}
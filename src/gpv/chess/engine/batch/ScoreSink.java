@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.batch;
+
+/**
+ * Receives the scores of a stream of positions a batch at a time. Batches
+ * are scored on several threads at once, so they can arrive out of order and
+ * from different threads.
+ * @version Oct 19, 2026
+ */
+@FunctionalInterface
+public interface ScoreSink
+{
+	/**
+	 * @param first the index in the stream of the first position in the batch
+	 * @param scores the scores in centipawns for the side to move; only valid
+	 * 	during the call, since the array is reused for the next batch
+	 * @param count the number of scores
+	 */
+	void accept(long first, int[] scores, int count);
+}
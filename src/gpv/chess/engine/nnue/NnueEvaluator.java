@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.nnue;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Evaluator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.PositionListener;
+import gpv.util.Coordinate;
+
+/**
+ * Evaluates positions with an NnueNetwork, keeping the two accumulators
+ * (one per side's point of view) up to date as the search makes and takes
+ * back moves instead of recomputing them.
+ * <br/>
+ * The accumulators live in a stack with one slot per ply. Making a move only
+ * records which features were added and removed, usually one of each; the
+ * slot is computed when a position is actually evaluated, in one pass that
+ * copies the parent slot and applies all of the changes. Taking a move back
+ * just drops the top slot.
+ * <br/>
+ * Each view's accumulator and each feature's weights are arrays of their
+ * own, so every inner loop reads its arrays at the same index. HotSpot's
+ * C2 only vectorizes the update loops in that shape; reading one flat
+ * array at two offsets kept them scalar. The clipped output loop is still
+ * scalar: C2 in JDK 17 doesn't vectorize a clamp feeding a reduction.
+ * <br/>
+ * An evaluator follows one position at a time, so each Search needs its own.
+ * @version Oct 19, 2026
+ */
+public class NnueEvaluator implements Evaluator, PositionListener
+{
+	private static final int STACK = 256;
+	private static final int MAX_CHANGES = 4;	// castling moves two pieces
+	// products of up to QA * 32767 summed in an int, which 2 * BLOCK of them can't overflow
+	private static final int BLOCK = 256;
+
+	private final NnueNetwork net;
+	private final int hidden;
+	private final short[][][] stack;	// [ply][view][hidden], white's view first
+	private final boolean[] computed;
+	private final int[][] added;		// features, white view then black view
+	private final int[][] removed;
+	private final int[] nAdded;
+	private final int[] nRemoved;
+	private int top;
+	private int untracked;	// plies past the end of the stack
+	private Position attached;
+	private int nRows;		// of the attached position
+
+	/**
+	 * Constructor.
+	 * @param net the network
+	 */
+	public NnueEvaluator(NnueNetwork net)
+	{
+		this.net = net;
+		this.hidden = net.hidden;
+		this.stack = new short[STACK][2][hidden];
+		this.computed = new boolean[STACK];
+		this.added = new int[STACK][2 * MAX_CHANGES];
+		this.removed = new int[STACK][2 * MAX_CHANGES];
+		this.nAdded = new int[STACK];
+		this.nRemoved = new int[STACK];
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#attach(gpv.chess.engine.Position)
+	 */
+	@Override
+	public void attach(Position pos)
+	{
+		if (attached != null && attached != pos) attached.setListener(null);
+		attached = pos;
+		nRows = pos.getBoard().nRows;
+		top = 0;
+		untracked = 0;
+		refresh(pos, stack[0]);
+		computed[0] = true;
+		pos.setListener(this);
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#detach(gpv.chess.engine.Position)
+	 */
+	@Override
+	public void detach(Position pos)
+	{
+		if (attached == pos) {
+			pos.setListener(null);
+			attached = null;
+		}
+	}
+
+	/*
+	 * @see gpv.chess.engine.Evaluator#evaluate(gpv.chess.engine.Position)
+	 */
+	@Override
+	public int evaluate(Position pos)
+	{
+		short[][] acc;
+		if (pos == attached && untracked == 0) {
+			int from = top;
+			while (!computed[from]) from--;
+			while (from < top) apply(++from);
+			acc = stack[top];
+		}
+		else {
+			acc = new short[2][hidden];
+			refresh(pos, acc);
+		}
+		return output(acc, pos.getSideToMove());
+	}
+
+	/**
+	 * Run the output layer over the clipped accumulators.
+	 * @return centipawns for the side to move
+	 */
+	int output(short[][] acc, PlayerColor sideToMove)
+	{
+		short[] w = net.outputWeights;
+		short[] us = acc[sideToMove.ordinal()];
+		short[] them = acc[1 - sideToMove.ordinal()];
+		long sum = 0;
+		for (int block = 0; block < hidden; block += BLOCK) {
+			int end = Math.min(block + BLOCK, hidden);
+			int part = 0;
+			for (int i = block; i < end; i++) {
+				part += Math.min(Math.max(us[i], 0), NnueNetwork.QA) * w[i];
+			}
+			for (int i = block; i < end; i++) {
+				part += Math.min(Math.max(them[i], 0), NnueNetwork.QA) * w[hidden + i];
+			}
+			sum += part;
+		}
+		return (int) ((sum + net.outputBias) * net.scale / (NnueNetwork.QA * NnueNetwork.QB));
+	}
+
+	/**
+	 * Compute both accumulators from scratch.
+	 */
+	void refresh(Position pos, short[][] acc)
+	{
+		short[] white = acc[0];
+		short[] black = acc[1];
+		System.arraycopy(net.biases, 0, white, 0, hidden);
+		System.arraycopy(net.biases, 0, black, 0, hidden);
+		int rows = pos.getBoard().nRows;
+		pos.getBoard().forEachPiece((c, p) -> {
+			short[] w = weights(p, c, PlayerColor.WHITE, rows);
+			short[] b = weights(p, c, PlayerColor.BLACK, rows);
+			for (int i = 0; i < hidden; i++) white[i] += w[i];
+			for (int i = 0; i < hidden; i++) black[i] += b[i];
+		});
+	}
+
+	/**
+	 * Compute a slot from its parent and the changes recorded for it. The
+	 * common cases, a quiet move and a capture, are one fused pass per view.
+	 */
+	private void apply(int ply)
+	{
+		short[][] w = net.featureWeights;
+		int[] add = added[ply];
+		int[] sub = removed[ply];
+		int na = nAdded[ply];
+		int ns = nRemoved[ply];
+		for (int view = 0; view < 2; view++) {
+			short[] src = stack[ply - 1][view];
+			short[] dst = stack[ply][view];
+			if (na == 1 && ns == 1) {
+				short[] a = w[add[view]], s = w[sub[view]];
+				for (int i = 0; i < hidden; i++) dst[i] = (short) (src[i] + a[i] - s[i]);
+			}
+			else if (na == 1 && ns == 2) {
+				short[] a = w[add[view]], s1 = w[sub[view]], s2 = w[sub[2 + view]];
+				for (int i = 0; i < hidden; i++) dst[i] = (short) (src[i] + a[i] - s1[i] - s2[i]);
+			}
+			else {
+				System.arraycopy(src, 0, dst, 0, hidden);
+				for (int k = 0; k < na; k++) {
+					short[] a = w[add[2 * k + view]];
+					for (int i = 0; i < hidden; i++) dst[i] += a[i];
+				}
+				for (int k = 0; k < ns; k++) {
+					short[] s = w[sub[2 * k + view]];
+					for (int i = 0; i < hidden; i++) dst[i] -= s[i];
+				}
+			}
+		}
+		computed[ply] = true;
+	}
+
+	/**
+	 * @return the weights of a piece's feature
+	 */
+	private short[] weights(ChessPiece p, Coordinate c, PlayerColor view, int rows)
+	{
+		return net.featureWeights[NnueNetwork.feature(p.getDescriptor(), c.x, c.y, view, rows)];
+	}
+
+	/*
+	 * @see gpv.chess.engine.PositionListener#moveStarted()
+	 */
+	@Override
+	public void moveStarted()
+	{
+		if (untracked > 0 || top + 1 == STACK) {
+			untracked++;
+			return;
+		}
+		top++;
+		computed[top] = false;
+		nAdded[top] = 0;
+		nRemoved[top] = 0;
+	}
+
+	/*
+	 * @see gpv.chess.engine.PositionListener#pieceRemoved(gpv.chess.ChessPiece, gpv.util.Coordinate)
+	 */
+	@Override
+	public void pieceRemoved(ChessPiece p, Coordinate c)
+	{
+		if (untracked > 0) return;
+		int k = nRemoved[top]++;
+		removed[top][2 * k] = NnueNetwork.feature(p.getDescriptor(), c.x, c.y, PlayerColor.WHITE, nRows);
+		removed[top][2 * k + 1] = NnueNetwork.feature(p.getDescriptor(), c.x, c.y, PlayerColor.BLACK, nRows);
+	}
+
+	/*
+	 * @see gpv.chess.engine.PositionListener#pieceAdded(gpv.chess.ChessPiece, gpv.util.Coordinate)
+	 */
+	@Override
+	public void pieceAdded(ChessPiece p, Coordinate c)
+	{
+		if (untracked > 0) return;
+		int k = nAdded[top]++;
+		added[top][2 * k] = NnueNetwork.feature(p.getDescriptor(), c.x, c.y, PlayerColor.WHITE, nRows);
+		added[top][2 * k + 1] = NnueNetwork.feature(p.getDescriptor(), c.x, c.y, PlayerColor.BLACK, nRows);
+	}
+
+	/*
+	 * @see gpv.chess.engine.PositionListener#moveTakenBack()
+	 */
+	@Override
+	public void moveTakenBack()
+	{
+		if (untracked > 0) untracked--;
+		else if (top > 0) top--;
+	}
+}
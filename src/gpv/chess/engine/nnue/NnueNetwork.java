@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.nnue;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Zobrist;
+
+/**
+ * The quantized weights of an efficiently updatable neural network: one
+ * feature per (piece, square) as seen from each side, a hidden layer of
+ * int16 accumulators per side, a clipped ReLU and one int16 output layer over
+ * both accumulators, the side to move's first.
+ * <br/>
+ * Weights are stored in a little-endian file:
+ * <pre>
+ * 	int magic "GPVN", int version, int features, int hidden, int scale
+ * 	short[features * hidden] feature weights, grouped by feature
+ * 	short[hidden] hidden biases
+ * 	short[2 * hidden] output weights
+ * 	int output bias
+ * </pre>
+ * Hidden values are clipped to 0..QA and output weights are scaled by QB,
+ * so the evaluation in centipawns is output * scale / (QA * QB).
+ * @version Oct 19, 2026
+ */
+public final class NnueNetwork
+{
+	public static final int MAGIC = 0x4E565047;	// "GPVN" read little-endian
+	public static final int VERSION = 1;
+	public static final int QA = 127;
+	public static final int QB = 64;
+	public static final int SQUARES = Zobrist.SQUARES;
+	public static final int FEATURES = 12 * SQUARES;
+
+	final int hidden;
+	final int scale;
+	final short[][] featureWeights;	// one row of hidden weights per feature
+	final short[] biases;
+	final short[] outputWeights;
+	final int outputBias;
+
+	private NnueNetwork(int hidden, int scale, short[][] featureWeights, short[] biases, short[] outputWeights, int outputBias)
+	{
+		this.hidden = hidden;
+		this.scale = scale;
+		this.featureWeights = featureWeights;
+		this.biases = biases;
+		this.outputWeights = outputWeights;
+		this.outputBias = outputBias;
+	}
+
+	/**
+	 * @return the number of accumulator values per side
+	 */
+	public int getHidden()
+	{
+		return hidden;
+	}
+
+	/**
+	 * Read a network from a weights file.
+	 * @param file
+	 * @return the network
+	 * @throws IOException if the file can't be read or isn't a network
+	 */
+	public static NnueNetwork load(Path file) throws IOException
+	{
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			if (in.getInt() != MAGIC) throw new IOException(file + " is not a network file");
+			int version = in.getInt();
+			if (version != VERSION) throw new IOException(file + " has unsupported version " + version);
+			int features = in.getInt();
+			if (features != FEATURES) throw new IOException(file + " has " + features + " features, expected " + FEATURES);
+			int hidden = in.getInt();
+			if (hidden <= 0 || hidden > 4096) throw new IOException(file + " has a bad hidden size " + hidden);
+			int scale = in.getInt();
+			short[][] weights = new short[FEATURES][hidden];
+			for (short[] row : weights) {
+				in.asShortBuffer().get(row);
+				in.position(in.position() + 2 * hidden);
+			}
+			short[] biases = new short[hidden];
+			short[] output = new short[2 * hidden];
+			in.asShortBuffer().get(biases);
+			in.position(in.position() + 2 * biases.length);
+			in.asShortBuffer().get(output);
+			in.position(in.position() + 2 * output.length);
+			return new NnueNetwork(hidden, scale, weights, biases, output, in.getInt());
+		}
+		catch (BufferUnderflowException e) {
+			throw new IOException(file + " is truncated", e);
+		}
+	}
+
+	/**
+	 * Write the network in the format load() reads.
+	 * @param file
+	 * @throws IOException
+	 */
+	public void save(Path file) throws IOException
+	{
+		ByteBuffer out = ByteBuffer.allocate(24 + 2 * (FEATURES * hidden + biases.length + outputWeights.length))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		out.putInt(MAGIC).putInt(VERSION).putInt(FEATURES).putInt(hidden).putInt(scale);
+		for (short[] row : featureWeights) {
+			for (short w : row) out.putShort(w);
+		}
+		for (short b : biases) out.putShort(b);
+		for (short w : outputWeights) out.putShort(w);
+		out.putInt(outputBias);
+		Files.write(file, out.array());
+	}
+
+	/**
+	 * Make an untrained network with small random weights, for benchmarks
+	 * and tests. Its evaluations are meaningless but deterministic.
+	 * @param hidden the accumulator size per side
+	 * @param seed
+	 * @return the network
+	 */
+	public static NnueNetwork random(int hidden, long seed)
+	{
+		SplittableRandom rnd = new SplittableRandom(seed);
+		short[][] weights = new short[FEATURES][hidden];
+		short[] biases = new short[hidden];
+		short[] output = new short[2 * hidden];
+		for (short[] row : weights) {
+			for (int i = 0; i < hidden; i++) row[i] = (short) (rnd.nextInt(33) - 16);
+		}
+		for (int i = 0; i < biases.length; i++) biases[i] = (short) rnd.nextInt(64);
+		for (int i = 0; i < output.length; i++) output[i] = (short) (rnd.nextInt(65) - 32);
+		return new NnueNetwork(hidden, 400, weights, biases, output, 0);
+	}
+
+	/**
+	 * @param d the piece
+	 * @param x its file, from 1
+	 * @param y its rank, from 1
+	 * @param perspective whose accumulator the feature is for
+	 * @param nRows the board height, used to flip the board for black
+	 * @return the feature index. Each side sees its own pieces as the first
+	 * 	six and its own back rank as rank 1, so one set of weights serves both.
+	 */
+	public static int feature(ChessPieceDescriptor d, int x, int y, PlayerColor perspective, int nRows)
+	{
+		int piece = d.ordinal();
+		if (perspective == PlayerColor.BLACK) {
+			piece = (piece + 6) % 12;
+			y = nRows + 1 - y;
+		}
+		return piece * SQUARES + Zobrist.square(x, y);
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.jfr;
+
+import gpv.chess.ChessMoveValidator;
+import gpv.chess.ChessPiece;
+import gpv.util.Board;
+import gpv.util.Coordinate;
+import jdk.jfr.EventType;
+
+/**
+ * Emits the flight recorder events. Only call these methods after checking
+ * JfrSupport.ENABLED; this class links against jdk.jfr.
+ * <br/>
+ * Validations run too often to create an event each time, so callers check
+ * isValidatorEnabled() first; it is false unless a recording has the event
+ * on. Event fields are filled in only when shouldCommit() says the event
+ * passes its threshold.
+ * @version Oct 19, 2026
+ */
+public final class ChessEvents
+{
+	private static final EventType VALIDATOR = EventType.getEventType(ValidatorEvent.class);
+
+	private ChessEvents()
+	{
+		// static helpers only
+	}
+
+	/**
+	 * @return true if a recording is taking ValidatorEvents
+	 */
+	public static boolean isValidatorEnabled()
+	{
+		return VALIDATOR.isEnabled();
+	}
+
+	/**
+	 * Run a validator inside a ValidatorEvent.
+	 * @return the validator's result
+	 */
+	public static boolean validate(ChessMoveValidator<ChessPiece, Coordinate, Board<ChessPiece>> rule,
+			ChessPiece piece, Coordinate from, Coordinate to, Board<ChessPiece> b)
+	{
+		ValidatorEvent event = new ValidatorEvent();
+		event.begin();
+		boolean valid = rule.isValidMove(piece, from, to, b);
+		event.end();
+		if (event.shouldCommit()) {
+			event.piece = piece.getDescriptor().name();
+			event.from = from.toString();
+			event.to = to.toString();
+			event.valid = valid;
+			event.commit();
+		}
+		return valid;
+	}
+
+	/**
+	 * Record a finished search iteration.
+	 */
+	public static void searchIteration(int depth, int score, long nodes, long searchTimeMillis)
+	{
+		SearchIterationEvent event = new SearchIterationEvent();
+		if (event.isEnabled()) {
+			event.depth = depth;
+			event.score = score;
+			event.nodes = nodes;
+			event.searchTime = searchTimeMillis;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Record a transposition table reallocation.
+	 */
+	public static void transpositionTableResized(long oldEntries, long newEntries, long bytes)
+	{
+		TranspositionTableResizeEvent event = new TranspositionTableResizeEvent();
+		if (event.isEnabled()) {
+			event.oldEntries = oldEntries;
+			event.newEntries = newEntries;
+			event.bytes = bytes;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.jfr;
+
+/**
+ * Decides once whether Java Flight Recorder events are emitted. Events are
+ * emitted when the running JVM has the jdk.jfr API (JDK 11+, or 8u272+) and
+ * -Dgpv.jfr=false was not given.
+ * <br/>
+ * This class never touches jdk.jfr itself, so callers can test ENABLED on a
+ * JVM without JFR and only ever load ChessEvents when it is true.
+ * @version Oct 19, 2026
+ */
+public final class JfrSupport
+{
+	public static final boolean ENABLED = detect();
+
+	private JfrSupport()
+	{
+		// static flag only
+	}
+
+	private static boolean detect()
+	{
+		if (!Boolean.parseBoolean(System.getProperty("gpv.jfr", "true"))) return false;
+		try {
+			Class.forName("jdk.jfr.Event");
+			return true;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
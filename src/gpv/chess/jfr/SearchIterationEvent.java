@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One completed iteration of the iterative deepening search.
+ * @version Oct 19, 2026
+ */
+@Name("gpv.SearchIteration")
+@Label("Search Iteration")
+@Description("An iterative deepening search finished a depth")
+@Category({ "Chess", "Search" })
+@StackTrace(false)
+class SearchIterationEvent extends jdk.jfr.Event
+{
+	@Label("Depth")
+	int depth;
+
+	@Label("Score")
+	@Description("Centipawns from the side to move")
+	int score;
+
+	@Label("Nodes")
+	@Description("Nodes searched since the search started")
+	long nodes;
+
+	@Label("Search Time")
+	@Description("Time since the search started")
+	@Timespan(Timespan.MILLISECONDS)
+	long searchTime;
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The transposition table was reallocated.
+ * @version Oct 19, 2026
+ */
+@Name("gpv.TranspositionTableResize")
+@Label("Transposition Table Resize")
+@Description("The transposition table was reallocated and its entries dropped")
+@Category({ "Chess", "Search" })
+class TranspositionTableResizeEvent extends jdk.jfr.Event
+{
+	@Label("Old Entries")
+	long oldEntries;
+
+	@Label("New Entries")
+	long newEntries;
+
+	@Label("Size")
+	@DataAmount
+	long bytes;
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One evaluation of a ChessRules validator. Most validations take well under
+ * a microsecond, so by default only those slower than the threshold are
+ * recorded; lower it in the recording settings to see everything.
+ * @version Oct 19, 2026
+ */
+@Name("gpv.Validator")
+@Label("Move Validation")
+@Description("A ChessRules validator deciding whether a piece can make a move")
+@Category({ "Chess", "Rules" })
+@Threshold("20 us")
+@StackTrace(false)
+class ValidatorEvent extends jdk.jfr.Event
+{
+	@Label("Piece")
+	String piece;
+
+	@Label("From")
+	String from;
+
+	@Label("To")
+	String to;
+
+	@Label("Valid")
+	boolean valid;
+}
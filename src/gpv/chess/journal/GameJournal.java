@@ -0,0 +1,769 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.journal;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.ChessPieceFactory;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Zobrist;
+import gpv.util.Board;
+
+/**
+ * An append-only journal of every change made to the games a server is
+ * running, so that they can be rebuilt after the process dies. Games are
+ * started with start() and then changed only through their JournaledGame,
+ * which writes each move, take back and finish as a small record.
+ * <br/>
+ * The journal is a directory of memory-mapped segment files of a fixed size,
+ * named by number. A segment is a header
+ * <pre>
+ * 	long magic "GPVGJRNL", int version, int segment bytes, long number, 8 bytes unused
+ * </pre>
+ * followed by records, little-endian:
+ * <pre>
+ * 	int length, int CRC-32 of the payload, then the payload:
+ * 	byte type, int game, int seq, and for
+ * 		MOVE: int Move.toInt()
+ * 		SNAPSHOT: byte rows, byte columns, byte black to move, short halfmove
+ * 			clock, short pieces, then per piece byte square, byte moved:1 | descriptor ordinal:7
+ * </pre>
+ * The length is written last, so a record the process died in the middle
+ * of reads as the end of the segment, and the checksum catches pages that
+ * didn't reach the disk in order. A segment is forced before the next one
+ * is started, so only the last one can end that way; a record that fails
+ * its checksum ends the replay, later segments included. The magic is
+ * written last too, and a last segment without one, which the process died
+ * while starting, is deleted by open().
+ * <br/>
+ * Appending only copies into the mapping. Durability is group committed:
+ * sync() wakes one flusher thread and waits, and whoever asks while a
+ * force() is running is covered together by the next one, so under load one
+ * fsync serves many moves. The flusher also forces every flushMillis, which
+ * bounds what is lost by writers that never sync.
+ * <br/>
+ * Every checkpointMegabytes of records a checkpoint starts a new segment
+ * with a snapshot of each active game. Moves keep being journaled while it
+ * runs: every record carries its game's sequence number, and replay skips
+ * what a snapshot already holds. Once a checkpoint is on disk the segments
+ * before it are deleted. open() replays from the last complete checkpoint,
+ * then writes a fresh one so the next start is just as quick.
+ * <br/>
+ * A rebuilt game has its board, side to move and halfmove clock, but not the
+ * moves before its snapshot: they can't be taken back and repetitions of
+ * positions before it aren't detected.
+ * @version Oct 19, 2026
+ */
+public class GameJournal implements AutoCloseable
+{
+	public static final long MAGIC = 0x4C4E524A47565047L;	// "GPVGJRNL" read little-endian
+	public static final int VERSION = 1;
+	public static final int DEFAULT_SEGMENT_MEGABYTES = 64;
+	public static final int DEFAULT_CHECKPOINT_MEGABYTES = 32;
+	public static final int DEFAULT_FLUSH_MILLIS = 10;
+
+	static final int HEADER_BYTES = 32;
+	static final byte SNAPSHOT = 1;
+	static final byte MOVE = 2;
+	static final byte UNDO = 3;
+	static final byte END = 4;
+	static final byte CHECKPOINT_BEGIN = 5;
+	static final byte CHECKPOINT_END = 6;
+	private static final int RECORD_HEADER = 8;		// length, CRC
+	private static final int PAYLOAD_HEADER = 9;	// type, game, seq
+	private static final int MAX_PAYLOAD = PAYLOAD_HEADER + 7 + 2 * Zobrist.SQUARES;
+	private static final String SUFFIX = ".journal";
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+	private static final ChessPieceDescriptor[] DESCRIPTORS = ChessPieceDescriptor.values();
+
+	private final Path dir;
+	private final int segmentBytes;
+	private final long checkpointBytes;
+	private final long flushNanos;
+	private final Map<Integer, JournaledGame> games = new ConcurrentHashMap<Integer, JournaledGame>();
+
+	// the writers' state, under lock
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition flushWanted = lock.newCondition();
+	private final Condition flushed = lock.newCondition();
+	private final Condition checkpointWanted = lock.newCondition();
+	private final byte[] scratch = new byte[MAX_PAYLOAD];
+	private final ByteBuffer record = ByteBuffer.wrap(scratch).order(ByteOrder.LITTLE_ENDIAN);
+	private final CRC32 crc = new CRC32();
+	private MappedByteBuffer segment;
+	private long number = -1;		// of the segment being written
+	private int offset;				// in it
+	private long written;			// lsn after the last record
+	private long durable;			// lsn forced to disk
+	private long requested;			// lsn someone is waiting for
+	private long sinceCheckpoint;	// bytes
+	private boolean checkpointDue;
+	private int checkpoints;
+	private long records;
+	private long syncs;
+	private boolean closed;
+	private IOException failure;	// the flusher's
+	private RuntimeException checkpointFailure;
+
+	private final Object checkpointing = new Object();
+	private Thread flusher;
+	private Thread checkpointer;
+
+	private GameJournal(Path dir, int segmentMegabytes, int checkpointMegabytes, int flushMillis)
+	{
+		if (segmentMegabytes < 1 || checkpointMegabytes < 1 || flushMillis < 1) {
+			throw new IllegalArgumentException("Sizes and the flush interval must be positive");
+		}
+		this.dir = dir;
+		this.segmentBytes = segmentMegabytes << 20;
+		this.checkpointBytes = (long) checkpointMegabytes << 20;
+		this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+	}
+
+	/**
+	 * Open a journal with the default sizes.
+	 * @see #open(Path, int, int, int)
+	 */
+	public static GameJournal open(Path dir) throws IOException
+	{
+		return open(dir, DEFAULT_SEGMENT_MEGABYTES, DEFAULT_CHECKPOINT_MEGABYTES, DEFAULT_FLUSH_MILLIS);
+	}
+
+	/**
+	 * Open the journal in a directory, creating it if there is none, and
+	 * rebuild the games that were active when it was last written.
+	 * @param dir the journal's directory
+	 * @param segmentMegabytes the size of each segment file
+	 * @param checkpointMegabytes how much is journaled between checkpoints
+	 * @param flushMillis the longest a record waits to be forced to disk
+	 * @return the journal, with the rebuilt games in games()
+	 * @throws IOException if the journal can't be read or written, or a
+	 * 	record doesn't follow from the ones before it
+	 */
+	public static GameJournal open(Path dir, int segmentMegabytes, int checkpointMegabytes, int flushMillis)
+			throws IOException
+	{
+		GameJournal journal = new GameJournal(dir, segmentMegabytes, checkpointMegabytes, flushMillis);
+		Files.createDirectories(dir);
+		List<Long> numbers = journal.segmentNumbers();
+		journal.recover(numbers);
+		journal.number = numbers.isEmpty() ? -1 : numbers.get(numbers.size() - 1);
+		journal.flusher = new Thread(journal::flushLoop, "journal-flusher");
+		journal.flusher.setDaemon(true);
+		journal.flusher.start();
+		try {
+			journal.checkpoint();
+		}
+		catch (RuntimeException e) {
+			journal.close();
+			throw e;
+		}
+		journal.checkpointer = new Thread(journal::checkpointLoop, "journal-checkpointer");
+		journal.checkpointer.setDaemon(true);
+		journal.checkpointer.start();
+		return journal;
+	}
+
+	/**
+	 * Start journaling a game.
+	 * @param id the game's id, not used by any active game
+	 * @param position the game so far, which must from now on only be changed
+	 * 	through the returned JournaledGame
+	 * @return the game
+	 * @throws IllegalArgumentException if the id is in use
+	 */
+	public JournaledGame start(int id, Position position)
+	{
+		JournaledGame game = new JournaledGame(this, id, position, 0);
+		synchronized (game) {
+			if (games.putIfAbsent(id, game) != null) throw new IllegalArgumentException("Game " + id + " is active");
+			try {
+				snapshot(id, 0, position);
+			}
+			catch (RuntimeException e) {
+				games.remove(id);
+				throw e;
+			}
+		}
+		return game;
+	}
+
+	/**
+	 * @return the active games, including the ones rebuilt by open()
+	 */
+	public Collection<JournaledGame> games()
+	{
+		return Collections.unmodifiableCollection(games.values());
+	}
+
+	/**
+	 * @return the active game with the id or null
+	 */
+	public JournaledGame game(int id)
+	{
+		return games.get(id);
+	}
+
+	/**
+	 * Wait until everything journaled so far is on disk.
+	 */
+	public void sync()
+	{
+		lock.lock();
+		try {
+			sync(written);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Wait until a record is on disk, sharing the fsync with everyone else
+	 * who is waiting.
+	 * @param lsn the value returned when the record was journaled
+	 * @throws UncheckedIOException if forcing the journal failed
+	 */
+	public void sync(long lsn)
+	{
+		boolean interrupted = false;
+		lock.lock();
+		try {
+			if (lsn <= durable) return;
+			if (lsn > requested) {
+				requested = lsn;
+				flushWanted.signal();
+			}
+			while (durable < lsn) {
+				if (failure != null) throw new UncheckedIOException(failure);
+				if (closed && !flusher.isAlive()) throw new IllegalStateException("The journal is closed");
+				try {
+					flushed.await();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		finally {
+			lock.unlock();
+			if (interrupted) Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Write a snapshot of every active game and, once it's on disk, delete
+	 * the segments it replaces. Runs by itself every checkpointMegabytes;
+	 * calling it directly is only needed to shorten the next recovery now.
+	 */
+	public void checkpoint()
+	{
+		synchronized (checkpointing) {
+			long first;
+			int n;
+			lock.lock();
+			try {
+				roll();
+				first = number;
+				n = ++checkpoints;
+				append(CHECKPOINT_BEGIN, 0, n, 0);
+			}
+			finally {
+				lock.unlock();
+			}
+			int count = 0;
+			for (JournaledGame g : games.values()) {
+				if (g.checkpoint()) count++;
+			}
+			long end;
+			lock.lock();
+			try {
+				end = append(CHECKPOINT_END, count, n, 0);
+				sinceCheckpoint = 0;
+				checkpointDue = false;
+			}
+			finally {
+				lock.unlock();
+			}
+			sync(end);
+			try {
+				for (long old : segmentNumbers()) {
+					if (old < first) Files.delete(file(old));
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of records journaled
+	 */
+	public long getRecords()
+	{
+		lock.lock();
+		try {
+			return records;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of times the journal was forced to disk
+	 */
+	public long getSyncs()
+	{
+		lock.lock();
+		try {
+			return syncs;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of checkpoints written since open()
+	 */
+	public int getCheckpoints()
+	{
+		lock.lock();
+		try {
+			return checkpoints;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Force what was journaled to disk and stop the background threads.
+	 * The games stay as they are; open() rebuilds them next time.
+	 * @throws IllegalStateException if a background checkpoint failed
+	 */
+	@Override
+	public void close()
+	{
+		lock.lock();
+		try {
+			if (closed) return;
+			closed = true;
+			flushWanted.signal();
+			checkpointWanted.signal();
+		}
+		finally {
+			lock.unlock();
+		}
+		try {
+			if (checkpointer != null) checkpointer.join();
+			flusher.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		lock.lock();
+		try {
+			checkCheckpoint();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	long move(int game, int seq, Move m)
+	{
+		lock.lock();
+		try {
+			return append(MOVE, game, seq, m.toInt());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	long undo(int game, int seq)
+	{
+		lock.lock();
+		try {
+			return append(UNDO, game, seq, 0);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	long end(int game, int seq)
+	{
+		lock.lock();
+		try {
+			long lsn = append(END, game, seq, 0);
+			games.remove(game);
+			return lsn;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	long snapshot(int game, int seq, Position pos)
+	{
+		Board<ChessPiece> b = pos.getBoard();
+		lock.lock();
+		try {
+			record.clear();
+			record.put(SNAPSHOT).putInt(game).putInt(seq);
+			record.put((byte) b.nRows).put((byte) b.nColumns);
+			record.put((byte) (pos.getSideToMove() == PlayerColor.BLACK ? 1 : 0));
+			record.putShort((short) pos.getHalfmoveClock());
+			int count = record.position();
+			record.putShort((short) 0);
+			b.forEachPiece((c, p) -> {
+				record.put((byte) Zobrist.square(c.x, c.y));
+				record.put((byte) ((b.hasMoved(c) ? 0x80 : 0) | p.getDescriptor().ordinal()));
+			});
+			record.putShort(count, (short) ((record.position() - count - 2) / 2));
+			return commit(record.position());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Journal a record with an int or no body. Lock held.
+	 */
+	private long append(byte type, int game, int seq, int body)
+	{
+		record.clear();
+		record.put(type).putInt(game).putInt(seq);
+		if (type == MOVE) record.putInt(body);
+		return commit(record.position());
+	}
+
+	/**
+	 * Copy the payload in scratch into the segment. Lock held.
+	 * @return the lsn after the record
+	 */
+	private long commit(int length)
+	{
+		if (closed) throw new IllegalStateException("The journal is closed");
+		checkCheckpoint();
+		if (segment == null || offset + RECORD_HEADER + length > segmentBytes) roll();
+		crc.reset();
+		crc.update(scratch, 0, length);
+		segment.putInt(offset + 4, (int) crc.getValue());
+		segment.position(offset + RECORD_HEADER);
+		segment.put(scratch, 0, length);
+		segment.putInt(offset, length);
+		offset += RECORD_HEADER + length;
+		written = lsn();
+		records++;
+		sinceCheckpoint += RECORD_HEADER + length;
+		if (sinceCheckpoint >= checkpointBytes && !checkpointDue) {
+			checkpointDue = true;
+			checkpointWanted.signal();
+		}
+		return written;
+	}
+
+	private long lsn()
+	{
+		return number * segmentBytes + offset;
+	}
+
+	/**
+	 * Start the next segment, forcing the last one first so that the flusher
+	 * only ever has the current segment to force. Lock held.
+	 */
+	private void roll()
+	{
+		try {
+			if (segment != null) segment.force();
+			Path path = file(number + 1);
+			MappedByteBuffer next;
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				next = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+			}
+			next.order(ByteOrder.LITTLE_ENDIAN);
+			next.putInt(8, VERSION).putInt(12, segmentBytes).putLong(16, number + 1);
+			next.putLong(0, MAGIC);
+			segment = next;
+			number++;
+			offset = HEADER_BYTES;
+			written = lsn();
+			durable = written;		// everything before it was forced
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void flushLoop()
+	{
+		lock.lock();
+		try {
+			while (true) {
+				if (requested <= durable && !closed) {
+					flushWanted.awaitNanos(flushNanos);
+				}
+				if (written > durable) {
+					MappedByteBuffer target = segment;
+					long lsn = written;
+					boolean forced = false;
+					lock.unlock();
+					try {
+						target.force();
+						forced = true;
+					}
+					catch (UncheckedIOException e) {
+						failure = e.getCause();
+					}
+					finally {
+						lock.lock();
+					}
+					if (forced && lsn > durable) durable = lsn;
+					syncs++;
+					flushed.signalAll();
+				}
+				if (closed && (written <= durable || failure != null)) break;
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			flushed.signalAll();
+			lock.unlock();
+		}
+	}
+
+	private void checkpointLoop()
+	{
+		while (true) {
+			lock.lock();
+			try {
+				while (!checkpointDue && !closed) checkpointWanted.awaitUninterruptibly();
+				if (closed) return;
+			}
+			finally {
+				lock.unlock();
+			}
+			try {
+				checkpoint();
+			}
+			catch (RuntimeException e) {
+				lock.lock();
+				try {
+					if (!closed) checkpointFailure = e;
+					return;
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Report a background checkpoint that failed. Lock held.
+	 */
+	private void checkCheckpoint()
+	{
+		if (checkpointFailure != null) throw new IllegalStateException("A checkpoint failed", checkpointFailure);
+	}
+
+	/**
+	 * Rebuild the games from the newest checkpoint that was finished,
+	 * trying older ones if a checkpoint was cut short.
+	 */
+	private void recover(List<Long> numbers) throws IOException
+	{
+		List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+		for (int i = 0; i < numbers.size(); i++) {
+			ByteBuffer b = map(numbers.get(i));
+			if (b != null) {
+				segments.add(b);
+			}
+			else if (i == numbers.size() - 1) {	// roll() died before its header reached the disk
+				Files.delete(file(numbers.remove(i)));
+			}
+			else {
+				throw new IOException(file(numbers.get(i)) + " has no header");
+			}
+		}
+		for (int base = segments.size() - 1; base >= 0; base--) {
+			ByteBuffer first = segments.get(base);
+			int length = length(first, HEADER_BYTES);
+			if (length <= 0 || first.get(HEADER_BYTES + RECORD_HEADER) != CHECKPOINT_BEGIN) continue;
+			Map<Integer, JournaledGame> rebuilt = new HashMap<Integer, JournaledGame>();
+			if (replay(segments.subList(base, segments.size()), rebuilt)) {
+				games.putAll(rebuilt);
+				return;
+			}
+		}
+		if (!segments.isEmpty()) throw new IOException(dir + " has no complete checkpoint");
+	}
+
+	/**
+	 * Replay records up to the end of the last segment or the first record
+	 * that fails its checksum, whichever comes first.
+	 * @return true if the checkpoint the first segment starts with was
+	 * 	finished
+	 */
+	private boolean replay(List<ByteBuffer> segments, Map<Integer, JournaledGame> rebuilt) throws IOException
+	{
+		int checkpoint = -1;
+		boolean complete = false;
+		for (ByteBuffer b : segments) {
+			int at = HEADER_BYTES;
+			int length;
+			while ((length = length(b, at)) != 0) {
+				if (length < 0) return complete;	// nothing after it can be trusted
+				int p = at + RECORD_HEADER;
+				byte type = b.get(p);
+				int id = b.getInt(p + 1);
+				int seq = b.getInt(p + 5);
+				JournaledGame g = rebuilt.get(id);
+				switch (type) {
+					case CHECKPOINT_BEGIN:
+						if (checkpoint < 0) checkpoint = seq;
+						checkpoints = Math.max(checkpoints, seq);	// even unfinished ones, so numbers aren't reused
+						break;
+					case CHECKPOINT_END:
+						if (seq == checkpoint) complete = true;
+						break;
+					case SNAPSHOT:
+						if (g == null || seq > g.getSeq()) rebuilt.put(id, new JournaledGame(this, id, position(b, p), seq));
+						break;
+					case MOVE:
+					case UNDO:
+						if (g == null || seq <= g.getSeq()) break;
+						if (seq != g.getSeq() + 1) throw new IOException("Game " + id + " skips from " + g.getSeq() + " to " + seq);
+						g.replay(type == MOVE ? Move.fromInt(b.getInt(p + PAYLOAD_HEADER)) : null, seq);
+						break;
+					case END:
+						rebuilt.remove(id);
+						break;
+					default:
+						throw new IOException("Unknown record type " + type);
+				}
+				at += RECORD_HEADER + length;
+			}
+		}
+		return complete;
+	}
+
+	/**
+	 * @return the payload length of the record at an offset, 0 at the end of
+	 * 	the segment's records or -1 for a record that doesn't check out
+	 */
+	private int length(ByteBuffer b, int at)
+	{
+		if (at + RECORD_HEADER > b.capacity()) return 0;
+		int length = b.getInt(at);
+		if (length == 0) return 0;
+		if (length < PAYLOAD_HEADER || length > MAX_PAYLOAD || at + RECORD_HEADER + length > b.capacity()) return -1;
+		b.position(at + RECORD_HEADER);
+		b.get(scratch, 0, length);
+		crc.reset();
+		crc.update(scratch, 0, length);
+		return (int) crc.getValue() == b.getInt(at + 4) ? length : -1;
+	}
+
+	private static Position position(ByteBuffer b, int p)
+	{
+		int at = p + PAYLOAD_HEADER;
+		int rows = b.get(at) & 0xFF;
+		int columns = b.get(at + 1) & 0xFF;
+		PlayerColor side = b.get(at + 2) != 0 ? PlayerColor.BLACK : PlayerColor.WHITE;
+		int clock = b.getShort(at + 3);
+		int pieces = b.getShort(at + 5);
+		Board<ChessPiece> board = Fen.newBoard(rows, columns);
+		for (int i = 0; i < pieces; i++) {
+			int square = b.get(at + 7 + 2 * i) & 0xFF;
+			int piece = b.get(at + 8 + 2 * i) & 0xFF;
+			int x = square % Zobrist.MAX_SIDE + 1;
+			int y = square / Zobrist.MAX_SIDE + 1;
+			board.putPieceAt(factory.makePiece(DESCRIPTORS[piece & 0x7F]), makeCoordinate(x, y));
+			if ((piece & 0x80) != 0) board.setHasMoved(makeCoordinate(x, y));
+		}
+		return new Position(board, side, clock);
+	}
+
+	/**
+	 * @return the segment, or null if it doesn't have a header yet
+	 */
+	private ByteBuffer map(long n) throws IOException
+	{
+		Path path = file(n);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer b = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+			if (b.capacity() < HEADER_BYTES || b.getLong(0) == 0) return null;
+			if (b.getLong(0) != MAGIC || b.getInt(8) != VERSION
+					|| b.getInt(12) != b.capacity() || b.getLong(16) != n) {
+				throw new IOException(path + " is not a journal segment");
+			}
+			return b;
+		}
+	}
+
+	private Path file(long n)
+	{
+		return dir.resolve(String.format("%08d", n) + SUFFIX);
+	}
+
+	private List<Long> segmentNumbers() throws IOException
+	{
+		List<Long> numbers = new ArrayList<Long>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+			for (Path f : files) {
+				String name = f.getFileName().toString();
+				String n = name.substring(0, name.length() - SUFFIX.length());
+				if (n.matches("[0-9]+")) numbers.add(Long.parseLong(n));
+			}
+		}
+		Collections.sort(numbers);
+		return numbers;
+	}
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.journal;
+
+import java.util.ArrayDeque;
+
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+
+/**
+ * One game kept in a GameJournal. Every change goes through here so that it
+ * is journaled along with the sequence number it leaves the game at. The
+ * methods return the record's lsn; pass it to GameJournal.sync() before
+ * telling the players a move was accepted if it must survive a crash.
+ * <br/>
+ * A game is used by one thread at a time, though different games can be
+ * played on different threads. Checkpoints run on their own thread, so they
+ * snapshot a copy of the position that only the game's methods change,
+ * under its monitor, and the caller's position stays free for move
+ * generation to try moves on. A snapshot replaces the moves before it, so
+ * taking one of those back journals a fresh snapshot instead of a take back.
+ * <br/>
+ * Each change is journaled before it is applied, so one the journal fails
+ * to write leaves the game and its sequence number as they were.
+ * @version Oct 19, 2026
+ */
+public final class JournaledGame
+{
+	private final GameJournal journal;
+	private final int id;
+	private final Position position;
+	private Position copy;			// what checkpoints snapshot
+	private final ArrayDeque<Move> moves = new ArrayDeque<Move>();	// that the position can take back
+	private int pliesOnCopy;		// moves the copy can take back
+	private int seq;
+	private int pliesOnSnapshot;	// moves made since the last snapshot
+	private boolean finished;
+
+	JournaledGame(GameJournal journal, int id, Position position, int seq)
+	{
+		this.journal = journal;
+		this.id = id;
+		this.position = position;
+		this.copy = position.copy();
+		this.seq = seq;
+	}
+
+	/**
+	 * @return the game's id
+	 */
+	public int getId()
+	{
+		return id;
+	}
+
+	/**
+	 * @return the position, which must only be changed through this game,
+	 * 	apart from moves that are tried and taken back again
+	 */
+	public Position getPosition()
+	{
+		return position;
+	}
+
+	/**
+	 * @return the number of changes journaled for the game
+	 */
+	public synchronized int getSeq()
+	{
+		return seq;
+	}
+
+	/**
+	 * Make a move and journal it.
+	 * @param m the move, trusted to be legal
+	 * @return the record's lsn
+	 */
+	public synchronized long makeMove(Move m)
+	{
+		checkActive();
+		position.makeMove(m);
+		long lsn;
+		try {
+			lsn = journal.move(id, seq + 1, m);
+		}
+		catch (RuntimeException e) {
+			position.unmakeMove();
+			throw e;
+		}
+		moves.push(m);
+		copy.makeMove(m);
+		pliesOnCopy++;
+		seq++;
+		pliesOnSnapshot++;
+		return lsn;
+	}
+
+	/**
+	 * Take the last move back and journal that.
+	 * @return the record's lsn
+	 */
+	public synchronized long unmakeMove()
+	{
+		checkActive();
+		long lsn;
+		if (pliesOnSnapshot > 0) {
+			lsn = journal.undo(id, seq + 1);
+			pliesOnSnapshot--;
+			position.unmakeMove();
+		}
+		else {
+			position.unmakeMove();	// the snapshot is of the position it leaves
+			try {
+				lsn = journal.snapshot(id, seq + 1, position);
+			}
+			catch (RuntimeException e) {
+				position.makeMove(moves.peek());
+				throw e;
+			}
+		}
+		moves.pop();
+		unmakeCopy();
+		seq++;
+		return lsn;
+	}
+
+	/**
+	 * The game is over: journal that and stop keeping it.
+	 * @return the record's lsn
+	 */
+	public synchronized long finish()
+	{
+		checkActive();
+		long lsn = journal.end(id, seq + 1);
+		finished = true;
+		seq++;
+		return lsn;
+	}
+
+	/**
+	 * @return true if the game is finished
+	 */
+	public synchronized boolean isFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Journal a snapshot for a checkpoint.
+	 * @return false if the game has finished
+	 */
+	synchronized boolean checkpoint()
+	{
+		if (finished) return false;
+		journal.snapshot(id, seq, copy);
+		pliesOnSnapshot = 0;
+		return true;
+	}
+
+	/**
+	 * Apply a journaled move, or take back the last one if m is null, while
+	 * the journal is being read.
+	 */
+	void replay(Move m, int seq)
+	{
+		if (m == null) {
+			position.unmakeMove();
+			moves.pop();
+			unmakeCopy();
+		}
+		else {
+			position.makeMove(m);
+			moves.push(m);
+			copy.makeMove(m);
+			pliesOnCopy++;
+		}
+		this.seq = seq;
+	}
+
+	/**
+	 * Follow a take back in the copy. Moves from before the copy was made
+	 * aren't in its undo history, so those take a fresh copy instead.
+	 */
+	private void unmakeCopy()
+	{
+		if (pliesOnCopy > 0) {
+			copy.unmakeMove();
+			pliesOnCopy--;
+		}
+		else {
+			copy = position.copy();
+		}
+	}
+
+	private void checkActive()
+	{
+		if (finished) throw new IllegalStateException("Game " + id + " is finished");
+	}
+}
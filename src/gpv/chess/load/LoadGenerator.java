@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.PawnEvaluator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Search;
+import gpv.chess.engine.SearchInfo;
+import gpv.chess.engine.SearchLimits;
+import gpv.chess.engine.SearchListener;
+import gpv.chess.engine.TranspositionTable;
+import gpv.chess.load.LoadRequest.Kind;
+import gpv.util.metrics.HdrHistogram;
+
+/**
+ * An open-loop load generator for the rule engine and search. Requests are
+ * due at a fixed rate from the start of the run, whether or not earlier ones
+ * have been answered, the way independent players behave. Request k goes to
+ * thread k % threads, which waits until it is due, calls the API in process
+ * and records how long after the due time the answer came.
+ * <br/>
+ * Measuring from the due time is what corrects for coordinated omission: a
+ * closed-loop benchmark that stalls for a second also stops sending for a
+ * second, so only one slow call is seen. Here every request that should
+ * have been sent during the stall is late by the time left of it, as it
+ * would be for real clients. Service times from the actual start are kept
+ * too, for comparison.
+ * <br/>
+ * Traffic is used in order and repeated as needed. Each thread parses its
+ * own copy of every position before the run, and has its own Search, so
+ * nothing is shared but the rule engine's MoveCache.
+ * @version Oct 19, 2026
+ */
+public final class LoadGenerator
+{
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final int HASH_MEGABYTES = 8;
+
+	private final double rate;
+	private final int threads;
+
+	/**
+	 * Constructor.
+	 * @param rate requests per second
+	 * @param threads how many requests can be in progress at once
+	 */
+	public LoadGenerator(double rate, int threads)
+	{
+		if (rate <= 0 || threads < 1) throw new IllegalArgumentException("Rate and threads must be positive");
+		this.rate = rate;
+		this.threads = threads;
+	}
+
+	/**
+	 * Run the traffic at the rate.
+	 * @param traffic the requests, not empty
+	 * @param seconds how long requests are sent for after the warm up
+	 * @param warmupSeconds how long requests are sent before measuring
+	 * @return what was measured
+	 * @throws InterruptedException if interrupted while waiting for the
+	 * 	threads
+	 */
+	public LoadReport run(List<LoadRequest> traffic, double seconds, double warmupSeconds) throws InterruptedException
+	{
+		if (traffic.isEmpty()) throw new IllegalArgumentException("No traffic");
+		List<Worker> workers = new ArrayList<Worker>();
+		for (int t = 0; t < threads; t++) workers.add(new Worker(t, traffic));
+		long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+		long measureFrom = start + (long) (warmupSeconds * 1e9);
+		long end = measureFrom + (long) (seconds * 1e9);
+		List<Thread> running = new ArrayList<Thread>();
+		for (Worker w : workers) {
+			Thread thread = new Thread(() -> w.run(start, measureFrom, end), "load-" + running.size());
+			thread.setDaemon(true);
+			running.add(thread);
+			thread.start();
+		}
+		for (Thread thread : running) thread.join();
+		long last = measureFrom;
+		for (Worker w : workers) last = Math.max(last, w.last);
+		LoadReport report = new LoadReport(rate, (last - measureFrom) / 1e9);
+		for (Worker w : workers) {
+			for (Kind k : Kind.values()) {
+				report.add(k, w.response[k.ordinal()], w.service[k.ordinal()], w.errors[k.ordinal()]);
+			}
+		}
+		return report;
+	}
+
+	/**
+	 * Run recorded or synthetic traffic and print the percentiles, then
+	 * optionally save the report and compare it with a baseline.
+	 * <pre>
+	 * 	java gpv.chess.load.LoadGenerator [-rate n] [-seconds s] [-warmup s] [-threads n]
+	 * 		[-requests n] [-analysis share] [-depth d] [-record file]
+	 * 		[-save file] [-baseline file] [-tolerance fraction] [traffic file]
+	 * </pre>
+	 * Without a traffic file, -requests synthetic requests are made up, of
+	 * which -analysis are searches to -depth; -record writes them out for
+	 * replaying later. The exit status is 1 if the run regressed against the
+	 * baseline.
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		double rate = 1000;
+		double seconds = 10;
+		double warmup = 2;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int requests = 10_000;
+		double analysis = 0.01;
+		int depth = 3;
+		double tolerance = 0.10;
+		Path record = null;
+		Path save = null;
+		Path baseline = null;
+		int i = 0;
+		for (; i < args.length && args[i].startsWith("-"); i++) {
+			switch (args[i]) {
+				case "-rate": rate = Double.parseDouble(args[++i]); break;
+				case "-seconds": seconds = Double.parseDouble(args[++i]); break;
+				case "-warmup": warmup = Double.parseDouble(args[++i]); break;
+				case "-threads": threads = Integer.parseInt(args[++i]); break;
+				case "-requests": requests = Integer.parseInt(args[++i]); break;
+				case "-analysis": analysis = Double.parseDouble(args[++i]); break;
+				case "-depth": depth = Integer.parseInt(args[++i]); break;
+				case "-tolerance": tolerance = Double.parseDouble(args[++i]); break;
+				case "-record": record = Paths.get(args[++i]); break;
+				case "-save": save = Paths.get(args[++i]); break;
+				case "-baseline": baseline = Paths.get(args[++i]); break;
+				default: throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		if (args.length > i + 1) {
+			System.err.println("usage: LoadGenerator [-rate n] [-seconds s] [-warmup s] [-threads n] [-requests n]"
+					+ " [-analysis share] [-depth d] [-record file] [-save file] [-baseline file] [-tolerance f] [traffic]");
+			System.exit(2);
+		}
+		List<LoadRequest> traffic = args.length > i ? Traffic.read(Paths.get(args[i]))
+				: Traffic.synthetic(requests, analysis, depth, 1);
+		if (record != null) Traffic.write(record, traffic);
+		System.out.printf("%d requests, %.0f/s for %.0f s after %.0f s of warm up, %d threads%n",
+				traffic.size(), rate, seconds, warmup, threads);
+		LoadReport report = new LoadGenerator(rate, threads).run(traffic, seconds, warmup);
+		report.print(System.out);
+		if (save != null) report.save(save);
+		if (baseline != null && !report.compare(LoadReport.load(baseline), tolerance, System.out)) System.exit(1);
+	}
+
+	/**
+	 * One thread's share of the schedule and everything it records.
+	 */
+	private final class Worker
+	{
+		private final int id;
+		private final List<LoadRequest> traffic;
+		private final Position[] positions;
+		private final Search search = new Search(new TranspositionTable(HASH_MEGABYTES),
+				new PawnEvaluator(new MaterialEvaluator()));
+		private final SearchLimits limits = new SearchLimits();
+		final HdrHistogram[] response = new HdrHistogram[Kind.values().length];
+		final HdrHistogram[] service = new HdrHistogram[Kind.values().length];
+		final long[] errors = new long[Kind.values().length];
+		long last;		// when the last measured request was answered
+
+		Worker(int id, List<LoadRequest> traffic)
+		{
+			this.id = id;
+			this.traffic = traffic;
+			positions = new Position[traffic.size()];
+			for (int i = 0; i < positions.length; i++) positions[i] = Fen.parse(traffic.get(i).fen);
+			for (int k = 0; k < response.length; k++) {
+				response[k] = new HdrHistogram();
+				service[k] = new HdrHistogram();
+			}
+		}
+
+		void run(long start, long measureFrom, long end)
+		{
+			double interval = 1e9 / rate;
+			for (long k = id; ; k += threads) {
+				long due = start + (long) (k * interval);
+				if (due >= end) break;
+				long wait;
+				while ((wait = due - System.nanoTime()) > 0) {
+					if (wait > SPIN_NANOS) LockSupport.parkNanos(wait - SPIN_NANOS);
+					else Thread.yield();
+				}
+				int i = (int) (k % positions.length);
+				LoadRequest r = traffic.get(i);
+				long begin = System.nanoTime();
+				boolean failed = false;
+				try {
+					execute(r, positions[i]);
+				}
+				catch (RuntimeException e) {
+					failed = true;
+				}
+				long done = System.nanoTime();
+				if (due < measureFrom) continue;
+				int kind = r.kind.ordinal();
+				response[kind].record(done - due);
+				service[kind].record(done - begin);
+				if (failed) errors[kind]++;
+				last = done;
+			}
+		}
+
+		private void execute(LoadRequest r, Position pos)
+		{
+			if (r.kind == Kind.VALIDATE) {
+				Move m = r.move;
+				ChessPiece p = pos.pieceAt(m.from);
+				if (p == null) throw new IllegalArgumentException("No piece on " + m.from);
+				p.canMove(m.from, m.to, pos.getBoard());
+			}
+			else {
+				limits.depth = r.depth;
+				search.think(pos, limits, QUIET);
+			}
+		}
+	}
+
+	private static final SearchListener QUIET = new SearchListener() {
+		@Override
+		public void onInfo(SearchInfo info)
+		{
+			// results aren't needed
+		}
+
+		@Override
+		public void onBestMove(Move best, Move ponder)
+		{
+			// results aren't needed
+		}
+	};
+}
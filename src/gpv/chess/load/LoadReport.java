@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+import gpv.chess.load.LoadRequest.Kind;
+import gpv.util.metrics.HdrHistogram;
+
+/**
+ * What a LoadGenerator run measured: for each kind of request, a histogram
+ * of response times, measured from when the request was due so that time
+ * spent waiting behind a slow request counts, and one of service times,
+ * measured from when it actually started. The gap between the two is the
+ * coordinated omission a closed-loop benchmark would have hidden.
+ * <br/>
+ * Reports can be saved and loaded as a properties file holding the
+ * histograms in full, and a run can be compared with a saved baseline.
+ * @version Oct 19, 2026
+ */
+public final class LoadReport
+{
+	private static final double[] PERCENTILES = { 0.50, 0.99, 0.999 };
+	private static final String[] NAMES = { "p50", "p99", "p99.9" };
+
+	public final double targetRate;	// requests per second
+	public final double seconds;		// from the end of the warm up to the last response
+	private final Map<Kind, HdrHistogram> response = new EnumMap<Kind, HdrHistogram>(Kind.class);
+	private final Map<Kind, HdrHistogram> service = new EnumMap<Kind, HdrHistogram>(Kind.class);
+	private final Map<Kind, Long> errors = new EnumMap<Kind, Long>(Kind.class);
+
+	/**
+	 * Constructor for an empty report; LoadGenerator fills it in.
+	 */
+	LoadReport(double targetRate, double seconds)
+	{
+		this.targetRate = targetRate;
+		this.seconds = seconds;
+		for (Kind k : Kind.values()) {
+			response.put(k, new HdrHistogram());
+			service.put(k, new HdrHistogram());
+			errors.put(k, 0L);
+		}
+	}
+
+	/**
+	 * @return response times in nanoseconds, from when each request was due
+	 */
+	public HdrHistogram response(Kind kind)
+	{
+		return response.get(kind);
+	}
+
+	/**
+	 * @return service times in nanoseconds, from when each request started
+	 */
+	public HdrHistogram service(Kind kind)
+	{
+		return service.get(kind);
+	}
+
+	/**
+	 * @return the number of requests that threw
+	 */
+	public long errors(Kind kind)
+	{
+		return errors.get(kind);
+	}
+
+	/**
+	 * @return the number of requests answered, errors included
+	 */
+	public long completed()
+	{
+		long n = 0;
+		for (Kind k : Kind.values()) n += response.get(k).count();
+		return n;
+	}
+
+	/**
+	 * @return requests answered per second
+	 */
+	public double throughput()
+	{
+		return seconds > 0 ? completed() / seconds : 0;
+	}
+
+	void add(Kind kind, HdrHistogram responses, HdrHistogram services, long failed)
+	{
+		response.get(kind).add(responses);
+		service.get(kind).add(services);
+		errors.put(kind, errors.get(kind) + failed);
+	}
+
+	/**
+	 * Print the percentiles of every kind of request that was sent.
+	 */
+	public void print(PrintStream out)
+	{
+		out.printf("target %.0f/s, achieved %.0f/s over %.1f s%n", targetRate, throughput(), seconds);
+		out.printf("%-10s %-9s %9s %10s %10s %10s %10s %7s%n", "", "", "count", "p50 us", "p99 us", "p99.9 us",
+				"max us", "errors");
+		for (Kind k : Kind.values()) {
+			if (response.get(k).count() == 0) continue;
+			row(out, k.name().toLowerCase(), "response", response.get(k), errors.get(k));
+			row(out, "", "service", service.get(k), errors.get(k));
+		}
+	}
+
+	private static void row(PrintStream out, String kind, String what, HdrHistogram h, long errors)
+	{
+		out.printf("%-10s %-9s %9d %10.1f %10.1f %10.1f %10.1f %7d%n", kind, what, h.count(),
+				h.percentile(0.50) / 1e3, h.percentile(0.99) / 1e3, h.percentile(0.999) / 1e3, h.max() / 1e3, errors);
+	}
+
+	/**
+	 * Compare response times and throughput with a baseline and print each
+	 * change.
+	 * @param baseline an earlier report
+	 * @param tolerance the fraction a percentile may rise, or throughput
+	 * 	fall, before it counts as a regression, e.g. 0.10
+	 * @return true if nothing regressed
+	 */
+	public boolean compare(LoadReport baseline, double tolerance, PrintStream out)
+	{
+		if (Math.abs(baseline.targetRate - targetRate) > 1e-9 * targetRate) {
+			out.printf("warning: the baseline ran at %.0f/s, this run at %.0f/s%n", baseline.targetRate, targetRate);
+		}
+		boolean ok = true;
+		out.printf("%-10s %-6s %12s %12s %8s%n", "", "", "baseline", "now", "change");
+		for (Kind k : Kind.values()) {
+			HdrHistogram before = baseline.response.get(k);
+			HdrHistogram now = response.get(k);
+			if (before.count() == 0 || now.count() == 0) continue;
+			for (int i = 0; i < PERCENTILES.length; i++) {
+				double b = before.percentile(PERCENTILES[i]) / 1e3;
+				double n = now.percentile(PERCENTILES[i]) / 1e3;
+				boolean worse = n > b * (1 + tolerance);
+				ok &= !worse;
+				out.printf("%-10s %-6s %10.1fus %10.1fus %+7.1f%%%s%n", i == 0 ? k.name().toLowerCase() : "", NAMES[i],
+						b, n, change(b, n), worse ? "  REGRESSION" : "");
+			}
+		}
+		boolean slower = throughput() < baseline.throughput() * (1 - tolerance);
+		ok &= !slower;
+		out.printf("%-17s %10.0f/s %10.0f/s %+7.1f%%%s%n", "throughput", baseline.throughput(), throughput(),
+				change(baseline.throughput(), throughput()), slower ? "  REGRESSION" : "");
+		return ok;
+	}
+
+	private static double change(double before, double now)
+	{
+		return before == 0 ? 0 : 100 * (now - before) / before;
+	}
+
+	/**
+	 * Save the report, histograms and all.
+	 */
+	public void save(Path file) throws IOException
+	{
+		Properties p = new Properties();
+		p.setProperty("rate", Double.toString(targetRate));
+		p.setProperty("seconds", Double.toString(seconds));
+		for (Kind k : Kind.values()) {
+			String name = k.name().toLowerCase();
+			p.setProperty(name + ".response", response.get(k).encode());
+			p.setProperty(name + ".service", service.get(k).encode());
+			p.setProperty(name + ".errors", Long.toString(errors.get(k)));
+		}
+		try (OutputStream out = Files.newOutputStream(file)) {
+			p.store(out, "gpv load report");
+		}
+	}
+
+	/**
+	 * @return a report written by save()
+	 * @throws IOException if the file can't be read or isn't a report
+	 */
+	public static LoadReport load(Path file) throws IOException
+	{
+		Properties p = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			p.load(in);
+		}
+		try {
+			LoadReport r = new LoadReport(Double.parseDouble(p.getProperty("rate")),
+					Double.parseDouble(p.getProperty("seconds")));
+			for (Kind k : Kind.values()) {
+				String name = k.name().toLowerCase();
+				r.add(k, HdrHistogram.decode(p.getProperty(name + ".response")),
+						HdrHistogram.decode(p.getProperty(name + ".service")),
+						Long.parseLong(p.getProperty(name + ".errors")));
+			}
+			return r;
+		}
+		catch (RuntimeException e) {
+			throw new IOException(file + " is not a load report", e);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.load;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+
+/**
+ * One request of recorded or synthetic traffic. A request is a line of text:
+ * <pre>
+ * 	validate e2e4 rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1
+ * 	analyze 3 rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1
+ * </pre>
+ * A validation asks ChessPiece.canMove() about the move, legal or not; an
+ * analysis searches the position to the depth. This is strictly a data
+ * object.
+ * @version Oct 19, 2026
+ */
+public final class LoadRequest
+{
+	public enum Kind { VALIDATE, ANALYZE }
+
+	public final Kind kind;
+	public final String fen;
+	public final Move move;		// validations only
+	public final int depth;		// analyses only
+
+	private LoadRequest(Kind kind, String fen, Move move, int depth)
+	{
+		this.kind = kind;
+		this.fen = fen;
+		this.move = move;
+		this.depth = depth;
+	}
+
+	/**
+	 * @return a request to validate a move in a position
+	 */
+	public static LoadRequest validate(String fen, Move move)
+	{
+		return new LoadRequest(Kind.VALIDATE, fen, move, 0);
+	}
+
+	/**
+	 * @return a request to search a position to a depth
+	 */
+	public static LoadRequest analyze(String fen, int depth)
+	{
+		if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1");
+		return new LoadRequest(Kind.ANALYZE, fen, null, depth);
+	}
+
+	/**
+	 * Parse a request line.
+	 * @throws IllegalArgumentException if the line isn't a request
+	 */
+	public static LoadRequest parse(String line)
+	{
+		String[] parts = line.trim().split("\\s+", 3);
+		if (parts.length < 3) throw new IllegalArgumentException("Not a request: " + line);
+		Fen.parse(parts[2]);	// fail here rather than under load
+		switch (parts[0]) {
+			case "validate":
+				return validate(parts[2], Move.parse(parts[1]));
+			case "analyze":
+				return analyze(parts[2], Integer.parseInt(parts[1]));
+			default:
+				throw new IllegalArgumentException("Unknown request " + parts[0]);
+		}
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return kind == Kind.VALIDATE ? "validate " + move + " " + fen : "analyze " + depth + " " + fen;
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.load;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+import gpv.util.Coordinate;
+
+/**
+ * Reads, writes and makes up lists of LoadRequests. A traffic file holds one
+ * request per line; blank lines and lines starting with # are skipped.
+ * @version Oct 19, 2026
+ */
+public final class Traffic
+{
+	private Traffic()
+	{
+		// static methods only
+	}
+
+	/**
+	 * @return the requests in a traffic file
+	 * @throws IOException if the file can't be read or a line isn't a request
+	 */
+	public static List<LoadRequest> read(Path file) throws IOException
+	{
+		List<LoadRequest> requests = new ArrayList<LoadRequest>();
+		try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			int n = 0;
+			while ((line = in.readLine()) != null) {
+				n++;
+				if (line.trim().isEmpty() || line.startsWith("#")) continue;
+				try {
+					requests.add(LoadRequest.parse(line));
+				}
+				catch (IllegalArgumentException e) {
+					throw new IOException(file + ":" + n + ": " + e.getMessage(), e);
+				}
+			}
+		}
+		return requests;
+	}
+
+	/**
+	 * Write requests to a traffic file.
+	 */
+	public static void write(Path file, List<LoadRequest> requests) throws IOException
+	{
+		try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (LoadRequest r : requests) {
+				out.write(r.toString());
+				out.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Make up traffic from random games. Validations are what a player
+	 * dragging pieces sends: half are legal moves, half take one of the side
+	 * to move's pieces to a random square.
+	 * @param n the number of requests
+	 * @param analysisShare the fraction that are analyses
+	 * @param depth the depth of the analyses
+	 * @param seed
+	 * @return the requests
+	 */
+	public static List<LoadRequest> synthetic(int n, double analysisShare, int depth, long seed)
+	{
+		SplittableRandom rnd = new SplittableRandom(seed);
+		List<LoadRequest> requests = new ArrayList<LoadRequest>();
+		Position pos = Fen.parse(Fen.STARTPOS);
+		while (requests.size() < n) {
+			List<Move> moves = MoveGenerator.legalMoves(pos);
+			if (moves.isEmpty() || pos.getPly() > 100) {
+				pos = Fen.parse(Fen.STARTPOS);
+				continue;
+			}
+			String fen = Fen.format(pos);
+			if (rnd.nextDouble() < analysisShare) {
+				requests.add(LoadRequest.analyze(fen, depth));
+			}
+			else if (rnd.nextBoolean()) {
+				requests.add(LoadRequest.validate(fen, moves.get(rnd.nextInt(moves.size()))));
+			}
+			else {
+				List<Coordinate> own = pos.squaresOf(pos.getSideToMove());
+				Coordinate to = makeCoordinate(1 + rnd.nextInt(pos.getBoard().nColumns), 1 + rnd.nextInt(pos.getBoard().nRows));
+				requests.add(LoadRequest.validate(fen, new Move(own.get(rnd.nextInt(own.size())), to)));
+			}
+			pos.makeMove(moves.get(rnd.nextInt(moves.size())));
+		}
+		return requests;
+	}
+}
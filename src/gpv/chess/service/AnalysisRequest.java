@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.service;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Position;
+
+/**
+ * A request to analyse one position to a depth within a time limit. This is
+ * strictly a data object.
+ * @version Oct 19, 2026
+ */
+public final class AnalysisRequest
+{
+	/**
+	 * Each priority has its own queue, and workers always take from the most
+	 * urgent queue that has work, so a flood of background work never
+	 * delays interactive requests.
+	 */
+	public enum Priority { INTERACTIVE, NORMAL, BACKGROUND }
+
+	public final Position position;
+	public final int depth;
+	public final Priority priority;
+	public final long timeoutMillis;	// from submission until the result is due
+
+	/**
+	 * Constructor.
+	 * @param position the position, which is copied
+	 * @param depth the depth to search to, at least 1
+	 * @param priority
+	 * @param timeoutMillis how long the caller will wait, at least 1
+	 */
+	public AnalysisRequest(Position position, int depth, Priority priority, long timeoutMillis)
+	{
+		if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1");
+		if (timeoutMillis < 1) throw new IllegalArgumentException("Timeout must be at least 1 ms");
+		this.position = position.copy();
+		this.depth = depth;
+		this.priority = priority;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Constructor for a position given as FEN.
+	 * @throws IllegalArgumentException if the FEN can't be parsed
+	 */
+	public AnalysisRequest(String fen, int depth, Priority priority, long timeoutMillis)
+	{
+		this(Fen.parse(fen), depth, priority, timeoutMillis);
+	}
+}
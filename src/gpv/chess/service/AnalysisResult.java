@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.service;
+
+import java.util.List;
+
+import gpv.chess.engine.Move;
+
+/**
+ * The answer to an AnalysisRequest. A request whose deadline came before
+ * the search reached its depth gets the deepest completed iteration, marked
+ * as not complete. This is strictly a data object.
+ * @version Oct 19, 2026
+ */
+public final class AnalysisResult
+{
+	public final Move best;			// null if there are no legal moves
+	public final int score;			// centipawns from the side to move
+	public final int depth;
+	public final long nodes;
+	public final List<Move> pv;
+	public final boolean complete;	// the requested depth was reached
+
+	/**
+	 * Only constructor
+	 */
+	public AnalysisResult(Move best, int score, int depth, long nodes, List<Move> pv, boolean complete)
+	{
+		this.best = best;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.pv = pv;
+		this.complete = complete;
+	}
+}
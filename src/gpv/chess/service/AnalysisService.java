@@ -0,0 +1,485 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Search;
+import gpv.chess.engine.SearchInfo;
+import gpv.chess.engine.SearchLimits;
+import gpv.chess.engine.SearchListener;
+import gpv.chess.engine.TranspositionTable;
+
+/**
+ * Analyses positions asynchronously, so callers get a CompletableFuture at
+ * once instead of holding a thread while a search runs.
+ * <br/>
+ * Requests wait in one bounded queue per priority and a fixed set of worker
+ * threads, each with its own Search over one shared transposition table,
+ * take from the most urgent queue first. A request for a position that is
+ * already queued at the same priority joins that job instead of queueing
+ * again, so one search answers all of them.
+ * <br/>
+ * When a queue is full, submit() sheds the request at once by failing its
+ * future with a RejectedExecutionException; the variant with a wait blocks
+ * the caller for room first, which pushes back on producers that can wait.
+ * Every request has a deadline. A job still queued when all its requests
+ * are past due is dropped, and a running one is searched with its deadline
+ * as a hard time limit, so work nobody is waiting for is never done. A
+ * request whose deadline comes before its depth is reached gets the deepest
+ * finished iteration, or a TimeoutException if there is none. Cancelling a
+ * future counts as giving up on it too.
+ * @version Oct 19, 2026
+ */
+public class AnalysisService implements AutoCloseable
+{
+	private static final int PRIORITIES = AnalysisRequest.Priority.values().length;
+
+	private final int capacity;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final List<ArrayDeque<Job>> queues = new ArrayList<ArrayDeque<Job>>();
+	private final List<Map<Long, Job>> pending = new ArrayList<Map<Long, Job>>();	// queued jobs by position hash
+	private final TranspositionTable tt;
+	private final List<Thread> workers = new ArrayList<Thread>();
+	private final Job[] current;		// what each worker took last, guarded by lock
+	private final ScheduledThreadPoolExecutor timer;
+	private volatile boolean closed;
+
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder merged = new LongAdder();
+	private final LongAdder shed = new LongAdder();
+	private final LongAdder expired = new LongAdder();
+	private final LongAdder searched = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param threads the number of searches that run at once
+	 * @param capacity how many jobs each priority's queue holds
+	 * @param hashMegabytes the size of the shared transposition table
+	 */
+	public AnalysisService(int threads, int capacity, int hashMegabytes)
+	{
+		if (threads < 1) throw new IllegalArgumentException("Need at least one thread");
+		if (capacity < 1) throw new IllegalArgumentException("Queues must hold at least one job");
+		this.capacity = capacity;
+		for (int p = 0; p < PRIORITIES; p++) {
+			queues.add(new ArrayDeque<Job>(capacity));
+			pending.add(new HashMap<Long, Job>());
+		}
+		tt = new TranspositionTable(hashMegabytes);
+		current = new Job[threads];
+		timer = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "analysis-deadlines");
+			t.setDaemon(true);
+			return t;
+		});
+		timer.setRemoveOnCancelPolicy(true);
+		for (int i = 0; i < threads; i++) {
+			Search search = new Search(tt, new MaterialEvaluator());
+			int worker = i;
+			Thread t = new Thread(() -> work(worker, search), "analysis-" + worker);
+			t.setDaemon(true);
+			workers.add(t);
+			t.start();
+		}
+	}
+
+	/**
+	 * Queue a request, shedding it if its queue is full.
+	 * @return the future result; failed with a RejectedExecutionException if
+	 * 	the request was shed
+	 */
+	public CompletableFuture<AnalysisResult> submit(AnalysisRequest request)
+	{
+		try {
+			return submit(request, 0, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();	// can't happen without waiting
+			return failed(new RejectedExecutionException("Interrupted"));
+		}
+	}
+
+	/**
+	 * Queue a request, waiting for room if its queue is full. The wait is
+	 * not part of the request's timeout.
+	 * @param wait how long to wait for room before shedding the request
+	 * @return the future result; failed with a RejectedExecutionException if
+	 * 	the request was shed
+	 * @throws InterruptedException if interrupted while waiting for room
+	 */
+	public CompletableFuture<AnalysisResult> submit(AnalysisRequest request, long wait, TimeUnit unit)
+			throws InterruptedException
+	{
+		submitted.increment();
+		int p = request.priority.ordinal();
+		long key = request.position.getHash();
+		Member member = new Member(request);
+		Job job;
+		lock.lockInterruptibly();
+		try {
+			long remaining = unit.toNanos(wait);
+			while (true) {
+				if (closed) return reject("Service closed");
+				job = pending.get(p).get(key);
+				if (job != null) {
+					merged.increment();
+					break;
+				}
+				if (queues.get(p).size() < capacity) {
+					job = new Job(request);
+					queues.get(p).add(job);
+					pending.get(p).put(key, job);
+					notEmpty.signal();
+					break;
+				}
+				if (remaining <= 0) return reject(request.priority + " queue is full");
+				remaining = notFull.awaitNanos(remaining);
+			}
+			member.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(request.timeoutMillis);
+			job.add(member);
+		}
+		finally {
+			lock.unlock();
+		}
+		Job j = job;
+		member.future.whenComplete((r, e) -> {
+			ScheduledFuture<?> t = member.timeout;
+			if (t != null) t.cancel(false);
+			if (j.live.decrementAndGet() == 0) abandon(j);
+		});
+		member.timeout = timer.schedule(() -> expire(j, member), request.timeoutMillis, TimeUnit.MILLISECONDS);
+		if (member.future.isDone()) member.timeout.cancel(false);
+		return member.future;
+	}
+
+	/**
+	 * @return the number of jobs waiting at a priority
+	 */
+	public int queued(AnalysisRequest.Priority priority)
+	{
+		lock.lock();
+		try {
+			return queues.get(priority.ordinal()).size();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return the number of requests submitted
+	 */
+	public long getSubmitted()
+	{
+		return submitted.sum();
+	}
+
+	/**
+	 * @return the number of requests that joined a job already queued
+	 */
+	public long getMerged()
+	{
+		return merged.sum();
+	}
+
+	/**
+	 * @return the number of requests rejected because their queue was full
+	 */
+	public long getShed()
+	{
+		return shed.sum();
+	}
+
+	/**
+	 * @return the number of requests answered by their deadline instead of a
+	 * 	finished search
+	 */
+	public long getExpired()
+	{
+		return expired.sum();
+	}
+
+	/**
+	 * @return the number of searches run
+	 */
+	public long getSearched()
+	{
+		return searched.sum();
+	}
+
+	/**
+	 * Stop the workers. Queued requests fail with a
+	 * RejectedExecutionException and running searches are stopped, so their
+	 * requests get the deepest finished iteration as if their deadline had
+	 * come.
+	 */
+	@Override
+	public void close()
+	{
+		List<Job> dropped = new ArrayList<Job>();
+		List<Job> running = new ArrayList<Job>();
+		lock.lock();
+		try {
+			if (closed) return;
+			closed = true;
+			for (int p = 0; p < PRIORITIES; p++) {
+				dropped.addAll(queues.get(p));
+				queues.get(p).clear();
+				pending.get(p).clear();
+			}
+			for (Job job : current) if (job != null) running.add(job);
+			notEmpty.signalAll();
+			notFull.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+		for (Job job : dropped) {
+			for (Member m : job.members) m.future.completeExceptionally(new RejectedExecutionException("Service closed"));
+		}
+		for (Job job : running) cancel(job);
+		for (Thread t : workers) {
+			try {
+				t.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		timer.shutdownNow();
+	}
+
+	private CompletableFuture<AnalysisResult> reject(String why)
+	{
+		shed.increment();
+		return failed(new RejectedExecutionException(why));
+	}
+
+	private static CompletableFuture<AnalysisResult> failed(Throwable t)
+	{
+		CompletableFuture<AnalysisResult> f = new CompletableFuture<AnalysisResult>();
+		f.completeExceptionally(t);
+		return f;
+	}
+
+	/**
+	 * @return the most urgent job, or null once the service is closed
+	 */
+	private Job take(int worker)
+	{
+		lock.lock();
+		try {
+			current[worker] = null;
+			while (!closed) {
+				for (int p = 0; p < PRIORITIES; p++) {
+					Job job = queues.get(p).poll();
+					if (job == null) continue;
+					pending.get(p).remove(job.key, job);
+					notFull.signalAll();
+					current[worker] = job;	// so close() can stop it
+					return job;
+				}
+				notEmpty.awaitUninterruptibly();
+			}
+			return null;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void work(int worker, Search search)
+	{
+		Job job;
+		while ((job = take(worker)) != null) {
+			long remaining = TimeUnit.NANOSECONDS.toMillis(job.deadline - System.nanoTime());
+			synchronized (job) {
+				if (job.cancelled || remaining <= 0) {
+					// close() stopped it before it started; nothing else will answer it
+					if (closed) for (Member m : job.members) m.future.completeExceptionally(new RejectedExecutionException("Service closed"));
+					continue;
+				}
+				job.running = search;
+			}
+			SearchLimits limits = new SearchLimits();
+			limits.depth = job.depth;
+			limits.movetime = remaining;
+			searched.increment();
+			Move best;
+			try {
+				best = search.think(job.position, limits, job);
+			}
+			catch (RuntimeException e) {
+				for (Member m : job.members) m.future.completeExceptionally(e);
+				continue;	// the worker carries on with the next job
+			}
+			finally {
+				synchronized (job) {
+					job.running = null;
+				}
+			}
+			SearchInfo info = job.latest;
+			for (Member m : job.members) {
+				if (best == null) {
+					int score = job.position.isInCheck(job.position.getSideToMove()) ? -Search.MATE : 0;
+					m.future.complete(new AnalysisResult(null, score, 0, 0, Collections.<Move>emptyList(), true));
+				}
+				else if (info != null) {
+					m.future.complete(result(info, m));
+				}
+				else {
+					m.future.completeExceptionally(new TimeoutException("No result by the deadline"));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Answer a request at its deadline with whatever its job has so far.
+	 */
+	private void expire(Job job, Member member)
+	{
+		SearchInfo info = job.latest;
+		boolean done = info != null ? member.future.complete(result(info, member))
+				: member.future.completeExceptionally(
+						new TimeoutException("No result within " + member.request.timeoutMillis + " ms"));
+		if (done) expired.increment();
+	}
+
+	/**
+	 * Nobody is waiting for the job any more: unqueue it, or stop it if it
+	 * is running.
+	 */
+	private void abandon(Job job)
+	{
+		lock.lock();
+		try {
+			if (job.live.get() != 0) return;	// a request joined it meanwhile
+			if (queues.get(job.priority).remove(job)) notFull.signalAll();
+			pending.get(job.priority).remove(job.key, job);
+		}
+		finally {
+			lock.unlock();
+		}
+		cancel(job);
+	}
+
+	/**
+	 * Stop the job if it is running, or keep it from starting.
+	 */
+	private static void cancel(Job job)
+	{
+		synchronized (job) {
+			job.cancelled = true;
+			if (job.running != null) job.running.stop();
+		}
+	}
+
+	private static AnalysisResult result(SearchInfo info, Member m)
+	{
+		return new AnalysisResult(info.pv.get(0), info.score, info.depth, info.nodes, info.pv,
+				info.depth >= m.request.depth);
+	}
+
+	/**
+	 * One search, answering every request that joined it while it was
+	 * queued. It listens to its own search to keep the latest iteration.
+	 */
+	private static final class Job implements SearchListener
+	{
+		final Position position;
+		final long key;
+		final int priority;
+		final List<Member> members = new ArrayList<Member>(1);
+		final AtomicInteger live = new AtomicInteger();	// members not answered yet
+		int depth;
+		long deadline;				// the latest of the members'
+		volatile SearchInfo latest;
+		volatile boolean cancelled;
+		Search running;				// guarded by this
+
+		Job(AnalysisRequest request)
+		{
+			position = request.position.copy();
+			key = position.getHash();
+			priority = request.priority.ordinal();
+		}
+
+		/**
+		 * Called with the service lock held, while the job is queued.
+		 */
+		void add(Member m)
+		{
+			members.add(m);
+			live.incrementAndGet();
+			depth = Math.max(depth, m.request.depth);
+			deadline = members.size() == 1 ? m.deadline : Math.max(deadline, m.deadline);
+		}
+
+		@Override
+		public void onInfo(SearchInfo info)
+		{
+			latest = info;
+			// a stop that came before the search started was lost
+			if (cancelled) {
+				synchronized (this) {
+					if (running != null) running.stop();
+				}
+			}
+		}
+
+		@Override
+		public void onBestMove(Move best, Move ponder)
+		{
+			// the members are answered once the search has returned
+		}
+	}
+
+	/**
+	 * One caller's request.
+	 */
+	private static final class Member
+	{
+		final AnalysisRequest request;
+		final CompletableFuture<AnalysisResult> future = new CompletableFuture<AnalysisResult>();
+		long deadline;
+		volatile ScheduledFuture<?> timeout;
+
+		Member(AnalysisRequest request)
+		{
+			this.request = request;
+		}
+	}
+}
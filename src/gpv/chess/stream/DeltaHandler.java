@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+/**
+ * Receives the events a Subscriber reads from a DeltaStream. Arguments are
+ * primitives and the keyframe is a view that is only valid during the call,
+ * so reading allocates nothing.
+ * @version Oct 19, 2026
+ */
+public interface DeltaHandler
+{
+	/**
+	 * A move was made. See DeltaStream for the meaning of the arguments.
+	 */
+	void onMove(int game, int seq, int from, int to, int captured, int flags);
+
+	/**
+	 * The game's last move was taken back.
+	 */
+	void onUndo(int game, int seq);
+
+	/**
+	 * A snapshot of a game, valid until this returns.
+	 */
+	void onKeyframe(int game, int seq, Keyframe frame);
+
+	/**
+	 * The subscriber fell so far behind that events were overwritten before
+	 * it read them. Every game has to wait for its next keyframe.
+	 * @param lost how many slots of events were skipped
+	 */
+	void onOverrun(long lost);
+}
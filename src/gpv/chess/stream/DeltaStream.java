@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A broadcast ring buffer of board change events for many games, written by
+ * one producer thread and read by any number of Subscribers, each at its
+ * own pace. Events are packed into longs in a ring that is allocated once,
+ * so publishing and reading allocate nothing.
+ * <br/>
+ * Every event starts with a header slot:
+ * <pre>
+ * 	kind:8 | length:8 | unused:16 | game:32
+ * </pre>
+ * where length counts the slots of the whole event. A MOVE has one more slot,
+ * <pre>
+ * 	seq:32 | from:8 | to:8 | captured:8 | flags:8
+ * </pre>
+ * with squares numbered like Zobrist.square() and captured the piece's
+ * ChessPieceDescriptor ordinal plus one, or 0. An UNDO has one slot holding
+ * the game's sequence number. A KEYFRAME is a full snapshot of a game for
+ * subscribers that join late or fall behind; see Keyframe for its layout.
+ * <br/>
+ * The producer never waits for subscribers. Before writing an event it
+ * announces the slots it is about to reuse, so a subscriber that has been
+ * lapped notices when it checks the announcement after reading, is told how
+ * many events it lost, and skips to the newest event. It then waits for a
+ * keyframe of each game it follows.
+ * @version Oct 19, 2026
+ */
+public final class DeltaStream
+{
+	public static final int MOVE = 1;
+	public static final int UNDO = 2;
+	public static final int KEYFRAME = 3;
+
+	// MOVE flags: the low three bits are the promotion's PieceName ordinal plus one
+	public static final int PROMOTION_MASK = 0x07;
+	public static final int CAPTURE = 0x08;
+	public static final int CASTLE = 0x10;
+	public static final int EN_PASSANT = 0x20;
+
+	/** The most slots an event can take: a keyframe of 255 pieces. */
+	public static final int MAX_EVENT = 2 + (255 + 3) / 4;
+
+	final AtomicLongArray slots;
+	final int mask;
+	final AtomicLong claimed = new AtomicLong();	// end of the slots being written
+	final AtomicLong published = new AtomicLong();	// end of the slots that can be read
+	private long next;								// producer only
+
+	/**
+	 * Constructor.
+	 * @param capacity the number of slots, a power of two and at least
+	 * 	twice MAX_EVENT
+	 */
+	public DeltaStream(int capacity)
+	{
+		if (Integer.bitCount(capacity) != 1 || capacity < 2 * MAX_EVENT) {
+			throw new IllegalArgumentException("Capacity must be a power of two of at least " + 2 * MAX_EVENT);
+		}
+		slots = new AtomicLongArray(capacity);
+		mask = capacity - 1;
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int capacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * @return a subscriber that starts with the next event published
+	 */
+	public Subscriber subscribe()
+	{
+		return new Subscriber(this, published.get());
+	}
+
+	/**
+	 * @return the position after the last event published, in slots
+	 */
+	public long position()
+	{
+		return published.get();
+	}
+
+	/**
+	 * Publish a move. Producer thread only.
+	 * @param game the game's id
+	 * @param seq the game's sequence number after the move
+	 * @param from the square moved from
+	 * @param to the square moved to
+	 * @param captured the captured piece's descriptor ordinal plus one, or 0
+	 * @param flags PROMOTION_MASK, CAPTURE, CASTLE and EN_PASSANT bits
+	 */
+	public void publishMove(int game, int seq, int from, int to, int captured, int flags)
+	{
+		long at = claim(2);
+		put(at, header(MOVE, 2, game));
+		put(at + 1, (long) seq << 32 | (long) (from & 0xFF) << 24 | (to & 0xFF) << 16 | (captured & 0xFF) << 8 | flags & 0xFF);
+		publish();
+	}
+
+	/**
+	 * Publish the taking back of a game's last move. Producer thread only.
+	 * @param seq the game's sequence number after the take back
+	 */
+	public void publishUndo(int game, int seq)
+	{
+		long at = claim(2);
+		put(at, header(UNDO, 2, game));
+		put(at + 1, seq & 0xFFFF_FFFFL);
+		publish();
+	}
+
+	/**
+	 * Publish a snapshot. Producer thread only.
+	 * @param frame the packed snapshot, see Keyframe.pack()
+	 * @param length the number of slots in frame, including the header
+	 */
+	void publishKeyframe(long[] frame, int length)
+	{
+		long at = claim(length);
+		for (int i = 0; i < length; i++) put(at + i, frame[i]);
+		publish();
+	}
+
+	static long header(int kind, int length, int game)
+	{
+		return (long) kind << 56 | (long) length << 48 | game & 0xFFFF_FFFFL;
+	}
+
+	static int kind(long header)
+	{
+		return (int) (header >>> 56);
+	}
+
+	static int length(long header)
+	{
+		return (int) (header >>> 48) & 0xFF;
+	}
+
+	static int game(long header)
+	{
+		return (int) header;
+	}
+
+	/**
+	 * Announce the slots about to be written. The volatile write comes
+	 * before any of them is touched, so a reader that sees a new value in a
+	 * slot also sees the announcement.
+	 */
+	private long claim(int length)
+	{
+		long at = next;
+		next += length;
+		claimed.set(next);
+		return at;
+	}
+
+	private void put(long at, long value)
+	{
+		slots.lazySet((int) at & mask, value);
+	}
+
+	private void publish()
+	{
+		published.lazySet(next);
+	}
+}
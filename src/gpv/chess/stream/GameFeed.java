@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PieceName;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Zobrist;
+
+/**
+ * Plays the moves of one game and publishes each change to a DeltaStream:
+ * a move delta for every move, a take back for every unmakeMove(), and a
+ * keyframe when the feed starts and then every keyframeInterval events so
+ * that spectators who join late can catch up. A spectator that started from
+ * a keyframe can't take back the moves before it, so taking back one of
+ * those is followed by a fresh keyframe. All of a stream's feeds must
+ * be driven by its one producer thread.
+ * @version Oct 19, 2026
+ */
+public class GameFeed
+{
+	public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+	private final DeltaStream stream;
+	private final int game;
+	private final Position position;
+	private final int keyframeInterval;
+	private final long[] frame = new long[DeltaStream.MAX_EVENT];
+	private int seq;
+	private int sinceKeyframe;		// events
+	private int pliesOnKeyframe;	// moves made on top of the last keyframe
+
+	/**
+	 * Constructor with the default keyframe interval.
+	 */
+	public GameFeed(DeltaStream stream, int game, Position position)
+	{
+		this(stream, game, position, DEFAULT_KEYFRAME_INTERVAL);
+	}
+
+	/**
+	 * Constructor. Publishes a keyframe of the starting position.
+	 * @param stream where events go
+	 * @param game the game's id
+	 * @param position the game, which must only be changed through the feed
+	 * @param keyframeInterval events between keyframes
+	 */
+	public GameFeed(DeltaStream stream, int game, Position position, int keyframeInterval)
+	{
+		if (keyframeInterval < 1) throw new IllegalArgumentException("Keyframe interval must be at least 1");
+		this.stream = stream;
+		this.game = game;
+		this.position = position;
+		this.keyframeInterval = keyframeInterval;
+		keyframe();
+	}
+
+	/**
+	 * @return the position
+	 */
+	public Position getPosition()
+	{
+		return position;
+	}
+
+	/**
+	 * @return the sequence number of the last event
+	 */
+	public int getSeq()
+	{
+		return seq;
+	}
+
+	/**
+	 * Make a move and publish it.
+	 * @param m the move, trusted to be legal
+	 */
+	public void makeMove(Move m)
+	{
+		ChessPiece piece = position.pieceAt(m.from);
+		ChessPiece captured = position.pieceAt(m.to);
+		int flags = m.promotion == null ? 0 : m.promotion.ordinal() + 1;
+		if (piece.getName() == PieceName.PAWN && m.from.x != m.to.x && captured == null) flags |= DeltaStream.EN_PASSANT;
+		if (piece.getName() == PieceName.KING && Math.abs(m.to.x - m.from.x) == 2) flags |= DeltaStream.CASTLE;
+		if (captured != null || (flags & DeltaStream.EN_PASSANT) != 0) flags |= DeltaStream.CAPTURE;
+		position.makeMove(m);
+		stream.publishMove(game, ++seq, Zobrist.square(m.from.x, m.from.y), Zobrist.square(m.to.x, m.to.y),
+				captured == null ? 0 : captured.getDescriptor().ordinal() + 1, flags);
+		pliesOnKeyframe++;
+		afterEvent();
+	}
+
+	/**
+	 * Take the last move back and publish that.
+	 */
+	public void unmakeMove()
+	{
+		position.unmakeMove();
+		stream.publishUndo(game, ++seq);
+		if (pliesOnKeyframe == 0) {
+			keyframe();
+		}
+		else {
+			pliesOnKeyframe--;
+			afterEvent();
+		}
+	}
+
+	/**
+	 * Publish a snapshot now, e.g. when many spectators have just joined.
+	 */
+	public void keyframe()
+	{
+		stream.publishKeyframe(frame, Keyframe.pack(position, game, seq, frame));
+		sinceKeyframe = 0;
+		pliesOnKeyframe = 0;
+	}
+
+	private void afterEvent()
+	{
+		if (++sinceKeyframe >= keyframeInterval) keyframe();
+	}
+}
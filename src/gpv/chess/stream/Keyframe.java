@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.ChessPieceFactory;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Zobrist;
+import gpv.util.Board;
+
+/**
+ * A read-only view of a snapshot of one game in a DeltaStream. After the
+ * event header, a keyframe holds
+ * <pre>
+ * 	seq:32 | black to move:8 | columns:8 | rows:8 | pieces:8
+ * </pre>
+ * and then the pieces four to a slot, sixteen bits each:
+ * <pre>
+ * 	square:8 | moved:1 | descriptor ordinal:7
+ * </pre>
+ * The view is only valid during DeltaHandler.onKeyframe().
+ * @version Oct 19, 2026
+ */
+public final class Keyframe
+{
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+
+	private long[] data;
+
+	Keyframe()
+	{
+		// reused by its subscriber
+	}
+
+	void wrap(long[] data)
+	{
+		this.data = data;
+	}
+
+	/**
+	 * Pack a snapshot of a position.
+	 * @param into room for DeltaStream.MAX_EVENT slots
+	 * @return the number of slots used
+	 * @throws IllegalArgumentException if there are more than 255 pieces
+	 */
+	static int pack(Position pos, int game, int seq, long[] into)
+	{
+		Board<ChessPiece> b = pos.getBoard();
+		int[] n = new int[1];
+		b.forEachPiece((c, p) -> {
+			if (n[0] == 255) throw new IllegalArgumentException("Too many pieces for a keyframe");
+			int i = n[0]++;
+			int slot = 2 + i / 4;
+			if (i % 4 == 0) into[slot] = 0;
+			long piece = Zobrist.square(c.x, c.y) << 8 | (b.hasMoved(c) ? 0x80 : 0) | p.getDescriptor().ordinal();
+			into[slot] |= piece << (i % 4 * 16);
+		});
+		int length = 2 + (n[0] + 3) / 4;
+		into[0] = DeltaStream.header(DeltaStream.KEYFRAME, length, game);
+		into[1] = (long) seq << 32 | (pos.getSideToMove() == PlayerColor.BLACK ? 1L : 0L) << 24
+				| b.nColumns << 16 | b.nRows << 8 | n[0];
+		return length;
+	}
+
+	/**
+	 * @return the game's sequence number at the snapshot
+	 */
+	public int seq()
+	{
+		return (int) (data[1] >>> 32);
+	}
+
+	public PlayerColor sideToMove()
+	{
+		return (data[1] >>> 24 & 0xFF) != 0 ? PlayerColor.BLACK : PlayerColor.WHITE;
+	}
+
+	public int nColumns()
+	{
+		return (int) (data[1] >>> 16) & 0xFF;
+	}
+
+	public int nRows()
+	{
+		return (int) (data[1] >>> 8) & 0xFF;
+	}
+
+	/**
+	 * @return the number of pieces on the board
+	 */
+	public int pieces()
+	{
+		return (int) data[1] & 0xFF;
+	}
+
+	/**
+	 * @return the square of piece i, numbered like Zobrist.square()
+	 */
+	public int square(int i)
+	{
+		return piece(i) >>> 8;
+	}
+
+	public ChessPieceDescriptor descriptor(int i)
+	{
+		return ChessPieceDescriptor.values()[piece(i) & 0x7F];
+	}
+
+	/**
+	 * @return true if the board records piece i as having moved
+	 */
+	public boolean moved(int i)
+	{
+		return (piece(i) & 0x80) != 0;
+	}
+
+	private int piece(int i)
+	{
+		return (int) (data[2 + i / 4] >>> (i % 4 * 16)) & 0xFFFF;
+	}
+
+	/**
+	 * @return a new position set up like the snapshot
+	 */
+	public Position toPosition()
+	{
+		Board<ChessPiece> b = Fen.newBoard(nRows(), nColumns());
+		for (int i = 0; i < pieces(); i++) {
+			int sq = square(i);
+			b.putPieceAt(factory.makePiece(descriptor(i)), makeCoordinate(x(sq), y(sq)));
+			if (moved(i)) b.setHasMoved(makeCoordinate(x(sq), y(sq)));
+		}
+		return new Position(b, sideToMove());
+	}
+
+	/**
+	 * @return the column of a square numbered like Zobrist.square()
+	 */
+	public static int x(int square)
+	{
+		return square % Zobrist.MAX_SIDE + 1;
+	}
+
+	/**
+	 * @return the row of a square numbered like Zobrist.square()
+	 */
+	public static int y(int square)
+	{
+		return square / Zobrist.MAX_SIDE + 1;
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+/**
+ * One reader of a DeltaStream, with its own position in it. A subscriber
+ * is used by one thread at a time; many subscribers can read the same stream
+ * at once without coordinating with each other or the producer.
+ * @version Oct 19, 2026
+ */
+public final class Subscriber
+{
+	private final DeltaStream stream;
+	private final long[] event = new long[DeltaStream.MAX_EVENT];
+	private final Keyframe frame = new Keyframe();
+	private long cursor;
+
+	Subscriber(DeltaStream stream, long cursor)
+	{
+		this.stream = stream;
+		this.cursor = cursor;
+		frame.wrap(event);
+	}
+
+	/**
+	 * Hand the events published since the last call to the handler, up to a
+	 * limit.
+	 * @param handler receives the events on this thread
+	 * @param max the most events to hand over
+	 * @return the number of events handed over, not counting overruns
+	 */
+	public int poll(DeltaHandler handler, int max)
+	{
+		int n = 0;
+		long available = stream.published.get();
+		while (n < max && cursor < available) {
+			int length = read();
+			if (length < 0) {
+				long resume = stream.published.get();
+				handler.onOverrun(resume - cursor);
+				cursor = resume;
+				available = resume;
+				continue;
+			}
+			cursor += length;
+			n++;
+			dispatch(handler);
+		}
+		return n;
+	}
+
+	/**
+	 * @return how many slots of events are waiting to be read
+	 */
+	public long lag()
+	{
+		return stream.published.get() - cursor;
+	}
+
+	/**
+	 * Copy the event at the cursor, then make sure the producer hadn't
+	 * started reusing its slots.
+	 * @return the event's length, or -1 if it was overwritten
+	 */
+	private int read()
+	{
+		int mask = stream.mask;
+		long header = stream.slots.get((int) cursor & mask);
+		int length = DeltaStream.length(header);
+		if (length >= 2 && length <= DeltaStream.MAX_EVENT) {
+			event[0] = header;
+			for (int i = 1; i < length; i++) event[i] = stream.slots.get((int) (cursor + i) & mask);
+		}
+		if (stream.claimed.get() - stream.capacity() > cursor) return -1;
+		if (length < 2 || length > DeltaStream.MAX_EVENT) throw new IllegalStateException("Bad event length " + length);
+		return length;
+	}
+
+	private void dispatch(DeltaHandler handler)
+	{
+		long header = event[0];
+		int game = DeltaStream.game(header);
+		long body = event[1];
+		switch (DeltaStream.kind(header)) {
+			case DeltaStream.MOVE:
+				handler.onMove(game, (int) (body >>> 32), (int) (body >>> 24) & 0xFF, (int) (body >>> 16) & 0xFF,
+						(int) (body >>> 8) & 0xFF, (int) body & 0xFF);
+				break;
+			case DeltaStream.UNDO:
+				handler.onUndo(game, (int) body);
+				break;
+			case DeltaStream.KEYFRAME:
+				handler.onKeyframe(game, frame.seq(), frame);
+				break;
+			default:
+				throw new IllegalStateException("Unknown event kind " + DeltaStream.kind(header));
+		}
+	}
+}
@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.uci;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import gpv.chess.engine.AnalysisCache;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MaterialEvaluator;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.PawnEvaluator;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Search;
+import gpv.chess.engine.SearchInfo;
+import gpv.chess.engine.SearchLimits;
+import gpv.chess.engine.SearchListener;
+import gpv.chess.engine.SearchOptions;
+import gpv.chess.engine.TranspositionTable;
+import gpv.chess.engine.nnue.NnueEvaluator;
+import gpv.chess.engine.nnue.NnueNetwork;
+import gpv.util.metrics.Metrics;
+
+/**
+ * A Universal Chess Interface front end over stdin/stdout. Commands are read
+ * on the calling thread and searches run on the Search thread, so "stop" and
+ * "isready" are answered while a search is in progress.
+ * @version Oct 19, 2026
+ */
+public class UciEngine implements SearchListener
+{
+	static final String NAME = "Chess-Using-Lambdas";
+	static final int DEFAULT_HASH_MB = 16;
+	static final int DEFAULT_ANALYSIS_MB = 64;
+	static final String[] SWITCHES = { "NullMove", "LateMoveReductions", "PVS", "AspirationWindows", "Futility" };
+
+	private final BufferedReader in;
+	private final PrintStream out;
+	private final TranspositionTable tt = new TranspositionTable(DEFAULT_HASH_MB);
+	private final Search search = new Search(tt, new PawnEvaluator(new MaterialEvaluator()));
+	private Position position = Fen.parse(Fen.STARTPOS);
+	private AnalysisCache analysisCache;
+
+	/**
+	 * Constructor.
+	 * @param in where commands come from
+	 * @param out where responses go
+	 */
+	public UciEngine(InputStream in, PrintStream out)
+	{
+		this.in = new BufferedReader(new InputStreamReader(in));
+		this.out = out;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		new UciEngine(System.in, System.out).run();
+	}
+
+	/**
+	 * Read and execute commands until "quit" or end of input.
+	 */
+	public void run() throws IOException
+	{
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (!execute(line.trim())) break;
+		}
+		search.stop();
+		search.waitForFinish();
+		closeAnalysisCache();
+	}
+
+	/**
+	 * Execute one command.
+	 * @return false if the engine should quit
+	 */
+	boolean execute(String line)
+	{
+		if (line.isEmpty()) return true;
+		List<String> tokens = Arrays.asList(line.split("\\s+"));
+		switch (tokens.get(0)) {
+			case "uci":
+				send("id name " + NAME);
+				send("id author gpv");
+				send("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max 4096");
+				for (String option : SWITCHES) send("option name " + option + " type check default true");
+				send("option name Ponder type check default false");
+				send("option name MultiPV type spin default 1 min 1 max " + Search.MAX_PLY);
+				send("option name EvalFile type string default <empty>");
+				send("option name AnalysisFile type string default <empty>");
+				send("uciok");
+				break;
+			case "isready":
+				send("readyok");
+				break;
+			case "setoption":
+				setOption(tokens);
+				break;
+			case "ucinewgame":
+				waitForSearch();
+				tt.clear();
+				position = Fen.parse(Fen.STARTPOS);
+				break;
+			case "position":
+				waitForSearch();
+				setPosition(tokens);
+				break;
+			case "go":
+				search.start(position, parseLimits(tokens), this);
+				break;
+			case "stop":
+				search.stop();
+				break;
+			case "ponderhit":
+				search.ponderhit();
+				break;
+			case "metrics":	// not part of UCI; dumps the metrics snapshot
+				for (String m : Metrics.snapshot().toString().split("\n")) send("info string " + m);
+				break;
+			case "quit":
+				return false;
+			default:
+				send("info string unknown command " + tokens.get(0));
+		}
+		return true;
+	}
+
+	/*
+	 * @see gpv.chess.engine.SearchListener#onInfo(gpv.chess.engine.SearchInfo)
+	 */
+	@Override
+	public void onInfo(SearchInfo info)
+	{
+		StringBuilder sb = new StringBuilder("info depth ").append(info.depth);
+		if (search.getMultiPv() > 1) sb.append(" multipv ").append(info.multipv);
+		if (info.isMate()) sb.append(" score mate ").append(info.mateIn());
+		else sb.append(" score cp ").append(info.score);
+		sb.append(" nodes ").append(info.nodes)
+			.append(" nps ").append(info.nps())
+			.append(" hashfull ").append(info.hashfull)
+			.append(" time ").append(info.timeMillis)
+			.append(" pv");
+		for (Move m : info.pv) sb.append(' ').append(m);
+		send(sb.toString());
+	}
+
+	/*
+	 * @see gpv.chess.engine.SearchListener#onBestMove(gpv.chess.engine.Move, gpv.chess.engine.Move)
+	 */
+	@Override
+	public void onBestMove(Move best, Move ponder)
+	{
+		if (best == null) send("bestmove 0000");
+		else if (ponder == null) send("bestmove " + best);
+		else send("bestmove " + best + " ponder " + ponder);
+	}
+
+	private void send(String s)
+	{
+		synchronized (out) {
+			out.println(s);
+			out.flush();
+		}
+	}
+
+	/**
+	 * The GUI shouldn't change the position during a search, but if it does
+	 * the search is finished first.
+	 */
+	private void waitForSearch()
+	{
+		if (search.isSearching()) {
+			search.stop();
+			search.waitForFinish();
+		}
+	}
+
+	private void setOption(List<String> tokens)
+	{
+		int name = tokens.indexOf("name");
+		int value = tokens.indexOf("value");
+		if (name < 0 || value < 0) return;
+		String option = String.join(" ", tokens.subList(name + 1, value));
+		if (option.equalsIgnoreCase("Hash")) {
+			waitForSearch();
+			Integer mb = intValue(tokens, value);
+			if (mb != null && mb > 0) tt.resize(mb);
+			return;
+		}
+		if (option.equalsIgnoreCase("MultiPV")) {
+			waitForSearch();
+			Integer lines = intValue(tokens, value);
+			if (lines != null) search.setMultiPv(Math.max(1, Math.min(Search.MAX_PLY, lines)));
+			return;
+		}
+		if (option.equalsIgnoreCase("AnalysisFile")) {
+			waitForSearch();
+			setAnalysisFile(value + 1 < tokens.size() ? String.join(" ", tokens.subList(value + 1, tokens.size())) : "");
+			return;
+		}
+		if (option.equalsIgnoreCase("EvalFile")) {
+			waitForSearch();
+			setEvalFile(value + 1 < tokens.size() ? String.join(" ", tokens.subList(value + 1, tokens.size())) : "");
+			return;
+		}
+		boolean on = value + 1 < tokens.size() && tokens.get(value + 1).equalsIgnoreCase("true");
+		SearchOptions options = search.getOptions().copy();	// a running search keeps the ones it started with
+		switch (option.toLowerCase()) {
+			case "nullmove": options.nullMove = on; break;
+			case "latemovereductions": options.lateMoveReductions = on; break;
+			case "pvs": options.principalVariation = on; break;
+			case "aspirationwindows": options.aspirationWindows = on; break;
+			case "futility": options.futility = on; break;
+			case "ponder": return;	// the GUI decides when to ponder
+			default:
+				send("info string unknown option " + option);
+				return;
+		}
+		search.setOptions(options);
+	}
+
+	/**
+	 * @return the number after "value", or null, having told the GUI, if
+	 * 	there isn't one
+	 */
+	private Integer intValue(List<String> tokens, int value)
+	{
+		String v = value + 1 < tokens.size() ? tokens.get(value + 1) : "";
+		try {
+			return Integer.parseInt(v);
+		}
+		catch (NumberFormatException e) {
+			send("info string bad option value " + v);
+			return null;
+		}
+	}
+
+	/**
+	 * Switch to the network in the file, or back to material and pawn
+	 * structure if there's no file. A file that can't be loaded leaves the
+	 * evaluator as it was.
+	 */
+	private void setEvalFile(String file)
+	{
+		if (file.isEmpty() || file.equals("<empty>")) {
+			search.setEvaluator(new PawnEvaluator(new MaterialEvaluator()));
+			return;
+		}
+		try {
+			search.setEvaluator(new NnueEvaluator(NnueNetwork.load(Paths.get(file))));
+			send("info string loaded network " + file);
+		}
+		catch (IOException e) {
+			send("info string can't load network " + file + ": " + e);
+		}
+	}
+
+	/**
+	 * Open a persistent analysis cache, or close the current one if there's
+	 * no file.
+	 */
+	private void setAnalysisFile(String file)
+	{
+		search.setAnalysisCache(null);
+		closeAnalysisCache();
+		if (file.isEmpty() || file.equals("<empty>")) return;
+		try {
+			analysisCache = AnalysisCache.open(Paths.get(file), DEFAULT_ANALYSIS_MB);
+			search.setAnalysisCache(analysisCache);
+			send("info string analysis cache " + file + " with " + analysisCache.capacity() + " entries");
+		}
+		catch (IOException e) {
+			send("info string can't open analysis cache " + file + ": " + e);
+		}
+	}
+
+	private void closeAnalysisCache()
+	{
+		if (analysisCache == null) return;
+		try {
+			analysisCache.close();
+		}
+		catch (IOException e) {
+			send("info string can't close analysis cache: " + e);
+		}
+		analysisCache = null;
+	}
+
+	private void setPosition(List<String> tokens)
+	{
+		int moves = tokens.indexOf("moves");
+		int end = moves < 0 ? tokens.size() : moves;
+		try {
+			if (tokens.size() > 1 && tokens.get(1).equals("fen")) {
+				position = Fen.parse(String.join(" ", tokens.subList(2, end)));
+			}
+			else {
+				position = Fen.parse(Fen.STARTPOS);
+			}
+			if (moves >= 0) {
+				for (String m : tokens.subList(moves + 1, tokens.size())) {
+					position.makeMove(Move.parse(m));
+				}
+			}
+		}
+		catch (RuntimeException e) {
+			send("info string bad position: " + e.getMessage());
+		}
+	}
+
+	static SearchLimits parseLimits(List<String> tokens)
+	{
+		SearchLimits limits = new SearchLimits();
+		for (int i = 1; i < tokens.size(); i++) {
+			String t = tokens.get(i);
+			String v = i + 1 < tokens.size() ? tokens.get(i + 1) : "0";
+			try {
+				switch (t) {
+					case "depth": limits.depth = Integer.parseInt(v); i++; break;
+					case "nodes": limits.nodes = Long.parseLong(v); i++; break;
+					case "movetime": limits.movetime = Long.parseLong(v); i++; break;
+					case "wtime": limits.wtime = Long.parseLong(v); i++; break;
+					case "btime": limits.btime = Long.parseLong(v); i++; break;
+					case "winc": limits.winc = Long.parseLong(v); i++; break;
+					case "binc": limits.binc = Long.parseLong(v); i++; break;
+					case "movestogo": limits.movestogo = Integer.parseInt(v); i++; break;
+					case "infinite": limits.infinite = true; break;
+					case "ponder": limits.ponder = true; break;
+					default: break;
+				}
+			}
+			catch (NumberFormatException e) {
+				// a limit with a bad value is left out; the value is skipped as an unknown token
+			}
+		}
+		return limits;
+	}
+}
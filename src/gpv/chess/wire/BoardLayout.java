@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Position;
+import gpv.chess.engine.Zobrist;
+import gpv.util.Board;
+
+/**
+ * A flat, versioned layout of a board for handing positions to other
+ * processes through a direct ByteBuffer or a shared memory-mapped region.
+ * Boards are written straight into the buffer and read back through a
+ * BoardView, so neither side builds ChessPiece or Coordinate objects.
+ * <br/>
+ * A board is little-endian and a multiple of eight bytes long, so boards
+ * can be packed back to back:
+ * <pre>
+ * 	int magic "GPVB", byte major version, byte minor version, short header bytes,
+ * 	byte rows, byte columns, byte flags (bit 0: black to move), byte unused,
+ * 	short halfmove clock, short pieces, long Zobrist hash,
+ * 	then one byte per square, rank by rank from (1, 1):
+ * 		0 if empty, else moved:1 | descriptor ordinal plus one:7
+ * </pre>
+ * A newer minor version only adds header fields, keeping the header a
+ * multiple of eight bytes, so readers accept any minor version of their
+ * major one and find the squares at the header length the board gives
+ * rather than at HEADER_BYTES. A change that older readers can't skip gets
+ * a new MAJOR_VERSION.
+ * <br/>
+ * Writing and reading use absolute gets and puts, so the buffer's position
+ * is never moved; the buffer's byte order doesn't matter either.
+ * @version Oct 19, 2026
+ */
+public final class BoardLayout
+{
+	public static final int MAGIC = 0x42565047;	// "GPVB" read little-endian
+	public static final int MAJOR_VERSION = 1;
+	public static final int MINOR_VERSION = 0;
+	public static final int HEADER_BYTES = 24;
+	public static final int BLACK_TO_MOVE = 0x01;
+	public static final int MOVED = 0x80;
+
+	static final int MAJOR_AT = 4;
+	static final int MINOR_AT = 5;
+	static final int HEADER_AT = 6;
+	static final int ROWS_AT = 8;
+	static final int COLUMNS_AT = 9;
+	static final int FLAGS_AT = 10;
+	static final int CLOCK_AT = 12;
+	static final int PIECES_AT = 14;
+	static final int HASH_AT = 16;
+
+	private BoardLayout()
+	{
+		// static methods only
+	}
+
+	/**
+	 * @return the bytes a board with these dimensions takes
+	 */
+	public static int size(int nRows, int nColumns)
+	{
+		return HEADER_BYTES + (nRows * nColumns + 7 & ~7);
+	}
+
+	/**
+	 * Write a position.
+	 * @param pos the position
+	 * @param into the buffer
+	 * @param offset where the board starts
+	 * @return the bytes written
+	 * @throws IndexOutOfBoundsException if the board doesn't fit
+	 */
+	public static int write(Position pos, ByteBuffer into, int offset)
+	{
+		return write(pos.getBoard(), pos.getSideToMove(), pos.getHalfmoveClock(), pos.getHash(), into, offset);
+	}
+
+	/**
+	 * Write a board on its own, with no halfmove clock.
+	 * @see #write(Position, ByteBuffer, int)
+	 */
+	public static int write(Board<ChessPiece> b, PlayerColor sideToMove, ByteBuffer into, int offset)
+	{
+		return write(b, sideToMove, 0, Zobrist.hash(b, sideToMove), into, offset);
+	}
+
+	private static int write(Board<ChessPiece> b, PlayerColor sideToMove, int clock, long hash, ByteBuffer into,
+			int offset)
+	{
+		int size = size(b.nRows, b.nColumns);
+		if (offset < 0 || offset + size > into.limit()) {
+			throw new IndexOutOfBoundsException("A " + b.nRows + "x" + b.nColumns + " board needs " + size + " bytes");
+		}
+		boolean little = into.order() == ByteOrder.LITTLE_ENDIAN;
+		int squares = offset + HEADER_BYTES;
+		for (int at = squares; at < offset + size; at += 8) into.putLong(at, 0L);
+		int columns = b.nColumns;
+		int[] pieces = new int[1];
+		b.forEachPiece((c, p) -> {
+			into.put(squares + (c.y - 1) * columns + c.x - 1,
+					(byte) ((b.hasMoved(c) ? MOVED : 0) | p.getDescriptor().ordinal() + 1));
+			pieces[0]++;
+		});
+		into.putInt(offset, little ? MAGIC : Integer.reverseBytes(MAGIC));
+		into.put(offset + MAJOR_AT, (byte) MAJOR_VERSION);
+		into.put(offset + MINOR_AT, (byte) MINOR_VERSION);
+		into.putShort(offset + HEADER_AT, order(little, HEADER_BYTES));
+		into.put(offset + ROWS_AT, (byte) b.nRows);
+		into.put(offset + COLUMNS_AT, (byte) b.nColumns);
+		into.put(offset + FLAGS_AT, (byte) (sideToMove == PlayerColor.BLACK ? BLACK_TO_MOVE : 0));
+		into.put(offset + FLAGS_AT + 1, (byte) 0);
+		into.putShort(offset + CLOCK_AT, order(little, Math.min(clock, Short.MAX_VALUE)));
+		into.putShort(offset + PIECES_AT, order(little, pieces[0]));
+		into.putLong(offset + HASH_AT, little ? hash : Long.reverseBytes(hash));
+		return size;
+	}
+
+	private static short order(boolean little, int value)
+	{
+		return little ? (short) value : Short.reverseBytes((short) value);
+	}
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.wire;
+
+import static gpv.util.Coordinate.makeCoordinate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.ChessPieceFactory;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Position;
+import gpv.util.Board;
+
+/**
+ * A read-only view of a board written in the BoardLayout. wrap() checks the
+ * header and every accessor decodes its field from the buffer when it is
+ * called, so looking at a few squares costs a few byte reads. One view can
+ * be moved from board to board with wrap(); it copies nothing, so the view
+ * sees whatever is in the buffer now.
+ * @version Oct 19, 2026
+ */
+public final class BoardView
+{
+	private static final ChessPieceFactory factory = new ChessPieceFactory();
+	private static final ChessPieceDescriptor[] DESCRIPTORS = ChessPieceDescriptor.values();
+
+	private ByteBuffer buffer;
+	private int offset;
+	private int squares;	// offset of square (1, 1)
+	private int nColumns;
+	private boolean little;
+
+	/**
+	 * Point the view at a board.
+	 * @param buffer the buffer holding it
+	 * @param offset where the board starts
+	 * @return this view
+	 * @throws IllegalArgumentException if there is no board of a known
+	 * 	major version there
+	 */
+	public BoardView wrap(ByteBuffer buffer, int offset)
+	{
+		if (offset < 0 || offset + BoardLayout.HEADER_BYTES > buffer.limit()) {
+			throw new IllegalArgumentException("No board header at " + offset);
+		}
+		int magic = buffer.getInt(offset);
+		boolean little = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+		if ((little ? magic : Integer.reverseBytes(magic)) != BoardLayout.MAGIC) {
+			throw new IllegalArgumentException("No board at " + offset);
+		}
+		this.buffer = buffer;
+		this.offset = offset;
+		this.little = little;
+		int major = buffer.get(offset + BoardLayout.MAJOR_AT) & 0xFF;
+		int header = getShort(BoardLayout.HEADER_AT);
+		if (major != BoardLayout.MAJOR_VERSION) {
+			this.buffer = null;
+			throw new IllegalArgumentException("Unknown board version " + major);
+		}
+		if (header < BoardLayout.HEADER_BYTES || header % 8 != 0) {
+			this.buffer = null;
+			throw new IllegalArgumentException("Bad board header length " + header);
+		}
+		this.squares = offset + header;
+		this.nColumns = nColumns();
+		if (offset + length() > buffer.limit()) {
+			this.buffer = null;
+			throw new IllegalArgumentException("Board at " + offset + " runs past the buffer");
+		}
+		return this;
+	}
+
+	/**
+	 * @return the bytes the board takes, so the next one starts at
+	 * 	offset + length()
+	 */
+	public int length()
+	{
+		return squares - offset + (nRows() * nColumns + 7 & ~7);
+	}
+
+	public int nRows()
+	{
+		return buffer.get(offset + BoardLayout.ROWS_AT) & 0xFF;
+	}
+
+	public int nColumns()
+	{
+		return buffer.get(offset + BoardLayout.COLUMNS_AT) & 0xFF;
+	}
+
+	public PlayerColor sideToMove()
+	{
+		return (buffer.get(offset + BoardLayout.FLAGS_AT) & BoardLayout.BLACK_TO_MOVE) != 0
+				? PlayerColor.BLACK : PlayerColor.WHITE;
+	}
+
+	public int halfmoveClock()
+	{
+		return getShort(BoardLayout.CLOCK_AT);
+	}
+
+	/**
+	 * @return the number of pieces on the board
+	 */
+	public int pieces()
+	{
+		return getShort(BoardLayout.PIECES_AT);
+	}
+
+	/**
+	 * @return the position's Zobrist hash, as Position.getHash()
+	 */
+	public long hash()
+	{
+		long hash = buffer.getLong(offset + BoardLayout.HASH_AT);
+		return little ? hash : Long.reverseBytes(hash);
+	}
+
+	/**
+	 * @return the descriptor of the piece on a square or null if it's empty
+	 */
+	public ChessPieceDescriptor descriptorAt(int x, int y)
+	{
+		int b = square(x, y) & 0x7F;
+		return b == 0 ? null : DESCRIPTORS[b - 1];
+	}
+
+	/**
+	 * @return the piece on a square or null; pieces are the shared flyweights
+	 */
+	public ChessPiece pieceAt(int x, int y)
+	{
+		ChessPieceDescriptor d = descriptorAt(x, y);
+		return d == null ? null : factory.makePiece(d);
+	}
+
+	public boolean isEmpty(int x, int y)
+	{
+		return square(x, y) == 0;
+	}
+
+	/**
+	 * @return true if the board records the piece on a square as having moved
+	 */
+	public boolean hasMoved(int x, int y)
+	{
+		return (square(x, y) & BoardLayout.MOVED) != 0;
+	}
+
+	/**
+	 * @return a new position with the board, side to move and halfmove clock
+	 */
+	public Position toPosition()
+	{
+		int rows = nRows();
+		Board<ChessPiece> b = Fen.newBoard(rows, nColumns);
+		for (int y = 1; y <= rows; y++) {
+			for (int x = 1; x <= nColumns; x++) {
+				int s = square(x, y);
+				if (s == 0) continue;
+				b.putPieceAt(factory.makePiece(DESCRIPTORS[(s & 0x7F) - 1]), makeCoordinate(x, y));
+				if ((s & BoardLayout.MOVED) != 0) b.setHasMoved(makeCoordinate(x, y));
+			}
+		}
+		return new Position(b, sideToMove(), halfmoveClock());
+	}
+
+	private int square(int x, int y)
+	{
+		if (x < 1 || x > nColumns || y < 1 || y > nRows()) {
+			throw new IndexOutOfBoundsException("(" + x + ", " + y + ") is not on the board");
+		}
+		return buffer.get(squares + (y - 1) * nColumns + x - 1) & 0xFF;
+	}
+
+	private int getShort(int at)
+	{
+		short s = buffer.getShort(offset + at);
+		return (little ? s : Short.reverseBytes(s)) & 0xFFFF;
+	}
+}
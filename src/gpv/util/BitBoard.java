@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import gpv.Piece;
+
+/**
+ * A board of any size up to 16x16, for variants such as 10x8 or 12x12.
+ * Squares are laid out 16 to a rank whatever the board's width, so square
+ * (x, y) is bit (y-1)*16 + (x-1) of a 256 bit set held in four longs. One set
+ * records the occupied squares and another the squares that are on the
+ * board, which makes the edge test a mask plus one bit test and lets a rank
+ * be checked for blockers with a single AND.
+ * <br/>
+ * The pieces themselves are kept in a 256 element array indexed the same
+ * way. Pieces can only be placed on the board.
+ * <br/>
+ * For move generation the board also hands out squares as sets: ray() gives
+ * what a slider reaches up to the first piece in its way, using the
+ * classical ray tables, and leaps() builds tables of leaper targets. Both
+ * know only geometry; what a piece may really do is still up to its
+ * canMove().
+ * @version Oct 19, 2026
+ * @param <P> the type of piece
+ */
+public class BitBoard<P extends Piece<?>> extends Board<P>
+{
+	public static final int MAX_SIDE = 16;
+	public static final int WORDS = MAX_SIDE * MAX_SIDE / 64;
+	public static final int DIRECTIONS = 8;
+	// east, north-east, north, north-west, then the same negated: the first four step up the bit order
+	private static final int[] DX = { 1, 1, 0, -1, -1, -1, 0, 1 };
+	private static final int[] DY = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	private static final long[][][] RAYS = new long[DIRECTIONS][MAX_SIDE * MAX_SIDE][];
+	static {
+		for (int d = 0; d < DIRECTIONS; d++) {
+			for (int sq = 0; sq < MAX_SIDE * MAX_SIDE; sq++) {
+				long[] ray = new long[WORDS];
+				for (int x = (sq & 15) + DX[d], y = (sq >>> 4) + DY[d]; ((x | y) & -MAX_SIDE) == 0; x += DX[d], y += DY[d]) {
+					int to = y << 4 | x;
+					ray[to >>> 6] |= 1L << to;
+				}
+				RAYS[d][sq] = ray;
+			}
+		}
+	}
+
+	private final Object[] squares;
+	private final long[] occupied;
+	private final long[] inside;
+
+	/**
+	 * Constructor for an empty board.
+	 * @param maxRows between 1 and MAX_SIDE
+	 * @param maxColumns between 1 and MAX_SIDE
+	 * @throws IllegalArgumentException if the board is too big
+	 */
+	public BitBoard(int maxRows, int maxColumns)
+	{
+		super(maxRows, maxColumns, (Map<Coordinate, P>) null);
+		if (maxColumns < 1 || maxColumns > MAX_SIDE) {
+			throw new IllegalArgumentException("A BitBoard can't have " + maxColumns + " columns");
+		}
+		squares = new Object[MAX_SIDE * MAX_SIDE];
+		occupied = new long[WORDS];
+		inside = new long[WORDS];
+		setnRows(maxRows);
+	}
+
+	/**
+	 * Copy constructor. Pieces are shared with the original.
+	 * @param other
+	 */
+	public BitBoard(BitBoard<P> other)
+	{
+		super(other, null);
+		squares = Arrays.copyOf(other.squares, other.squares.length);
+		occupied = Arrays.copyOf(other.occupied, WORDS);
+		inside = Arrays.copyOf(other.inside, WORDS);
+	}
+
+	/*
+	 * @see gpv.util.Board#copy()
+	 */
+	@Override
+	public Board<P> copy()
+	{
+		return new BitBoard<P>(this);
+	}
+
+	/**
+	 * @return the bit index of the coordinate, or -1 if it can't be on any
+	 * 	board this size
+	 */
+	public static int square(int x, int y)
+	{
+		x--;
+		y--;
+		return ((x | y) & -MAX_SIDE) == 0 ? y << 4 | x : -1;
+	}
+
+	/**
+	 * @return the coordinate of a bit index
+	 */
+	public static Coordinate coordinate(int square)
+	{
+		return Coordinate.makeCoordinate((square & 15) + 1, (square >>> 4) + 1);
+	}
+
+	/**
+	 * Leaper targets, ignoring the edges of any particular board.
+	 * @return for every square of a 16x16 board, the set of squares (dx, dy)
+	 * 	away from it in any of the eight directions the leap can be turned
+	 */
+	public static long[][] leaps(int dx, int dy)
+	{
+		long[][] table = new long[MAX_SIDE * MAX_SIDE][WORDS];
+		int[][] turns = { {dx, dy}, {dy, dx}, {-dy, dx}, {-dx, dy}, {-dx, -dy}, {-dy, -dx}, {dy, -dx}, {dx, -dy} };
+		for (int sq = 0; sq < MAX_SIDE * MAX_SIDE; sq++) {
+			for (int[] t : turns) {
+				int x = (sq & 15) + t[0];
+				int y = (sq >>> 4) + t[1];
+				if (((x | y) & -MAX_SIDE) != 0) continue;
+				int to = y << 4 | x;
+				table[sq][to >>> 6] |= 1L << to;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Add the squares a slider on a square reaches in one direction: every
+	 * empty one up to the edge or the first occupied one, which is included.
+	 * @param square the bit index
+	 * @param direction 0 to DIRECTIONS - 1, counter-clockwise from +x
+	 * @param into the set to add to
+	 */
+	public void ray(int square, int direction, long[] into)
+	{
+		long[] ray = RAYS[direction][square];
+		int blocker = -1;
+		if (direction < DIRECTIONS / 2) {
+			for (int w = 0; w < WORDS && blocker < 0; w++) {
+				long hit = ray[w] & occupied[w];
+				if (hit != 0) blocker = w << 6 | Long.numberOfTrailingZeros(hit);
+			}
+		}
+		else {
+			for (int w = WORDS - 1; w >= 0 && blocker < 0; w--) {
+				long hit = ray[w] & occupied[w];
+				if (hit != 0) blocker = w << 6 | 63 - Long.numberOfLeadingZeros(hit);
+			}
+		}
+		if (blocker < 0) {
+			for (int w = 0; w < WORDS; w++) into[w] |= ray[w] & inside[w];
+		}
+		else {
+			long[] beyond = RAYS[direction][blocker];
+			for (int w = 0; w < WORDS; w++) into[w] |= ray[w] & ~beyond[w] & inside[w];
+		}
+	}
+
+	/**
+	 * Keep only the squares of the set that are on the board.
+	 */
+	public void retainInside(long[] set)
+	{
+		for (int w = 0; w < WORDS; w++) set[w] &= inside[w];
+	}
+
+	/**
+	 * Keep only the squares of the set that hold a piece.
+	 */
+	public void retainOccupied(long[] set)
+	{
+		for (int w = 0; w < WORDS; w++) set[w] &= occupied[w];
+	}
+
+	/**
+	 * @return the piece on a bit index, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public P pieceAt(int square)
+	{
+		return (P) squares[square];
+	}
+
+	/**
+	 * @return true if the bit is set in the 256 bit set
+	 */
+	private static boolean test(long[] bits, int square)
+	{
+		return (bits[square >>> 6] & 1L << square) != 0;
+	}
+
+	/**
+	 * @return true if there is a piece on (x, y), without looking it up
+	 */
+	public boolean isOccupied(int x, int y)
+	{
+		int sq = square(x, y);
+		return sq >= 0 && test(occupied, sq);
+	}
+
+	/**
+	 * @return the number of pieces on the board
+	 */
+	public int pieceCount()
+	{
+		int n = 0;
+		for (long w : occupied) n += Long.bitCount(w);
+		return n;
+	}
+
+	/*
+	 * @see gpv.util.Board#isOnBoard(gpv.util.Coordinate)
+	 */
+	@Override
+	public boolean isOnBoard(Coordinate c)
+	{
+		int sq = square(c.x, c.y);
+		return sq >= 0 && test(inside, sq);
+	}
+
+	/**
+	 * Squares on one rank share a word, so the blockers between them are
+	 * found with one mask. Files and diagonals test one bit per square.
+	 * @see gpv.util.Board#isEmptyBetween(gpv.util.Coordinate, gpv.util.Coordinate)
+	 */
+	@Override
+	public boolean isEmptyBetween(Coordinate from, Coordinate to)
+	{
+		int a = square(from.x, from.y);
+		int b = square(to.x, to.y);
+		if (from.y == to.y) {
+			int lo = Math.min(a, b) & 63;
+			int hi = Math.max(a, b) & 63;
+			long between = (1L << hi) - (1L << lo << 1);
+			return (occupied[a >>> 6] & between) == 0;
+		}
+		int step = Integer.signum(to.y - from.y) * MAX_SIDE + Integer.signum(to.x - from.x);
+		for (int sq = a + step; sq != b; sq += step) {
+			if (test(occupied, sq)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Rows can be added or removed up to MAX_SIDE.
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		if (nRows < 1 || nRows > MAX_SIDE) {
+			throw new IllegalArgumentException("A BitBoard can't have " + nRows + " rows");
+		}
+		super.setnRows(nRows);
+		Arrays.fill(inside, 0L);
+		long rank = (1L << nColumns) - 1;
+		for (int y = 0; y < nRows; y++) {
+			inside[y >>> 2] |= rank << ((y & 3) << 4);
+		}
+	}
+
+	/**
+	 * Visits the occupied squares by scanning the set bits, rank by rank.
+	 * @see gpv.util.Board#forEachPiece(java.util.function.BiConsumer)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEachPiece(BiConsumer<Coordinate, ? super P> action)
+	{
+		for (int w = 0; w < WORDS; w++) {
+			for (long bits = occupied[w]; bits != 0; bits &= bits - 1) {
+				int sq = w << 6 | Long.numberOfTrailingZeros(bits);
+				action.accept(Coordinate.makeCoordinate((sq & 15) + 1, (sq >>> 4) + 1), (P) squares[sq]);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P get(Coordinate c)
+	{
+		int sq = square(c.x, c.y);
+		return sq >= 0 ? (P) squares[sq] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P set(Coordinate c, P p)
+	{
+		if (!isOnBoard(c)) throw new IllegalArgumentException(c + " is not on the board");
+		int sq = square(c.x, c.y);
+		P old = (P) squares[sq];
+		squares[sq] = p;
+		if (p == null) occupied[sq >>> 6] &= ~(1L << sq);
+		else occupied[sq >>> 6] |= 1L << sq;
+		return old;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P clear(Coordinate c)
+	{
+		int sq = square(c.x, c.y);
+		if (sq < 0) return null;
+		P old = (P) squares[sq];
+		squares[sq] = null;
+		occupied[sq >>> 6] &= ~(1L << sq);
+		return old;
+	}
+
+	@Override
+	protected void clearAll()
+	{
+		Arrays.fill(squares, null);
+		Arrays.fill(occupied, 0L);
+	}
+}
@@ -13,18 +13,32 @@
 package gpv.util;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import gpv.Piece;
+import gpv.util.metrics.Counter;
+import gpv.util.metrics.Metrics;
 
 /**
- * Class for a rectangular board made up of squares
+ * Class for a rectangular board made up of squares. The type parameter is the
+ * kind of piece the board holds, so clients get pieces back without casting.
+ * <br/>
+ * This implementation keeps the pieces in a HashMap and works for any size,
+ * including pieces placed off the board. Subclasses such as MailboxBoard
+ * store the squares differently by overriding the storage methods.
  * @version Feb 23, 2020
+ * @param <P> the type of piece
  */
-public class Board
+public class Board<P extends Piece<?>>
 {
-	Map<Coordinate, Piece> board;
+	private static final Counter hits = Metrics.counter("board.getPieceAt.hits");
+	private static final Counter misses = Metrics.counter("board.getPieceAt.misses");
+	
+	Map<Coordinate, P> board;	// null when a subclass stores the squares itself
 	public int nRows;
 	public int nColumns;
+	private long[] moved;	// one bit per square, set if the piece on it has moved
+	private long hash;	// XOR of squareKey() for every occupied square and movedKey() for every moved bit
 	
 	/**
 	 * Constructor for an uninitialized board with given dimensions.
@@ -32,10 +46,50 @@ public class Board
 	 * @param maxColumns
 	 */
 	public Board(int maxRows, int maxColumns)
+	{
+		this(maxRows, maxColumns, new HashMap<Coordinate, P>());
+	}
+	
+	/**
+	 * Constructor for subclasses that provide their own storage.
+	 * @param maxRows
+	 * @param maxColumns
+	 * @param storage the map of pieces or null if the subclass overrides
+	 * 	the storage methods
+	 */
+	protected Board(int maxRows, int maxColumns, Map<Coordinate, P> storage)
 	{
 		nRows = maxRows;
 		nColumns = maxColumns;
-		board = new HashMap<Coordinate, Piece>();
+		board = storage;
+		moved = new long[(maxRows * maxColumns + 63) >>> 6];
+	}
+	
+	/**
+	 * Copy constructor. Pieces are shared with the original, which is safe
+	 * because pieces don't carry any per-game state. The copy keeps its
+	 * pieces in a map whatever the original stores them in.
+	 * @param other the board to copy
+	 */
+	public Board(Board<P> other)
+	{
+		this(other, new HashMap<Coordinate, P>());
+		if (other.board != null) board.putAll(other.board);
+		else other.forEachPiece(board::put);
+	}
+	
+	/**
+	 * Copy constructor for subclasses, which copy their own squares.
+	 * @param other the board to copy the size, moved flags and hash of
+	 * @param storage as for Board(int, int, Map)
+	 */
+	protected Board(Board<P> other, Map<Coordinate, P> storage)
+	{
+		nRows = other.nRows;
+		nColumns = other.nColumns;
+		board = storage;
+		moved = other.moved.clone();
+		hash = other.hash;
 	}
 	
 	/**
@@ -51,12 +105,45 @@ public class Board
 		reset(initializers);
 	}
 	
+	/**
+	 * @return a copy of this board of the same kind
+	 */
+	public Board<P> copy()
+	{
+		return new Board<P>(this);
+	}
+	
 	/**
 	 * @return the piece at the given coordinate or null if none.
 	 */
-	public Piece getPieceAt(Coordinate c)
+	public P getPieceAt(Coordinate c)
 	{
-		return board.get(c);
+		P p = get(c);
+		if (Metrics.ENABLED) (p == null ? misses : hits).increment();
+		return p;
+	}
+	
+	/**
+	 * @return true if the coordinate is on the board
+	 */
+	public boolean isOnBoard(Coordinate c)
+	{
+		return 0 < c.x && c.x <= nColumns && 0 < c.y && c.y <= nRows;
+	}
+	
+	/**
+	 * Check that nothing stands between two squares on the same rank, file or
+	 * diagonal, not counting the squares themselves.
+	 * @return true if every square strictly between from and to is empty
+	 */
+	public boolean isEmptyBetween(Coordinate from, Coordinate to)
+	{
+		int stepX = Integer.signum(to.x - from.x);
+		int stepY = Integer.signum(to.y - from.y);
+		for (int x = from.x + stepX, y = from.y + stepY; x != to.x || y != to.y; x += stepX, y += stepY) {
+			if (get(Coordinate.makeCoordinate(x, y)) != null) return false;
+		}
+		return true;
 	}
 	
 	/**
@@ -64,24 +151,162 @@ public class Board
 	 * @param initializers a configuration consisting of a list of 
 	 * 	SquareInitializers for those squares containing pieces.
 	 */
+	@SuppressWarnings("unchecked")
 	public void reset(List<SquareInitializer> initializers)
 	{
-		board.clear();
+		clearAll();
+		Arrays.fill(moved, 0L);
+		hash = 0;
 		for (SquareInitializer si : initializers) {
-			board.put(si.getSquare(), si.getPiece());
+			putPieceAt((P) si.getPiece(), si.getSquare());
 		}
 	}
 	
 	/**
-	 * Place a piece p at the given location
+	 * Place a piece p at the given location. The piece starts out as not
+	 * having moved.
 	 * @param p the piece to place
 	 * @param c the coordinate of the square
-	 * @return the piece that was placed
+	 * @return the piece that was on the square before, or null
+	 */
+	public P putPieceAt(P p, Coordinate c)
+	{
+		clearHasMoved(c);
+		P old = set(c, p);
+		if (old != null) hash ^= squareKey(old, c);
+		if (p != null) hash ^= squareKey(p, c);
+		return old;
+	}
+	
+	/**
+	 * Remove whatever piece is on the given square.
+	 * @param c the coordinate of the square
+	 * @return the piece that was removed or null if the square was empty
+	 */
+	public P removePieceAt(Coordinate c)
+	{
+		clearHasMoved(c);
+		P old = clear(c);
+		if (old != null) hash ^= squareKey(old, c);
+		return old;
+	}
+	
+	/**
+	 * @return true if the piece on c has moved. Squares off the board never
+	 * 	have a moved piece.
+	 */
+	public boolean hasMoved(Coordinate c)
+	{
+		int i = squareIndex(c);
+		return i >= 0 && (moved[i >>> 6] & 1L << i) != 0;
+	}
+	
+	/**
+	 * Record that the piece on c has moved, which matters for rules such as
+	 * castling and a pawn's first move. The flag is cleared when the square
+	 * is emptied or another piece is put on it. Ignored for squares off the
+	 * board.
+	 * @param c the coordinate of the square
 	 */
-	public Piece putPieceAt(Piece p, Coordinate c)
+	public void setHasMoved(Coordinate c)
+	{
+		int i = squareIndex(c);
+		if (i < 0 || (moved[i >>> 6] & 1L << i) != 0) return;
+		moved[i >>> 6] |= 1L << i;
+		hash ^= movedKey(i);
+	}
+	
+	private void clearHasMoved(Coordinate c)
+	{
+		int i = squareIndex(c);
+		if (i < 0 || (moved[i >>> 6] & 1L << i) == 0) return;
+		moved[i >>> 6] &= ~(1L << i);
+		hash ^= movedKey(i);
+	}
+	
+	/**
+	 * @return the bit index of the square or -1 if it is off the board
+	 */
+	private int squareIndex(Coordinate c)
+	{
+		if (!isOnBoard(c)) return -1;
+		int i = (c.y - 1) * nColumns + (c.x - 1);
+		return (i >>> 6) < moved.length ? i : -1;	// only if nRows was assigned directly
+	}
+	
+	/**
+	 * A hash of the piece placement and moved flags that is updated on every
+	 * change. Pieces are hashed by identity; since chess pieces are shared
+	 * per descriptor, equal positions have equal hashes.
+	 * @return the hash
+	 */
+	public long getHash()
+	{
+		return hash;
+	}
+	
+	private static long movedKey(int square)
+	{
+		long h = (square + 1) * 0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		return h ^ (h >>> 33);
+	}
+	
+	/**
+	 * @return a well mixed 64 bit key for a piece on a square
+	 */
+	private static long squareKey(Piece<?> p, Coordinate c)
+	{
+		long h = (long) System.identityHashCode(p) << 32 ^ (c.x & 0xFFFFL) << 16 ^ (c.y & 0xFFFFL);
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+	
+	/**
+	 * Visit every occupied square on the board. The order is unspecified and
+	 * the action must not modify the board. Squares that had a null piece put
+	 * on them are skipped.
+	 * @param action receives the coordinate and the piece on it
+	 */
+	public void forEachPiece(BiConsumer<Coordinate, ? super P> action)
+	{
+		board.forEach((c, p) -> { if (p != null) action.accept(c, p); });
+	}
+	
+	/**
+	 * Storage hook: read a square.
+	 */
+	protected P get(Coordinate c)
+	{
+		return board.get(c);
+	}
+	
+	/**
+	 * Storage hook: write a square.
+	 * @return the previous piece or null
+	 */
+	protected P set(Coordinate c, P p)
 	{
 		return board.put(c, p);
 	}
+	
+	/**
+	 * Storage hook: empty a square.
+	 * @return the previous piece or null
+	 */
+	protected P clear(Coordinate c)
+	{
+		return board.remove(c);
+	}
+	
+	/**
+	 * Storage hook: empty every square.
+	 */
+	protected void clearAll()
+	{
+		board.clear();
+	}
 
 	/**
 	 * @return the nColumns
@@ -92,10 +317,20 @@ public class Board
 	}
 
 	/**
-	 * @param nRows the nRows to set
+	 * @return the nRows
+	 */
+	public int getnRows()
+	{
+		return nRows;
+	}
+
+	/**
+	 * @param nRows the nRows to set; the moved flags grow to cover new rows
 	 */
 	public void setnRows(int nRows)
 	{
 		this.nRows = nRows;
+		int words = (nRows * nColumns + 63) >>> 6;
+		if (words > moved.length) moved = Arrays.copyOf(moved, words);
 	}
 }
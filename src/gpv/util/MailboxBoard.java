@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import gpv.Piece;
+
+/**
+ * An 8x8 board stored as a flat 0x88 mailbox: square (x, y) lives at index
+ * (y-1)*16 + (x-1) of a 128 element array. The right half of each 16 wide
+ * rank is never used, so a square index is off the board exactly when one of
+ * the bits in 0x88 is set and the edge test is a single mask instead of four
+ * range comparisons.
+ * <br/>
+ * It behaves like the HashMap backed Board except that pieces can only be
+ * placed on the board and it can't be resized.
+ * @version Oct 19, 2026
+ * @param <P> the type of piece
+ */
+public class MailboxBoard<P extends Piece<?>> extends Board<P>
+{
+	public static final int SIZE = 8;
+	private static final int OFF_BOARD = 0x88;
+
+	private final Object[] squares;
+
+	/**
+	 * Constructor for an empty 8x8 board.
+	 */
+	public MailboxBoard()
+	{
+		super(SIZE, SIZE, (Map<Coordinate, P>) null);
+		squares = new Object[128];
+	}
+
+	/**
+	 * Constructor that sets up the pieces.
+	 * @param initializers
+	 */
+	public MailboxBoard(List<SquareInitializer> initializers)
+	{
+		this();
+		reset(initializers);
+	}
+
+	/**
+	 * Copy constructor. Pieces are shared with the original.
+	 * @param other
+	 */
+	public MailboxBoard(MailboxBoard<P> other)
+	{
+		super(other, null);
+		squares = Arrays.copyOf(other.squares, other.squares.length);
+	}
+
+	/*
+	 * @see gpv.util.Board#copy()
+	 */
+	@Override
+	public Board<P> copy()
+	{
+		return new MailboxBoard<P>(this);
+	}
+
+	/**
+	 * @return the mailbox index of the coordinate, which may be off the board
+	 */
+	public static int square(int x, int y)
+	{
+		return (y - 1) << 4 | (x - 1);
+	}
+
+	/**
+	 * @return true if the mailbox index is not a square on the board
+	 */
+	public static boolean offBoard(int square)
+	{
+		return (square & OFF_BOARD) != 0;
+	}
+
+	/**
+	 * Any coordinate outside 1..8 has a bit above the low three set once it
+	 * is made zero based, negative values included.
+	 * @see gpv.util.Board#isOnBoard(gpv.util.Coordinate)
+	 */
+	@Override
+	public boolean isOnBoard(Coordinate c)
+	{
+		return (((c.x - 1) | (c.y - 1)) & ~7) == 0;
+	}
+
+	/**
+	 * Walks the mailbox by index, one add per square.
+	 * @see gpv.util.Board#isEmptyBetween(gpv.util.Coordinate, gpv.util.Coordinate)
+	 */
+	@Override
+	public boolean isEmptyBetween(Coordinate from, Coordinate to)
+	{
+		int step = Integer.signum(to.y - from.y) * 16 + Integer.signum(to.x - from.x);
+		int target = square(to.x, to.y);
+		for (int sq = square(from.x, from.y) + step; sq != target; sq += step) {
+			if (squares[sq] != null) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The mailbox can't change size, so 8 rows is the only value accepted,
+	 * and it changes nothing.
+	 * @throws IllegalArgumentException for any other number of rows
+	 * @see gpv.util.Board#setnRows(int)
+	 */
+	@Override
+	public void setnRows(int nRows)
+	{
+		if (nRows != SIZE) throw new IllegalArgumentException("A MailboxBoard can't have " + nRows + " rows");
+	}
+
+	/*
+	 * @see gpv.util.Board#forEachPiece(java.util.function.BiConsumer)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEachPiece(BiConsumer<Coordinate, ? super P> action)
+	{
+		for (int sq = 0; sq < squares.length; sq = (sq + 9) & ~8) {
+			if (squares[sq] != null) {
+				action.accept(Coordinate.makeCoordinate((sq & 7) + 1, (sq >>> 4) + 1), (P) squares[sq]);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P get(Coordinate c)
+	{
+		return isOnBoard(c) ? (P) squares[square(c.x, c.y)] : null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P set(Coordinate c, P p)
+	{
+		if (!isOnBoard(c)) throw new IllegalArgumentException(c + " is not on the board");
+		int sq = square(c.x, c.y);
+		P old = (P) squares[sq];
+		squares[sq] = p;
+		return old;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected P clear(Coordinate c)
+	{
+		if (!isOnBoard(c)) return null;
+		int sq = square(c.x, c.y);
+		P old = (P) squares[sq];
+		squares[sq] = null;
+		return old;
+	}
+
+	@Override
+	protected void clearAll()
+	{
+		Arrays.fill(squares, null);
+	}
+}
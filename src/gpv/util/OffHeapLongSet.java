@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of longs, such as position hashes, kept outside the Java heap so
+ * that billions of them fit: each slot is one long, so with the table sized
+ * for the expected count the set costs a little over 8 bytes per element and
+ * no objects. The slots are either direct memory or, to spill to disk, a
+ * memory-mapped scratch file that the operating system pages in and out.
+ * <br/>
+ * The table is open addressing with linear probing over any number of slots,
+ * split into mappings of at most 2^27 longs since one buffer can't pass 2GB.
+ * 0 marks an empty slot, so the value 0 is tracked on its own. The set
+ * does not grow; add() throws once it is full.
+ * <br/>
+ * Any number of threads can add at once. A slot only ever goes from empty
+ * to full, so probing needs no lock; only the write of an empty slot takes
+ * the lock of the stripe holding it, and two threads adding the same value
+ * meet at the same empty slot. contains() reads without a lock too, but
+ * before answering false it re-reads the empty slot that ended the probe
+ * under that slot's stripe lock, so it sees every add() that returned
+ * before it was called.
+ * @version Oct 19, 2026
+ */
+public class OffHeapLongSet implements AutoCloseable
+{
+	public static final double LOAD_FACTOR = 0.85;
+	private static final int SEGMENT_BITS = 27;
+	private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+	private static final int STRIPES = 4096;
+
+	private final long capacity;
+	private final LongBuffer[] segments;
+	private final Object[] stripes = new Object[STRIPES];
+	private final LongAdder size = new LongAdder();
+	private final FileChannel channel;	// null unless spilled to a file
+	private final Path file;
+	private volatile boolean containsZero;
+
+	private OffHeapLongSet(long capacity, FileChannel channel, Path file) throws IOException
+	{
+		this.capacity = capacity;
+		this.channel = channel;
+		this.file = file;
+		segments = new LongBuffer[(int) ((capacity + SEGMENT_MASK) >>> SEGMENT_BITS)];
+		for (int s = 0; s < segments.length; s++) {
+			long longs = Math.min(capacity - ((long) s << SEGMENT_BITS), 1L << SEGMENT_BITS);
+			ByteBuffer bytes = channel == null ? ByteBuffer.allocateDirect((int) longs * 8)
+					: channel.map(FileChannel.MapMode.READ_WRITE, ((long) s << SEGMENT_BITS) * 8, longs * 8);
+			segments[s] = bytes.order(ByteOrder.nativeOrder()).asLongBuffer();
+		}
+		for (int i = 0; i < STRIPES; i++) stripes[i] = new Object();
+	}
+
+	/**
+	 * Make a set in direct memory, which counts against -XX:MaxDirectMemorySize.
+	 * @param expected the most elements it will hold
+	 * @return the empty set
+	 */
+	public static OffHeapLongSet inMemory(long expected)
+	{
+		try {
+			return new OffHeapLongSet(slotsFor(expected), null, null);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);	// nothing to read or write
+		}
+	}
+
+	/**
+	 * Make a set in a scratch file, for sets larger than memory. The file is
+	 * created or emptied now and deleted by close().
+	 * @param file the scratch file
+	 * @param expected the most elements it will hold
+	 * @return the empty set
+	 * @throws IOException if the file can't be created or mapped
+	 */
+	public static OffHeapLongSet spilled(Path file, long expected) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			return new OffHeapLongSet(slotsFor(expected), channel, file);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static long slotsFor(long expected)
+	{
+		if (expected < 0) throw new IllegalArgumentException("Negative size " + expected);
+		long slots = (long) Math.ceil(expected / LOAD_FACTOR) + 1;
+		if (slots >= 1L << 32) throw new IllegalArgumentException("Too many elements " + expected);
+		return Math.max(slots, 16);
+	}
+
+	/**
+	 * @return the number of slots, each 8 bytes
+	 */
+	public long capacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * @return the number of elements
+	 */
+	public long size()
+	{
+		return size.sum() + (containsZero ? 1 : 0);
+	}
+
+	/**
+	 * @return the bytes of slot storage per element
+	 */
+	public double bytesPerElement()
+	{
+		long n = size();
+		return n == 0 ? 0 : 8.0 * capacity / n;
+	}
+
+	/**
+	 * @param value
+	 * @return true if the value was not in the set and now is
+	 * @throws IllegalStateException if there is no room for it
+	 */
+	public boolean add(long value)
+	{
+		if (value == 0) {
+			synchronized (stripes[0]) {
+				if (containsZero) return false;
+				containsZero = true;
+				return true;
+			}
+		}
+		long i = home(value);
+		for (long probes = 0; probes < capacity; probes++) {
+			long current = get(i);
+			if (current == value) return false;
+			if (current == 0) {
+				synchronized (stripes[(int) (i & STRIPES - 1)]) {
+					current = get(i);
+					if (current == 0) {
+						set(i, value);
+						size.increment();
+						return true;
+					}
+					if (current == value) return false;
+				}
+			}
+			if (++i == capacity) i = 0;
+		}
+		throw new IllegalStateException("The set is full at " + capacity + " elements");
+	}
+
+	/**
+	 * @param value
+	 * @return true if the value is in the set
+	 */
+	public boolean contains(long value)
+	{
+		if (value == 0) return containsZero;
+		long i = home(value);
+		for (long probes = 0; probes < capacity; probes++) {
+			long current = get(i);
+			if (current == 0) {
+				synchronized (stripes[(int) (i & STRIPES - 1)]) {
+					current = get(i);	// the lock orders this after any add() that filled the slot
+				}
+				if (current == 0) return false;
+			}
+			if (current == value) return true;
+			if (++i == capacity) i = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Visit every element, in no particular order. Must not run during adds.
+	 */
+	public void forEach(LongConsumer action)
+	{
+		if (containsZero) action.accept(0);
+		for (LongBuffer segment : segments) {
+			for (int i = 0, n = segment.capacity(); i < n; i++) {
+				long v = segment.get(i);
+				if (v != 0) action.accept(v);
+			}
+		}
+	}
+
+	/**
+	 * @return the slot a value's probe starts at. The value is mixed first
+	 * 	so that patterned keys spread out, then scaled onto the slots.
+	 */
+	private long home(long value)
+	{
+		long h = value * 0x9E3779B97F4A7C15L;
+		return ((h >>> 32) * capacity) >>> 32;
+	}
+
+	private long get(long i)
+	{
+		return segments[(int) (i >>> SEGMENT_BITS)].get((int) i & SEGMENT_MASK);
+	}
+
+	private void set(long i, long value)
+	{
+		segments[(int) (i >>> SEGMENT_BITS)].put((int) i & SEGMENT_MASK, value);
+	}
+
+	/**
+	 * Release the scratch file, if any. Direct memory is freed when the set
+	 * is garbage collected.
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (channel == null) return;
+		channel.close();
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			file.toFile().deleteOnExit();	// still mapped on some platforms
+		}
+	}
+}
@@ -24,7 +24,7 @@ import gpv.Piece;
  */
 public class SquareInitializer
 {
-	private final Piece thePiece;
+	private final Piece<?> thePiece;
 	private final Coordinate theSquare;
 	
 	/**
@@ -32,7 +32,7 @@ public class SquareInitializer
 	 * @param p The piece
 	 * @param c The coordinate
 	 */
-	private SquareInitializer(Piece p, Coordinate c)
+	private SquareInitializer(Piece<?> p, Coordinate c)
 	{
 		this.thePiece = p;
 		this.theSquare = c;
@@ -45,7 +45,7 @@ public class SquareInitializer
 	 * @param c The coordinate
 	 * @return the SquareInitializer instance
 	 */
-	public static SquareInitializer makeSquareInitializer(Piece p, Coordinate c)
+	public static SquareInitializer makeSquareInitializer(Piece<?> p, Coordinate c)
 	{
 		return new SquareInitializer(p, c);
 	}
@@ -53,7 +53,7 @@ public class SquareInitializer
 	/**
 	 * @return the thePiece
 	 */
-	public Piece getPiece()
+	public Piece<?> getPiece()
 	{
 		return thePiece;
 	}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter that many threads can update without contending on one memory
+ * location. Updates go to per-thread stripes and are only summed when read.
+ * @version Oct 19, 2026
+ */
+public final class Counter
+{
+	private final LongAdder adder = new LongAdder();
+
+	/**
+	 * Package private; use Metrics.counter().
+	 */
+	Counter()
+	{
+	}
+
+	public void increment()
+	{
+		adder.increment();
+	}
+
+	public void add(long n)
+	{
+		adder.add(n);
+	}
+
+	/**
+	 * @return the current total
+	 */
+	public long sum()
+	{
+		return adder.sum();
+	}
+
+	void reset()
+	{
+		adder.reset();
+	}
+}
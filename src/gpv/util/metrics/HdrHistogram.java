@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A high dynamic range histogram of nanosecond latencies for load tests and
+ * other offline measurement. Like LatencyHistogram, values are grouped by
+ * their power of two and then into linear sub-buckets, but the number of
+ * sub-buckets is chosen by the caller: with 2^bits of them every bucket is
+ * within 1 / 2^bits of the values it holds, so the default of 7 bits keeps
+ * percentiles within 0.8% from nanoseconds to hours.
+ * <br/>
+ * A histogram is written by one thread. Give each thread its own and add()
+ * them together at the end. encode() and decode() turn a histogram into a
+ * line of text, so a run can be saved and compared with a later one.
+ * @version Oct 19, 2026
+ */
+public final class HdrHistogram
+{
+	public static final int DEFAULT_BITS = 7;
+
+	private final int bits;
+	private final long[] counts;
+	private long count;
+	private long total;
+	private long min = Long.MAX_VALUE;
+	private long max;
+
+	/**
+	 * Constructor with the default precision.
+	 */
+	public HdrHistogram()
+	{
+		this(DEFAULT_BITS);
+	}
+
+	/**
+	 * Constructor.
+	 * @param bits log2 of the number of sub-buckets per power of two, 1 to 16
+	 */
+	public HdrHistogram(int bits)
+	{
+		if (bits < 1 || bits > 16) throw new IllegalArgumentException("Bits must be from 1 to 16");
+		this.bits = bits;
+		this.counts = new long[(64 - bits) << bits];
+	}
+
+	/**
+	 * Record one value.
+	 * @param nanos the latency, negative values count as 0
+	 */
+	public void record(long nanos)
+	{
+		long v = Math.max(0, nanos);
+		counts[index(v)]++;
+		count++;
+		total += v;
+		if (v < min) min = v;
+		if (v > max) max = v;
+	}
+
+	/**
+	 * Add another histogram's values to this one.
+	 * @throws IllegalArgumentException if the precisions differ
+	 */
+	public void add(HdrHistogram other)
+	{
+		if (other.bits != bits) throw new IllegalArgumentException("Histograms have different precisions");
+		for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+		count += other.count;
+		total += other.total;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * @return the number of values recorded
+	 */
+	public long count()
+	{
+		return count;
+	}
+
+	/**
+	 * @return the mean, or 0 if nothing was recorded
+	 */
+	public long mean()
+	{
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * @return the exact smallest value, or 0 if nothing was recorded
+	 */
+	public long min()
+	{
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return the exact largest value
+	 */
+	public long max()
+	{
+		return max;
+	}
+
+	/**
+	 * @param p the fraction of values at or below the result, e.g. 0.999
+	 * @return the highest value in the bucket holding that rank, but never
+	 * 	more than max(); 0 if nothing was recorded
+	 */
+	public long percentile(double p)
+	{
+		if (count == 0) return 0;
+		long rank = Math.max(1, (long) Math.ceil(p * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) return Math.min(highestValue(i), max);
+		}
+		return max;
+	}
+
+	/**
+	 * @param nanos a latency
+	 * @return the number of values above it, to the histogram's precision:
+	 * 	values in the bucket holding nanos aren't counted
+	 */
+	public long countAbove(long nanos)
+	{
+		long above = 0;
+		for (int i = index(Math.max(0, nanos)) + 1; i < counts.length; i++) above += counts[i];
+		return above;
+	}
+
+	/**
+	 * @return the histogram as one line: bits, count, total, min, max and
+	 * 	then index:count for every non-empty bucket
+	 */
+	public String encode()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(bits).append(' ').append(count).append(' ').append(total).append(' ')
+			.append(min()).append(' ').append(max);
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] != 0) sb.append(' ').append(i).append(':').append(counts[i]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * @param line a line written by encode()
+	 * @return the histogram
+	 * @throws IllegalArgumentException if the line isn't an encoded histogram
+	 */
+	public static HdrHistogram decode(String line)
+	{
+		try {
+			String[] fields = line.trim().split(" ");
+			HdrHistogram h = new HdrHistogram(Integer.parseInt(fields[0]));
+			h.count = Long.parseLong(fields[1]);
+			h.total = Long.parseLong(fields[2]);
+			h.min = h.count == 0 ? Long.MAX_VALUE : Long.parseLong(fields[3]);
+			h.max = Long.parseLong(fields[4]);
+			long sum = 0;
+			for (int f = 5; f < fields.length; f++) {
+				int colon = fields[f].indexOf(':');
+				long n = Long.parseLong(fields[f].substring(colon + 1));
+				h.counts[Integer.parseInt(fields[f].substring(0, colon))] = n;
+				sum += n;
+			}
+			if (sum != h.count) throw new IllegalArgumentException("Bucket counts don't add up to " + h.count);
+			return h;
+		}
+		catch (RuntimeException e) {
+			throw new IllegalArgumentException("Not an encoded histogram: " + line, e);
+		}
+	}
+
+	/**
+	 * @return the bucket index for a value
+	 */
+	int index(long v)
+	{
+		int sub = 1 << bits;
+		if (v < sub) return (int) v;
+		int exp = 63 - Long.numberOfLeadingZeros(v);
+		return ((exp - bits + 1) << bits) + (int) (v >>> (exp - bits)) - sub;
+	}
+
+	/**
+	 * @return the largest value that falls into the bucket
+	 */
+	long highestValue(int index)
+	{
+		int sub = 1 << bits;
+		if (index < sub) return index;
+		int exp = (index >>> bits) + bits - 1;
+		long low = (long) (sub + (index & sub - 1)) << (exp - bits);
+		return low + (1L << (exp - bits)) - 1;
+	}
+
+	/*
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object o)
+	{
+		if (!(o instanceof HdrHistogram)) return false;
+		HdrHistogram h = (HdrHistogram) o;
+		return bits == h.bits && count == h.count && total == h.total && min() == h.min() && max == h.max
+				&& Arrays.equals(counts, h.counts);
+	}
+
+	/*
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode()
+	{
+		return Long.hashCode(count) * 31 + Arrays.hashCode(counts);
+	}
+}
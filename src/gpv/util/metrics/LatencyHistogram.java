@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of nanosecond latencies. Values are grouped by their
+ * power of two and then into eight linear sub-buckets, so every bucket is
+ * within 12.5% of the values it holds. Values below 8 are exact.
+ * @version Oct 19, 2026
+ */
+public final class LatencyHistogram
+{
+	static final int SUB_BUCKETS = 8;
+	static final int BUCKETS = (64 - 2) * SUB_BUCKETS;
+
+	private final LongAdder[] counts = new LongAdder[BUCKETS];
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Package private; use Metrics.histogram().
+	 */
+	LatencyHistogram()
+	{
+		for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+	}
+
+	/**
+	 * Record one value.
+	 * @param nanos the latency, negative values count as 0
+	 */
+	public void record(long nanos)
+	{
+		long v = Math.max(0, nanos);
+		counts[index(v)].increment();
+		total.add(v);
+	}
+
+	/**
+	 * @return the bucket index for a value
+	 */
+	static int index(long v)
+	{
+		if (v < SUB_BUCKETS) return (int) v;
+		int exp = 63 - Long.numberOfLeadingZeros(v);
+		int sub = (int) (v >>> (exp - 3)) & (SUB_BUCKETS - 1);
+		return (exp - 2) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return the largest value that falls into the bucket
+	 */
+	static long highestValue(int index)
+	{
+		if (index < SUB_BUCKETS) return index;
+		int exp = index / SUB_BUCKETS + 2;
+		long low = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exp - 3);
+		return low + (1L << (exp - 3)) - 1;
+	}
+
+	/**
+	 * @return counts, mean and percentiles of the values recorded so far
+	 */
+	public Summary summary()
+	{
+		long[] c = new long[BUCKETS];
+		long n = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			c[i] = counts[i].sum();
+			n += c[i];
+		}
+		return new Summary(n, n == 0 ? 0 : total.sum() / n,
+				percentile(c, n, 0.50), percentile(c, n, 0.99), percentile(c, n, 0.999), percentile(c, n, 1.0));
+	}
+
+	private static long percentile(long[] c, long n, double p)
+	{
+		if (n == 0) return 0;
+		long rank = Math.max(1, (long) Math.ceil(p * n));
+		long seen = 0;
+		for (int i = 0; i < c.length; i++) {
+			seen += c[i];
+			if (seen >= rank) return highestValue(i);
+		}
+		return highestValue(c.length - 1);
+	}
+
+	void reset()
+	{
+		for (LongAdder a : counts) a.reset();
+		total.reset();
+	}
+
+	/**
+	 * A point in time summary of a histogram. Latencies are in nanoseconds.
+	 */
+	public static final class Summary
+	{
+		public final long count;
+		public final long mean;
+		public final long p50;
+		public final long p99;
+		public final long p999;
+		public final long max;
+
+		Summary(long count, long mean, long p50, long p99, long p999, long max)
+		{
+			this.count = count;
+			this.mean = mean;
+			this.p50 = p50;
+			this.p99 = p99;
+			this.p999 = p999;
+			this.max = max;
+		}
+	}
+}
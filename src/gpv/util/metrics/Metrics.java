@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in counters and latency histograms for the hot paths of the rule
+ * engine. Metrics are turned on by starting the JVM with -Dgpv.metrics=true.
+ * <br/>
+ * Call sites guard every update with <code>if (Metrics.ENABLED)</code>. The
+ * flag is a static final constant, so when it is false the JIT removes the
+ * guarded code entirely and disabled metrics cost nothing.
+ * <code>
+ * 	private static final Counter calls = Metrics.counter("rules.knight.calls");
+ * 	...
+ * 	if (Metrics.ENABLED) calls.increment();
+ * </code>
+ * @version Oct 19, 2026
+ */
+public final class Metrics
+{
+	public static final boolean ENABLED = Boolean.getBoolean("gpv.metrics");
+
+	private static final Map<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+	private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+
+	private Metrics()
+	{
+		// static registry only
+	}
+
+	/**
+	 * Get or create a counter. Look counters up once and keep them in a
+	 * static field; don't call this on a hot path.
+	 * @param name the metric name
+	 * @return the counter
+	 */
+	public static Counter counter(String name)
+	{
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * Get or create a latency histogram. Like counter(), call this once.
+	 * @param name the metric name
+	 * @return the histogram
+	 */
+	public static LatencyHistogram histogram(String name)
+	{
+		return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+	}
+
+	/**
+	 * @return the current value of every counter and a summary of every
+	 * 	histogram, sorted by name
+	 */
+	public static MetricsSnapshot snapshot()
+	{
+		Map<String, Long> c = new TreeMap<String, Long>();
+		counters.forEach((name, counter) -> c.put(name, counter.sum()));
+		Map<String, LatencyHistogram.Summary> h = new TreeMap<String, LatencyHistogram.Summary>();
+		histograms.forEach((name, histogram) -> h.put(name, histogram.summary()));
+		return new MetricsSnapshot(c, h);
+	}
+
+	/**
+	 * Zero every counter and histogram.
+	 */
+	public static void reset()
+	{
+		counters.values().forEach(Counter::reset);
+		histograms.values().forEach(LatencyHistogram::reset);
+	}
+}
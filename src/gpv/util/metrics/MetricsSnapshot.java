@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The values of all metrics at one point in time. toString() renders them in
+ * the plain "name value" text format that scrapers such as Prometheus read.
+ * @version Oct 19, 2026
+ */
+public final class MetricsSnapshot
+{
+	private final Map<String, Long> counters;
+	private final Map<String, LatencyHistogram.Summary> histograms;
+
+	MetricsSnapshot(Map<String, Long> counters, Map<String, LatencyHistogram.Summary> histograms)
+	{
+		this.counters = Collections.unmodifiableMap(counters);
+		this.histograms = Collections.unmodifiableMap(histograms);
+	}
+
+	/**
+	 * @return the counter values by name
+	 */
+	public Map<String, Long> getCounters()
+	{
+		return counters;
+	}
+
+	/**
+	 * @return the histogram summaries by name
+	 */
+	public Map<String, LatencyHistogram.Summary> getHistograms()
+	{
+		return histograms;
+	}
+
+	/**
+	 * @return the counter value or 0 if there is no such counter
+	 */
+	public long get(String name)
+	{
+		Long v = counters.get(name);
+		return v == null ? 0 : v;
+	}
+
+	/*
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		counters.forEach((name, v) -> sb.append(metricName(name)).append(' ').append(v).append('\n'));
+		histograms.forEach((name, s) -> {
+			String n = metricName(name);
+			sb.append(n).append("_count ").append(s.count).append('\n');
+			sb.append(n).append("_mean_ns ").append(s.mean).append('\n');
+			sb.append(n).append("{quantile=\"0.5\"} ").append(s.p50).append('\n');
+			sb.append(n).append("{quantile=\"0.99\"} ").append(s.p99).append('\n');
+			sb.append(n).append("{quantile=\"0.999\"} ").append(s.p999).append('\n');
+			sb.append(n).append("_max_ns ").append(s.max).append('\n');
+		});
+		return sb.toString();
+	}
+
+	private static String metricName(String name)
+	{
+		return "gpv_" + name.replace('.', '_');
+	}
+}
@@ -73,6 +73,22 @@ class ChessPieceTests
 		assertEquals(d.getName(), p.getName());
 	}
 
+	@ParameterizedTest
+	@EnumSource(ChessPieceDescriptor.class)
+	void piecesAreShared(ChessPieceDescriptor d)
+	{
+		assertSame(factory.makePiece(d), factory.makePiece(d));
+	}
+	
+	@Test
+	void movedFlagIsClearedWhenSquareIsReused()
+	{
+		board.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5, 2));
+		board.setHasMoved(makeCoordinate(5, 2));
+		board.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5, 2));
+		assertFalse(board.hasMoved(makeCoordinate(5, 2)));
+	}
+
 	@Test
 	void placeOnePiece()
 	{
@@ -96,9 +112,10 @@ class ChessPieceTests
 	void checkForPieceHasMoved()
 	{
 		ChessPiece bq = factory.makePiece(BLACKQUEEN);
-		assertFalse(bq.hasMoved());
-		bq.setHasMoved();
-		assertTrue(bq.hasMoved());
+		board.putPieceAt(bq, makeCoordinate(4, 8));
+		assertFalse(board.hasMoved(makeCoordinate(4, 8)));
+		board.setHasMoved(makeCoordinate(4, 8));
+		assertTrue(board.hasMoved(makeCoordinate(4, 8)));
 	}
 	
 	@Test
@@ -230,6 +247,18 @@ class ChessPieceTests
 			);
 	}
 	
+	@Test
+	void bishopCannotCaptureThroughAPiece()
+	{
+		ChessPiece bi = factory.makePiece(WHITEBISHOP);
+		ChessPiece pa = factory.makePiece(WHITEPAWN);
+		ChessPiece baQu = factory.makePiece(BLACKQUEEN);
+		board.putPieceAt(bi, makeCoordinate(5, 5));
+		board.putPieceAt(pa, makeCoordinate(6, 6));
+		board.putPieceAt(baQu, makeCoordinate(7, 7));
+		assertFalse(bi.canMove(makeCoordinate(5, 5), makeCoordinate(7, 7), board));
+	}
+	
 	//Beginning of Rook move tests
 	
 	@ParameterizedTest
@@ -329,10 +358,10 @@ class ChessPieceTests
 	@Test
 	void testFailedCastling1() { //Test that you can't castle if the king has moves
 		ChessPiece ki = factory.makePiece(WHITEKING);
-		ki.setHasMoved();
 		ChessPiece ro = factory.makePiece(WHITEROOK);
 		board.putPieceAt(ki, makeCoordinate(5, 1));
 		board.putPieceAt(ro, makeCoordinate(8, 1));
+		board.setHasMoved(makeCoordinate(5, 1));
 		assertFalse(ki.canMove(makeCoordinate(5, 1), makeCoordinate(7, 1), board));
 	}
 	
@@ -340,9 +369,9 @@ class ChessPieceTests
 	void testFailedCastling2() { //Test that you can't castle if the rook has moved
 		ChessPiece ki = factory.makePiece(WHITEKING);
 		ChessPiece ro = factory.makePiece(WHITEROOK);
-		ro.setHasMoved();
 		board.putPieceAt(ki, makeCoordinate(5, 1));
 		board.putPieceAt(ro, makeCoordinate(8, 1));
+		board.setHasMoved(makeCoordinate(8, 1));
 		assertFalse(ki.canMove(makeCoordinate(5, 1), makeCoordinate(7, 1), board));
 	}
 	
@@ -417,8 +446,8 @@ class ChessPieceTests
 	@MethodSource("failedPawnMovements1")
 	void testFailedPawnMovements1(int fromX, int fromY, int toX, int toY) {
 		ChessPiece pa = factory.makePiece(WHITEPAWN);
-		pa.setHasMoved();
 		board.putPieceAt(pa, makeCoordinate(5, 4));
+		board.setHasMoved(makeCoordinate(5, 4));
 	}
 	
 	static Stream<Arguments> failedPawnMovements1() {
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.*;
+
+import gpv.util.Board;
+import gpv.util.Coordinate;
+import gpv.util.MailboxBoard;
+
+/**
+ * Checks the compiled shape tables in ChessRules against the per-piece
+ * rules they replaced, on every move of random positions.
+ * @version Oct 19, 2026
+ */
+class ChessRulesParityTests
+{
+	private static final int POSITIONS = 3000;
+	private static ChessPieceFactory factory = new ChessPieceFactory();
+
+	@Test
+	void tablesMatchThePerPieceRules()
+	{
+		SplittableRandom rnd = new SplittableRandom(32);
+		ChessPieceDescriptor[] descriptors = ChessPieceDescriptor.values();
+		long checked = 0;
+		for (int n = 0; n < POSITIONS; n++) {
+			Board<ChessPiece> b = n % 2 == 0 ? new Board<ChessPiece>(8, 8) : new MailboxBoard<ChessPiece>();
+			int pieces = 4 + rnd.nextInt(24);
+			for (int i = 0; i < pieces; i++) {
+				Coordinate c = makeCoordinate(1 + rnd.nextInt(8), 1 + rnd.nextInt(8));
+				b.putPieceAt(factory.makePiece(descriptors[rnd.nextInt(descriptors.length)]), c);
+				if (rnd.nextBoolean()) b.setHasMoved(c);
+			}
+			for (int fx = 1; fx <= 8; fx++) {
+				for (int fy = 1; fy <= 8; fy++) {
+					Coordinate from = makeCoordinate(fx, fy);
+					ChessPiece piece = b.getPieceAt(from);
+					if (piece == null) continue;
+					for (int tx = 1; tx <= 8; tx++) {
+						for (int ty = 1; ty <= 8; ty++) {
+							Coordinate to = makeCoordinate(tx, ty);
+							ChessPiece dest = b.getPieceAt(to);
+							if (to.equals(from) || dest != null && dest.getColor() == piece.getColor()) continue;
+							assertEquals(piece + " " + from + "-" + to, Legacy.isValid(piece, from, to, b),
+									ChessRules.checkValidRule(piece, from, to, b));
+							checked++;
+						}
+					}
+				}
+			}
+		}
+		assertTrue(checked > 100_000);
+	}
+
+	/**
+	 * The rules as they were written before the shape tables, without the
+	 * streams, for moves to a square on the board that doesn't hold a piece
+	 * of the mover's color.
+	 */
+	private static final class Legacy
+	{
+		static boolean isValid(ChessPiece piece, Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			switch (piece.getName()) {
+				case BISHOP: return diagonal(piece, from, to, b);
+				case ROOK: return vertical(from, to, b) || horizontal(from, to, b);
+				case QUEEN: return diagonal(piece, from, to, b) || vertical(from, to, b) || horizontal(from, to, b);
+				case KING: return king(piece, from, to, b);
+				case KNIGHT: return knight(from, to);
+				case PAWN: return pawn(piece, from, to, b);
+			}
+			return false;
+		}
+
+		static boolean vertical(Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			if (from.x != to.x) return false;
+			for (int y = Math.min(from.y, to.y) + 1; y < Math.max(from.y, to.y); y++) {
+				if (b.getPieceAt(makeCoordinate(from.x, y)) != null) return false;
+			}
+			return true;
+		}
+
+		static boolean horizontal(Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			if (from.y != to.y) return false;
+			for (int x = Math.min(from.x, to.x) + 1; x < Math.max(from.x, to.x); x++) {
+				if (b.getPieceAt(makeCoordinate(x, from.y)) != null) return false;
+			}
+			return true;
+		}
+
+		static boolean diagonal(ChessPiece piece, Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			int n = Math.abs(to.x - from.x);
+			if (n != Math.abs(to.y - from.y)) return false;
+			ChessPiece enemy = b.getPieceAt(to);
+			boolean capturing = enemy != null && enemy.getColor() != piece.getColor();
+			int sx = Integer.signum(to.x - from.x);
+			int sy = Integer.signum(to.y - from.y);
+			for (int i = 1; i <= n; i++) {
+				if (b.getPieceAt(makeCoordinate(from.x + i * sx, from.y + i * sy)) != null) {
+					if (i != n || !capturing) return false;
+				}
+			}
+			return true;
+		}
+
+		static boolean pawn(ChessPiece piece, Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			int vertical = to.y - from.y;
+			if (Math.abs(vertical) > 2 || vertical == 0) return false;
+			if (piece.getColor() == PlayerColor.WHITE && vertical < 0) return false;
+			if (piece.getColor() == PlayerColor.BLACK && vertical > 0) return false;
+			int horizontal = to.x - from.x;
+			if (!b.hasMoved(from) && horizontal == 0 && Math.abs(vertical) == 2) return true;
+			if (Math.abs(vertical) == 2) return false;
+			if (Math.abs(horizontal) > 1) return false;
+			ChessPiece dest = b.getPieceAt(to);
+			if (Math.abs(horizontal) == 1 && dest == null) return false;
+			if (horizontal == 0 && dest != null) return false;
+			return true;
+		}
+
+		static boolean king(ChessPiece piece, Coordinate from, Coordinate to, Board<ChessPiece> b)
+		{
+			int vertical = to.y - from.y;
+			int horizontal = to.x - from.x;
+			if (!b.hasMoved(from) && Math.abs(horizontal) == 2 && vertical == 0) {
+				Coordinate rookSquare = makeCoordinate(to.x + 1, to.y);
+				ChessPiece rook = b.getPieceAt(rookSquare);
+				if (rook != null && rook.getName() == PieceName.ROOK && rook.getColor() == piece.getColor()
+						&& !b.hasMoved(rookSquare)
+						&& b.getPieceAt(to) == null && b.getPieceAt(makeCoordinate(to.x - 1, to.y)) == null) {
+					return true;
+				}
+			}
+			return Math.abs(vertical) <= 1 && Math.abs(horizontal) <= 1;
+		}
+
+		static boolean knight(Coordinate from, Coordinate to)
+		{
+			int v = Math.abs(to.y - from.y);
+			int h = Math.abs(to.x - from.x);
+			return h >= 1 && h <= 2 && v >= 1 && v <= 2 && h != v;
+		}
+	}
+}
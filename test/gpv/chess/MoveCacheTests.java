@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.*;
+
+import gpv.util.Board;
+
+/**
+ * Tests for the canMove() memo cache.
+ * @version Oct 19, 2026
+ */
+class MoveCacheTests
+{
+	private static ChessPieceFactory factory = null;
+	private Board<ChessPiece> board;
+	private MoveCache cache;
+	
+	@BeforeAll
+	public static void setupBeforeTests()
+	{
+		factory = new ChessPieceFactory();
+	}
+	
+	@BeforeEach
+	public void setupTest()
+	{
+		board = new Board<ChessPiece>(8, 8);
+		cache = new MoveCache(64);
+	}
+	
+	@Test
+	void secondLookupIsAHit()
+	{
+		board.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(1, 1));
+		assertTrue(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), board));
+		assertTrue(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), board));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0.5, cache.hitRatio(), 1e-9);
+	}
+	
+	@Test
+	void boardChangeInvalidates()
+	{
+		board.putPieceAt(factory.makePiece(WHITEROOK), makeCoordinate(1, 1));
+		assertTrue(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), board));
+		board.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(1, 5));
+		assertFalse(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), board));
+		board.removePieceAt(makeCoordinate(1, 5));
+		assertTrue(cache.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), board));
+		assertEquals(1, cache.getHits());
+	}
+	
+	@Test
+	void staysBoundedAndCorrect()
+	{
+		ChessPiece queen = factory.makePiece(WHITEQUEEN);
+		board.putPieceAt(queen, makeCoordinate(4, 4));
+		for (int round = 0; round < 3; round++) {
+			for (int x = 1; x <= 8; x++) {
+				for (int y = 1; y <= 8; y++) {
+					boolean expected = queen.checkMove(makeCoordinate(4, 4), makeCoordinate(x, y), board);
+					assertEquals(expected, cache.canMove(makeCoordinate(4, 4), makeCoordinate(x, y), board));
+				}
+			}
+		}
+		assertEquals(64, cache.capacity());
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess;
+
+import static org.junit.Assert.*;
+import org.junit.jupiter.api.*;
+import gpv.chess.PieceMovement.Kind;
+
+/**
+ * Tests for compiling movement descriptions into shape tables.
+ * @version Oct 19, 2026
+ */
+class PieceMovementTests
+{
+	@Test
+	void leapsCoverAllEightReflections()
+	{
+		byte[] table = new PieceMovement().leaps(1, 2).compile();
+		int count = 0;
+		for (byte b : table) if (b != 0) count++;
+		assertEquals(8, count);
+		assertEquals(Kind.LEAP.ordinal() + 1, table[PieceMovement.index(-2, -1)]);
+		assertEquals(0, table[PieceMovement.index(2, 2)]);
+	}
+
+	@Test
+	void slidesReachTheEdgeOfTheTable()
+	{
+		byte[] table = new PieceMovement().slides(1, 1).compile();
+		assertEquals(Kind.SLIDE.ordinal() + 1, table[PieceMovement.index(PieceMovement.MAX_DELTA, -PieceMovement.MAX_DELTA)]);
+		assertEquals(0, table[PieceMovement.index(3, 2)]);
+	}
+
+	@Test
+	void stepsKeepTheirDirection()
+	{
+		byte[] table = new PieceMovement().step(1, 1, Kind.PAWN_CAPTURE).compile();
+		assertTrue(table[PieceMovement.index(-1, 1)] != 0);
+		assertEquals(0, table[PieceMovement.index(1, -1)]);
+	}
+
+	@Test
+	void offsetsOutsideTheTableHaveNoIndex()
+	{
+		assertEquals(-1, PieceMovement.index(PieceMovement.MAX_DELTA + 2, 0));
+		assertEquals(-1, PieceMovement.index(0, -PieceMovement.MAX_DELTA - 1));
+	}
+
+	@Test
+	void conflictingShapesAreRejected()
+	{
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new PieceMovement().leaps(1, 0).slides(1, 0).compile());
+	}
+}
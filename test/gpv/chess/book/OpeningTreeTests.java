@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.book;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.*;
+
+/**
+ * Tests for reading PGN, building an opening tree and querying it.
+ * @version Oct 19, 2026
+ */
+class OpeningTreeTests
+{
+	private static final String PGN =
+		"[Event \"one\"]\n[Result \"1-0\"]\n\n"
+		+ "1. e4 e5 2. Nf3 {the main line} Nc6 (2... d6 3. d4) 3. Bb5 a6 1-0\n\n"
+		+ "[Event \"two\"]\n[Result \"1/2-1/2\"]\n\n"
+		+ "1. Nf3 Nc6 2. e4 e5 $1 3. Bc4 1/2-1/2\n\n"
+		+ "[Event \"three\"]\n[Result \"0-1\"]\n\n"
+		+ "1.e4 e5 2.Nf3 Nf6 3.Nxe5 ; a line comment\n 0-1\n\n"
+		+ "[Event \"four\"]\n[Result \"*\"]\n\n"
+		+ "1. d4 *\n";
+
+	private Path file;
+
+	@BeforeEach
+	public void setupTest() throws IOException
+	{
+		file = Files.createTempFile("opening", ".tree");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	void pgnMovetextIsCleanedUp() throws IOException
+	{
+		PgnReader reader = new PgnReader(new BufferedReader(new StringReader(PGN)));
+		PgnGame first = reader.next();
+		assertEquals(PgnGame.WHITE_WINS, first.result);
+		assertEquals("[e4, e5, Nf3, Nc6, Bb5, a6]", first.moves.toString());
+		assertEquals("[Nf3, Nc6, e4, e5, Bc4]", reader.next().moves.toString());
+		assertEquals(PgnGame.BLACK_WINS, reader.next().result);
+		assertEquals(PgnGame.UNKNOWN, reader.next().result);
+		assertNull(reader.next());
+	}
+
+	@Test
+	void sanIsResolvedAgainstThePosition()
+	{
+		Position castling = Fen.parse("4k3/8/8/8/8/8/8/R3K2R w KQ - 0 1");
+		assertEquals(Move.parse("e1g1"), San.parse(castling, "O-O"));
+		Position rooks = Fen.parse("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+		assertEquals(Move.parse("a1d1"), San.parse(rooks, "Rad1"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> San.parse(rooks, "Rd1"));
+		Position promotion = Fen.parse("8/4P3/8/8/8/8/k7/4K3 w - - 0 1");
+		assertEquals(Move.parse("e7e8n"), San.parse(promotion, "e8=N+"));
+	}
+
+	@Test
+	void transpositionsShareTheirStatistics() throws IOException
+	{
+		OpeningTreeBuilder builder = new OpeningTreeBuilder(2, 10);
+		builder.add(new BufferedReader(new StringReader(PGN)));
+		assertEquals(3, builder.getGames());
+		assertEquals(1, builder.getSkipped());
+		builder.write(file);
+		try (OpeningTree tree = OpeningTree.open(file)) {
+			Position pos = Fen.parse(Fen.STARTPOS);
+			List<TreeMove> root = tree.moves(pos);
+			assertEquals(Move.parse("e2e4"), root.get(0).move);
+			assertEquals(2, root.get(0).games);
+			assertEquals(0.5, root.get(0).score(PlayerColor.WHITE), 1e-9);
+			for (String m : "e2e4 e7e5 g1f3 b8c6".split(" ")) pos.makeMove(Move.parse(m));
+			List<TreeMove> reached = tree.moves(pos);	// both 1. e4 and 1. Nf3 get here
+			assertEquals(2, reached.size());
+			assertTrue(tree.moves(Fen.parse("8/8/8/8/8/8/8/K6k w - - 0 1")).isEmpty());
+		}
+	}
+
+	@Test
+	void otherFilesAreRejected() throws IOException
+	{
+		Files.write(file, new byte[64]);
+		Assertions.assertThrows(IOException.class, () -> OpeningTree.open(file));
+	}
+}
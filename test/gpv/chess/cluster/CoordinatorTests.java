@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.cluster;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import gpv.chess.engine.*;
+
+/**
+ * Tests for splitting work between workers, using workers on threads of this
+ * JVM and a fake worker that drops its connection in the middle of a job.
+ * @version Oct 19, 2026
+ */
+class CoordinatorTests
+{
+	private List<Worker> workers = new ArrayList<Worker>();
+	private List<InetSocketAddress> addresses = new ArrayList<InetSocketAddress>();
+
+	@BeforeEach
+	public void setupTest() throws IOException
+	{
+		for (int i = 0; i < 2; i++) {
+			Worker w = new Worker(0);
+			Thread t = new Thread(w::serve);
+			t.setDaemon(true);
+			t.start();
+			workers.add(w);
+			addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), w.getPort()));
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		for (Worker w : workers) w.close();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3 })
+	void splitPerftMatchesOneProcess(int split) throws IOException
+	{
+		Coordinator coordinator = new Coordinator(addresses);
+		assertEquals(Perft.perft(Fen.parse(Fen.STARTPOS), 3), coordinator.perft(Fen.STARTPOS, 3, split));
+	}
+
+	@Test
+	void crashedWorkersJobsAreReassigned() throws IOException
+	{
+		try (ServerSocket crashing = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			Thread t = new Thread(() -> {
+				while (true) {
+					try (Socket s = crashing.accept()) {
+						new BufferedReader(new InputStreamReader(s.getInputStream())).readLine();
+					}
+					catch (IOException e) {
+						return;
+					}
+				}
+			});
+			t.setDaemon(true);
+			t.start();
+			List<InetSocketAddress> all = new ArrayList<InetSocketAddress>(addresses);
+			all.add(0, new InetSocketAddress(InetAddress.getLoopbackAddress(), crashing.getLocalPort()));
+			Coordinator coordinator = new Coordinator(all);
+			assertEquals(8902, coordinator.perft(Fen.STARTPOS, 3, 1));
+			assertEquals(1, coordinator.getReassigned());
+		}
+	}
+
+	@Test
+	void noWorkersLeftIsAnError() throws IOException
+	{
+		int port;
+		try (ServerSocket gone = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			port = gone.getLocalPort();
+		}
+		Coordinator coordinator = new Coordinator(Arrays.asList(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+		Assertions.assertThrows(IOException.class, () -> coordinator.perft(Fen.STARTPOS, 2, 1));
+	}
+
+	@Test
+	void splitSearchFindsMate() throws IOException
+	{
+		Coordinator coordinator = new Coordinator(addresses);
+		Coordinator.RootResult result = coordinator.search("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", 2);
+		assertEquals(Move.parse("a1a8"), result.move);
+		assertTrue(result.score > Search.MATE - Search.MAX_PLY);
+	}
+
+	@Test
+	void jobsSurviveTheWire()
+	{
+		Job job = new Job(Job.Kind.PERFT, 7, 3, Fen.STARTPOS, Arrays.asList(Move.parse("e2e4"), Move.parse("e7e5")));
+		Job copy = Job.parse(job.toLine());
+		assertEquals(job.toLine(), copy.toLine());
+		assertEquals(job.position().getHash(), copy.position().getHash());
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the memory-mapped analysis cache.
+ * @version Oct 19, 2026
+ */
+class AnalysisCacheTests
+{
+	private Path file;
+
+	@BeforeEach
+	public void setupTest() throws IOException
+	{
+		file = Files.createTempFile("analysis", ".cache");
+		Files.delete(file);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	void entriesSurviveReopening() throws IOException
+	{
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			cache.store(0x1234_5678_9ABC_DEF0L, Move.parse("e2e4").toInt(), -35, 12);
+		}
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			long data = cache.probe(0x1234_5678_9ABC_DEF0L);
+			assertEquals(Move.parse("e2e4"), Move.fromInt(AnalysisCache.move(data)));
+			assertEquals(-35, AnalysisCache.score(data));
+			assertEquals(12, AnalysisCache.depth(data));
+			assertEquals(0L, cache.probe(0x1234_5678_9ABC_DEF1L));
+		}
+	}
+
+	@Test
+	void shallowerResultDoesNotReplaceDeeper() throws IOException
+	{
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			cache.store(42, 1, 0, 10);
+			cache.store(42, 2, 0, 5);
+			assertEquals(1, AnalysisCache.move(cache.probe(42)));
+			cache.store(42, 3, 0, 10);
+			assertEquals(3, AnalysisCache.move(cache.probe(42)));
+		}
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() throws IOException
+	{
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			long stride = cache.capacity();	// every key lands in the same window
+			for (int i = 0; i < AnalysisCache.PROBES; i++) cache.store(7 + i * stride, i + 1, 0, 1);
+			cache.probe(7);		// keep the first one in use
+			cache.store(7 + AnalysisCache.PROBES * stride, 99, 0, 1);
+			assertNotEquals(0L, cache.probe(7));
+			assertEquals(0L, cache.probe(7 + stride));
+			assertEquals(99, AnalysisCache.move(cache.probe(7 + AnalysisCache.PROBES * stride)));
+		}
+	}
+
+	@Test
+	void tornEntryReadsAsMissing() throws IOException
+	{
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			cache.store(5, 1, 0, 3);
+		}
+		try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+			raw.seek(64 + 16 * 5 + 8);	// the data word of slot 5
+			raw.writeLong(0x0102_0304_0506_0708L);
+		}
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			assertEquals(0L, cache.probe(5));
+		}
+	}
+
+	@Test
+	void otherFilesAreRejected() throws IOException
+	{
+		Files.write(file, new byte[4096]);
+		Assertions.assertThrows(IOException.class, () -> AnalysisCache.open(file, 1));
+	}
+
+	@Test
+	void searchAnswersFromTheCache() throws IOException
+	{
+		Position position = Fen.parse(Fen.STARTPOS);
+		try (AnalysisCache cache = AnalysisCache.open(file, 1)) {
+			cache.store(position.getHash(), Move.parse("g1f3").toInt(), 20, 30);
+			Search search = new Search(new TranspositionTable(1), new MaterialEvaluator());
+			search.setAnalysisCache(cache);
+			SearchLimits limits = new SearchLimits();
+			limits.depth = 6;
+			Move best = search.think(position, limits, new SearchListener() {
+				@Override
+				public void onInfo(SearchInfo info)
+				{
+					assertEquals(30, info.depth);
+				}
+
+				@Override
+				public void onBestMove(Move m, Move ponder)
+				{
+					// returned by think()
+				}
+			});
+			assertEquals(Move.parse("g1f3"), best);
+			assertEquals(0, search.getNodes());
+		}
+	}
+}
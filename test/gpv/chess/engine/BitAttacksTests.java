@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import gpv.chess.ChessPiece;
+import gpv.chess.PlayerColor;
+import gpv.util.BitBoard;
+import gpv.util.Board;
+import gpv.util.Coordinate;
+
+/**
+ * Checks move and attack generation on a BitBoard against the same
+ * positions on the map board, which walks the squares one by one.
+ * @version Oct 19, 2026
+ */
+class BitAttacksTests
+{
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"rnbqkbnrbn/pppppppppp/10/10/10/10/PPPPPPPPPP/RNBQKBNRBN w - - 0 1",
+		"rnbqkbnrbnrq/pppppppppppp/12/12/12/12/12/12/12/12/PPPPPPPPPPPP/RNBQKBNRBNRQ w - - 0 1",
+		"r2k3/ppp1ppp/7/7/3Q3/PPP1PPP/R2K2R w - - 0 1",
+		"k15/16/16/16/16/16/16/7q8/16/16/16/16/16/16/16/R6K8 w - - 0 1",
+	})
+	void movesAndAttacksMatchTheMapBoard(String fen)
+	{
+		SplittableRandom rnd = new SplittableRandom(fen.length());
+		for (int game = 0; game < 20; game++) {
+			Position bits = Fen.parse(fen);
+			assertTrue(bits.getBoard() instanceof BitBoard);
+			Position map = onMapBoard(bits);
+			for (int ply = 0; ply < 40; ply++) {
+				List<Move> moves = MoveGenerator.legalMoves(bits);
+				assertEquals(names(MoveGenerator.legalMoves(map)), names(moves));
+				Board<ChessPiece> b = bits.getBoard();
+				for (int x = 1; x <= b.nColumns; x++) {
+					for (int y = 1; y <= b.nRows; y++) {
+						Coordinate c = makeCoordinate(x, y);
+						for (PlayerColor by : PlayerColor.values()) {
+							assertEquals(c + " by " + by, map.isAttacked(c, by), bits.isAttacked(c, by));
+						}
+					}
+				}
+				if (moves.isEmpty()) break;
+				Move m = moves.get(rnd.nextInt(moves.size()));
+				bits.makeMove(m);
+				map.makeMove(m);
+			}
+		}
+	}
+
+	private static Position onMapBoard(Position p)
+	{
+		Board<ChessPiece> b = p.getBoard();
+		Board<ChessPiece> map = new Board<ChessPiece>(b.nRows, b.nColumns);
+		b.forEachPiece((c, piece) -> {
+			map.putPieceAt(piece, c);
+			if (b.hasMoved(c)) map.setHasMoved(c);
+		});
+		return new Position(map, p.getSideToMove());
+	}
+
+	private static TreeSet<String> names(List<Move> moves)
+	{
+		TreeSet<String> names = new TreeSet<String>();
+		for (Move m : moves) names.add(m.toString());
+		return names;
+	}
+}
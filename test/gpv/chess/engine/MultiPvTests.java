@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for reporting several lines from one search.
+ * @version Oct 19, 2026
+ */
+class MultiPvTests
+{
+	private Search search;
+	private SearchLimits limits;
+
+	@BeforeEach
+	public void setupTest()
+	{
+		search = new Search(new TranspositionTable(4), new MaterialEvaluator());
+		search.setOptions(SearchOptions.none());
+		limits = new SearchLimits();
+		limits.depth = 3;
+	}
+
+	@Test
+	void linesStartWithDifferentMovesBestFirst()
+	{
+		search.setMultiPv(4);
+		PvLines lines = new PvLines();
+		Move best = search.think(Fen.parse(Fen.STARTPOS), limits, lines);
+		List<SearchInfo> result = lines.get();
+		assertEquals(4, result.size());
+		assertEquals(best, result.get(0).pv.get(0));
+		Set<Move> first = new HashSet<Move>();
+		for (int i = 0; i < result.size(); i++) {
+			SearchInfo info = result.get(i);
+			assertEquals(i + 1, info.multipv);
+			assertEquals(3, info.depth);
+			assertTrue(first.add(info.pv.get(0)));
+			if (i > 0) assertTrue(info.score <= result.get(i - 1).score);
+		}
+	}
+
+	@Test
+	void firstLineMatchesASinglePvSearch()
+	{
+		Position start = Fen.parse("r3k2r/ppp2ppp/2n5/3qp3/8/2N2N2/PPP2PPP/R2QK2R w KQkq - 0 1");
+		PvLines single = new PvLines();
+		search.think(start, limits, single);
+		Search other = new Search(new TranspositionTable(4), new MaterialEvaluator());
+		other.setOptions(SearchOptions.none());
+		other.setMultiPv(3);
+		PvLines multi = new PvLines();
+		other.think(start, limits, multi);
+		assertEquals(single.get().get(0).score, multi.get().get(0).score);
+	}
+
+	@Test
+	void onlyMateInOneIsAMate()
+	{
+		search.setMultiPv(2);
+		PvLines lines = new PvLines();
+		search.think(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), limits, lines);
+		assertEquals(Move.parse("a1a8"), lines.get().get(0).pv.get(0));
+		assertTrue(lines.get().get(0).isMate());
+		assertFalse(lines.get().get(1).isMate());
+	}
+
+	@Test
+	void noMoreLinesThanLegalMoves()
+	{
+		search.setMultiPv(10);
+		PvLines lines = new PvLines();
+		search.think(Fen.parse("7k/8/8/8/8/8/8/K7 w - - 0 1"), limits, lines);
+		assertEquals(3, lines.get().size());
+	}
+
+	@Test
+	void linesStreamInOrderEachIteration()
+	{
+		search.setMultiPv(3);
+		List<SearchInfo> seen = new ArrayList<SearchInfo>();
+		search.think(Fen.parse(Fen.STARTPOS), limits, new PvLines(new SearchListener() {
+			@Override
+			public void onInfo(SearchInfo info)
+			{
+				seen.add(info);
+			}
+
+			@Override
+			public void onBestMove(Move best, Move ponder)
+			{
+			}
+		}));
+		assertEquals(9, seen.size());
+		for (int i = 0; i < seen.size(); i++) {
+			assertEquals(i / 3 + 1, seen.get(i).depth);
+			assertEquals(i % 3 + 1, seen.get(i).multipv);
+		}
+	}
+
+	@Test
+	void multiPvMustBePositive()
+	{
+		Assertions.assertThrows(IllegalArgumentException.class, () -> search.setMultiPv(0));
+	}
+}
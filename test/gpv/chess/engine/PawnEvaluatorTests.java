@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for the pawn structure terms and their cache.
+ * @version Oct 19, 2026
+ */
+class PawnEvaluatorTests
+{
+	private static final String[] MIDDLEGAMES = {
+		"r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4",
+		"r2q1rk1/pp2bppp/2n1pn2/3p4/3P4/2NBPN2/PP3PPP/R2Q1RK1 w - - 0 10",
+		"r1bq1rk1/pp3ppp/2nbpn2/2pp4/3P4/2PBPN2/PP1N1PPP/R1BQ1RK1 w - - 0 8",
+	};
+
+	@ParameterizedTest
+	@CsvSource({
+		"4k3/8/8/8/8/8/PP6/4K3 w - - 0 1, 20",		// two passers on the second rank
+		"4k3/8/8/8/8/P7/P7/4K3 w - - 0 1, -11",		// doubled, isolated, both passed
+		"4k3/pp6/8/8/8/8/PP6/4K3 w - - 0 1, 0",		// blocked on both sides
+		"4k3/1p6/8/8/8/8/P7/4K3 w - - 0 1, 0",		// each one stops the other
+	})
+	void structureTerms(String fen, int expected)
+	{
+		assertEquals(expected, PawnEvaluator.structure(Fen.parse(fen).getBoard()));
+	}
+
+	@Test
+	void mirroredStructureScoresTheOpposite()
+	{
+		Position white = Fen.parse("4k3/8/8/3P4/8/P1P5/P7/4K3 w - - 0 1");
+		Position black = Fen.parse("4k3/p7/p1p5/8/3p4/8/8/4K3 b - - 0 1");
+		assertEquals(-PawnEvaluator.structure(white.getBoard()), PawnEvaluator.structure(black.getBoard()));
+		PawnEvaluator eval = new PawnEvaluator(new MaterialEvaluator());
+		assertEquals(eval.evaluate(white), eval.evaluate(black));
+	}
+
+	@Test
+	void cachedScoreIsTheComputedScore()
+	{
+		PawnEvaluator eval = new PawnEvaluator(p -> 0, 1);
+		Position a = Fen.parse(MIDDLEGAMES[1]);
+		Position b = Fen.parse(MIDDLEGAMES[2]);
+		assertEquals(PawnEvaluator.structure(a.getBoard()), eval.pawns(a));
+		assertEquals(PawnEvaluator.structure(b.getBoard()), eval.pawns(b));	// evicts a
+		assertEquals(PawnEvaluator.structure(a.getBoard()), eval.pawns(a));
+		assertEquals(PawnEvaluator.structure(a.getBoard()), eval.pawns(a));
+		assertEquals(0.25, eval.hitRate(), 1e-9);
+	}
+
+	@Test
+	void middlegameSearchesHitTheCache()
+	{
+		PawnEvaluator eval = new PawnEvaluator(new MaterialEvaluator());
+		Search search = new Search(new TranspositionTable(4), eval);
+		SearchLimits limits = new SearchLimits();
+		limits.depth = 4;
+		for (String fen : MIDDLEGAMES) {
+			search.think(Fen.parse(fen), limits, new PvLines());
+		}
+		// about one evaluation in seven at this depth meets a new structure
+		assertTrue("hit rate " + eval.hitRate(), eval.hitRate() > 0.8);
+	}
+}
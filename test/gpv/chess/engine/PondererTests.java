@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for searching the expected reply while the opponent thinks.
+ * @version Oct 19, 2026
+ */
+class PondererTests
+{
+	private Search search;
+	private Ponderer ponderer;
+	private Position position;
+	private SearchLimits limits;
+	private Recorder recorder;
+
+	@BeforeEach
+	public void setupTest()
+	{
+		search = new Search(new TranspositionTable(1), new MaterialEvaluator());
+		ponderer = new Ponderer(search);
+		position = Fen.parse(Fen.STARTPOS);
+		position.makeMove(Move.parse("e2e4"));
+		limits = new SearchLimits();
+		limits.depth = 2;
+		recorder = new Recorder();
+	}
+
+	@AfterEach
+	public void tearDown()
+	{
+		ponderer.cancel();
+	}
+
+	@Test
+	void expectedReplyTurnsThePonderSearchIntoTheRealOne() throws InterruptedException
+	{
+		ponderer.start(position, Move.parse("e7e5"), limits, recorder);
+		assertFalse(recorder.done.await(300, TimeUnit.MILLISECONDS));
+		assertTrue(search.isPondering());
+		assertTrue(ponderer.opponentMoved(Move.parse("e7e5")));
+		assertTrue(recorder.done.await(10, TimeUnit.SECONDS));
+		position.makeMove(Move.parse("e7e5"));
+		assertTrue(MoveGenerator.legalMoves(position).contains(recorder.best.get(0)));
+		assertFalse(ponderer.isPondering());
+	}
+
+	@Test
+	void otherReplyCancelsThePonderSearch() throws InterruptedException
+	{
+		ponderer.start(position, Move.parse("e7e5"), limits, recorder);
+		assertFalse(ponderer.opponentMoved(Move.parse("d7d5")));
+		assertTrue(recorder.done.await(10, TimeUnit.SECONDS));
+		search.waitForFinish();
+		assertEquals(1, recorder.best.size());
+		position.makeMove(Move.parse("d7d5"));
+		assertTrue(MoveGenerator.legalMoves(position).contains(recorder.best.get(0)));
+	}
+
+	@Test
+	void illegalReplyLeavesThePonderSearchRunning()
+	{
+		ponderer.start(position, Move.parse("e7e5"), limits, recorder);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ponderer.opponentMoved(Move.parse("e7e4")));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ponderer.opponentMoved(Move.parse("e2e3")));
+		assertTrue(ponderer.isPondering());
+		assertTrue(search.isPondering());
+	}
+
+	@Test
+	void cancelledSessionReportsNothing() throws InterruptedException
+	{
+		ponderer.start(position, Move.parse("e7e5"), limits, recorder);
+		ponderer.cancel();
+		assertFalse(search.isSearching());
+		assertEquals(0, recorder.best.size());
+		Assertions.assertThrows(IllegalStateException.class, () -> ponderer.opponentMoved(Move.parse("e7e5")));
+	}
+
+	private static class Recorder implements SearchListener
+	{
+		final List<Move> best = new CopyOnWriteArrayList<Move>();
+		final CountDownLatch done = new CountDownLatch(1);
+
+		@Override
+		public void onInfo(SearchInfo info)
+		{
+		}
+
+		@Override
+		public void onBestMove(Move best, Move ponder)
+		{
+			this.best.add(best);
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import gpv.chess.PlayerColor;
+
+/**
+ * Tests for making and unmaking moves, move generation and time management.
+ * @version Oct 19, 2026
+ */
+class PositionTests
+{
+	private Position position;
+	
+	@BeforeEach
+	public void setupTest()
+	{
+		position = Fen.parse(Fen.STARTPOS);
+	}
+	
+	@Test
+	void twentyMovesFromTheStart()
+	{
+		assertEquals(20, MoveGenerator.legalMoves(position).size());
+	}
+	
+	@Test
+	void unmakeRestoresTheHash()
+	{
+		long start = position.getHash();
+		position.makeMove(Move.parse("e2e4"));
+		position.makeMove(Move.parse("e7e5"));
+		assertNotEquals(start, position.getHash());
+		position.unmakeMove();
+		position.unmakeMove();
+		assertEquals(start, position.getHash());
+		assertEquals(PlayerColor.WHITE, position.getSideToMove());
+		assertNotNull(position.pieceAt(makeCoordinate(5, 2)));
+		assertNull(position.pieceAt(makeCoordinate(5, 4)));
+	}
+	
+	@Test
+	void incrementalHashMatchesFullHash()
+	{
+		for (String m : "e2e4 e7e5 g1f3 b8c6 f1c4 g8f6 e1g1".split(" ")) {
+			position.makeMove(Move.parse(m));
+			assertEquals(Zobrist.hash(position.getBoard(), position.getSideToMove()), position.getHash());
+		}
+		assertNotNull(position.pieceAt(makeCoordinate(6, 1)));	// castled rook
+	}
+	
+	@Test
+	void incrementalPawnHashMatchesFullPawnHash()
+	{
+		position = Fen.parse("4k3/1P4p1/8/3p4/4P3/8/8/4K3 w - - 0 1");
+		long start = position.getPawnHash();
+		for (String m : "e4d5 e8d7 b7b8q g7g5 e1f2".split(" ")) {
+			long before = position.getPawnHash();
+			position.makeMove(Move.parse(m));
+			assertEquals(m, Zobrist.pawnHash(position.getBoard()), position.getPawnHash());
+			if (m.equals("e8d7") || m.equals("e1f2")) assertEquals(before, position.getPawnHash());
+		}
+		for (int i = 0; i < 5; i++) position.unmakeMove();
+		assertEquals(start, position.getPawnHash());
+	}
+	
+	@Test
+	void formatRoundTripsThroughParse()
+	{
+		for (String m : "e2e4 e7e5 g1f3 b8c6 e1e2 a8b8".split(" ")) position.makeMove(Move.parse(m));
+		String fen = Fen.format(position);
+		assertEquals("1rbqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPPKPPP/RNBQ1B1R w k - 4 1", fen);
+		assertEquals(fen, Fen.format(Fen.parse(fen)));
+		assertEquals(Fen.parse(fen).getHash(), Fen.parse(Fen.format(Fen.parse(fen))).getHash());
+	}
+	
+	@Test
+	void pinnedPawnCannotMove()
+	{
+		for (String m : "e2e4 e7e5 d1h5".split(" ")) position.makeMove(Move.parse(m));
+		List<Move> moves = MoveGenerator.legalMoves(position);
+		assertFalse(moves.contains(Move.parse("f7f6")));
+		assertTrue(moves.contains(Move.parse("g7g6")));
+	}
+	
+	@ParameterizedTest
+	@CsvSource({"e2e4", "e7e8q", "a7a8n", "h1h8"})
+	void moveRoundTrip(String text)
+	{
+		Move m = Move.parse(text);
+		assertEquals(text, m.toString());
+		assertEquals(m, Move.fromInt(m.toInt()));
+	}
+	
+	@Test
+	void timeManagerKeepsSoftBelowHard()
+	{
+		SearchLimits limits = new SearchLimits();
+		limits.wtime = 60000;
+		limits.winc = 1000;
+		TimeManager tm = new TimeManager(limits, PlayerColor.WHITE);
+		assertTrue(tm.getSoftLimit() <= tm.getHardLimit());
+		assertTrue(tm.getHardLimit() < limits.wtime);
+	}
+	
+	@Test
+	void knightsShufflingTwiceIsThreefoldRepetition()
+	{
+		String[] shuffle = { "g1f3", "g8f6", "f3g1", "f6g8" };
+		for (int round = 0; round < 2; round++) {
+			for (String m : shuffle) {
+				assertFalse(position.isDrawByRule());
+				position.makeMove(Move.parse(m));
+			}
+			assertTrue(position.isRepetition());
+		}
+		assertTrue(position.isDrawByRule());
+		assertTrue(position.copy().isDrawByRule());
+		position.unmakeMove();
+		assertFalse(position.isDrawByRule());
+	}
+	
+	@Test
+	void pawnMoveResetsTheClockAndEndsRepetitions()
+	{
+		for (String m : new String[] { "g1f3", "g8f6", "f3g1", "f6g8", "e2e4" }) position.makeMove(Move.parse(m));
+		assertEquals(0, position.getHalfmoveClock());
+		assertFalse(position.isRepetition());
+	}
+	
+	@Test
+	void fiftyMoveRule()
+	{
+		position = Fen.parse("8/8/8/4k3/8/8/8/R3K3 w - - 99 80");
+		assertFalse(position.isDrawByRule());
+		position.makeMove(Move.parse("a1a2"));
+		assertEquals(100, position.getHalfmoveClock());
+		assertTrue(position.isDrawByRule());
+	}
+	
+	@Test
+	void nullMoveOnlyChangesTheSideToMove()
+	{
+		long start = position.getHash();
+		position.makeNullMove();
+		assertEquals(PlayerColor.BLACK, position.getSideToMove());
+		assertEquals(Zobrist.hash(position.getBoard(), position.getSideToMove()), position.getHash());
+		position.unmakeMove();
+		assertEquals(PlayerColor.WHITE, position.getSideToMove());
+		assertEquals(start, position.getHash());
+	}
+	
+	@ParameterizedTest
+	@CsvSource({ "true", "false" })
+	void searchFindsMateInOne(boolean selective)
+	{
+		position = Fen.parse("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+		SearchLimits limits = new SearchLimits();
+		limits.depth = 3;
+		Search search = new Search(new TranspositionTable(1), new MaterialEvaluator());
+		if (!selective) search.setOptions(SearchOptions.none());
+		Move best = search.think(position, limits, new SearchListener() {
+			@Override public void onInfo(SearchInfo info) { }
+			@Override public void onBestMove(Move best, Move ponder) { }
+		});
+		assertEquals(Move.parse("a1a8"), best);
+	}
+}
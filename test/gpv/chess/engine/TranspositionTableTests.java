@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the lock-free transposition table.
+ * @version Oct 19, 2026
+ */
+class TranspositionTableTests
+{
+	private TranspositionTable tt;
+
+	@BeforeEach
+	public void setupTest()
+	{
+		tt = new TranspositionTable(1);
+	}
+
+	@Test
+	void storedEntryIsFound()
+	{
+		tt.store(0x1234_5678_9ABC_DEF0L, 42, -17, 5, TranspositionTable.BOUND_LOWER);
+		long data = tt.probe(0x1234_5678_9ABC_DEF0L);
+		assertEquals(42, TranspositionTable.move(data));
+		assertEquals(-17, TranspositionTable.score(data));
+		assertEquals(5, TranspositionTable.depth(data));
+		assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(data));
+	}
+
+	@Test
+	void anotherKeyInTheSameSlotMisses()
+	{
+		long key = 0x1111_0000_0000_0007L;
+		tt.store(key, 42, 0, 5, TranspositionTable.BOUND_EXACT);
+		assertEquals(0L, tt.probe(key ^ 1L << 40));
+	}
+
+	@Test
+	void deeperEntryOfThisSearchIsKept()
+	{
+		long key = 0x1111_0000_0000_0007L;
+		long other = key ^ 1L << 40;
+		tt.store(key, 42, 0, 9, TranspositionTable.BOUND_EXACT);
+		tt.store(other, 7, 0, 2, TranspositionTable.BOUND_EXACT);
+		assertEquals(42, TranspositionTable.move(tt.probe(key)));
+		tt.newSearch();
+		tt.store(other, 7, 0, 2, TranspositionTable.BOUND_EXACT);
+		assertEquals(7, TranspositionTable.move(tt.probe(other)));
+	}
+
+	@Test
+	void concurrentWritersNeverReturnAnotherKeysData() throws InterruptedException
+	{
+		long[] keys = new long[64];
+		for (int i = 0; i < keys.length; i++) keys[i] = (long) i << 40 | 3;	// all in slot 3
+		AtomicInteger corrupt = new AtomicInteger();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int n = 0; n < 200_000; n++) {
+					int i = n % keys.length;
+					tt.store(keys[i], i + 1, 0, 1, TranspositionTable.BOUND_EXACT);
+					long data = tt.probe(keys[(n * 7) % keys.length]);
+					if (data != 0 && TranspositionTable.move(data) != (n * 7) % keys.length + 1) corrupt.incrementAndGet();
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread t : threads) t.join();
+		assertEquals(0, corrupt.get());
+	}
+}
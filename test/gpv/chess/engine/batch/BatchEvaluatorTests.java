@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.batch;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import gpv.chess.engine.*;
+
+/**
+ * Tests that batch scoring matches the scalar evaluator.
+ * @version Oct 19, 2026
+ */
+class BatchEvaluatorTests
+{
+	private static final String[] FENS = {
+		Fen.STARTPOS,
+		"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+		"4k3/8/8/3q4/8/8/2P5/4K3 b - - 0 1",
+		"rnbqkbnrbn/pppppppppp/10/10/10/10/PPPPPPPPPP/RNBQKBNRBN w - - 0 1",
+		"k11/12/12/12/12/5Q6/12/12/12/12/12/11K w - - 0 1",
+	};
+
+	private BatchEvaluator evaluator;
+
+	@BeforeEach
+	public void setupTest()
+	{
+		evaluator = new BatchEvaluator(2);
+	}
+
+	@AfterEach
+	public void tearDown()
+	{
+		evaluator.close();
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { true, false })
+	void batchScoresMatchTheMaterialEvaluator(boolean fromText) throws InterruptedException
+	{
+		PositionBatch batch = new PositionBatch(FENS.length);
+		for (String fen : FENS) {
+			if (fromText) batch.add(fen);
+			else batch.add(Fen.parse(fen));
+		}
+		assertTrue(batch.isFull());
+		int[] scores = new int[FENS.length];
+		evaluator.evaluate(batch, scores);
+		for (int i = 0; i < FENS.length; i++) {
+			assertEquals(FENS[i], new MaterialEvaluator().evaluate(Fen.parse(FENS[i])), scores[i]);
+		}
+	}
+
+	@Test
+	void streamedScoresArriveAtTheirIndex() throws IOException
+	{
+		StringBuilder text = new StringBuilder();
+		int n = BatchEvaluator.CHUNK * 2 + 17;
+		for (int i = 0; i < n; i++) text.append(FENS[i % FENS.length]).append('\n');
+		int[] scores = new int[n];
+		BatchStats stats = evaluator.score(new BufferedReader(new StringReader(text.toString())),
+				(first, s, count) -> System.arraycopy(s, 0, scores, (int) first, count));
+		assertEquals(n, stats.positions);
+		for (int i = 0; i < n; i++) {
+			assertEquals(new MaterialEvaluator().evaluate(Fen.parse(FENS[i % FENS.length])), scores[i]);
+		}
+	}
+
+	@Test
+	void aBadLineStopsTheStream()
+	{
+		String text = Fen.STARTPOS + "\nrnbqkbnr/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1\n";
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> evaluator.score(new BufferedReader(new StringReader(text)), (first, s, count) -> {}));
+	}
+
+	@Test
+	@Timeout(30)
+	void aFailingSinkStopsTheStream()
+	{
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < BatchEvaluator.CHUNK * 20; i++) text.append(FENS[i % FENS.length]).append('\n');
+		IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+				() -> evaluator.score(new BufferedReader(new StringReader(text.toString())), (first, s, count) -> {
+					throw new IllegalStateException("sink is full");
+				}));
+		assertEquals("sink is full", e.getMessage());
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.engine.nnue;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.*;
+
+/**
+ * Tests for the network file format and the incrementally updated evaluator.
+ * @version Oct 19, 2026
+ */
+class NnueEvaluatorTests
+{
+	private static NnueNetwork net = NnueNetwork.random(32, 7);
+
+	@Test
+	void incrementalAccumulatorsMatchARefresh()
+	{
+		Position position = Fen.parse(Fen.STARTPOS);
+		NnueEvaluator incremental = new NnueEvaluator(net);
+		incremental.attach(position);
+		String[] moves = { "e2e4", "d7d5", "e4d5", "d8d5", "b1c3", "d5a5", "g1f3", "c8g4" };
+		for (String m : moves) {
+			position.makeMove(Move.parse(m));
+			assertEquals(m, new NnueEvaluator(net).evaluate(position.copy()), incremental.evaluate(position));
+		}
+		for (int i = 0; i < 3; i++) position.unmakeMove();
+		assertEquals(new NnueEvaluator(net).evaluate(position.copy()), incremental.evaluate(position));
+		incremental.detach(position);
+	}
+
+	@Test
+	void evaluatingAnotherBoardLeavesTheAttachedOneAlone()
+	{
+		Position position = Fen.parse(Fen.STARTPOS);
+		NnueEvaluator incremental = new NnueEvaluator(net);
+		incremental.attach(position);
+		incremental.evaluate(Fen.parse("4k3/8/8/8/8/8/8/8/8/4K3 w - - 0 1"));
+		position.makeMove(Move.parse("e2e4"));
+		assertEquals(new NnueEvaluator(net).evaluate(position.copy()), incremental.evaluate(position));
+		incremental.detach(position);
+	}
+
+	@Test
+	void wideNetworksDoNotOverflow()
+	{
+		NnueNetwork wide = NnueNetwork.random(1024, 7);
+		Arrays.fill(wide.outputWeights, Short.MAX_VALUE);
+		short[][] acc = new short[2][wide.hidden];
+		for (short[] view : acc) Arrays.fill(view, Short.MAX_VALUE);
+		long sum = 2L * wide.hidden * NnueNetwork.QA * Short.MAX_VALUE + wide.outputBias;
+		assertEquals(sum * wide.scale / (NnueNetwork.QA * NnueNetwork.QB),
+				new NnueEvaluator(wide).output(acc, PlayerColor.WHITE));
+	}
+
+	@Test
+	void mirroredPositionsEvaluateTheSame()
+	{
+		NnueEvaluator evaluator = new NnueEvaluator(net);
+		int white = evaluator.evaluate(Fen.parse("4k3/8/8/8/8/2N5/4P3/4K3 w - - 0 1"));
+		int black = evaluator.evaluate(Fen.parse("4k3/4p3/2n5/8/8/8/8/4K3 b - - 0 1"));
+		assertEquals(white, black);
+	}
+
+	@Test
+	void savedNetworkLoadsBack() throws IOException
+	{
+		Path file = Files.createTempFile("net", ".nnue");
+		try {
+			net.save(file);
+			NnueNetwork loaded = NnueNetwork.load(file);
+			Position position = Fen.parse(Fen.STARTPOS);
+			assertEquals(new NnueEvaluator(net).evaluate(position), new NnueEvaluator(loaded).evaluate(position));
+			Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+			Assertions.assertThrows(IOException.class, () -> NnueNetwork.load(file));
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+}
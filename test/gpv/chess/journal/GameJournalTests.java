@@ -0,0 +1,370 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+
+/**
+ * Tests for the game journal and rebuilding games from it.
+ * @version Oct 19, 2026
+ */
+class GameJournalTests
+{
+	private Path dir;
+	private Path crashed;
+
+	@BeforeEach
+	public void setupTest() throws IOException
+	{
+		dir = Files.createTempDirectory("journal");
+		crashed = Files.createTempDirectory("crashed");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		delete(dir);
+		delete(crashed);
+	}
+
+	@Test
+	void gamesAreRebuiltAfterClosing() throws IOException
+	{
+		String fen;
+		try (GameJournal journal = GameJournal.open(dir)) {
+			JournaledGame g = journal.start(7, Fen.parse(Fen.STARTPOS));
+			for (String m : new String[] { "e2e4", "e7e5", "g1f3", "b8c6" }) g.makeMove(Move.parse(m));
+			fen = Fen.format(g.getPosition());
+		}
+		try (GameJournal journal = GameJournal.open(dir)) {
+			assertEquals(1, journal.games().size());
+			JournaledGame g = journal.game(7);
+			assertEquals(fen, Fen.format(g.getPosition()));
+			assertEquals(4, g.getSeq());
+			g.makeMove(Move.parse("f1c4"));
+		}
+	}
+
+	@Test
+	void gamesAreRebuiltAfterACrash() throws IOException
+	{
+		List<String> fens = new ArrayList<String>();
+		GameJournal journal = GameJournal.open(dir);
+		SplittableRandom rnd = new SplittableRandom(3);
+		for (int id = 0; id < 50; id++) {
+			JournaledGame g = journal.start(id, Fen.parse(Fen.STARTPOS));
+			play(g, rnd, 30);
+			fens.add(Fen.format(g.getPosition()));
+		}
+		journal.sync();
+		copy(dir, crashed);		// the files as the dying process left them
+		journal.close();
+		try (GameJournal rebuilt = GameJournal.open(crashed)) {
+			assertEquals(50, rebuilt.games().size());
+			for (int id = 0; id < 50; id++) assertEquals(fens.get(id), Fen.format(rebuilt.game(id).getPosition()));
+		}
+	}
+
+	@Test
+	void takeBacksAreReplayedIncludingPastACheckpoint() throws IOException
+	{
+		String fen;
+		try (GameJournal journal = GameJournal.open(dir)) {
+			JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+			for (String m : new String[] { "e2e4", "e7e5", "g1f3" }) g.makeMove(Move.parse(m));
+			journal.checkpoint();
+			g.unmakeMove();			// before the checkpoint's snapshot
+			g.makeMove(Move.parse("d2d4"));
+			g.makeMove(Move.parse("e5d4"));
+			g.unmakeMove();
+			fen = Fen.format(g.getPosition());
+			journal.sync();
+			copy(dir, crashed);
+		}
+		try (GameJournal journal = GameJournal.open(crashed)) {
+			assertEquals(fen, Fen.format(journal.game(1).getPosition()));
+			assertEquals(7, journal.game(1).getSeq());
+		}
+	}
+
+	@Test
+	void finishedGamesAreNotRebuilt() throws IOException
+	{
+		try (GameJournal journal = GameJournal.open(dir)) {
+			journal.start(1, Fen.parse(Fen.STARTPOS)).makeMove(Move.parse("e2e4"));
+			JournaledGame g = journal.start(2, Fen.parse(Fen.STARTPOS));
+			g.finish();
+			assertTrue(g.isFinished());
+			assertNull(journal.game(2));
+			Assertions.assertThrows(IllegalStateException.class, () -> g.makeMove(Move.parse("e2e4")));
+			journal.start(2, Fen.parse(Fen.STARTPOS));	// the id can be used again
+			journal.game(2).finish();
+		}
+		try (GameJournal journal = GameJournal.open(dir)) {
+			assertEquals(1, journal.games().size());
+			assertNotNull(journal.game(1));
+		}
+	}
+
+	@Test
+	void changesTheJournalFailsToWriteLeaveTheGameAlone() throws IOException
+	{
+		GameJournal journal = GameJournal.open(dir);
+		JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+		g.makeMove(Move.parse("e2e4"));
+		journal.checkpoint();		// so taking e2e4 back journals a snapshot
+		g.makeMove(Move.parse("e7e5"));	// and taking this back an undo
+		String fen = Fen.format(g.getPosition());
+		journal.close();
+		Assertions.assertThrows(IllegalStateException.class, () -> g.makeMove(Move.parse("g1f3")));
+		Assertions.assertThrows(IllegalStateException.class, g::unmakeMove);
+		Assertions.assertThrows(IllegalStateException.class, g::finish);
+		assertEquals(fen, Fen.format(g.getPosition()));
+		assertEquals(2, g.getSeq());
+		assertFalse(g.isFinished());
+	}
+
+	@Test
+	void takingBackTheMoveASnapshotHoldsLeavesTheGameAloneWhenTheWriteFails() throws IOException
+	{
+		GameJournal journal = GameJournal.open(dir);
+		JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+		g.makeMove(Move.parse("e2e4"));
+		journal.checkpoint();
+		String fen = Fen.format(g.getPosition());
+		journal.close();
+		Assertions.assertThrows(IllegalStateException.class, g::unmakeMove);
+		assertEquals(fen, Fen.format(g.getPosition()));
+		assertEquals(1, g.getSeq());
+	}
+
+	@Test
+	void segmentWhoseHeaderNeverReachedTheDiskIsDropped() throws IOException
+	{
+		String fen;
+		try (GameJournal journal = GameJournal.open(dir)) {
+			JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+			g.makeMove(Move.parse("e2e4"));
+			fen = Fen.format(g.getPosition());
+		}
+		List<Path> files = segments(dir);
+		String last = files.get(files.size() - 1).getFileName().toString();
+		// as if the process died after roll() sized the next segment
+		Path next = dir.resolve(String.format("%08d.journal", Long.parseLong(last.substring(0, 8)) + 1));
+		Files.write(next, new byte[1 << 20]);
+		try (GameJournal journal = GameJournal.open(dir)) {
+			assertEquals(fen, Fen.format(journal.game(1).getPosition()));
+			journal.game(1).makeMove(Move.parse("e7e5"));
+		}
+		try (GameJournal journal = GameJournal.open(dir)) {
+			assertEquals(2, journal.game(1).getSeq());
+		}
+	}
+
+	@Test
+	void activeIdCanNotBeStartedTwice() throws IOException
+	{
+		try (GameJournal journal = GameJournal.open(dir)) {
+			journal.start(1, Fen.parse(Fen.STARTPOS));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> journal.start(1, Fen.parse(Fen.STARTPOS)));
+		}
+	}
+
+	@Test
+	void checkpointsRunWhileGamesArePlayedAndDeleteOldSegments() throws IOException
+	{
+		List<String> fens = new ArrayList<String>();
+		try (GameJournal journal = GameJournal.open(dir, 1, 1, 10)) {
+			SplittableRandom rnd = new SplittableRandom(5);
+			List<JournaledGame> games = new ArrayList<JournaledGame>();
+			for (int id = 0; id < 200; id++) games.add(journal.start(id, Fen.parse(Fen.STARTPOS)));
+			for (int round = 0; round < 400; round++) {
+				for (JournaledGame g : games) {
+					int ply = g.getPosition().getPly();
+					if (ply > 40 || ply > 0 && rnd.nextInt(10) == 0) g.unmakeMove();
+					else play(g, rnd, 1);
+				}
+			}
+			for (JournaledGame g : games) fens.add(Fen.format(g.getPosition()));
+			assertTrue(journal.getCheckpoints() >= 2);	// the one open() writes and at least one more
+		}
+		assertTrue(segments(dir).size() < 4);
+		try (GameJournal journal = GameJournal.open(dir, 1, 1, 10)) {
+			for (int id = 0; id < 200; id++) assertEquals(fens.get(id), Fen.format(journal.game(id).getPosition()));
+		}
+	}
+
+	@Test
+	void recordCutShortEndsTheJournal() throws IOException
+	{
+		String fen;
+		try (GameJournal journal = GameJournal.open(dir)) {
+			JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+			g.makeMove(Move.parse("e2e4"));
+			fen = Fen.format(g.getPosition());
+			g.makeMove(Move.parse("e7e5"));
+			journal.sync();
+		}
+		List<Path> files = segments(dir);
+		Path segment = files.get(files.size() - 1);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer b = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+			int at = GameJournal.HEADER_BYTES;
+			int last = at;
+			while (b.getInt(at) != 0) {
+				last = at;
+				at += 8 + b.getInt(at);
+			}
+			// the second move's record, as if its page never reached the disk
+			b.put(last + 8 + 9, (byte) (b.get(last + 8 + 9) ^ 1));
+		}
+		try (GameJournal journal = GameJournal.open(dir)) {
+			assertEquals(fen, Fen.format(journal.game(1).getPosition()));
+		}
+	}
+
+	@Test
+	void badRecordEndsTheReplayIncludingLaterSegments() throws IOException
+	{
+		try (GameJournal journal = GameJournal.open(dir, 1, 64, 10)) {
+			shuffle(journal.start(1, Fen.parse(Fen.STARTPOS)), 60_000);	// well into a second segment
+		}
+		List<Path> files = segments(dir);
+		assertEquals(2, files.size());
+		int seq;
+		try (FileChannel channel = FileChannel.open(files.get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer b = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+			int at = GameJournal.HEADER_BYTES;
+			for (int i = 0; i < 1000; i++) at += 8 + b.getInt(at);
+			seq = b.getInt(at + 8 + 5);
+			b.put(at + 8 + 9, (byte) (b.get(at + 8 + 9) ^ 1));
+		}
+		try (GameJournal journal = GameJournal.open(dir, 1, 64, 10)) {
+			assertEquals(seq - 1, journal.game(1).getSeq());
+		}
+	}
+
+	@Test
+	void failedCheckpointIsReported() throws IOException
+	{
+		GameJournal journal = GameJournal.open(dir, 4, 1, 10);
+		JournaledGame g = journal.start(1, Fen.parse(Fen.STARTPOS));
+		delete(dir);		// so the checkpoint can't start its segment
+		try {
+			IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, () -> {
+				long deadline = System.nanoTime() + 30_000_000_000L;
+				while (System.nanoTime() < deadline) shuffle(g, 4);
+			});
+			assertEquals("A checkpoint failed", e.getMessage());
+			Assertions.assertThrows(IllegalStateException.class, journal::close);
+		}
+		finally {
+			Files.createDirectory(dir);
+		}
+	}
+
+	@Test
+	void concurrentSyncsShareForces() throws Exception
+	{
+		try (GameJournal journal = GameJournal.open(dir)) {
+			Thread[] threads = new Thread[8];
+			for (int t = 0; t < threads.length; t++) {
+				JournaledGame g = journal.start(t, Fen.parse(Fen.STARTPOS));
+				threads[t] = new Thread(() -> {
+					SplittableRandom rnd = new SplittableRandom(g.getId());
+					for (int i = 0; i < 200; i++) {
+						List<Move> moves = legalMoves(g);
+						long lsn = g.getPosition().getPly() > 30 || moves.isEmpty() ? g.unmakeMove()
+								: g.makeMove(moves.get(rnd.nextInt(moves.size())));
+						journal.sync(lsn);
+					}
+				});
+			}
+			long before = journal.getSyncs();
+			for (Thread t : threads) t.start();
+			for (Thread t : threads) t.join();
+			assertTrue(journal.getSyncs() - before <= 8 * 200);
+		}
+		try (GameJournal journal = GameJournal.open(dir)) {
+			for (int t = 0; t < 8; t++) assertEquals(200, journal.game(t).getSeq());
+		}
+	}
+
+	private static void play(JournaledGame g, SplittableRandom rnd, int plies)
+	{
+		for (int i = 0; i < plies; i++) {
+			List<Move> moves = legalMoves(g);
+			if (moves.isEmpty()) {
+				g.unmakeMove();
+				continue;
+			}
+			g.makeMove(moves.get(rnd.nextInt(moves.size())));
+		}
+	}
+
+	private static List<Move> legalMoves(JournaledGame g)
+	{
+		return MoveGenerator.legalMoves(g.getPosition());
+	}
+
+	/**
+	 * Knights out and back again, for as many moves as it takes.
+	 */
+	private static void shuffle(JournaledGame g, int plies)
+	{
+		String[] moves = { "g1f3", "g8f6", "f3g1", "f6g8" };
+		for (int i = 0; i < plies; i++) g.makeMove(Move.parse(moves[i % moves.length]));
+	}
+
+	private static List<Path> segments(Path dir) throws IOException
+	{
+		List<Path> files = new ArrayList<Path>();
+		try (DirectoryStream<Path> s = Files.newDirectoryStream(dir, "*.journal")) {
+			for (Path f : s) files.add(f);
+		}
+		Collections.sort(files);
+		return files;
+	}
+
+	private static void copy(Path from, Path to) throws IOException
+	{
+		for (Path f : segments(from)) Files.copy(f, to.resolve(f.getFileName()));
+	}
+
+	private static void delete(Path dir) throws IOException
+	{
+		try (DirectoryStream<Path> s = Files.newDirectoryStream(dir)) {
+			for (Path f : s) Files.delete(f);
+		}
+		Files.delete(dir);
+	}
+}
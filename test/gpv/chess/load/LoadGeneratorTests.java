@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.load;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.load.LoadRequest.Kind;
+
+/**
+ * Tests for the open-loop load generator, its traffic and its reports.
+ * @version Oct 19, 2026
+ */
+class LoadGeneratorTests
+{
+	@Test
+	void requestsParseWhatTheyPrint()
+	{
+		LoadRequest v = LoadRequest.validate(Fen.STARTPOS, Move.parse("e2e4"));
+		LoadRequest a = LoadRequest.analyze(Fen.STARTPOS, 3);
+		for (LoadRequest r : Arrays.asList(v, a)) {
+			LoadRequest p = LoadRequest.parse(r.toString());
+			assertEquals(r.kind, p.kind);
+			assertEquals(r.fen, p.fen);
+			assertEquals(r.depth, p.depth);
+			assertEquals(r.toString(), p.toString());
+		}
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LoadRequest.parse("castle e1g1 " + Fen.STARTPOS));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LoadRequest.parse("analyze 0 " + Fen.STARTPOS));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LoadRequest.parse("validate e2e4"));
+	}
+	
+	@Test
+	void trafficFilesRoundTrip() throws IOException
+	{
+		List<LoadRequest> traffic = Traffic.synthetic(500, 0.1, 2, 42);
+		assertEquals(500, traffic.size());
+		assertTrue(traffic.stream().anyMatch(r -> r.kind == Kind.ANALYZE));
+		Path file = Files.createTempFile("traffic", ".txt");
+		try {
+			Traffic.write(file, traffic);
+			List<String> lines = new ArrayList<String>(Files.readAllLines(file));
+			lines.add(0, "# recorded");
+			lines.add("");
+			Files.write(file, lines);
+			List<LoadRequest> read = Traffic.read(file);
+			assertEquals(traffic.size(), read.size());
+			for (int i = 0; i < read.size(); i++) assertEquals(traffic.get(i).toString(), read.get(i).toString());
+			Files.write(file, Arrays.asList("validate e2e4 not a fen"));
+			Assertions.assertThrows(IOException.class, () -> Traffic.read(file));
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	void sendsAtTheTargetRate() throws InterruptedException
+	{
+		LoadReport report = new LoadGenerator(500, 2).run(Traffic.synthetic(100, 0, 1, 1), 0.5, 0.1);
+		assertEquals(250, report.completed(), 2);
+		assertEquals(0, report.errors(Kind.VALIDATE));
+		assertTrue(report.service(Kind.VALIDATE).count() == report.response(Kind.VALIDATE).count());
+		assertTrue(report.response(Kind.VALIDATE).percentile(0.5) >= report.service(Kind.VALIDATE).percentile(0.5));
+	}
+	
+	@Test
+	void stallsDelayTheRequestsQueuedBehindThem() throws InterruptedException
+	{
+		List<LoadRequest> traffic = new ArrayList<LoadRequest>();
+		traffic.add(LoadRequest.analyze(Fen.STARTPOS, 4));
+		for (int i = 0; i < 199; i++) traffic.add(LoadRequest.validate(Fen.STARTPOS, Move.parse("e2e4")));
+		LoadReport report = new LoadGenerator(2000, 1).run(traffic, 0.1, 0);
+		long stall = report.service(Kind.ANALYZE).max();
+		assertTrue(report.service(Kind.VALIDATE).percentile(0.5) < stall / 10);
+		// a closed loop would only have seen the one slow analysis, but every
+		// validation due in the first half of the stall waits out the rest of it
+		long late = Math.min(199, (long) (stall / 2 * 2000 / 1e9));
+		assertEquals(late, report.response(Kind.VALIDATE).countAbove(stall / 2), late / 10 + 2);
+	}
+	
+	@Test
+	void savedReportsCatchRegressions() throws InterruptedException, IOException
+	{
+		LoadReport report = new LoadGenerator(1000, 1).run(Traffic.synthetic(100, 0, 1, 7), 0.2, 0);
+		Path file = Files.createTempFile("report", ".properties");
+		try {
+			report.save(file);
+			LoadReport loaded = LoadReport.load(file);
+			assertEquals(report.targetRate, loaded.targetRate, 0);
+			assertEquals(report.completed(), loaded.completed());
+			assertEquals(report.response(Kind.VALIDATE), loaded.response(Kind.VALIDATE));
+			PrintStream quiet = new PrintStream(new ByteArrayOutputStream());
+			assertTrue(report.compare(loaded, 0.10, quiet));
+			LoadReport slower = new LoadReport(report.targetRate, report.seconds);
+			for (long i = 0; i < report.completed(); i++) slower.response(Kind.VALIDATE).record(10_000_000L);
+			ByteArrayOutputStream printed = new ByteArrayOutputStream();
+			assertFalse(slower.compare(report, 0.10, new PrintStream(printed)));
+			assertTrue(printed.toString().contains("REGRESSION"));
+			Files.write(file, Arrays.asList("rate=1000"));
+			Assertions.assertThrows(IOException.class, () -> LoadReport.load(file));
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.service;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Search;
+import gpv.chess.service.AnalysisRequest.Priority;
+
+/**
+ * Tests for the asynchronous analysis service. Each service has one worker,
+ * which a deep search with a short deadline keeps busy while the queues are
+ * examined.
+ * @version Oct 19, 2026
+ */
+class AnalysisServiceTests
+{
+	private static final String ITALIAN = "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4";
+	private static final String MATE_IN_ONE = "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1";
+
+	private AnalysisService service;
+
+	@BeforeEach
+	public void setupTest()
+	{
+		service = new AnalysisService(1, 2, 1);
+	}
+
+	@AfterEach
+	public void tearDown()
+	{
+		service.close();
+	}
+
+	/**
+	 * @return a request that keeps the worker searching until its deadline
+	 */
+	private CompletableFuture<AnalysisResult> busy(long millis)
+	{
+		return service.submit(new AnalysisRequest(ITALIAN, Search.MAX_PLY, Priority.INTERACTIVE, millis));
+	}
+
+	@Test
+	void resultIsTheSearchResult() throws Exception
+	{
+		AnalysisResult r = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000)).get();
+		assertEquals("a1a8", r.best.toString());
+		assertTrue(r.complete);
+		assertTrue(r.score > Search.MATE - Search.MAX_PLY);
+	}
+
+	@Test
+	void deadlineStopsARunningSearch() throws Exception
+	{
+		long start = System.currentTimeMillis();
+		AnalysisResult r = busy(400).get(5, TimeUnit.SECONDS);
+		assertTrue(System.currentTimeMillis() - start < 3000);
+		assertFalse(r.complete);
+		assertTrue(MoveGenerator.legalMoves(Fen.parse(ITALIAN)).contains(r.best));
+	}
+
+	@Test
+	void identicalQueuedRequestsShareASearch() throws Exception
+	{
+		CompletableFuture<AnalysisResult> first = busy(500);
+		CompletableFuture<AnalysisResult> a = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000));
+		CompletableFuture<AnalysisResult> b = service.submit(new AnalysisRequest(MATE_IN_ONE, 1, Priority.NORMAL, 10_000));
+		assertEquals(1, service.getMerged());
+		assertEquals(1, service.queued(Priority.NORMAL));
+		assertEquals(a.get().best, b.get().best);
+		assertEquals(2, b.get().depth);
+		first.get();
+		assertEquals(2, service.getSearched());
+	}
+
+	@Test
+	void fullQueueShedsButOtherPrioritiesStillQueue() throws Exception
+	{
+		busy(500);
+		service.submit(new AnalysisRequest(Fen.STARTPOS, 1, Priority.NORMAL, 10_000));
+		service.submit(new AnalysisRequest(ITALIAN, 1, Priority.NORMAL, 10_000));
+		CompletableFuture<AnalysisResult> shed = service.submit(new AnalysisRequest(MATE_IN_ONE, 1, Priority.NORMAL, 10_000));
+		CompletableFuture<AnalysisResult> background = service.submit(new AnalysisRequest(MATE_IN_ONE, 1, Priority.BACKGROUND, 10_000));
+		assertTrue(shed.isCompletedExceptionally());
+		try {
+			shed.get();
+			fail("should have been shed");
+		}
+		catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RejectedExecutionException);
+		}
+		assertEquals(1, service.getShed());
+		assertNotNull(background.get().best);
+	}
+
+	@Test
+	void submitterWaitsForRoom() throws Exception
+	{
+		busy(300);
+		service.submit(new AnalysisRequest(Fen.STARTPOS, 1, Priority.NORMAL, 10_000));
+		service.submit(new AnalysisRequest(ITALIAN, 1, Priority.NORMAL, 10_000));
+		CompletableFuture<AnalysisResult> waited = service.submit(
+				new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000), 5, TimeUnit.SECONDS);
+		assertEquals("a1a8", waited.get().best.toString());
+		assertEquals(0, service.getShed());
+	}
+
+	@Test
+	void urgentWorkGoesFirst() throws Exception
+	{
+		busy(400);
+		List<Priority> order = new CopyOnWriteArrayList<Priority>();
+		CompletableFuture<AnalysisResult> background = service.submit(new AnalysisRequest(Fen.STARTPOS, 2, Priority.BACKGROUND, 10_000))
+				.whenComplete((r, e) -> order.add(Priority.BACKGROUND));
+		CompletableFuture<AnalysisResult> interactive = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.INTERACTIVE, 10_000))
+				.whenComplete((r, e) -> order.add(Priority.INTERACTIVE));
+		background.get();
+		interactive.get();
+		assertEquals(Priority.INTERACTIVE, order.get(0));
+	}
+
+	@Test
+	void expiredQueuedRequestIsNeverSearched() throws Exception
+	{
+		CompletableFuture<AnalysisResult> first = busy(600);
+		CompletableFuture<AnalysisResult> late = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 50));
+		try {
+			late.get();
+			fail("should have timed out");
+		}
+		catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof TimeoutException);
+		}
+		assertEquals(0, service.queued(Priority.NORMAL));
+		first.get();
+		assertEquals(1, service.getSearched());
+	}
+
+	@Test
+	void closingRejectsQueuedWork()
+	{
+		busy(2000);
+		CompletableFuture<AnalysisResult> queued = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000));
+		service.close();
+		assertTrue(queued.isCompletedExceptionally());
+		assertTrue(service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000)).isCompletedExceptionally());
+	}
+
+	@Test
+	void closingStopsTheRunningSearch() throws Exception
+	{
+		CompletableFuture<AnalysisResult> running = busy(60_000);
+		while (service.getSearched() == 0) Thread.sleep(10);
+		Thread.sleep(200);
+		long start = System.currentTimeMillis();
+		service.close();
+		assertTrue(System.currentTimeMillis() - start < 2000);
+		assertTrue(running.isDone());
+	}
+
+	@Test
+	void aFailedSearchKeepsTheWorker() throws Exception
+	{
+		// the search throws once the black king steps onto rank 17, past the 16 ranks Zobrist has keys for
+		String tall = "8/1k6/8/8/8/8/8/8/8/8/8/8/8/8/8/8/K7 w - - 0 1";
+		CompletableFuture<AnalysisResult> failed = service.submit(new AnalysisRequest(tall, 2, Priority.NORMAL, 10_000));
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof RuntimeException);
+		AnalysisResult r = service.submit(new AnalysisRequest(MATE_IN_ONE, 2, Priority.NORMAL, 10_000)).get(5, TimeUnit.SECONDS);
+		assertEquals("a1a8", r.best.toString());
+	}
+}
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.stream;
+
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.PieceName;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+
+/**
+ * Tests for broadcasting move deltas through the ring buffer. A mirror
+ * rebuilds every game from keyframes and deltas and is compared with the
+ * producer's positions.
+ * @version Oct 19, 2026
+ */
+class DeltaStreamTests
+{
+	private SplittableRandom rnd = new SplittableRandom(3);
+
+	/**
+	 * Play a random legal move, or take one back now and then.
+	 */
+	private void step(GameFeed feed)
+	{
+		Position pos = feed.getPosition();
+		List<Move> moves = MoveGenerator.legalMoves(pos);
+		if (moves.isEmpty() || pos.getPly() > 0 && rnd.nextInt(10) == 0) feed.unmakeMove();
+		else feed.makeMove(moves.get(rnd.nextInt(moves.size())));
+	}
+
+	@Test
+	void mirrorFollowsSeveralGames()
+	{
+		DeltaStream stream = new DeltaStream(1 << 16);
+		Subscriber sub = stream.subscribe();
+		Mirror mirror = new Mirror();
+		GameFeed[] feeds = new GameFeed[3];
+		for (int g = 0; g < feeds.length; g++) feeds[g] = new GameFeed(stream, g, Fen.parse(Fen.STARTPOS), 16);
+		for (int i = 0; i < 300; i++) {
+			step(feeds[i % feeds.length]);
+			sub.poll(mirror, Integer.MAX_VALUE);
+			GameFeed f = feeds[i % feeds.length];
+			Position seen = mirror.games.get(i % feeds.length);
+			if (seen != null) assertEquals(f.getPosition().getHash(), seen.getHash());
+		}
+		assertEquals(0, mirror.overruns);
+		assertTrue(mirror.moves > 200);
+	}
+
+	@Test
+	void lateSubscriberJoinsAtTheNextKeyframe()
+	{
+		DeltaStream stream = new DeltaStream(1 << 12);
+		GameFeed feed = new GameFeed(stream, 7, Fen.parse(Fen.STARTPOS), 8);
+		for (int i = 0; i < 5; i++) feed.makeMove(MoveGenerator.legalMoves(feed.getPosition()).get(0));
+		Subscriber sub = stream.subscribe();
+		Mirror mirror = new Mirror();
+		feed.makeMove(MoveGenerator.legalMoves(feed.getPosition()).get(0));
+		sub.poll(mirror, Integer.MAX_VALUE);
+		assertNull(mirror.games.get(7));
+		for (int i = 0; i < 8; i++) feed.makeMove(MoveGenerator.legalMoves(feed.getPosition()).get(0));
+		sub.poll(mirror, Integer.MAX_VALUE);
+		assertEquals(feed.getPosition().getHash(), mirror.games.get(7).getHash());
+		assertEquals(feed.getSeq(), (int) mirror.seqs.get(7));
+	}
+
+	@Test
+	void lappedSubscriberIsToldAndRecovers()
+	{
+		DeltaStream stream = new DeltaStream(256);
+		Subscriber sub = stream.subscribe();
+		Mirror mirror = new Mirror();
+		GameFeed feed = new GameFeed(stream, 1, Fen.parse(Fen.STARTPOS), 32);
+		for (int i = 0; i < 200; i++) step(feed);
+		sub.poll(mirror, Integer.MAX_VALUE);
+		assertEquals(1, mirror.overruns);
+		assertNull(mirror.games.get(1));
+		for (int i = 0; i < 40; i++) {
+			step(feed);
+			sub.poll(mirror, Integer.MAX_VALUE);
+		}
+		assertEquals(feed.getPosition().getHash(), mirror.games.get(1).getHash());
+	}
+
+	@Test
+	void moveDeltaTakesTwoSlots()
+	{
+		DeltaStream stream = new DeltaStream(1 << 10);
+		GameFeed feed = new GameFeed(stream, 1, Fen.parse(Fen.STARTPOS), 1000);
+		long before = stream.position();
+		feed.makeMove(Move.parse("e2e4"));
+		assertEquals(2, stream.position() - before);
+	}
+
+	@Test
+	void promotionsAndCapturesAreFlagged()
+	{
+		DeltaStream stream = new DeltaStream(1 << 10);
+		GameFeed feed = new GameFeed(stream, 1, Fen.parse("3r2k1/2P5/8/8/8/8/8/4K3 w - - 0 1"), 1000);
+		Subscriber sub = stream.subscribe();
+		int[] seen = new int[2];
+		feed.makeMove(new Move(makeCoordinate(3, 7), makeCoordinate(4, 8), PieceName.QUEEN));
+		sub.poll(new Mirror() {
+			@Override
+			public void onMove(int game, int seq, int from, int to, int captured, int flags)
+			{
+				seen[0] = captured;
+				seen[1] = flags;
+			}
+		}, 1);
+		assertTrue(seen[0] != 0);
+		assertEquals(PieceName.QUEEN.ordinal() + 1, seen[1] & DeltaStream.PROMOTION_MASK);
+		assertTrue((seen[1] & DeltaStream.CAPTURE) != 0);
+	}
+
+	@Test
+	void concurrentSubscribersSeeEveryGame() throws InterruptedException
+	{
+		DeltaStream stream = new DeltaStream(1 << 18);
+		Subscriber[] subs = new Subscriber[4];
+		Mirror[] mirrors = new Mirror[subs.length];
+		for (int i = 0; i < subs.length; i++) {
+			subs[i] = stream.subscribe();
+			mirrors[i] = new Mirror();
+		}
+		GameFeed[] feeds = new GameFeed[8];
+		Thread producer = new Thread(() -> {
+			for (int g = 0; g < feeds.length; g++) feeds[g] = new GameFeed(stream, g, Fen.parse(Fen.STARTPOS), 16);
+			for (int i = 0; i < 2000; i++) step(feeds[i % feeds.length]);
+		});
+		producer.start();
+		Thread[] readers = new Thread[subs.length];
+		for (int i = 0; i < subs.length; i++) {
+			int r = i;
+			readers[i] = new Thread(() -> {
+				while (producer.isAlive() || subs[r].lag() > 0) {
+					if (subs[r].poll(mirrors[r], 64) == 0) Thread.yield();
+				}
+			});
+			readers[i].start();
+		}
+		producer.join();
+		for (Thread t : readers) t.join();
+		for (Mirror m : mirrors) {
+			assertEquals(0, m.overruns);
+			for (int g = 0; g < feeds.length; g++) {
+				assertEquals(feeds[g].getPosition().getHash(), m.games.get(g).getHash());
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds games from the stream. A game it can't follow, because of a
+	 * gap or a take back past its keyframe, waits for the next keyframe.
+	 */
+	private static class Mirror implements DeltaHandler
+	{
+		final Map<Integer, Position> games = new HashMap<Integer, Position>();
+		final Map<Integer, Integer> seqs = new HashMap<Integer, Integer>();
+		int moves;
+		int overruns;
+
+		private Position follow(int game, int seq)
+		{
+			Position p = games.get(game);
+			if (p != null && seqs.get(game) + 1 != seq) {
+				games.remove(game);
+				return null;
+			}
+			seqs.put(game, seq);
+			return p;
+		}
+
+		@Override
+		public void onMove(int game, int seq, int from, int to, int captured, int flags)
+		{
+			Position p = follow(game, seq);
+			if (p == null) return;
+			int promotion = flags & DeltaStream.PROMOTION_MASK;
+			p.makeMove(new Move(makeCoordinate(Keyframe.x(from), Keyframe.y(from)),
+					makeCoordinate(Keyframe.x(to), Keyframe.y(to)),
+					promotion == 0 ? null : PieceName.values()[promotion - 1]));
+			moves++;
+		}
+
+		@Override
+		public void onUndo(int game, int seq)
+		{
+			Position p = follow(game, seq);
+			if (p == null) return;
+			if (p.getPly() == 0) games.remove(game);
+			else p.unmakeMove();
+		}
+
+		@Override
+		public void onKeyframe(int game, int seq, Keyframe frame)
+		{
+			games.put(game, frame.toPosition());
+			seqs.put(game, seq);
+		}
+
+		@Override
+		public void onOverrun(long lost)
+		{
+			overruns++;
+			games.clear();
+		}
+	}
+}
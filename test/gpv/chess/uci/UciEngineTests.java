@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.uci;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.MoveGenerator;
+import gpv.chess.engine.Position;
+
+/**
+ * Tests for the UCI front end, driven over pipes the way a GUI drives it.
+ * @version Oct 19, 2026
+ */
+class UciEngineTests
+{
+	private PipedOutputStream commands;
+	private BlockingQueue<String> lines;
+	private Thread engine;
+
+	@BeforeEach
+	public void setupTest() throws IOException
+	{
+		commands = new PipedOutputStream();
+		PipedInputStream in = new PipedInputStream(commands);
+		lines = new LinkedBlockingQueue<String>();
+		PrintStream out = new PrintStream(new LineSplitter(lines), true);
+		engine = new Thread(() -> {
+			try {
+				new UciEngine(in, out).run();
+			}
+			catch (IOException e) {
+				lines.add("failed " + e);
+			}
+		}, "uci");
+		engine.start();
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException, InterruptedException
+	{
+		send("quit");
+		commands.close();
+		engine.join(10_000);
+		assertFalse(engine.isAlive());
+	}
+
+	@Test
+	void handshakesAreAnswered() throws IOException, InterruptedException
+	{
+		send("uci");
+		assertEquals("id name " + UciEngine.NAME, next());
+		assertNotNull(expect("option name Hash "));
+		expect("uciok");
+		send("isready");
+		assertEquals("readyok", next());
+	}
+
+	@Test
+	void searchAnswersWithALegalMoveInTheGivenPosition() throws IOException, InterruptedException
+	{
+		send("position startpos moves e2e4 e7e5 g1f3");
+		send("go depth 3");
+		String best = expect("bestmove ").split(" ")[1];
+		Position position = Fen.parse(Fen.STARTPOS);
+		for (String m : new String[] { "e2e4", "e7e5", "g1f3" }) position.makeMove(Move.parse(m));
+		assertTrue(MoveGenerator.legalMoves(position).contains(Move.parse(best)));
+	}
+
+	@Test
+	void isreadyAndStopAreAnsweredDuringAnInfiniteSearch() throws IOException, InterruptedException
+	{
+		send("position startpos");
+		send("go infinite");
+		expect("info depth 1 ");
+		send("isready");
+		expect("readyok");
+		send("stop");
+		expect("bestmove ");
+	}
+
+	@Test
+	void malformedNumbersKeepTheEngineAlive() throws IOException, InterruptedException
+	{
+		send("setoption name Hash value x");
+		assertEquals("info string bad option value x", next());
+		send("go depth x");	// no usable limit, so it searches until stopped
+		send("isready");
+		expect("readyok");
+		send("stop");
+		expect("bestmove ");
+		send("go depth 2");
+		expect("bestmove ");
+		assertTrue(engine.isAlive());
+	}
+
+	private void send(String command) throws IOException
+	{
+		commands.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+		commands.flush();
+	}
+
+	/**
+	 * @return the next line the engine sends
+	 */
+	private String next() throws InterruptedException
+	{
+		String line = lines.poll(10, TimeUnit.SECONDS);
+		assertNotNull("no answer", line);
+		return line;
+	}
+
+	/**
+	 * @return the first line that starts with the prefix, skipping the others
+	 */
+	private String expect(String prefix) throws InterruptedException
+	{
+		while (true) {
+			String line = next();
+			if (line.startsWith(prefix)) return line;
+		}
+	}
+
+	/**
+	 * Hands each line written to the stream to a queue.
+	 */
+	private static final class LineSplitter extends OutputStream
+	{
+		private final BlockingQueue<String> lines;
+		private final StringBuilder line = new StringBuilder();
+
+		LineSplitter(BlockingQueue<String> lines)
+		{
+			this.lines = lines;
+		}
+
+		@Override
+		public synchronized void write(int b)
+		{
+			if (b == '\n') {
+				lines.add(line.toString().trim());
+				line.setLength(0);
+			}
+			else {
+				line.append((char) b);
+			}
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.chess.wire;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.*;
+
+import gpv.chess.ChessPieceDescriptor;
+import gpv.chess.PlayerColor;
+import gpv.chess.engine.Fen;
+import gpv.chess.engine.Move;
+import gpv.chess.engine.Position;
+
+/**
+ * Tests for the flat board layout and its view.
+ * @version Oct 19, 2026
+ */
+class BoardLayoutTests
+{
+	@Test
+	void viewReadsWhatWasWritten()
+	{
+		Position pos = Fen.parse(Fen.STARTPOS);
+		pos.makeMove(Move.parse("e2e4"));
+		pos.makeMove(Move.parse("g8f6"));
+		ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+		assertEquals(BoardLayout.size(8, 8), BoardLayout.write(pos, buffer, 0));
+		assertEquals(0, buffer.position());
+		BoardView view = new BoardView().wrap(buffer, 0);
+		assertEquals(8, view.nRows());
+		assertEquals(8, view.nColumns());
+		assertEquals(PlayerColor.WHITE, view.sideToMove());
+		assertEquals(1, view.halfmoveClock());
+		assertEquals(32, view.pieces());
+		assertEquals(pos.getHash(), view.hash());
+		assertEquals(ChessPieceDescriptor.WHITEPAWN, view.descriptorAt(5, 4));
+		assertTrue(view.hasMoved(5, 4));
+		assertTrue(view.isEmpty(5, 2));
+		assertEquals(ChessPieceDescriptor.BLACKKNIGHT, view.descriptorAt(6, 6));
+		assertFalse(view.hasMoved(1, 1));
+		assertSame(pos.pieceAt(gpv.util.Coordinate.makeCoordinate(4, 8)), view.pieceAt(4, 8));
+		assertEquals(Fen.format(pos), Fen.format(view.toPosition()));
+		assertEquals(pos.getHash(), view.toPosition().getHash());
+	}
+
+	@Test
+	void boardsPackBackToBackInEitherByteOrder()
+	{
+		String[] fens = { Fen.STARTPOS, "4k3/8/8/8/8/8/8/4K2R b K - 7 1", "3k2/6/6/6/6/3K2 w - - 0 1" };
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+			ByteBuffer buffer = ByteBuffer.allocate(512).order(order);
+			int at = 0;
+			for (String fen : fens) at += BoardLayout.write(Fen.parse(fen), buffer, at);
+			BoardView view = new BoardView();
+			at = 0;
+			for (String fen : fens) {
+				view.wrap(buffer, at);
+				assertEquals(0, at % 8);
+				assertEquals(fen, Fen.format(view.toPosition()));
+				assertEquals(Fen.parse(fen).getHash(), view.hash());
+				at += view.length();
+			}
+		}
+		// the same bytes whatever order the writer's buffer was in
+		ByteBuffer big = ByteBuffer.allocate(128);
+		ByteBuffer little = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+		BoardLayout.write(Fen.parse(Fen.STARTPOS), big, 0);
+		BoardLayout.write(Fen.parse(Fen.STARTPOS), little, 0);
+		assertEquals(little, big);
+	}
+
+	@Test
+	void boardsAreSharedThroughAMappedFile() throws IOException
+	{
+		Path file = Files.createTempFile("boards", ".bin");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer writer = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096);
+			Position pos = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+			BoardLayout.write(pos, writer, 88);
+			writer.force();
+			MappedByteBuffer reader = channel.map(FileChannel.MapMode.READ_ONLY, 0, 4096);
+			BoardView view = new BoardView().wrap(reader, 88);
+			assertEquals(ChessPieceDescriptor.BLACKROOK, view.descriptorAt(8, 8));
+			assertEquals(6, view.pieces());
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void unknownDataIsRejected()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardView().wrap(buffer, 0));
+		BoardLayout.write(Fen.parse(Fen.STARTPOS), buffer, 0);
+		buffer.put(BoardLayout.MAJOR_AT, (byte) (BoardLayout.MAJOR_VERSION + 1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardView().wrap(buffer, 0));
+		buffer.put(BoardLayout.MAJOR_AT, (byte) BoardLayout.MAJOR_VERSION);
+		buffer.putShort(BoardLayout.HEADER_AT, Short.reverseBytes((short) (BoardLayout.HEADER_BYTES + 4)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardView().wrap(buffer, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class,
+				() -> BoardLayout.write(Fen.parse(Fen.STARTPOS), ByteBuffer.allocate(64), 0));
+		BoardLayout.write(Fen.parse(Fen.STARTPOS), buffer, 0);
+		BoardView view = new BoardView().wrap(buffer, 0);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.descriptorAt(9, 1));
+	}
+
+	@Test
+	void readersSkipHeaderFieldsTheyDontKnow()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+		BoardLayout.write(Fen.parse(Fen.STARTPOS), buffer, 0);
+		// a later minor version with 8 more bytes of header
+		ByteBuffer squares = ByteBuffer.allocate(64);
+		for (int i = 0; i < 64; i++) squares.put(buffer.get(BoardLayout.HEADER_BYTES + i));
+		for (int i = 0; i < 64; i++) buffer.put(BoardLayout.HEADER_BYTES + 8 + i, squares.get(i));
+		buffer.putShort(BoardLayout.HEADER_AT, (short) (BoardLayout.HEADER_BYTES + 8));
+		buffer.put(BoardLayout.MINOR_AT, (byte) (BoardLayout.MINOR_VERSION + 1));
+		BoardView view = new BoardView().wrap(buffer, 0);
+		assertEquals(BoardLayout.size(8, 8) + 8, view.length());
+		assertEquals(Fen.STARTPOS, Fen.format(view.toPosition()));
+	}
+}
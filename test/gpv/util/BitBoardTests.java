@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import gpv.chess.*;
+
+/**
+ * Tests for the bitset board used for variant sizes.
+ * @version Oct 19, 2026
+ */
+class BitBoardTests
+{
+	private static ChessPieceFactory factory = new ChessPieceFactory();
+
+	@ParameterizedTest
+	@CsvSource({ "8, 10", "12, 12", "16, 16", "3, 5" })
+	void edgesMatchTheMapBoard(int rows, int columns)
+	{
+		Board<ChessPiece> reference = new Board<ChessPiece>(rows, columns);
+		BitBoard<ChessPiece> theBoard = new BitBoard<ChessPiece>(rows, columns);
+		for (int x = -1; x <= 18; x++) {
+			for (int y = -1; y <= 18; y++) {
+				Coordinate c = makeCoordinate(x, y);
+				assertEquals(c.toString(), reference.isOnBoard(c), theBoard.isOnBoard(c));
+			}
+		}
+	}
+
+	@Test
+	void boardsLargerThan16AreRejected()
+	{
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BitBoard<ChessPiece>(17, 8));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new BitBoard<ChessPiece>(8, 17));
+	}
+
+	@Test
+	void rookSlidesAlongAWideRank()
+	{
+		BitBoard<ChessPiece> theBoard = new BitBoard<ChessPiece>(12, 12);
+		ChessPiece rook = factory.makePiece(WHITEROOK);
+		theBoard.putPieceAt(rook, makeCoordinate(1, 5));
+		assertTrue(rook.canMove(makeCoordinate(1, 5), makeCoordinate(12, 5), theBoard));
+		theBoard.putPieceAt(factory.makePiece(BLACKPAWN), makeCoordinate(9, 5));
+		assertTrue(rook.canMove(makeCoordinate(1, 5), makeCoordinate(9, 5), theBoard));
+		assertFalse(rook.canMove(makeCoordinate(1, 5), makeCoordinate(12, 5), theBoard));
+		assertFalse(rook.canMove(makeCoordinate(1, 5), makeCoordinate(13, 5), theBoard));
+	}
+
+	@Test
+	void bishopIsBlockedOnALongDiagonal()
+	{
+		BitBoard<ChessPiece> theBoard = new BitBoard<ChessPiece>(16, 16);
+		ChessPiece bishop = factory.makePiece(BLACKBISHOP);
+		theBoard.putPieceAt(bishop, makeCoordinate(16, 16));
+		assertTrue(bishop.canMove(makeCoordinate(16, 16), makeCoordinate(1, 1), theBoard));
+		theBoard.putPieceAt(factory.makePiece(WHITEKNIGHT), makeCoordinate(5, 5));
+		assertFalse(bishop.canMove(makeCoordinate(16, 16), makeCoordinate(1, 1), theBoard));
+	}
+
+	@Test
+	void occupancyFollowsPutAndRemove()
+	{
+		BitBoard<ChessPiece> theBoard = new BitBoard<ChessPiece>(10, 8);
+		theBoard.putPieceAt(factory.makePiece(WHITEKING), makeCoordinate(5, 1));
+		theBoard.putPieceAt(factory.makePiece(BLACKKING), makeCoordinate(5, 10));
+		assertTrue(theBoard.isOccupied(5, 10));
+		assertEquals(2, theBoard.pieceCount());
+		theBoard.removePieceAt(makeCoordinate(5, 10));
+		assertFalse(theBoard.isOccupied(5, 10));
+		assertEquals(1, theBoard.pieceCount());
+		assertTrue(theBoard.copy() instanceof BitBoard);
+	}
+
+	@Test
+	void rulesMatchTheMapBoardOnRandomPositions()
+	{
+		SplittableRandom rnd = new SplittableRandom(33);
+		ChessPieceDescriptor[] descriptors = ChessPieceDescriptor.values();
+		for (int n = 0; n < 3000; n++) {
+			int rows = 1 + rnd.nextInt(16);
+			int columns = 1 + rnd.nextInt(16);
+			Board<ChessPiece> reference = new Board<ChessPiece>(rows, columns);
+			BitBoard<ChessPiece> theBoard = new BitBoard<ChessPiece>(rows, columns);
+			int pieces = 1 + rnd.nextInt(rows * columns / 3 + 1);
+			for (int i = 0; i < pieces; i++) {
+				Coordinate c = makeCoordinate(1 + rnd.nextInt(columns), 1 + rnd.nextInt(rows));
+				ChessPiece p = factory.makePiece(descriptors[rnd.nextInt(descriptors.length)]);
+				boolean moved = rnd.nextBoolean();
+				for (Board<ChessPiece> b : Arrays.asList(reference, theBoard)) {
+					b.putPieceAt(p, c);
+					if (moved) b.setHasMoved(c);
+				}
+			}
+			// ChessRules directly, since MoveCache would answer both boards from one entry
+			reference.forEachPiece((from, p) -> {
+				for (int x = 1; x <= columns; x++) {
+					for (int y = 1; y <= rows; y++) {
+						Coordinate to = makeCoordinate(x, y);
+						if (to.equals(from)) continue;
+						assertEquals(p + " " + from + "-" + to, ChessRules.checkValidRule(p, from, to, reference),
+								ChessRules.checkValidRule(p, from, to, theBoard));
+					}
+				}
+			});
+		}
+	}
+}
@@ -15,7 +15,9 @@ package gpv.util;
 import static gpv.chess.ChessPieceDescriptor.*;
 import static gpv.util.Coordinate.makeCoordinate;
 import static gpv.util.SquareInitializer.makeSquareInitializer;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import java.util.*;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
@@ -61,6 +63,18 @@ class BoardTests
 		assertNotNull(theBoard.getPieceAt(makeCoordinate(6, 0)));
 	}
 
+	@Test
+	void movedFlagsCoverRowsAddedLater()
+	{
+		theBoard.setnRows(10);
+		Coordinate c = makeCoordinate(8, 10);
+		assertFalse(theBoard.hasMoved(c));
+		theBoard.putPieceAt(factory.makePiece(WHITEKING), c);
+		theBoard.setHasMoved(c);
+		assertTrue(theBoard.hasMoved(c));
+		assertFalse(theBoard.hasMoved(makeCoordinate(8, 9)));
+	}
+
 	// Helper methods
 	private List<SquareInitializer> makeInitializers(Object... params)
 	{
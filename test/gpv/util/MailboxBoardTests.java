@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static gpv.chess.ChessPieceDescriptor.*;
+import static gpv.util.Coordinate.makeCoordinate;
+import static org.junit.Assert.*;
+import org.junit.jupiter.api.*;
+import gpv.chess.*;
+
+/**
+ * Tests for the 0x88 mailbox board.
+ * @version Oct 19, 2026
+ */
+class MailboxBoardTests
+{
+	private static ChessPieceFactory factory = new ChessPieceFactory();
+	private MailboxBoard<ChessPiece> theBoard;
+
+	@BeforeEach
+	public void setup()
+	{
+		theBoard = new MailboxBoard<ChessPiece>();
+	}
+
+	@Test
+	void offBoardSquaresHaveA0x88Bit()
+	{
+		assertFalse(MailboxBoard.offBoard(MailboxBoard.square(1, 1)));
+		assertFalse(MailboxBoard.offBoard(MailboxBoard.square(8, 8)));
+		assertTrue(MailboxBoard.offBoard(MailboxBoard.square(9, 1)));
+		assertTrue(MailboxBoard.offBoard(MailboxBoard.square(1, 9)));
+		assertTrue(MailboxBoard.offBoard(MailboxBoard.square(0, 1) & 0xFF));
+	}
+
+	@Test
+	void isOnBoardMatchesARangeCheck()
+	{
+		Board<ChessPiece> reference = new Board<ChessPiece>(8, 8);
+		for (int x = -2; x <= 10; x++) {
+			for (int y = -2; y <= 10; y++) {
+				Coordinate c = makeCoordinate(x, y);
+				assertEquals(c.toString(), reference.isOnBoard(c), theBoard.isOnBoard(c));
+			}
+		}
+	}
+
+	@Test
+	void putAndRemove()
+	{
+		ChessPiece pawn = factory.makePiece(WHITEPAWN);
+		assertNull(theBoard.putPieceAt(pawn, makeCoordinate(5, 2)));
+		assertSame(pawn, theBoard.getPieceAt(makeCoordinate(5, 2)));
+		assertNull(theBoard.getPieceAt(makeCoordinate(5, 9)));
+		assertSame(pawn, theBoard.removePieceAt(makeCoordinate(5, 2)));
+		assertNull(theBoard.getPieceAt(makeCoordinate(5, 2)));
+	}
+
+	@Test
+	void piecesCannotBePutOffTheBoard()
+	{
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> theBoard.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(1, 0)));
+	}
+
+	@Test
+	void onlyEightRowsCanBeSet()
+	{
+		theBoard.putPieceAt(factory.makePiece(WHITEPAWN), makeCoordinate(5, 2));
+		theBoard.setnRows(8);
+		assertEquals(8, theBoard.nRows);
+		assertNotNull(theBoard.getPieceAt(makeCoordinate(5, 2)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> theBoard.setnRows(9));
+	}
+
+	@Test
+	void hashAndCopyMatchTheMapBoard()
+	{
+		Board<ChessPiece> reference = new Board<ChessPiece>(8, 8);
+		for (Board<ChessPiece> b : java.util.Arrays.asList(reference, theBoard)) {
+			b.putPieceAt(factory.makePiece(WHITEKING), makeCoordinate(5, 1));
+			b.putPieceAt(factory.makePiece(BLACKROOK), makeCoordinate(8, 8));
+			b.setHasMoved(makeCoordinate(8, 8));
+		}
+		assertEquals(reference.getHash(), theBoard.getHash());
+		Board<ChessPiece> copy = theBoard.copy();
+		assertTrue(copy instanceof MailboxBoard);
+		assertEquals(theBoard.getHash(), copy.getHash());
+		assertTrue(copy.hasMoved(makeCoordinate(8, 8)));
+		int[] count = new int[1];
+		copy.forEachPiece((c, p) -> count[0]++);
+		assertEquals(2, count[0]);
+	}
+
+	@Test
+	void mapBoardCopiesTheMailboxSquares()
+	{
+		ChessPiece king = factory.makePiece(WHITEKING);
+		theBoard.putPieceAt(king, makeCoordinate(5, 1));
+		theBoard.setHasMoved(makeCoordinate(5, 1));
+		Board<ChessPiece> copy = new Board<ChessPiece>(theBoard);
+		assertSame(king, copy.getPieceAt(makeCoordinate(5, 1)));
+		assertTrue(copy.hasMoved(makeCoordinate(5, 1)));
+		assertEquals(theBoard.getHash(), copy.getHash());
+		copy.removePieceAt(makeCoordinate(5, 1));
+		assertSame(king, theBoard.getPieceAt(makeCoordinate(5, 1)));
+	}
+
+	@Test
+	void rulesWorkOnTheMailbox()
+	{
+		ChessPiece rook = factory.makePiece(WHITEROOK);
+		theBoard.putPieceAt(rook, makeCoordinate(1, 1));
+		assertTrue(rook.canMove(makeCoordinate(1, 1), makeCoordinate(1, 8), theBoard));
+		assertFalse(rook.canMove(makeCoordinate(1, 1), makeCoordinate(1, 9), theBoard));
+	}
+}
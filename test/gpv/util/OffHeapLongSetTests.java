@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the off-heap set of longs.
+ * @version Oct 19, 2026
+ */
+class OffHeapLongSetTests
+{
+	@Test
+	void addsEachValueOnce()
+	{
+		OffHeapLongSet set = OffHeapLongSet.inMemory(1000);
+		assertTrue(set.add(42));
+		assertFalse(set.add(42));
+		assertTrue(set.add(0));
+		assertFalse(set.add(0));
+		assertTrue(set.contains(42));
+		assertTrue(set.contains(0));
+		assertFalse(set.contains(43));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	void matchesAHashSet()
+	{
+		OffHeapLongSet set = OffHeapLongSet.inMemory(5000);
+		Set<Long> reference = new HashSet<Long>();
+		SplittableRandom rnd = new SplittableRandom(1);
+		for (int i = 0; i < 5000; i++) {
+			long v = rnd.nextInt(3000) * 0x1_0000_0001L;	// patterned values with repeats
+			assertEquals(reference.add(v), set.add(v));
+		}
+		assertEquals(reference.size(), set.size());
+		long[] sum = new long[1];
+		set.forEach(v -> sum[0] += v);
+		assertEquals(reference.stream().mapToLong(Long::longValue).sum(), sum[0]);
+	}
+
+	@Test
+	void fullSetRejectsNewValues()
+	{
+		OffHeapLongSet set = OffHeapLongSet.inMemory(10);
+		for (long v = 1; v <= set.capacity(); v++) set.add(v);
+		assertFalse(set.add(1));
+		Assertions.assertThrows(IllegalStateException.class, () -> set.add(-1));
+	}
+
+	@Test
+	void concurrentAddsCountEachValueOnce() throws InterruptedException
+	{
+		OffHeapLongSet set = OffHeapLongSet.inMemory(100_000);
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			int seed = t;
+			threads[t] = new Thread(() -> {
+				SplittableRandom rnd = new SplittableRandom(seed);
+				for (int i = 0; i < 100_000; i++) set.add(1 + rnd.nextInt(50_000));
+			});
+			threads[t].start();
+		}
+		for (Thread t : threads) t.join();
+		long[] count = new long[1];
+		set.forEach(v -> count[0]++);
+		assertEquals(count[0], set.size());
+		assertTrue(set.size() <= 50_000);
+		assertTrue(set.bytesPerElement() < 20);
+	}
+
+	@Test
+	void spilledSetDeletesItsFile() throws IOException
+	{
+		Path file = Files.createTempFile("hashes", ".set");
+		try (OffHeapLongSet set = OffHeapLongSet.spilled(file, 1000)) {
+			for (long v = 1; v <= 1000; v++) set.add(v * 0x9E3779B97F4A7C15L);
+			assertEquals(1000, set.size());
+			assertTrue(set.contains(7 * 0x9E3779B97F4A7C15L));
+		}
+		assertFalse(Files.exists(file));
+	}
+}
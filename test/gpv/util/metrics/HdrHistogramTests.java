@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for the high dynamic range histogram.
+ * @version Oct 19, 2026
+ */
+class HdrHistogramTests
+{
+	@ParameterizedTest
+	@ValueSource(longs = {0, 127, 128, 129, 255, 256, 1000, 123456789, Long.MAX_VALUE})
+	void valueFallsInsideItsBucket(long v)
+	{
+		HdrHistogram h = new HdrHistogram();
+		int i = h.index(v);
+		assertTrue(v <= h.highestValue(i));
+		assertTrue(i == 0 || v > h.highestValue(i - 1));
+	}
+	
+	@Test
+	void percentilesAreWithinOnePercent()
+	{
+		HdrHistogram h = new HdrHistogram();
+		for (long v = 1; v <= 1_000_000; v++) h.record(v * 1000);
+		assertEquals(1_000_000, h.count());
+		assertEquals(1000, h.min());
+		assertEquals(1_000_000_000L, h.max());
+		assertEquals(500_000_500L, h.mean());
+		long[] expected = { 500_000_000L, 990_000_000L, 999_000_000L };
+		double[] p = { 0.50, 0.99, 0.999 };
+		for (int i = 0; i < p.length; i++) {
+			long v = h.percentile(p[i]);
+			assertTrue(v >= expected[i] && v <= expected[i] * 1.01);
+		}
+		assertEquals(h.max(), h.percentile(1.0));
+	}
+	
+	@Test
+	void countAboveIsWithinTheValuesBucket()
+	{
+		HdrHistogram h = new HdrHistogram();
+		for (long v = 1; v <= 100_000; v++) h.record(v * 1000);
+		long above = h.countAbove(50_000_000L);
+		assertTrue(above <= 50_000 && above >= 50_000 * 0.99);
+		assertEquals(100_000, h.countAbove(-1));
+		assertEquals(0, h.countAbove(h.max()));
+	}
+	
+	@Test
+	void addMergesCountsAndExtremes()
+	{
+		HdrHistogram a = new HdrHistogram();
+		HdrHistogram b = new HdrHistogram();
+		HdrHistogram both = new HdrHistogram();
+		for (long v = 1; v < 5000; v += 3) {
+			(v % 2 == 0 ? a : b).record(v * 17);
+			both.record(v * 17);
+		}
+		a.add(b);
+		assertEquals(both, a);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> a.add(new HdrHistogram(3)));
+	}
+	
+	@Test
+	void encodeRoundTrips()
+	{
+		HdrHistogram h = new HdrHistogram(5);
+		assertEquals(h, HdrHistogram.decode(h.encode()));
+		for (long v = 0; v < 100_000; v += 7) h.record(v * v);
+		HdrHistogram d = HdrHistogram.decode(h.encode());
+		assertEquals(h, d);
+		assertEquals(h.percentile(0.999), d.percentile(0.999));
+	}
+	
+	@Test
+	void decodeRejectsGarbage()
+	{
+		Assertions.assertThrows(IllegalArgumentException.class, () -> HdrHistogram.decode("7 2 0 0 0 3:1"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> HdrHistogram.decode("histogram"));
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * This files was developed for CS4233: Object-Oriented Analysis & Design.
+ * The course was taken at Worcester Polytechnic Institute.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Copyright ©2020 Gary F. Pollice
+ *******************************************************************************/
+
+package gpv.util.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for the metrics histogram and snapshot.
+ * @version Oct 19, 2026
+ */
+class LatencyHistogramTests
+{
+	@ParameterizedTest
+	@ValueSource(longs = {0, 7, 8, 15, 16, 1000, 123456789, Long.MAX_VALUE})
+	void valueFallsInsideItsBucket(long v)
+	{
+		int i = LatencyHistogram.index(v);
+		assertTrue(v <= LatencyHistogram.highestValue(i));
+		assertTrue(i == 0 || v > LatencyHistogram.highestValue(i - 1));
+	}
+	
+	@Test
+	void percentilesAreWithinAnEighth()
+	{
+		LatencyHistogram h = new LatencyHistogram();
+		for (long v = 1; v <= 1000; v++) h.record(v);
+		LatencyHistogram.Summary s = h.summary();
+		assertEquals(1000, s.count);
+		assertTrue(s.p50 >= 500 && s.p50 <= 500 * 9 / 8);
+		assertTrue(s.max >= 1000 && s.max <= 1000 * 9 / 8);
+	}
+	
+	@Test
+	void snapshotHasRegisteredCounters()
+	{
+		Counter c = Metrics.counter("test.counter");
+		c.add(3);
+		assertSame(c, Metrics.counter("test.counter"));
+		assertTrue(Metrics.snapshot().get("test.counter") >= 3);
+		assertTrue(Metrics.snapshot().toString().contains("gpv_test_counter"));
+	}
+}